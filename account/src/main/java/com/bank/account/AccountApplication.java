@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Account Service
@@ -16,6 +17,7 @@ import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 @Slf4j
 @SpringBootApplication
 @EnableR2dbcRepositories
+@EnableScheduling
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Account Service API",
@@ -1,5 +1,6 @@
 package com.bank.account.application.mapper;
 
+import com.bank.account.domain.model.AccountStatementRow;
 import com.bank.account.domain.model.Movement;
 import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
@@ -36,4 +37,9 @@ public interface MovementMapper {
      * Converts Movement entity to MovementDetailDTO (for reports)
      */
     MovementDetailDTO toDetailDTO(Movement movement);
+
+    /**
+     * Converts a row of the account statement query to MovementDetailDTO
+     */
+    MovementDetailDTO toDetailDTO(AccountStatementRow row);
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Background job maintaining the month-end balance checkpoints.
+ * Each run checkpoints every month closed since the latest checkpoint, one statement per month,
+ * each one starting from the checkpoint of the month before, so a run only reads the movements
+ * of the months it adds. Movements changed or removed later shift the checkpoints after them
+ * (see MovementService), so existing checkpoints are never rebuilt.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceSnapshotService {
+
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final MovementRepository movementRepository;
+
+    /**
+     * Checkpoints the months closed since the last run.
+     *
+     * @return A Mono emitting the number of checkpoints created.
+     */
+    @Scheduled(cron = "${app.accounts.snapshots.cron:0 15 0 * * *}")
+    public Mono<Long> snapshotClosedMonths() {
+        return snapshotUntil(LocalDate.now().withDayOfMonth(1).atStartOfDay());
+    }
+
+    /**
+     * Checkpoints every month boundary after the latest checkpoint, up to and including the given one.
+     * On the first run it starts with the month of the oldest movement.
+     *
+     * @param until The last month boundary to checkpoint.
+     * @return A Mono emitting the number of checkpoints created.
+     */
+    public Mono<Long> snapshotUntil(final LocalDateTime until) {
+        return snapshotRepository.findLatestSnapshotAt()
+                .map(latest -> latest.plusMonths(1))
+                .switchIfEmpty(Mono.defer(() -> movementRepository.findEarliestMovementDate()
+                        .map(earliest -> earliest.toLocalDate().withDayOfMonth(1).plusMonths(1).atStartOfDay())))
+                .flatMapMany(first -> Flux.<LocalDateTime, LocalDateTime>generate(() -> first, (boundary, sink) -> {
+                    if (boundary.isAfter(until)) {
+                        sink.complete();
+                    } else {
+                        sink.next(boundary);
+                    }
+                    return boundary.plusMonths(1);
+                }))
+                .concatMap(boundary -> snapshotRepository.insertSnapshots(boundary)
+                        .doOnNext(created -> log.info("Balance checkpoints at {}: {} created", boundary, created)))
+                .reduce(0L, Long::sum)
+                .doOnError(error -> log.error("Error creating balance checkpoints: {}", error.getMessage()));
+    }
+}
@@ -0,0 +1,243 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.model.Account;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Write-through cache of Account entities, keyed by ID with a secondary index by account number.
+ * Committed writes on this node replace the cached entry once their transaction commits, so a
+ * balance read after a committed movement is never stale. Entries loaded from the database only
+ * enter the cache if no write on the same account committed while they were being read.
+ * Bounded by size (Caffeine's frequency-aware LRU) and by a TTL that limits how long changes
+ * made by other instances can go unnoticed.
+ * Commit listeners hear about every committed write on this node, whether or not the account is cached.
+ */
+@Slf4j
+@Component
+public class AccountCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, Account> accounts;
+    private final ConcurrentMap<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final List<CommitListener> commitListeners = new CopyOnWriteArrayList<>();
+
+    public AccountCache(@Value("${app.accounts.cache.max-size:100000}") final long maxSize,
+                        @Value("${app.accounts.cache.ttl:5m}") final Duration ttl,
+                        final MeterRegistry meterRegistry) {
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .removalListener((Long accountId, Account account, RemovalCause cause) -> {
+                    if (account != null && cause != RemovalCause.REPLACED) {
+                        idsByNumber.remove(account.getAccountNumber(), accountId);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "account");
+    }
+
+    /**
+     * Returns the account with the given ID, loading it when it is not cached.
+     *
+     * @param accountId The internal ID of the account.
+     * @param loader    Reads the account from the database.
+     * @return A Mono emitting a copy of the account, or empty if the loader finds nothing.
+     */
+    public Mono<Account> get(final Long accountId, final Function<Long, Mono<Account>> loader) {
+        return Mono.defer(() -> {
+            Account cached = accounts.getIfPresent(accountId);
+            if (cached != null) {
+                return Mono.just(copy(cached));
+            }
+            long generation = generations.get(stripe(accountId));
+            return loader.apply(accountId)
+                    .doOnNext(account -> putIfUnchanged(account, generation));
+        });
+    }
+
+    /**
+     * Returns the account with the given number, loading it when it is not cached.
+     *
+     * @param accountNumber The public account number.
+     * @param loader        Reads the account from the database.
+     * @return A Mono emitting a copy of the account, or empty if the loader finds nothing.
+     */
+    public Mono<Account> getByNumber(final String accountNumber, final Function<String, Mono<Account>> loader) {
+        return Mono.defer(() -> {
+            Long accountId = idsByNumber.get(accountNumber);
+            Account cached = accountId == null ? null : accounts.getIfPresent(accountId);
+            if (cached != null && cached.getAccountNumber().equals(accountNumber)) {
+                return Mono.just(copy(cached));
+            }
+            return loader.apply(accountNumber)
+                    .flatMap(account -> get(account.getAccountId(), id -> Mono.just(account)));
+        });
+    }
+
+    /**
+     * Caches the account as written by the current transaction, once it commits.
+     *
+     * @param account The account as saved.
+     * @return A Mono that completes when the update is registered, or applied outside a transaction.
+     */
+    public Mono<Void> putAfterCommit(final Account account) {
+        Account committed = copy(account);
+        return afterCommit(() -> {
+            accounts.asMap().compute(committed.getAccountId(), (id, existing) -> {
+                generations.incrementAndGet(stripe(id));
+                if (existing != null && !existing.getAccountNumber().equals(committed.getAccountNumber())) {
+                    idsByNumber.remove(existing.getAccountNumber(), id);
+                }
+                idsByNumber.put(committed.getAccountNumber(), id);
+                return committed;
+            });
+            notifyCommitted(committed.getAccountId(), committed.getCustomerId());
+        });
+    }
+
+    /**
+     * Sets the cached balance of an account to the value written by the current transaction, once it commits.
+     * Accounts that are not cached are left out; their next read loads the committed row.
+     *
+     * @param accountId The internal ID of the account.
+     * @param balance   The balance written by the transaction.
+     * @return A Mono that completes when the update is registered, or applied outside a transaction.
+     */
+    public Mono<Void> updateBalanceAfterCommit(final Long accountId, final BigDecimal balance) {
+        return updateBalancesAfterCommit(Map.of(accountId, balance));
+    }
+
+    /**
+     * Sets the cached balances of several accounts to the values written by the current transaction, once it commits.
+     *
+     * @param balances The balance written by the transaction, by account ID.
+     * @return A Mono that completes when the update is registered, or applied outside a transaction.
+     */
+    public Mono<Void> updateBalancesAfterCommit(final Map<Long, BigDecimal> balances) {
+        Map<Long, BigDecimal> committed = Map.copyOf(balances);
+        LocalDateTime updatedAt = LocalDateTime.now();
+        return afterCommit(() -> committed.forEach((accountId, balance) -> {
+            Account cached = accounts.asMap().compute(accountId, (id, existing) -> {
+                generations.incrementAndGet(stripe(id));
+                if (existing == null) {
+                    return null;
+                }
+                Account updated = copy(existing);
+                updated.setCurrentBalance(balance);
+                updated.setUpdatedAt(updatedAt);
+                return updated;
+            });
+            notifyCommitted(accountId, cached == null ? null : cached.getCustomerId());
+        }));
+    }
+
+    /**
+     * Registers a listener called after every write to an account commits on this node.
+     *
+     * @param listener The listener, called on the committing thread.
+     */
+    public void addCommitListener(final CommitListener listener) {
+        commitListeners.add(listener);
+    }
+
+    private void notifyCommitted(final Long accountId, final Long customerId) {
+        for (CommitListener listener : commitListeners) {
+            try {
+                listener.accountCommitted(accountId, customerId);
+            } catch (RuntimeException ex) {
+                log.warn("Account commit listener failed for account {}: {}", accountId, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Caches a loaded account unless a write on the same stripe committed since the load started.
+     * Writes bump the generation while holding the entry, so the check and the insert cannot interleave with them.
+     */
+    private void putIfUnchanged(final Account account, final long generation) {
+        accounts.asMap().compute(account.getAccountId(), (id, existing) -> {
+            if (existing != null || generations.get(stripe(id)) != generation) {
+                return existing;
+            }
+            idsByNumber.put(account.getAccountNumber(), id);
+            return copy(account);
+        });
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or right away when there is none.
+     */
+    private Mono<Void> afterCommit(final Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        action.run();
+                        return Mono.<Void>empty();
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(action);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, ex -> Mono.fromRunnable(action));
+    }
+
+    private int stripe(final Long accountId) {
+        return (int) (accountId & (GENERATION_STRIPES - 1));
+    }
+
+    private Account copy(final Account account) {
+        return Account.builder()
+                .accountId(account.getAccountId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType())
+                .initialBalance(account.getInitialBalance())
+                .currentBalance(account.getCurrentBalance())
+                .status(account.getStatus())
+                .customerId(account.getCustomerId())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Listener for committed writes to accounts, such as balance changes and account updates.
+     */
+    @FunctionalInterface
+    public interface CommitListener {
+
+        /**
+         * @param accountId  The internal ID of the account written.
+         * @param customerId The owner of the account, or null when this node does not know it.
+         */
+        void accountCommitted(Long accountId, Long customerId);
+    }
+}
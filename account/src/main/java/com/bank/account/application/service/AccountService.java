@@ -3,12 +3,16 @@ package com.bank.account.application.service;
 import com.bank.account.application.mapper.AccountMapper;
 import com.bank.account.domain.exception.AccountAlreadyExistsException;
 import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
 import com.bank.account.domain.model.Account;
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
 import com.bank.account.domain.repository.AccountRepository;
 import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.AccountBalanceDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountResponseDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountUpdateDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +20,8 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 /**
  * Service class for Account business logic.
  * Handles CRUD operations, cross-service validations, and domain rules for bank accounts.
@@ -28,6 +34,8 @@ public class AccountService {
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
     private final CustomerClient customerClient;
+    private final AccountCache accountCache;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
 
     /**
      * Creates a new account in the system.
@@ -51,6 +59,7 @@ public class AccountService {
                     Account account = accountMapper.toEntity(requestDTO);
                     return accountRepository.save(account);
                 })
+                .flatMap(saved -> accountCache.putAfterCommit(saved).thenReturn(saved))
                 .map(accountMapper::toResponseDTO)
                 .doOnSuccess(response -> log.info("Account created successfully: {}", response.getAccountNumber()))
                 .doOnError(error -> log.error("Error creating account: {}", error.getMessage()));
@@ -66,7 +75,7 @@ public class AccountService {
     public Mono<AccountResponseDTO> getAccountById(final Long accountId) {
         log.info("Fetching account with ID: {}", accountId);
 
-        return accountRepository.findById(accountId)
+        return accountCache.get(accountId, accountRepository::findById)
                 .switchIfEmpty(Mono.error(new AccountNotFoundException(accountId)))
                 .map(accountMapper::toResponseDTO)
                 .doOnSuccess(response -> log.info("Account found: {}", response.getAccountNumber()))
@@ -83,7 +92,7 @@ public class AccountService {
     public Mono<AccountResponseDTO> getAccountByNumber(final String accountNumber) {
         log.info("Fetching account with number: {}", accountNumber);
 
-        return accountRepository.findByAccountNumber(accountNumber)
+        return accountCache.getByNumber(accountNumber, accountRepository::findByAccountNumber)
                 .switchIfEmpty(Mono.error(new AccountNotFoundException(accountNumber, true)))
                 .map(accountMapper::toResponseDTO)
                 .doOnSuccess(response -> log.info("Account found: {}", response.getAccountNumber()))
@@ -119,6 +128,27 @@ public class AccountService {
                 .doOnError(error -> log.error("Error fetching all accounts: {}", error.getMessage()));
     }
 
+    /**
+     * Retrieves one page of accounts in ID order.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Page size, or null for the default.
+     * @return A Mono emitting the page and the cursor of the next one.
+     * @throws BusinessValidationException If the cursor or the limit is invalid.
+     */
+    public Mono<PageResponseDTO<AccountResponseDTO>> getAccountsPage(final String cursor, final Integer limit) {
+        log.info("Fetching accounts page, limit: {}", limit);
+
+        return Mono.defer(() -> {
+            int pageSize = PageCursor.limit(limit);
+            Long afterId = cursor == null ? 0L : PageCursor.longPart(PageCursor.decode(cursor, 1)[0]);
+            return PageCursor.toPage(
+                    accountRepository.findPageAfter(afterId, pageSize + 1).map(accountMapper::toResponseDTO),
+                    pageSize,
+                    account -> PageCursor.encode(account.getAccountId()));
+        }).doOnError(error -> log.error("Error fetching accounts page: {}", error.getMessage()));
+    }
+
     /**
      * Updates an existing account's details.
      *
@@ -137,6 +167,7 @@ public class AccountService {
                     accountMapper.updateFromDto(updateDTO, account);
                     return accountRepository.save(account);
                 })
+                .flatMap(saved -> accountCache.putAfterCommit(saved).thenReturn(saved))
                 .map(accountMapper::toResponseDTO)
                 .doOnSuccess(response -> log.info("Account updated successfully: {}", response.getAccountNumber()))
                 .doOnError(error -> log.error("Error updating account: {}", error.getMessage()));
@@ -160,21 +191,45 @@ public class AccountService {
                     account.setStatus(false);
                     return accountRepository.save(account);
                 })
-                .then()
+                .flatMap(accountCache::putAfterCommit)
                 .doOnSuccess(v -> log.info("Account deleted successfully: {}", accountId))
                 .doOnError(error -> log.error("Error deleting account: {}", error.getMessage()));
     }
 
+    /**
+     * Retrieves the balance of an account as of a timestamp.
+     * Starts from the nearest month-end checkpoint and adds the movements since, so the cost
+     * does not depend on the age of the account. Movements at or after the timestamp are excluded.
+     *
+     * @param accountId The internal ID of the account.
+     * @param asOf      The timestamp of the balance.
+     * @return A Mono emitting the balance.
+     * @throws AccountNotFoundException If the account ID is not found.
+     */
+    public Mono<AccountBalanceDTO> getBalanceAsOf(final Long accountId, final LocalDateTime asOf) {
+        log.info("Fetching balance of account {} as of {}", accountId, asOf);
+
+        return snapshotRepository.findBalanceAsOf(accountId, asOf)
+                .switchIfEmpty(Mono.error(new AccountNotFoundException(accountId)))
+                .map(balance -> AccountBalanceDTO.builder()
+                        .accountId(accountId)
+                        .asOf(asOf)
+                        .balance(balance)
+                        .build())
+                .doOnError(error -> log.error("Error fetching balance: {}", error.getMessage()));
+    }
+
     /**
      * Internal helper to retrieve the domain entity of an account.
      * Useful for operations that require the full entity instead of a DTO.
+     * Served from the AccountCache when possible.
      *
      * @param accountId The internal ID of the account.
      * @return A Mono emitting the Account domain entity.
      * @throws AccountNotFoundException If the account ID is not found.
      */
     public Mono<Account> getAccountEntity(final Long accountId) {
-        return accountRepository.findById(accountId)
+        return accountCache.get(accountId, accountRepository::findById)
                 .switchIfEmpty(Mono.error(new AccountNotFoundException(accountId)));
     }
 }
\ No newline at end of file
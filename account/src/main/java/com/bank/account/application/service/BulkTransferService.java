@@ -0,0 +1,254 @@
+package com.bank.account.application.service;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferItemDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service class for one-to-many transfers, such as payroll runs.
+ * The whole run is one transaction. The source and every destination account are locked up front with
+ * one statement in ascending ID order, like transfers and batches, so a run cannot deadlock with them.
+ * The source is debited once for the total, then the credits are written in chunks through the
+ * MovementBatchWriter: one multi-row insert and one balance update per chunk.
+ * The debit of the total is recorded as a bulk debit and reserved against the daily bulk limit of the source
+ * account, not the limit of its account type.
+ */
+@Slf4j
+@Service
+public class BulkTransferService {
+
+    private final MovementRepository movementRepository;
+    private final AccountRepository accountRepository;
+    private final MovementBatchWriter movementBatchWriter;
+    private final MovementMapper movementMapper;
+    private final AccountCache accountCache;
+    private final HoldIndex holdIndex;
+    private final DailyDebitLimiter debitLimiter;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public BulkTransferService(final MovementRepository movementRepository,
+                               final AccountRepository accountRepository,
+                               final MovementBatchWriter movementBatchWriter,
+                               final MovementMapper movementMapper,
+                               final AccountCache accountCache,
+                               final HoldIndex holdIndex,
+                               final DailyDebitLimiter debitLimiter,
+                               final Validator validator,
+                               @Value("${app.transfers.bulk.chunk-size:1000}") final int chunkSize,
+                               @Value("${app.transfers.bulk.max-items:20000}") final int maxItems) {
+        this.movementRepository = movementRepository;
+        this.accountRepository = accountRepository;
+        this.movementBatchWriter = movementBatchWriter;
+        this.movementMapper = movementMapper;
+        this.accountCache = accountCache;
+        this.holdIndex = holdIndex;
+        this.debitLimiter = debitLimiter;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Debits the source account once and credits every destination account.
+     * Invalid items and unknown destinations are reported and skipped; the rest are applied together.
+     *
+     * @param requestDTO The source account and the credits, in order.
+     * @return A Mono emitting the debit and one result per item, in submission order.
+     * @throws BusinessValidationException      If there are too many items.
+     * @throws AccountNotFoundException         If the source account does not exist.
+     * @throws InsufficientBalanceException     If the available balance of the source does not cover the total.
+     * @throws DailyDebitLimitExceededException If the total exceeds the daily bulk limit of the source account.
+     */
+    @Transactional
+    public Mono<BulkTransferResponseDTO> transfer(final BulkTransferRequestDTO requestDTO) {
+        Long sourceId = requestDTO.getSourceAccountId();
+        List<BulkTransferItemDTO> items = requestDTO.getItems();
+        if (items.size() > maxItems) {
+            return Mono.error(new BusinessValidationException(
+                    "Bulk transfer exceeds the maximum of " + maxItems + " items"));
+        }
+        log.info("Bulk transfer of {} items from account {}", items.size(), sourceId);
+
+        MovementBatchItemResultDTO[] results = new MovementBatchItemResultDTO[items.size()];
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String violations = validate(items.get(i), sourceId);
+            if (violations != null) {
+                results[i] = failure(i, MovementBatchItemResultDTO.VALIDATION_ERROR, violations);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        Long[] accountIds = Stream.concat(Stream.of(sourceId),
+                        validIndexes.stream().map(i -> items.get(i).getDestinationAccountId()))
+                .distinct()
+                .sorted()
+                .toArray(Long[]::new);
+
+        return accountRepository.findAllByIdForUpdate(accountIds)
+                .collectMap(Account::getAccountId)
+                .flatMap(accounts -> {
+                    Account source = accounts.get(sourceId);
+                    if (source == null) {
+                        return Mono.error(new AccountNotFoundException(sourceId));
+                    }
+                    List<Integer> payable = new ArrayList<>(validIndexes.size());
+                    for (Integer i : validIndexes) {
+                        Long destinationId = items.get(i).getDestinationAccountId();
+                        if (accounts.containsKey(destinationId)) {
+                            payable.add(i);
+                        } else {
+                            results[i] = failure(i, MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND,
+                                    "Account not found with ID: " + destinationId);
+                        }
+                    }
+                    if (payable.isEmpty()) {
+                        return Mono.just(toResponse(sourceId, BigDecimal.ZERO, null, results));
+                    }
+                    BigDecimal total = payable.stream()
+                            .map(i -> items.get(i).getAmount())
+                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    return debit(source, total)
+                            .flatMap(debit -> credit(items, payable, results)
+                                    .then(Mono.fromSupplier(() -> toResponse(sourceId, total, debit, results))));
+                })
+                .doOnSuccess(response -> log.info("Bulk transfer from account {} completed: {} credited, {} failed",
+                        sourceId, response.getSucceeded(), response.getFailed()))
+                .doOnError(error -> log.error("Error processing bulk transfer: {}", error.getMessage()));
+    }
+
+    private Mono<MovementResponseDTO> debit(final Account source, final BigDecimal total) {
+        LocalDateTime now = LocalDateTime.now();
+        return debitLimiter.reserveBulk(source, total)
+                .flatMap(reservation -> movementRepository.insertWithBalanceDelta(
+                                source.getAccountId(),
+                                total.negate(),
+                                holdIndex.heldAmount(source.getAccountId()),
+                                "DEBIT",
+                                total,
+                                now,
+                                now)
+                        .switchIfEmpty(Mono.defer(() -> {
+                            log.error("Insufficient balance for bulk transfer. Account: {}, Required: {}",
+                                    source.getAccountId(), total);
+                            return Mono.error(new InsufficientBalanceException());
+                        }))
+                        .flatMap(movement -> movementRepository.markBulkDebit(movement.getMovementId())
+                                .thenReturn(movement))
+                        .doOnError(error -> reservation.release()))
+                .flatMap(movement -> accountCache.updateBalanceAfterCommit(source.getAccountId(), movement.getBalance())
+                        .thenReturn(toResponseDTO(movement, source)));
+    }
+
+    /**
+     * Writes the credits chunk by chunk, grouped by destination so each chunk touches few pages.
+     * Every destination is already locked, so no item of a chunk can fail.
+     */
+    private Mono<Void> credit(final List<BulkTransferItemDTO> items, final List<Integer> payable,
+                              final MovementBatchItemResultDTO[] results) {
+        // Stable sort: credits to the same account keep their submission order
+        payable.sort(Comparator.comparing(i -> items.get(i).getDestinationAccountId()));
+        AtomicInteger credited = new AtomicInteger();
+
+        return Flux.fromIterable(payable)
+                .buffer(chunkSize)
+                .concatMap(indexes -> movementBatchWriter.writeChunk(indexes.stream()
+                                .map(i -> MovementRequestDTO.builder()
+                                        .accountId(items.get(i).getDestinationAccountId())
+                                        .movementType("CREDIT")
+                                        .amount(items.get(i).getAmount())
+                                        .build())
+                                .toList())
+                        .doOnNext(chunkResults -> {
+                            for (int i = 0; i < indexes.size(); i++) {
+                                MovementBatchItemResultDTO result = chunkResults.get(i);
+                                result.setIndex(indexes.get(i));
+                                results[indexes.get(i)] = result;
+                            }
+                            log.debug("Bulk transfer progress: {}/{} credits written",
+                                    credited.addAndGet(indexes.size()), payable.size());
+                        }))
+                .then();
+    }
+
+    private String validate(final BulkTransferItemDTO item, final Long sourceId) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        Set<ConstraintViolation<BulkTransferItemDTO>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (sourceId.equals(item.getDestinationAccountId())) {
+            return "Destination account must be different from the source account";
+        }
+        return null;
+    }
+
+    private MovementResponseDTO toResponseDTO(final Movement movement, final Account account) {
+        MovementResponseDTO response = movementMapper.toResponseDTO(movement);
+        response.setAccountNumber(account.getAccountNumber());
+        return response;
+    }
+
+    private static MovementBatchItemResultDTO failure(final int index, final String status, final String message) {
+        return MovementBatchItemResultDTO.builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static BulkTransferResponseDTO toResponse(final Long sourceId, final BigDecimal transferred,
+                                                      final MovementResponseDTO debit,
+                                                      final MovementBatchItemResultDTO[] results) {
+        int succeeded = (int) Stream.of(results)
+                .filter(result -> MovementBatchItemResultDTO.CREATED.equals(result.getStatus()))
+                .count();
+        return BulkTransferResponseDTO.builder()
+                .sourceAccountId(sourceId)
+                .total(results.length)
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .transferredAmount(transferred)
+                .debit(debit)
+                .results(List.of(results))
+                .build();
+    }
+}
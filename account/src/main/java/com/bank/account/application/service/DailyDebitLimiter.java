@@ -0,0 +1,328 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.DebitBucketRow;
+import com.bank.account.domain.repository.MovementRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Daily debit limits per account type, enforced in memory.
+ * Each active account has a sliding window of the last 24 hours made of BUCKETS time buckets, seeded
+ * from its debits in the database on first use and evicted after app.movements.debit-limits.idle-timeout
+ * without debits. A debit is added to the current bucket first and taken back if the window then
+ * exceeds the limit, so concurrent debits never need a lock and can never overshoot it together.
+ * A reserved debit is released when its transaction does not commit.
+ * Bulk transfer debits (payroll runs) are not counted against the account type: they have their own
+ * windows and limit, app.movements.debit-limits.bulk, so a payroll neither hits nor uses up the limit
+ * of ordinary debits.
+ * With app.movements.debit-limits.shared, several instances debit the same accounts: every
+ * app.movements.debit-limits.reconcile-interval the windows are reloaded from the database, so a
+ * limit can only be overshot by what other instances debit within one interval.
+ */
+@Slf4j
+@Component
+public class DailyDebitLimiter {
+
+    private static final int BUCKETS = 96;
+    private static final long BUCKET_SECONDS = Duration.ofDays(1).toSeconds() / BUCKETS;
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final MovementRepository movementRepository;
+    private final Map<String, Long> limits;
+    private final long bulkLimit;
+    private final boolean shared;
+    private final AsyncCache<Long, Window> windows;
+    private final AsyncCache<Long, Window> bulkWindows;
+    private final Counter rejectedCounter;
+
+    public DailyDebitLimiter(final MovementRepository movementRepository,
+                             @Value("${app.movements.debit-limits.ahorro:1000.00}") final BigDecimal ahorroLimit,
+                             @Value("${app.movements.debit-limits.corriente:5000.00}") final BigDecimal corrienteLimit,
+                             @Value("${app.movements.debit-limits.bulk:0}") final BigDecimal bulkLimit,
+                             @Value("${app.movements.debit-limits.idle-timeout:30m}") final Duration idleTimeout,
+                             @Value("${app.movements.debit-limits.max-accounts:100000}") final long maxAccounts,
+                             @Value("${app.movements.debit-limits.shared:false}") final boolean shared,
+                             final MeterRegistry meterRegistry) {
+        this.movementRepository = movementRepository;
+        this.limits = Map.of("Ahorro", toCents(ahorroLimit), "Corriente", toCents(corrienteLimit));
+        this.bulkLimit = toCents(bulkLimit);
+        this.shared = shared;
+        this.windows = windowCache(maxAccounts, idleTimeout);
+        this.bulkWindows = windowCache(maxAccounts, idleTimeout);
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "debit-limit");
+        CaffeineCacheMetrics.monitor(meterRegistry, bulkWindows, "debit-limit-bulk");
+        this.rejectedCounter = Counter.builder("movement.debit-limit.rejected")
+                .description("Debits rejected because they exceed the daily limit of the account")
+                .register(meterRegistry);
+        log.info("Daily debit limits: {}, bulk: {} (shared: {})", limits, this.bulkLimit, shared);
+    }
+
+    /**
+     * Reserves a debit against the daily limit of the account. The reservation is released when the
+     * current transaction rolls back; outside a transaction the caller releases it on failure.
+     * Accounts without a type, or of a type with no configured limit, are not limited.
+     *
+     * @param account The account debited.
+     * @param amount  The amount of the debit.
+     * @return A Mono emitting the reservation.
+     * @throws DailyDebitLimitExceededException If the debit would exceed the limit of the account type.
+     */
+    public Mono<Reservation> reserve(final Account account, final BigDecimal amount) {
+        Long limit = account.getAccountType() == null ? null : limits.get(account.getAccountType());
+        if (limit == null || limit <= 0) {
+            return Mono.just(Reservation.NONE);
+        }
+        return reserve(windows, movementRepository::sumDebitsByBucket, account, amount, limit);
+    }
+
+    /**
+     * Reserves the debit of a bulk transfer against the daily bulk limit of the source account, like
+     * {@link #reserve(Account, BigDecimal)}. Bulk debits are not limited when app.movements.debit-limits.bulk is 0.
+     *
+     * @param account The source account.
+     * @param amount  The total of the run.
+     * @return A Mono emitting the reservation.
+     * @throws DailyDebitLimitExceededException If the debit would exceed the daily bulk limit.
+     */
+    public Mono<Reservation> reserveBulk(final Account account, final BigDecimal amount) {
+        if (bulkLimit <= 0) {
+            return Mono.just(Reservation.NONE);
+        }
+        return reserve(bulkWindows, movementRepository::sumBulkDebitsByBucket, account, amount, bulkLimit);
+    }
+
+    /**
+     * Reloads the windows of every active account from the database, when instances share the accounts.
+     *
+     * @return A Mono that completes when every window is reloaded.
+     */
+    @Scheduled(fixedDelayString = "${app.movements.debit-limits.reconcile-interval:PT5S}")
+    public Mono<Void> reconcile() {
+        if (!shared) {
+            return Mono.empty();
+        }
+        return reconcile(windows, movementRepository::sumDebitsByBucket)
+                .then(reconcile(bulkWindows, movementRepository::sumBulkDebitsByBucket))
+                .doOnError(error -> log.warn("Could not reconcile the daily debit limits: {}", error.getMessage()));
+    }
+
+    private Mono<Reservation> reserve(final AsyncCache<Long, Window> cache, final DebitSums sums,
+                                      final Account account, final BigDecimal amount, final long limit) {
+        long cents = toCents(amount);
+        return Mono.fromFuture(cache.get(account.getAccountId(), (accountId, executor) -> seed(sums, accountId)), true)
+                .flatMap(window -> {
+                    Reservation reservation = window.tryReserve(cents, limit, bucketOf(LocalDateTime.now()));
+                    if (reservation == null) {
+                        rejectedCounter.increment();
+                        log.warn("Daily debit limit of account {} exceeded by a debit of {}",
+                                account.getAccountId(), amount);
+                        return Mono.error(new DailyDebitLimitExceededException());
+                    }
+                    return releaseOnRollback(reservation).thenReturn(reservation);
+                });
+    }
+
+    private Mono<Void> reconcile(final AsyncCache<Long, Window> cache, final DebitSums sums) {
+        // Iterating the map does not count as an access, so reconciling does not keep idle windows alive
+        Map<Long, Window> active = new HashMap<>();
+        cache.asMap().forEach((accountId, window) -> {
+            if (window.isDone() && !window.isCompletedExceptionally()) {
+                active.put(accountId, window.join());
+            }
+        });
+        return Flux.fromIterable(active.keySet())
+                .buffer(RECONCILE_CHUNK_SIZE)
+                .concatMap(accountIds -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return sums.sum(accountIds.toArray(Long[]::new), windowStart(now), BUCKET_SECONDS)
+                            .collect(Collectors.groupingBy(DebitBucketRow::getAccountId))
+                            .doOnNext(rowsByAccount -> accountIds.forEach(accountId -> active.get(accountId)
+                                    .load(rowsByAccount.getOrDefault(accountId, List.of()), bucketOf(now))));
+                })
+                .then();
+    }
+
+    private CompletableFuture<Window> seed(final DebitSums sums, final Long accountId) {
+        LocalDateTime now = LocalDateTime.now();
+        return sums.sum(new Long[]{accountId}, windowStart(now), BUCKET_SECONDS)
+                .collectList()
+                .map(rows -> {
+                    Window window = new Window();
+                    window.load(rows, bucketOf(now));
+                    return window;
+                })
+                .toFuture();
+    }
+
+    private Mono<Void> releaseOnRollback(final Reservation reservation) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (manager.isSynchronizationActive()) {
+                        manager.registerSynchronization(new TransactionSynchronization() {
+                            @Override
+                            public Mono<Void> afterCompletion(final int status) {
+                                return status == STATUS_COMMITTED ? Mono.empty() : Mono.fromRunnable(reservation::release);
+                            }
+                        });
+                    }
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, ex -> Mono.empty());
+    }
+
+    private static AsyncCache<Long, Window> windowCache(final long maxAccounts, final Duration idleTimeout) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxAccounts)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .buildAsync();
+    }
+
+    private static LocalDateTime windowStart(final LocalDateTime now) {
+        return LocalDateTime.ofEpochSecond((bucketOf(now) - BUCKETS + 1) * BUCKET_SECONDS, 0, ZoneOffset.UTC);
+    }
+
+    private static long bucketOf(final LocalDateTime date) {
+        return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), BUCKET_SECONDS);
+    }
+
+    private static long toCents(final BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    /**
+     * Query summing debits per account and time bucket: ordinary debits or bulk transfer debits.
+     */
+    @FunctionalInterface
+    private interface DebitSums {
+        Flux<DebitBucketRow> sum(Long[] accountIds, LocalDateTime since, long bucketSeconds);
+    }
+
+    /**
+     * A debit counted in the window of its account until it is released.
+     */
+    public static final class Reservation {
+
+        /**
+         * Reservation of a debit that is not limited.
+         */
+        public static final Reservation NONE = new Reservation(null, 0);
+
+        private final Bucket bucket;
+        private final long cents;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(final Bucket bucket, final long cents) {
+            this.bucket = bucket;
+            this.cents = cents;
+        }
+
+        /**
+         * Takes the debit back out of its window. Only the first call has an effect.
+         */
+        public void release() {
+            if (bucket != null && released.compareAndSet(false, true)) {
+                bucket.cents.addAndGet(-cents);
+            }
+        }
+    }
+
+    /**
+     * The debits of one bucket. A bucket is never reused for a later period: it is replaced.
+     */
+    private record Bucket(long epoch, AtomicLong cents) {
+    }
+
+    /**
+     * Sliding window of the debits of one account, one slot per bucket of the last 24 hours.
+     */
+    private static final class Window {
+
+        private final AtomicReferenceArray<Bucket> slots = new AtomicReferenceArray<>(BUCKETS);
+
+        /**
+         * Adds the debit to the bucket of the given period, or returns null without counting it if
+         * the window would then exceed the limit.
+         */
+        private Reservation tryReserve(final long cents, final long limit, final long epoch) {
+            Bucket bucket = current(epoch);
+            bucket.cents().addAndGet(cents);
+            if (total(epoch) > limit) {
+                bucket.cents().addAndGet(-cents);
+                return null;
+            }
+            return new Reservation(bucket, cents);
+        }
+
+        /**
+         * Replaces the contents of the window with the debit sums read from the database.
+         */
+        private void load(final List<DebitBucketRow> rows, final long epoch) {
+            Bucket[] loaded = new Bucket[BUCKETS];
+            for (DebitBucketRow row : rows) {
+                if (row.getBucket() > epoch - BUCKETS && row.getBucket() <= epoch) {
+                    loaded[slot(row.getBucket())] = new Bucket(row.getBucket(), new AtomicLong(toCents(row.getAmount())));
+                }
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                slots.set(i, loaded[i]);
+            }
+        }
+
+        private long total(final long epoch) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                Bucket bucket = slots.get(i);
+                if (bucket != null && bucket.epoch() > epoch - BUCKETS && bucket.epoch() <= epoch) {
+                    total += bucket.cents().get();
+                }
+            }
+            return total;
+        }
+
+        private Bucket current(final long epoch) {
+            int slot = slot(epoch);
+            while (true) {
+                Bucket bucket = slots.get(slot);
+                if (bucket != null && bucket.epoch() >= epoch) {
+                    return bucket;
+                }
+                Bucket fresh = new Bucket(epoch, new AtomicLong());
+                if (slots.compareAndSet(slot, bucket, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        private static int slot(final long epoch) {
+            return (int) Math.floorMod(epoch, BUCKETS);
+        }
+    }
+}
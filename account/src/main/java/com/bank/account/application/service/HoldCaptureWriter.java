@@ -0,0 +1,62 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.Hold;
+import com.bank.account.domain.repository.HoldRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Captures holds. The debit movement and the hold's CAPTURED status are written in the same
+ * transaction, so a hold is never captured twice and never captured without its movement.
+ * The hold leaves the HoldIndex only once that transaction commits, so its funds stay held meanwhile.
+ */
+@Service
+@RequiredArgsConstructor
+public class HoldCaptureWriter {
+
+    private final HoldRepository holdRepository;
+    private final MovementService movementService;
+    private final HoldIndex holdIndex;
+
+    /**
+     * Debits the held amount through MovementService and marks the hold as captured.
+     * The hold must be claimed in the HoldIndex; it is removed from it after commit.
+     *
+     * @param hold The active hold.
+     * @return A Mono emitting the captured hold.
+     * @throws BusinessValidationException If the hold is no longer active in the database.
+     */
+    @Transactional
+    public Mono<Hold> capture(final Hold hold) {
+        return movementService.createHoldCapture(hold)
+                .flatMap(movement -> holdRepository.capture(hold.getHoldId(), movement.getMovementId()))
+                .switchIfEmpty(Mono.error(new BusinessValidationException(
+                        "Hold " + hold.getHoldId() + " is no longer active")))
+                .flatMap(captured -> removeAfterCommit(hold).thenReturn(captured));
+    }
+
+    private Mono<Void> removeAfterCommit(final Hold hold) {
+        Runnable remove = () -> holdIndex.remove(hold.getHoldId());
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        remove.run();
+                        return Mono.<Void>empty();
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(remove);
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, ex -> Mono.fromRunnable(remove));
+    }
+}
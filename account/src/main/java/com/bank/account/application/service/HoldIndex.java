@@ -0,0 +1,148 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.model.Hold;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory index of the active holds on this node, by hold and by account.
+ * Each account keeps an immutable snapshot of its holds and their total, replaced under the map's
+ * per-key lock, so reading the amount held on an account never blocks and never queries the database.
+ * Claiming a hold is the single point where a capture, a release and an expiry race: only one of
+ * them gets the hold. A claimed hold stays indexed, and its funds held, until its settlement is done and
+ * it is removed. A hold being placed counts as pending until it is added.
+ */
+@Component
+public class HoldIndex {
+
+    private final ConcurrentMap<Long, Hold> holds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AccountHolds> accounts = new ConcurrentHashMap<>();
+    private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Total of the active holds of an account.
+     *
+     * @param accountId The internal ID of the account.
+     * @return The amount held, zero when there are no active holds.
+     */
+    public BigDecimal heldAmount(final Long accountId) {
+        AccountHolds accountHolds = accounts.get(accountId);
+        return accountHolds == null ? BigDecimal.ZERO : accountHolds.held();
+    }
+
+    /**
+     * Active holds of an account.
+     *
+     * @param accountId The internal ID of the account.
+     * @return The holds, in no particular order.
+     */
+    public List<Hold> holdsOf(final Long accountId) {
+        AccountHolds accountHolds = accounts.get(accountId);
+        return accountHolds == null ? List.of() : List.copyOf(accountHolds.holds().values());
+    }
+
+    public Hold get(final Long holdId) {
+        return holds.get(holdId);
+    }
+
+    /**
+     * Claims an active hold for its settlement. The hold stays indexed until it is removed.
+     *
+     * @param holdId The ID of the hold.
+     * @return The hold, or null if it is not indexed or another caller claimed it first.
+     */
+    public Hold claim(final Long holdId) {
+        Hold hold = holds.get(holdId);
+        return hold != null && claimed.add(holdId) ? hold : null;
+    }
+
+    /**
+     * Gives back the claim on a hold whose settlement did not complete, so it can be settled again.
+     *
+     * @param holdId The ID of the hold.
+     */
+    public void unclaim(final Long holdId) {
+        claimed.remove(holdId);
+    }
+
+    /**
+     * Counts an amount as held on an account while its hold is being placed and has no ID yet.
+     *
+     * @param accountId The internal ID of the account.
+     * @param amount    The amount of the hold.
+     */
+    public void addPending(final Long accountId, final BigDecimal amount) {
+        accounts.compute(accountId, (id, existing) -> existing == null
+                ? new AccountHolds(Map.of(), amount)
+                : new AccountHolds(existing.holds(), existing.held().add(amount)));
+    }
+
+    /**
+     * Stops counting the amount of a hold once it is placed and added, or failed to be placed.
+     *
+     * @param accountId The internal ID of the account.
+     * @param amount    The amount of the hold.
+     */
+    public void removePending(final Long accountId, final BigDecimal amount) {
+        accounts.computeIfPresent(accountId, (id, existing) -> {
+            BigDecimal held = existing.held().subtract(amount);
+            return existing.holds().isEmpty() && held.signum() == 0 ? null : new AccountHolds(existing.holds(), held);
+        });
+    }
+
+    /**
+     * Adds an active hold. Adding a hold that is already indexed does nothing.
+     *
+     * @param hold The hold, which must not be modified afterwards.
+     */
+    public void add(final Hold hold) {
+        accounts.compute(hold.getAccountId(), (accountId, existing) -> {
+            if (holds.putIfAbsent(hold.getHoldId(), hold) != null) {
+                return existing;
+            }
+            Map<Long, Hold> accountHolds = existing == null ? new HashMap<>() : new HashMap<>(existing.holds());
+            accountHolds.put(hold.getHoldId(), hold);
+            BigDecimal held = existing == null ? hold.getAmount() : existing.held().add(hold.getAmount());
+            return new AccountHolds(Map.copyOf(accountHolds), held);
+        });
+    }
+
+    /**
+     * Removes a settled hold, by the caller that claimed it.
+     *
+     * @param holdId The ID of the hold.
+     * @return The hold, or null if it is not indexed.
+     */
+    public Hold remove(final Long holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            return null;
+        }
+        Hold[] removed = new Hold[1];
+        accounts.computeIfPresent(hold.getAccountId(), (accountId, existing) -> {
+            if (!holds.remove(holdId, hold)) {
+                return existing;
+            }
+            removed[0] = hold;
+            BigDecimal held = existing.held().subtract(hold.getAmount());
+            if (existing.holds().size() == 1 && held.signum() == 0) {
+                return null;
+            }
+            Map<Long, Hold> accountHolds = new HashMap<>(existing.holds());
+            accountHolds.remove(holdId);
+            return new AccountHolds(Map.copyOf(accountHolds), held);
+        });
+        claimed.remove(holdId);
+        return removed[0];
+    }
+
+    private record AccountHolds(Map<Long, Hold> holds, BigDecimal held) {
+    }
+}
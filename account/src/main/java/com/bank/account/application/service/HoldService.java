@@ -0,0 +1,293 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.HoldNotFoundException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Hold;
+import com.bank.account.domain.repository.HoldRepository;
+import com.bank.account.infrastructure.adapter.web.dto.AccountHoldsDTO;
+import com.bank.account.infrastructure.adapter.web.dto.HoldRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.HoldResponseDTO;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class for funds holds: two-phase debits that reserve money first and settle later.
+ * Active holds live in the HoldIndex, backed by the holds table and loaded from it at startup, and
+ * reduce the available balance that debits can spend. A hold counts as held from before it is placed
+ * until its settlement is written, so no debit can spend its funds in between. Each hold is scheduled on
+ * a hashed timer wheel when it is tracked and expires when its deadline passes, within one tick.
+ * Holds of an account must be handled by a single instance, like the rest of its balance changes;
+ * callers run place, capture and release through the MovementSequencer.
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final HoldRepository holdRepository;
+    private final HoldIndex holdIndex;
+    private final HoldCaptureWriter holdCaptureWriter;
+    private final AccountService accountService;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final Duration retryDelay;
+    private final HashedWheelTimer expiryTimer;
+
+    public HoldService(final HoldRepository holdRepository,
+                       final HoldIndex holdIndex,
+                       final HoldCaptureWriter holdCaptureWriter,
+                       final AccountService accountService,
+                       @Value("${app.holds.default-ttl:7d}") final Duration defaultTtl,
+                       @Value("${app.holds.max-ttl:30d}") final Duration maxTtl,
+                       @Value("${app.holds.expiry.tick:1s}") final Duration tick,
+                       @Value("${app.holds.expiry.wheel-size:512}") final int wheelSize,
+                       @Value("${app.holds.expiry.retry-delay:30s}") final Duration retryDelay) {
+        this.holdRepository = holdRepository;
+        this.holdIndex = holdIndex;
+        this.holdCaptureWriter = holdCaptureWriter;
+        this.accountService = accountService;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.retryDelay = retryDelay;
+        this.expiryTimer = new HashedWheelTimer(new DefaultThreadFactory("hold-expiry", true),
+                tick.toMillis(), TimeUnit.MILLISECONDS, wheelSize);
+    }
+
+    /**
+     * Loads the active holds into the index, expiring at once those whose deadline passed while the
+     * service was down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        holdRepository.findByStatus(Hold.ACTIVE)
+                .doOnNext(this::track)
+                .count()
+                .subscribe(count -> log.info("Loaded {} active holds", count),
+                        error -> log.error("Error loading active holds: {}", error.getMessage()));
+    }
+
+    /**
+     * Reserves funds on an account.
+     *
+     * @param accountId  The internal ID of the account.
+     * @param requestDTO The amount to hold and, optionally, how long to hold it.
+     * @return A Mono emitting the active hold.
+     * @throws BusinessValidationException  If the TTL exceeds app.holds.max-ttl.
+     * @throws InsufficientBalanceException If the available balance does not cover the amount.
+     */
+    public Mono<HoldResponseDTO> placeHold(final Long accountId, final HoldRequestDTO requestDTO) {
+        log.info("Placing hold of {} on account {}", requestDTO.getAmount(), accountId);
+
+        Duration ttl = requestDTO.getTtlSeconds() == null ? defaultTtl : Duration.ofSeconds(requestDTO.getTtlSeconds());
+        if (ttl.compareTo(maxTtl) > 0) {
+            return Mono.error(new BusinessValidationException("Hold TTL cannot exceed " + maxTtl.toSeconds() + " seconds"));
+        }
+        return accountService.getAccountEntity(accountId)
+                .flatMap(account -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    BigDecimal held = holdIndex.heldAmount(accountId);
+                    // Held from before the insert: the hold has no ID yet, so it counts as pending
+                    holdIndex.addPending(accountId, requestDTO.getAmount());
+                    return holdRepository.place(accountId, requestDTO.getAmount(), held, now, now.plus(ttl))
+                            .doOnNext(this::track)
+                            .doFinally(signal -> holdIndex.removePending(accountId, requestDTO.getAmount()));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("Insufficient available balance. Account: {}, Required: {}",
+                            accountId, requestDTO.getAmount());
+                    return Mono.error(new InsufficientBalanceException());
+                }))
+                .map(this::toResponseDTO)
+                .doOnSuccess(hold -> log.info("Hold placed successfully: {}", hold.getHoldId()))
+                .doOnError(error -> log.error("Error placing hold: {}", error.getMessage()));
+    }
+
+    /**
+     * Settles an active hold as a debit movement of its amount.
+     *
+     * @param accountId The internal ID of the account.
+     * @param holdId    The ID of the hold.
+     * @return A Mono emitting the captured hold, with its movement ID.
+     * @throws HoldNotFoundException       If the account has no such hold.
+     * @throws BusinessValidationException If the hold is no longer active.
+     */
+    public Mono<HoldResponseDTO> captureHold(final Long accountId, final Long holdId) {
+        log.info("Capturing hold {} of account {}", holdId, accountId);
+        return Mono.defer(() -> {
+                    Hold hold = claim(accountId, holdId);
+                    if (hold == null) {
+                        return notActive(accountId, holdId);
+                    }
+                    return settleClaimed(hold, holdCaptureWriter.capture(hold));
+                })
+                .map(this::toResponseDTO)
+                .doOnSuccess(hold -> log.info("Hold captured successfully: {}, movement: {}",
+                        hold.getHoldId(), hold.getMovementId()))
+                .doOnError(error -> log.error("Error capturing hold: {}", error.getMessage()));
+    }
+
+    /**
+     * Releases an active hold, making its funds available again.
+     *
+     * @param accountId The internal ID of the account.
+     * @param holdId    The ID of the hold.
+     * @return A Mono emitting the released hold.
+     * @throws HoldNotFoundException       If the account has no such hold.
+     * @throws BusinessValidationException If the hold is no longer active.
+     */
+    public Mono<HoldResponseDTO> releaseHold(final Long accountId, final Long holdId) {
+        log.info("Releasing hold {} of account {}", holdId, accountId);
+        return Mono.defer(() -> {
+                    Hold hold = claim(accountId, holdId);
+                    if (hold == null) {
+                        return notActive(accountId, holdId);
+                    }
+                    return settleClaimed(hold, holdRepository.settle(holdId, Hold.RELEASED)
+                            .switchIfEmpty(Mono.error(new BusinessValidationException(
+                                    "Hold " + holdId + " is no longer active"))));
+                })
+                .map(this::toResponseDTO)
+                .doOnSuccess(hold -> log.info("Hold released successfully: {}", hold.getHoldId()))
+                .doOnError(error -> log.error("Error releasing hold: {}", error.getMessage()));
+    }
+
+    /**
+     * Active holds of an account and its available balance, from the account cache and the hold index.
+     *
+     * @param accountId The internal ID of the account.
+     * @return A Mono emitting the holds, oldest first.
+     */
+    public Mono<AccountHoldsDTO> getHolds(final Long accountId) {
+        return accountService.getAccountEntity(accountId)
+                .map(account -> {
+                    BigDecimal held = holdIndex.heldAmount(accountId);
+                    return AccountHoldsDTO.builder()
+                            .accountId(accountId)
+                            .currentBalance(account.getCurrentBalance())
+                            .heldAmount(held)
+                            .availableBalance(account.getCurrentBalance().subtract(held))
+                            .holds(holdIndex.holdsOf(accountId).stream()
+                                    .sorted(Comparator.comparing(Hold::getHoldId))
+                                    .map(this::toResponseDTO)
+                                    .toList())
+                            .build();
+                });
+    }
+
+    @PreDestroy
+    public void close() {
+        expiryTimer.stop();
+    }
+
+    /**
+     * Indexes an active hold and schedules its expiry.
+     */
+    private void track(final Hold hold) {
+        holdIndex.add(hold);
+        schedule(hold, Duration.between(LocalDateTime.now(), hold.getExpiresAt()));
+    }
+
+    /**
+     * Runs the settlement of a claimed hold. The hold leaves the index once the settlement is written,
+     * and is given back unless it succeeds: on error, and also when the caller cancels, which rolls the
+     * settlement back.
+     */
+    private Mono<Hold> settleClaimed(final Hold hold, final Mono<Hold> settlement) {
+        AtomicBoolean settled = new AtomicBoolean();
+        return settlement
+                .doOnNext(result -> {
+                    settled.set(true);
+                    holdIndex.remove(hold.getHoldId());
+                })
+                .doFinally(signal -> {
+                    if (!settled.get()) {
+                        restore(hold);
+                    }
+                });
+    }
+
+    /**
+     * Gives back the claim on a hold whose settlement did not complete. Its expiry may have fired while
+     * it was claimed, so it is scheduled again.
+     */
+    private void restore(final Hold hold) {
+        holdIndex.unclaim(hold.getHoldId());
+        schedule(hold, Duration.between(LocalDateTime.now(), hold.getExpiresAt()));
+    }
+
+    private void schedule(final Hold hold, final Duration delay) {
+        expiryTimer.newTimeout(timeout -> expire(hold), Math.max(delay.toMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the timer thread: expires the hold unless it was settled meanwhile. The database update
+     * runs asynchronously; if it fails, the hold stays active and is retried after app.holds.expiry.retry-delay.
+     */
+    private void expire(final Hold hold) {
+        Duration remaining = Duration.between(LocalDateTime.now(), hold.getExpiresAt());
+        if (remaining.isPositive()) {
+            // The wheel measures time with its own clock, so it can fire slightly before the deadline
+            schedule(hold, remaining);
+            return;
+        }
+        if (holdIndex.claim(hold.getHoldId()) == null) {
+            return;
+        }
+        holdRepository.settle(hold.getHoldId(), Hold.EXPIRED)
+                .subscribe(expired -> log.info("Hold {} of account {} expired", expired.getHoldId(), expired.getAccountId()),
+                        error -> {
+                            log.warn("Could not expire hold {}, retrying: {}", hold.getHoldId(), error.getMessage());
+                            holdIndex.unclaim(hold.getHoldId());
+                            schedule(hold, retryDelay);
+                        },
+                        () -> holdIndex.remove(hold.getHoldId()));
+    }
+
+    /**
+     * Claims a hold of the account in the index. Only one of a concurrent capture, release and
+     * expiry gets it.
+     */
+    private Hold claim(final Long accountId, final Long holdId) {
+        Hold hold = holdIndex.get(holdId);
+        if (hold == null || !hold.getAccountId().equals(accountId)) {
+            return null;
+        }
+        return holdIndex.claim(holdId);
+    }
+
+    private <T> Mono<T> notActive(final Long accountId, final Long holdId) {
+        return holdRepository.findById(holdId)
+                .filter(hold -> hold.getAccountId().equals(accountId))
+                .switchIfEmpty(Mono.error(new HoldNotFoundException(holdId)))
+                .flatMap(hold -> Mono.error(new BusinessValidationException(Hold.ACTIVE.equals(hold.getStatus())
+                        ? "Hold " + holdId + " is already being settled"
+                        : "Hold " + holdId + " is already " + hold.getStatus())));
+    }
+
+    private HoldResponseDTO toResponseDTO(final Hold hold) {
+        return HoldResponseDTO.builder()
+                .holdId(hold.getHoldId())
+                .accountId(hold.getAccountId())
+                .amount(hold.getAmount())
+                .status(hold.getStatus())
+                .createdAt(hold.getCreatedAt())
+                .expiresAt(hold.getExpiresAt())
+                .settledAt(hold.getSettledAt())
+                .movementId(hold.getMovementId())
+                .build();
+    }
+}
@@ -0,0 +1,286 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.LedgerReconciliationRun;
+import com.bank.account.domain.model.LedgerRow;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.LedgerReconciliationRunRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.LedgerDriftDTO;
+import com.bank.account.infrastructure.adapter.web.dto.LedgerReconciliationReportDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reconciles the ledger: every movement balance must equal the balance of the movement before it
+ * plus or minus its amount, and the current balance of each account must equal its last movement balance.
+ * Accounts are split into chunks, several chunks are checked in parallel, and each chunk streams the
+ * movements of its accounts in the order their balances were computed, so memory does not depend on
+ * the number of movements. Every drift is written to a CSV report file in
+ * app.ledger.reconciliation.directory; the run summary and the first drifts are kept for the
+ * reconciliation actuator endpoint and the counts are recorded in ledger_reconciliation_runs.
+ * A movement is checked against the recorded balance of the one before it, so one broken balance is
+ * reported once instead of once per later movement.
+ * Incremental runs only check the accounts updated since the last finished run started (minus
+ * app.ledger.reconciliation.incremental-overlap, for transactions that were still open then); every
+ * movement write updates its account. The first run is always a full one.
+ */
+@Slf4j
+@Service
+public class LedgerReconciliationService {
+
+    private static final String FILE_PREFIX = "reconciliation_";
+    private static final String HEADER = "account_id,movement_id,type,expected,actual\n";
+
+    private final AccountRepository accountRepository;
+    private final MovementRepository movementRepository;
+    private final LedgerReconciliationRunRepository runRepository;
+    private final Path directory;
+    private final int chunkSize;
+    private final int concurrency;
+    private final Duration incrementalOverlap;
+    private final int maxReportedDrifts;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<LedgerReconciliationReportDTO> lastReport = new AtomicReference<>();
+
+    public LedgerReconciliationService(final AccountRepository accountRepository,
+                                       final MovementRepository movementRepository,
+                                       final LedgerReconciliationRunRepository runRepository,
+                                       @Value("${app.ledger.reconciliation.directory:${java.io.tmpdir}/account-reconciliation}")
+                                       final Path directory,
+                                       @Value("${app.ledger.reconciliation.chunk-size:500}") final int chunkSize,
+                                       @Value("${app.ledger.reconciliation.concurrency:4}") final int concurrency,
+                                       @Value("${app.ledger.reconciliation.incremental-overlap:5m}")
+                                       final Duration incrementalOverlap,
+                                       @Value("${app.ledger.reconciliation.max-reported-drifts:100}")
+                                       final int maxReportedDrifts,
+                                       final MeterRegistry meterRegistry) throws IOException {
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.runRepository = runRepository;
+        this.directory = Files.createDirectories(directory);
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.incrementalOverlap = incrementalOverlap;
+        this.maxReportedDrifts = maxReportedDrifts;
+        Gauge.builder("ledger.reconciliation.drifts", lastReport,
+                        report -> report.get() == null ? 0 : report.get().getDriftCount())
+                .description("Balance drifts found by the last ledger reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the accounts touched since the last run.
+     *
+     * @return A Mono emitting the report of the run.
+     */
+    @Scheduled(cron = "${app.ledger.reconciliation.cron:0 0 3 * * *}")
+    public Mono<LedgerReconciliationReportDTO> reconcileTouchedAccounts() {
+        return reconcile(true);
+    }
+
+    /**
+     * Reconciles the ledger of every account, or only of the accounts updated since the last run.
+     *
+     * @param incremental Whether to check only the accounts updated since the last finished run.
+     * @return A Mono emitting the report of the run.
+     * @throws BusinessValidationException If a reconciliation is already running on this node.
+     */
+    public Mono<LedgerReconciliationReportDTO> reconcile(final boolean incremental) {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                return Mono.error(new BusinessValidationException("A ledger reconciliation is already running"));
+            }
+            return scope(incremental)
+                    .flatMap(scope -> runRepository.start(scope.mode())
+                            .flatMap(run -> check(run, scope.accountIds())))
+                    .doFinally(signal -> running.set(false));
+        }).doOnError(error -> log.error("Error reconciling the ledger: {}", error.getMessage()));
+    }
+
+    /**
+     * Report of the last run completed on this node.
+     *
+     * @return The report, or null if no run completed yet.
+     */
+    public LedgerReconciliationReportDTO getLastReport() {
+        return lastReport.get();
+    }
+
+    private Mono<Scope> scope(final boolean incremental) {
+        Mono<Scope> full = Mono.fromSupplier(() ->
+                new Scope(LedgerReconciliationRun.FULL, accountRepository.findAllIds()));
+        if (!incremental) {
+            return full;
+        }
+        return runRepository.findLatestFinished()
+                .map(last -> new Scope(LedgerReconciliationRun.INCREMENTAL,
+                        accountRepository.findIdsUpdatedSince(last.getStartedAt().minus(incrementalOverlap))))
+                .switchIfEmpty(full);
+    }
+
+    private Mono<LedgerReconciliationReportDTO> check(final LedgerReconciliationRun run, final Flux<Long> accountIds) {
+        log.info("Starting {} ledger reconciliation {}, chunk size: {}, concurrency: {}",
+                run.getMode(), run.getRunId(), chunkSize, concurrency);
+        Path file = directory.resolve(FILE_PREFIX + run.getRunId() + ".csv");
+        Progress progress = new Progress();
+        List<LedgerDriftDTO> reported = new ArrayList<>();
+
+        return Flux.using(
+                        () -> openReport(file),
+                        writer -> accountIds
+                                .buffer(chunkSize)
+                                .flatMap(chunk -> checkChunk(chunk, progress), concurrency)
+                                .publishOn(Schedulers.boundedElastic())
+                                .doOnNext(drift -> {
+                                    writeDrift(writer, drift);
+                                    progress.drifts.incrementAndGet();
+                                    if (reported.size() < maxReportedDrifts) {
+                                        reported.add(drift);
+                                    }
+                                }),
+                        this::closeQuietly)
+                .then(Mono.defer(() -> runRepository.finish(run.getRunId(), progress.accounts.get(),
+                        progress.movements.get(), progress.drifts.get(), file.toString())))
+                .map(finished -> LedgerReconciliationReportDTO.builder()
+                        .runId(finished.getRunId())
+                        .mode(finished.getMode())
+                        .startedAt(finished.getStartedAt())
+                        .finishedAt(finished.getFinishedAt())
+                        .accountsChecked(finished.getAccountsChecked())
+                        .movementsChecked(finished.getMovementsChecked())
+                        .driftCount(finished.getDriftCount())
+                        .reportFile(finished.getReportFile())
+                        .drifts(List.copyOf(reported))
+                        .build())
+                .doOnNext(report -> {
+                    lastReport.set(report);
+                    log.info("Ledger reconciliation {} completed: {} accounts, {} movements, {} drifts",
+                            report.getRunId(), report.getAccountsChecked(), report.getMovementsChecked(),
+                            report.getDriftCount());
+                });
+    }
+
+    private Flux<LedgerDriftDTO> checkChunk(final List<Long> accountIds, final Progress progress) {
+        return Flux.defer(() -> {
+            LedgerWalker walker = new LedgerWalker();
+            return movementRepository.findLedgerRows(accountIds.toArray(Long[]::new))
+                    .concatMapIterable(walker::next)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(walker.finish())))
+                    .doOnComplete(() -> {
+                        progress.accounts.addAndGet(walker.accounts);
+                        progress.movements.addAndGet(walker.movements);
+                    });
+        });
+    }
+
+    private BufferedWriter openReport(final Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        return writer;
+    }
+
+    private void writeDrift(final BufferedWriter writer, final LedgerDriftDTO drift) {
+        try {
+            writer.write(drift.getAccountId() + "," + (drift.getMovementId() == null ? "" : drift.getMovementId())
+                    + "," + drift.getType() + "," + drift.getExpected().toPlainString()
+                    + "," + drift.getActual().toPlainString() + "\n");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void closeQuietly(final BufferedWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException ex) {
+            log.warn("Could not close ledger reconciliation report: {}", ex.getMessage());
+        }
+    }
+
+    private record Scope(String mode, Flux<Long> accountIds) {
+    }
+
+    private static final class Progress {
+        private final AtomicLong accounts = new AtomicLong();
+        private final AtomicLong movements = new AtomicLong();
+        private final AtomicLong drifts = new AtomicLong();
+    }
+
+    /**
+     * Walks the ledger rows of a chunk, ordered by account and movement. Not thread-safe; one per chunk.
+     */
+    private static final class LedgerWalker {
+
+        private Long accountId;
+        private BigDecimal currentBalance;
+        private BigDecimal previous;
+        private long accounts;
+        private long movements;
+
+        private List<LedgerDriftDTO> next(final LedgerRow row) {
+            List<LedgerDriftDTO> drifts = List.of();
+            if (!row.getAccountId().equals(accountId)) {
+                drifts = finish();
+                accountId = row.getAccountId();
+                currentBalance = row.getCurrentBalance();
+                previous = row.getOpeningBalance();
+                accounts++;
+            }
+            if (row.getMovementId() == null) {
+                return drifts;
+            }
+            movements++;
+            BigDecimal expected = "CREDIT".equals(row.getMovementType())
+                    ? previous.add(row.getAmount())
+                    : previous.subtract(row.getAmount());
+            previous = row.getBalance();
+            if (expected.compareTo(row.getBalance()) == 0) {
+                return drifts;
+            }
+            LedgerDriftDTO drift = LedgerDriftDTO.builder()
+                    .accountId(accountId)
+                    .movementId(row.getMovementId())
+                    .type(LedgerDriftDTO.MOVEMENT_BALANCE)
+                    .expected(expected)
+                    .actual(row.getBalance())
+                    .build();
+            return drifts.isEmpty() ? List.of(drift) : List.of(drifts.get(0), drift);
+        }
+
+        private List<LedgerDriftDTO> finish() {
+            if (accountId == null || currentBalance.compareTo(previous) == 0) {
+                return List.of();
+            }
+            LedgerDriftDTO drift = LedgerDriftDTO.builder()
+                    .accountId(accountId)
+                    .type(LedgerDriftDTO.CURRENT_BALANCE)
+                    .expected(previous)
+                    .actual(currentBalance)
+                    .build();
+            accountId = null;
+            return List.of(drift);
+        }
+    }
+}
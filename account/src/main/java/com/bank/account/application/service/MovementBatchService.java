@@ -0,0 +1,130 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk movement ingestion.
+ * Validates every item, groups the valid ones by account keeping their relative order,
+ * and writes them in chunks through the MovementBatchWriter.
+ */
+@Slf4j
+@Service
+public class MovementBatchService {
+
+    private final MovementBatchWriter movementBatchWriter;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxBatchSize;
+
+    public MovementBatchService(final MovementBatchWriter movementBatchWriter,
+                                final Validator validator,
+                                @Value("${app.movements.batch.chunk-size:500}") final int chunkSize,
+                                @Value("${app.movements.batch.max-size:10000}") final int maxBatchSize) {
+        this.movementBatchWriter = movementBatchWriter;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Creates a batch of movements.
+     * Movements of the same account are applied in the order they were submitted.
+     *
+     * @param requests The movements to create.
+     * @return A Mono emitting the per-item results, in submission order.
+     * @throws BusinessValidationException If the batch is empty or exceeds the maximum size.
+     */
+    public Mono<MovementBatchResponseDTO> createMovements(final List<MovementRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Mono.error(new BusinessValidationException("Movement batch must not be empty"));
+        }
+        if (requests.size() > maxBatchSize) {
+            return Mono.error(new BusinessValidationException(
+                    "Movement batch exceeds the maximum size of " + maxBatchSize));
+        }
+        log.info("Creating movement batch of {} items", requests.size());
+
+        MovementBatchItemResultDTO[] results = new MovementBatchItemResultDTO[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String violations = validate(requests.get(i));
+            if (violations != null) {
+                results[i] = MovementBatchItemResultDTO.builder()
+                        .index(i)
+                        .status(MovementBatchItemResultDTO.VALIDATION_ERROR)
+                        .message(violations)
+                        .build();
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        // Stable sort: groups items by account without changing their order within the account
+        validIndexes.sort(Comparator.comparing(i -> requests.get(i).getAccountId()));
+
+        return Flux.fromIterable(validIndexes)
+                .buffer(chunkSize)
+                .concatMap(indexes -> movementBatchWriter.writeChunk(indexes.stream()
+                                .map(requests::get)
+                                .toList())
+                        .doOnNext(chunkResults -> {
+                            for (int i = 0; i < indexes.size(); i++) {
+                                MovementBatchItemResultDTO result = chunkResults.get(i);
+                                result.setIndex(indexes.get(i));
+                                results[indexes.get(i)] = result;
+                            }
+                        }))
+                .then(Mono.fromSupplier(() -> toResponse(List.of(results))))
+                .doOnSuccess(response -> log.info("Movement batch processed: {} succeeded, {} failed",
+                        response.getSucceeded(), response.getFailed()))
+                .doOnError(error -> log.error("Error processing movement batch: {}", error.getMessage()));
+    }
+
+    /**
+     * Validates a single item against the bean validation constraints of MovementRequestDTO.
+     *
+     * @param request The movement request to validate.
+     * @return The joined violation messages, or null when the item is valid.
+     */
+    public String validate(final MovementRequestDTO request) {
+        if (request == null) {
+            return "Movement must not be null";
+        }
+        Set<ConstraintViolation<MovementRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private MovementBatchResponseDTO toResponse(final List<MovementBatchItemResultDTO> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> MovementBatchItemResultDTO.CREATED.equals(result.getStatus()))
+                .count();
+        return MovementBatchResponseDTO.builder()
+                .total(results.size())
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results)
+                .build();
+    }
+}
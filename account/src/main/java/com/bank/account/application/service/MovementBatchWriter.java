@@ -0,0 +1,170 @@
+package com.bank.account.application.service;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a chunk of movements in a single transaction.
+ * The accounts of the chunk are locked once, the movements are applied in order against
+ * their balances in memory, all accepted movements are inserted with one multi-row statement
+ * and every touched account balance is updated once. Debits cannot spend the funds reserved by
+ * active holds, and are reserved against the daily debit limit of their account; the reservations
+ * are released if the chunk does not commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MovementBatchWriter {
+
+    private final MovementRepository movementRepository;
+    private final AccountRepository accountRepository;
+    private final MovementMapper movementMapper;
+    private final AccountCache accountCache;
+    private final HoldIndex holdIndex;
+    private final DailyDebitLimiter debitLimiter;
+
+    /**
+     * Applies a chunk of already validated movement requests.
+     * Items that cannot be applied are reported and skipped; the rest of the chunk is still written.
+     *
+     * @param requests The movement requests, in the order they must be applied.
+     * @return A Mono emitting one result per request, in the same order.
+     */
+    @Transactional
+    public Mono<List<MovementBatchItemResultDTO>> writeChunk(final List<MovementRequestDTO> requests) {
+        Long[] accountIds = requests.stream()
+                .map(MovementRequestDTO::getAccountId)
+                .distinct()
+                .sorted()
+                .toArray(Long[]::new);
+
+        return accountRepository.findAllByIdForUpdate(accountIds)
+                .collectMap(Account::getAccountId)
+                .flatMap(accounts -> applyChunk(requests, accounts));
+    }
+
+    private Mono<List<MovementBatchItemResultDTO>> applyChunk(final List<MovementRequestDTO> requests,
+                                                              final Map<Long, Account> accounts) {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        accounts.values().forEach(account -> balances.put(account.getAccountId(), account.getCurrentBalance()));
+
+        List<MovementBatchItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Integer> acceptedPositions = new ArrayList<>();
+        List<Movement> accepted = new ArrayList<>();
+        List<DailyDebitLimiter.Reservation> reservations = new ArrayList<>();
+        Map<Long, BigDecimal> touched = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        // One item at a time: whether a debit is accepted depends on the balance left by the previous ones
+        return Flux.fromIterable(requests)
+                .concatMap(request -> Mono.defer(() -> {
+                    Account account = accounts.get(request.getAccountId());
+                    if (account == null) {
+                        results.add(failure(MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND,
+                                "Account not found with ID: " + request.getAccountId()));
+                        return Mono.empty();
+                    }
+
+                    BigDecimal current = balances.get(account.getAccountId());
+                    boolean debit = "DEBIT".equalsIgnoreCase(request.getMovementType());
+                    BigDecimal newBalance = debit ? current.subtract(request.getAmount()) : current.add(request.getAmount());
+                    BigDecimal reserved = debit ? holdIndex.heldAmount(account.getAccountId()) : BigDecimal.ZERO;
+                    if (newBalance.compareTo(reserved) < 0) {
+                        results.add(failure(MovementBatchItemResultDTO.INSUFFICIENT_BALANCE, "Saldo no disponible"));
+                        return Mono.empty();
+                    }
+
+                    Mono<DailyDebitLimiter.Reservation> reservation = debit
+                            ? debitLimiter.reserve(account, request.getAmount())
+                            : Mono.just(DailyDebitLimiter.Reservation.NONE);
+                    return reservation
+                            .doOnNext(granted -> {
+                                reservations.add(granted);
+                                balances.put(account.getAccountId(), newBalance);
+                                touched.put(account.getAccountId(), newBalance);
+                                accepted.add(Movement.builder()
+                                        .movementDate(now)
+                                        .movementType(request.getMovementType().toUpperCase())
+                                        .amount(request.getAmount())
+                                        .balance(newBalance)
+                                        .accountId(account.getAccountId())
+                                        .build());
+                                acceptedPositions.add(results.size());
+                                results.add(null);
+                            })
+                            .onErrorResume(DailyDebitLimitExceededException.class, ex -> {
+                                results.add(failure(MovementBatchItemResultDTO.DAILY_LIMIT_EXCEEDED, ex.getMessage()));
+                                return Mono.empty();
+                            })
+                            .then();
+                }))
+                .then(Mono.defer(() -> write(accepted, acceptedPositions, touched, accounts, results)))
+                // Inside a transaction the reservations are also released on rollback; this covers callers without one
+                .doOnError(error -> reservations.forEach(DailyDebitLimiter.Reservation::release));
+    }
+
+    private Mono<List<MovementBatchItemResultDTO>> write(final List<Movement> accepted,
+                                                         final List<Integer> acceptedPositions,
+                                                         final Map<Long, BigDecimal> touched,
+                                                         final Map<Long, Account> accounts,
+                                                         final List<MovementBatchItemResultDTO> results) {
+        if (accepted.isEmpty()) {
+            return Mono.just(results);
+        }
+
+        return movementRepository.insertAll(
+                        accepted.stream().map(Movement::getMovementDate).toArray(LocalDateTime[]::new),
+                        accepted.stream().map(Movement::getMovementType).toArray(String[]::new),
+                        accepted.stream().map(Movement::getAmount).toArray(BigDecimal[]::new),
+                        accepted.stream().map(Movement::getBalance).toArray(BigDecimal[]::new),
+                        accepted.stream().map(Movement::getAccountId).toArray(Long[]::new))
+                .sort(Comparator.comparing(Movement::getMovementId))
+                .collectList()
+                .flatMap(saved -> accountRepository.updateBalances(
+                                touched.keySet().toArray(Long[]::new),
+                                touched.values().toArray(BigDecimal[]::new))
+                        .then(accountCache.updateBalancesAfterCommit(touched))
+                        .thenReturn(saved))
+                .map(saved -> {
+                    for (int i = 0; i < saved.size(); i++) {
+                        Movement movement = saved.get(i);
+                        MovementResponseDTO response = movementMapper.toResponseDTO(movement);
+                        response.setAccountNumber(accounts.get(movement.getAccountId()).getAccountNumber());
+                        results.set(acceptedPositions.get(i), MovementBatchItemResultDTO.builder()
+                                .status(MovementBatchItemResultDTO.CREATED)
+                                .movement(response)
+                                .build());
+                    }
+                    log.debug("Chunk written: {} movements on {} accounts", saved.size(), touched.size());
+                    return results;
+                });
+    }
+
+    private MovementBatchItemResultDTO failure(final String status, final String message) {
+        return MovementBatchItemResultDTO.builder()
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
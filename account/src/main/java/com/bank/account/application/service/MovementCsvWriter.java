@@ -0,0 +1,243 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.model.Movement;
+import io.r2dbc.spi.Readable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes movement rows as CSV straight into data buffers, optionally gzip-compressed.
+ * Each row is read column by column from the R2DBC result and written into a reusable line buffer,
+ * without building an object per row; lines are appended to a buffer taken from the factory (pooled
+ * when it comes from the HTTP response) until it holds chunkSize bytes, and then handed out.
+ * Not thread-safe; one instance per export.
+ */
+public final class MovementCsvWriter {
+
+    static final String HEADER = "movement_id,account_id,account_number,movement_date,movement_type,amount,balance";
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final DataBufferFactory bufferFactory;
+    private final int chunkSize;
+    private final OutputStream out;
+    private byte[] line = new byte[256];
+    private int length;
+    private DataBuffer chunk;
+    private long rowsWritten;
+
+    public MovementCsvWriter(final DataBufferFactory bufferFactory, final int chunkSize, final boolean gzip) {
+        this.bufferFactory = bufferFactory;
+        this.chunkSize = chunkSize;
+        OutputStream chunkStream = new ChunkOutputStream();
+        try {
+            this.out = gzip ? new GZIPOutputStream(chunkStream, GZIP_BUFFER_SIZE) : chunkStream;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        appendAscii(HEADER);
+        endLine();
+    }
+
+    /**
+     * Writes one movement row, which must carry the columns named in the header.
+     *
+     * @param row The current row of the result.
+     * @return Whether a full chunk is ready to be taken.
+     */
+    public boolean write(final Readable row) {
+        return write(row.get("movement_id", Long.class), row.get("account_id", Long.class),
+                row.get("account_number", String.class), row.get("movement_date", LocalDateTime.class),
+                row.get("movement_type", String.class), row.get("amount", BigDecimal.class),
+                row.get("balance", BigDecimal.class));
+    }
+
+    /**
+     * Writes one movement read from the archive, which does not carry the account number.
+     *
+     * @param movement      The movement.
+     * @param accountNumber The number of its account.
+     * @return Whether a full chunk is ready to be taken.
+     */
+    public boolean writeArchived(final Movement movement, final String accountNumber) {
+        return write(movement.getMovementId(), movement.getAccountId(), accountNumber, movement.getMovementDate(),
+                movement.getMovementType(), movement.getAmount(), movement.getBalance());
+    }
+
+    private boolean write(final Long movementId, final Long accountId, final String accountNumber,
+                          final LocalDateTime movementDate, final String movementType,
+                          final BigDecimal amount, final BigDecimal balance) {
+        appendNumber(movementId);
+        append(',');
+        appendNumber(accountId);
+        append(',');
+        appendText(accountNumber);
+        append(',');
+        if (movementDate != null) {
+            appendAscii(movementDate.toString());
+        }
+        append(',');
+        appendText(movementType);
+        append(',');
+        appendDecimal(amount);
+        append(',');
+        appendDecimal(balance);
+        endLine();
+        rowsWritten++;
+        return chunk != null && chunk.readableByteCount() >= chunkSize;
+    }
+
+    /**
+     * Hands out the chunk written so far. The caller owns the buffer.
+     *
+     * @return The chunk, or null if nothing was written since the last one.
+     */
+    public DataBuffer takeChunk() {
+        DataBuffer full = chunk;
+        chunk = null;
+        return full;
+    }
+
+    /**
+     * Ends the output (writing the gzip trailer when compressing) and hands out the last chunk.
+     *
+     * @return The last chunk, or null if nothing is left.
+     */
+    public DataBuffer finish() {
+        try {
+            out.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return takeChunk();
+    }
+
+    /**
+     * Ends the compressor if still open and releases the chunk not handed out. Safe to call after finish.
+     */
+    public void release() {
+        try {
+            out.close();
+        } catch (IOException | RuntimeException ex) {
+            // Nothing left to hand out; the chunk is released below either way
+        }
+        DataBufferUtils.release(takeChunk());
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    private void appendNumber(final Long value) {
+        if (value != null) {
+            appendAscii(Long.toString(value));
+        }
+    }
+
+    private void appendDecimal(final BigDecimal value) {
+        if (value != null) {
+            appendAscii(value.toPlainString());
+        }
+    }
+
+    /**
+     * Appends a text field, quoted when it contains a separator, a quote or a line break.
+     */
+    private void appendText(final String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote) {
+            append('"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                appendUtf8(value.substring(i), quote);
+                break;
+            }
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        if (quote) {
+            append('"');
+        }
+    }
+
+    private void appendUtf8(final String value, final boolean quote) {
+        String text = quote ? value.replace("\"", "\"\"") : value;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            ensureCapacity(1);
+            line[length++] = b;
+        }
+    }
+
+    private void appendAscii(final String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            line[length++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void append(final char c) {
+        ensureCapacity(1);
+        line[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (length + extra > line.length) {
+            byte[] grown = new byte[Math.max(line.length * 2, length + extra)];
+            System.arraycopy(line, 0, grown, 0, length);
+            line = grown;
+        }
+    }
+
+    private void endLine() {
+        append('\n');
+        try {
+            out.write(line, 0, length);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        length = 0;
+    }
+
+    /**
+     * Appends to the current chunk, taking a new buffer from the factory when there is none.
+     */
+    private final class ChunkOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            current().write((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int count) {
+            current().write(bytes, offset, count);
+        }
+
+        private DataBuffer current() {
+            if (chunk == null) {
+                chunk = bufferFactory.allocateBuffer(chunkSize + line.length);
+            }
+            return chunk;
+        }
+    }
+}
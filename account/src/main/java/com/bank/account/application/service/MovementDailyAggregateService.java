@@ -0,0 +1,53 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service class for the daily movement aggregates.
+ * The aggregates follow every write to movements through database triggers, so this service only
+ * recomputes them from scratch: after a bulk load, or to repair them. Accounts are split into chunks
+ * of consecutive IDs, and each chunk is rebuilt in its own statement, several chunks in parallel.
+ */
+@Slf4j
+@Service
+public class MovementDailyAggregateService {
+
+    private final MovementDailyAggregateRepository aggregateRepository;
+    private final AccountRepository accountRepository;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public MovementDailyAggregateService(final MovementDailyAggregateRepository aggregateRepository,
+                                         final AccountRepository accountRepository,
+                                         @Value("${app.reports.aggregates.rebuild-chunk-size:500}") final int chunkSize,
+                                         @Value("${app.reports.aggregates.rebuild-concurrency:4}") final int concurrency) {
+        this.aggregateRepository = aggregateRepository;
+        this.accountRepository = accountRepository;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Recomputes the daily aggregates of every account from its movements.
+     * Movements of a chunk wait while that chunk is rebuilt; other accounts are not blocked.
+     *
+     * @return A Mono emitting the number of aggregate rows written.
+     */
+    public Mono<Long> rebuildAll() {
+        log.info("Rebuilding daily aggregates, chunk size: {}, concurrency: {}", chunkSize, concurrency);
+
+        return accountRepository.findAllIds()
+                .buffer(chunkSize)
+                .flatMap(ids -> aggregateRepository.rebuild(ids.get(0), ids.get(ids.size() - 1))
+                        .doOnNext(rows -> log.debug("Daily aggregates of accounts {} to {} rebuilt: {} rows",
+                                ids.get(0), ids.get(ids.size() - 1), rows)), concurrency)
+                .reduce(0L, Long::sum)
+                .doOnNext(rows -> log.info("Daily aggregates rebuilt: {} rows", rows))
+                .doOnError(error -> log.error("Error rebuilding daily aggregates: {}", error.getMessage()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for bulk CSV exports of movements.
+ * Rows are encoded by a MovementCsvWriter while the R2DBC result is read, so no entity or DTO is
+ * built per movement and no account is looked up per row (the account number comes from the join).
+ * The result is read in fetch-size batches and encoded into chunks requested on demand, so memory
+ * stays flat however many movements are exported.
+ * Months before the archive horizon are read from the MovementArchiveRepository, account by account,
+ * and written before the movements still in the database.
+ */
+@Slf4j
+@Service
+public class MovementExportService {
+
+    private static final String EXPORT_QUERY = "SELECT m.movement_id, m.account_id, a.account_number, "
+            + "m.movement_date, m.movement_type, m.amount, m.balance "
+            + "FROM movements m INNER JOIN accounts a ON a.account_id = m.account_id";
+    private static final String ACCOUNTS_QUERY = "SELECT account_id, account_number FROM accounts";
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    private final DatabaseClient databaseClient;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final int chunkSize;
+    private final int fetchSize;
+
+    public MovementExportService(final DatabaseClient databaseClient,
+                                 final MovementArchiveRepository movementArchiveRepository,
+                                 @Value("${app.movements.export.chunk-size:65536}") final int chunkSize,
+                                 @Value("${app.movements.export.fetch-size:2000}") final int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.movementArchiveRepository = movementArchiveRepository;
+        this.chunkSize = chunkSize;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Exports movements as CSV. Every filter is optional.
+     * Archived movements come first, by account and date; the movements in the database follow by movement ID.
+     *
+     * @param accountId     Only movements of this account.
+     * @param startDate     Only movements at or after this date.
+     * @param endDate       Only movements at or before this date.
+     * @param gzip          Whether to gzip the output.
+     * @param bufferFactory The factory of the output buffers, normally the one of the HTTP response.
+     * @return A Flux emitting the CSV bytes, in chunks.
+     * @throws BusinessValidationException If the start date is after the end date.
+     */
+    public Flux<DataBuffer> exportCsv(final Long accountId,
+                                      final LocalDateTime startDate,
+                                      final LocalDateTime endDate,
+                                      final boolean gzip,
+                                      final DataBufferFactory bufferFactory) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            return Flux.error(new BusinessValidationException("Start date must not be after end date"));
+        }
+        log.info("Starting CSV export of movements: account {}, from {} to {}, gzip {}",
+                accountId, startDate, endDate, gzip);
+
+        return Flux.using(
+                        () -> new MovementCsvWriter(bufferFactory, chunkSize, gzip),
+                        writer -> archived(accountId, startDate, endDate, writer)
+                                .concatWith(query(accountId, startDate, endDate)
+                                        .map(writer::write)
+                                        .all())
+                                .<DataBuffer>handle((ready, sink) -> {
+                                    if (ready) {
+                                        sink.next(writer.takeChunk());
+                                    }
+                                })
+                                .concatWith(Mono.fromSupplier(writer::finish))
+                                .doOnComplete(() -> log.info("CSV export of movements completed: {} rows",
+                                        writer.getRowsWritten())),
+                        MovementCsvWriter::release)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnError(error -> log.error("Error in CSV export of movements: {}", error.getMessage()));
+    }
+
+    /**
+     * Writes the archived movements within the filters, if the range reaches before the archive horizon.
+     * An open range is bounded by the first year and the archive horizon, which the archive can encode.
+     */
+    private Flux<Boolean> archived(final Long accountId,
+                                   final LocalDateTime startDate,
+                                   final LocalDateTime endDate,
+                                   final MovementCsvWriter writer) {
+        LocalDateTime from = startDate != null ? startDate : FIRST_DATE;
+        LocalDateTime to = endDate != null ? endDate
+                : movementArchiveRepository.getHorizon().atDay(1).atStartOfDay().minusNanos(1);
+        if (!movementArchiveRepository.overlaps(from, to)) {
+            return Flux.empty();
+        }
+        DatabaseClient.GenericExecuteSpec accounts = accountId != null
+                ? databaseClient.sql(ACCOUNTS_QUERY + " WHERE account_id = :accountId").bind("accountId", accountId)
+                : databaseClient.sql(ACCOUNTS_QUERY + " ORDER BY account_id");
+        return accounts
+                .map(row -> Map.entry(row.get("account_id", Long.class), row.get("account_number", String.class)))
+                .all()
+                .concatMap(account -> movementArchiveRepository
+                        .findByAccountIdAndDateRange(account.getKey(), from, to)
+                        .map(movement -> writer.writeArchived(movement, account.getValue())));
+    }
+
+    private DatabaseClient.GenericExecuteSpec query(final Long accountId,
+                                                    final LocalDateTime startDate,
+                                                    final LocalDateTime endDate) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (accountId != null) {
+            conditions.add("m.account_id = :accountId");
+            bindings.put("accountId", accountId);
+        }
+        if (startDate != null) {
+            conditions.add("m.movement_date >= :startDate");
+            bindings.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            conditions.add("m.movement_date <= :endDate");
+            bindings.put("endDate", endDate);
+        }
+        String sql = EXPORT_QUERY
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY m.movement_id";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+}
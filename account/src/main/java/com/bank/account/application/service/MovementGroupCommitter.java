@@ -0,0 +1,149 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.exception.MovementQueueFullException;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group-commit writer for single movements.
+ * Pending movements from many requests are collected for a short window, or until the group is
+ * full, and written by the MovementBatchWriter in one transaction with batched inserts and balance
+ * updates. Each caller completes once its group has committed. Groups are written one at a time
+ * in arrival order, so movements of the same account keep their order without the sequencer.
+ * Opt-in through app.movements.group-commit.enabled.
+ */
+@Slf4j
+@Component
+public class MovementGroupCommitter {
+
+    private final MovementBatchWriter movementBatchWriter;
+    private final boolean enabled;
+    private final int maxPending;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final DistributionSummary groupSize;
+    private final Timer commitTimer;
+    private FluxSink<PendingMovement> sink;
+
+    public MovementGroupCommitter(final MovementBatchWriter movementBatchWriter,
+                                  @Value("${app.movements.group-commit.enabled:false}") final boolean enabled,
+                                  @Value("${app.movements.group-commit.max-size:256}") final int maxSize,
+                                  @Value("${app.movements.group-commit.window:2ms}") final Duration window,
+                                  @Value("${app.movements.group-commit.max-pending:10000}") final int maxPending,
+                                  final MeterRegistry meterRegistry) {
+        this.movementBatchWriter = movementBatchWriter;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.groupSize = DistributionSummary.builder("movement.group-commit.size")
+                .description("Movements written per group commit")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("movement.group-commit.duration")
+                .description("Time to write and commit one group")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        if (enabled) {
+            Flux.<PendingMovement>create(emitter -> this.sink = emitter)
+                    .bufferTimeout(maxSize, window)
+                    // Every queued group holds at least one pending movement, so this prefetch
+                    // always leaves bufferTimeout demand to emit into
+                    .concatMap(this::commitGroup, maxPending)
+                    .subscribe();
+            log.info("Movement group commit enabled: up to {} movements or {} per group", maxSize, window);
+        }
+    }
+
+    /**
+     * @return Whether single movements should be written through group commit.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a validated movement for the next group commit.
+     *
+     * @param requestDTO The movement data.
+     * @return A Mono emitting the created movement once its group has committed.
+     * @throws InsufficientBalanceException If a DEBIT exceeds the balance left by earlier movements.
+     * @throws AccountNotFoundException     If the account does not exist.
+     * @throws MovementQueueFullException   If too many movements are already waiting for a group.
+     */
+    public Mono<MovementResponseDTO> submit(final MovementRequestDTO requestDTO) {
+        if (!enabled) {
+            return Mono.error(new IllegalStateException("Movement group commit is disabled"));
+        }
+        return Mono.create(caller -> {
+            if (pending.incrementAndGet() > maxPending) {
+                pending.decrementAndGet();
+                caller.error(new MovementQueueFullException(requestDTO.getAccountId()));
+                return;
+            }
+            sink.next(new PendingMovement(requestDTO, caller));
+        });
+    }
+
+    private Mono<Void> commitGroup(final List<PendingMovement> group) {
+        pending.addAndGet(-group.size());
+        groupSize.record(group.size());
+        long start = System.nanoTime();
+
+        return movementBatchWriter.writeChunk(group.stream().map(PendingMovement::request).toList())
+                .doOnNext(results -> {
+                    commitTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                    for (int i = 0; i < group.size(); i++) {
+                        complete(group.get(i), results.get(i));
+                    }
+                })
+                .doOnError(error -> {
+                    log.error("Group commit of {} movements failed: {}", group.size(), error.getMessage());
+                    group.forEach(movement -> movement.caller().error(error));
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private void complete(final PendingMovement movement, final MovementBatchItemResultDTO result) {
+        switch (result.getStatus()) {
+            case MovementBatchItemResultDTO.CREATED -> movement.caller().success(result.getMovement());
+            case MovementBatchItemResultDTO.INSUFFICIENT_BALANCE ->
+                    movement.caller().error(new InsufficientBalanceException());
+            case MovementBatchItemResultDTO.DAILY_LIMIT_EXCEEDED ->
+                    movement.caller().error(new DailyDebitLimitExceededException(result.getMessage()));
+            case MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND ->
+                    movement.caller().error(new AccountNotFoundException(movement.request().getAccountId()));
+            default -> movement.caller().error(new BusinessValidationException(result.getMessage()));
+        }
+    }
+
+    /**
+     * Stops accepting movements; groups already queued are still committed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (sink != null) {
+            sink.complete();
+        }
+    }
+
+    private record PendingMovement(MovementRequestDTO request, MonoSink<MovementResponseDTO> caller) {
+    }
+}
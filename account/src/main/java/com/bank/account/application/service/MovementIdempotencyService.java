@@ -0,0 +1,123 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.IdempotencyKeyReusedException;
+import com.bank.account.domain.repository.MovementIdempotencyRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Service class for idempotent movement creation.
+ * Responses of movements created with an Idempotency-Key are kept in a bounded in-memory cache
+ * with TTL eviction, so a retry on this instance is answered without touching the database.
+ * On a cache miss the movement_idempotency table decides, which covers restarts and other instances.
+ * Records older than the TTL are purged from the table in batches, so a key is only replayed within
+ * the TTL and the table does not grow without bound.
+ */
+@Slf4j
+@Service
+public class MovementIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final MovementIdempotencyWriter movementIdempotencyWriter;
+    private final MovementIdempotencyRepository movementIdempotencyRepository;
+    private final MovementSequencer movementSequencer;
+    private final Cache<String, StoredResponse> responses;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public MovementIdempotencyService(final MovementIdempotencyWriter movementIdempotencyWriter,
+                                      final MovementIdempotencyRepository movementIdempotencyRepository,
+                                      final MovementSequencer movementSequencer,
+                                      @Value("${app.movements.idempotency.cache-size:100000}") final long cacheSize,
+                                      @Value("${app.movements.idempotency.ttl:24h}") final Duration ttl,
+                                      @Value("${app.movements.idempotency.purge-batch-size:1000}") final int purgeBatchSize,
+                                      final MeterRegistry meterRegistry) {
+        this.movementIdempotencyWriter = movementIdempotencyWriter;
+        this.movementIdempotencyRepository = movementIdempotencyRepository;
+        this.movementSequencer = movementSequencer;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "movement.idempotency");
+    }
+
+    /**
+     * Creates a movement at most once per idempotency key.
+     *
+     * @param idempotencyKey The client supplied idempotency key.
+     * @param requestDTO     The movement data.
+     * @return A Mono emitting the movement response, the original one when the key was already used.
+     * @throws IdempotencyKeyReusedException If the key was used before for a different request.
+     * @throws BusinessValidationException   If the key is blank or too long.
+     */
+    public Mono<MovementResponseDTO> createMovement(final String idempotencyKey, final MovementRequestDTO requestDTO) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return Mono.error(new BusinessValidationException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+        }
+        String fingerprint = fingerprint(requestDTO);
+
+        StoredResponse stored = responses.getIfPresent(idempotencyKey);
+        if (stored != null) {
+            if (!stored.fingerprint().equals(fingerprint)) {
+                return Mono.error(new IdempotencyKeyReusedException(idempotencyKey));
+            }
+            log.info("Replaying cached movement {} for idempotency key {}",
+                    stored.response().getMovementId(), idempotencyKey);
+            return Mono.just(stored.response());
+        }
+
+        return movementSequencer.submit(requestDTO.getAccountId(),
+                        () -> movementIdempotencyWriter.createMovement(idempotencyKey, fingerprint, requestDTO))
+                .doOnNext(response -> responses.put(idempotencyKey, new StoredResponse(fingerprint, response)));
+    }
+
+    /**
+     * Deletes the idempotency records older than the TTL, one batch per statement until none is left,
+     * so no single transaction holds many row locks.
+     *
+     * @return A Mono emitting the number of records deleted.
+     */
+    @Scheduled(fixedDelayString = "${app.movements.idempotency.purge-interval:PT10M}")
+    public Mono<Long> purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        return movementIdempotencyRepository.deleteCreatedBefore(cutoff, purgeBatchSize)
+                .expand(deleted -> deleted < purgeBatchSize
+                        ? Mono.empty()
+                        : movementIdempotencyRepository.deleteCreatedBefore(cutoff, purgeBatchSize))
+                .reduce(0L, Long::sum)
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        log.info("Idempotency records purged: {}", deleted);
+                    }
+                })
+                .doOnError(error -> log.warn("Could not purge the idempotency records: {}", error.getMessage()));
+    }
+
+    private String fingerprint(final MovementRequestDTO requestDTO) {
+        return requestDTO.getAccountId() + ":"
+                + requestDTO.getMovementType().toUpperCase() + ":"
+                + requestDTO.getAmount().stripTrailingZeros().toPlainString();
+    }
+
+    private record StoredResponse(String fingerprint, MovementResponseDTO response) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.IdempotencyKeyReusedException;
+import com.bank.account.domain.repository.MovementIdempotencyRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates movements under an idempotency key.
+ * The key is claimed in the same transaction that creates the movement, so either both the
+ * movement and its idempotency record are committed or neither is, and a retry of a failed
+ * request runs again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MovementIdempotencyWriter {
+
+    private final MovementIdempotencyRepository movementIdempotencyRepository;
+    private final MovementService movementService;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Creates the movement if the key is new, otherwise returns the response stored for the key.
+     *
+     * @param idempotencyKey     The client supplied idempotency key.
+     * @param requestFingerprint Canonical form of the request, to detect keys reused for another request.
+     * @param requestDTO         The movement data.
+     * @return A Mono emitting the created or the previously stored movement response.
+     * @throws IdempotencyKeyReusedException If the key was used before for a different request.
+     */
+    @Transactional
+    public Mono<MovementResponseDTO> createMovement(final String idempotencyKey,
+                                                   final String requestFingerprint,
+                                                   final MovementRequestDTO requestDTO) {
+        return movementIdempotencyRepository.claim(idempotencyKey, requestFingerprint, LocalDateTime.now())
+                .flatMap(claimed -> movementService.createMovement(requestDTO))
+                .flatMap(response -> movementIdempotencyRepository.complete(idempotencyKey,
+                                response.getMovementId(), jsonMapper.writeValueAsString(response))
+                        .thenReturn(response))
+                .switchIfEmpty(Mono.defer(() -> findStoredResponse(idempotencyKey, requestFingerprint)));
+    }
+
+    private Mono<MovementResponseDTO> findStoredResponse(final String idempotencyKey,
+                                                         final String requestFingerprint) {
+        return movementIdempotencyRepository.findById(idempotencyKey)
+                .flatMap(record -> {
+                    if (!record.getRequestFingerprint().equals(requestFingerprint)) {
+                        return Mono.error(new IdempotencyKeyReusedException(idempotencyKey));
+                    }
+                    log.info("Replaying movement {} for idempotency key {}", record.getMovementId(), idempotencyKey);
+                    return Mono.just(jsonMapper.readValue(record.getResponseBody(), MovementResponseDTO.class));
+                });
+    }
+}
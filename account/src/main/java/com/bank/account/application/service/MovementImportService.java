@@ -0,0 +1,121 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.exception.MovementQueueFullException;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+
+/**
+ * Service class for streaming movement imports.
+ * Splits an NDJSON upload into records as the bytes arrive and pushes each record through
+ * the per-account sequencer with bounded concurrency. Demand only reaches the upload when
+ * movements complete, so memory stays flat and the upload is paced by the database.
+ */
+@Slf4j
+@Service
+public class MovementImportService {
+
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private final MovementService movementService;
+    private final MovementSequencer movementSequencer;
+    private final MovementBatchService movementBatchService;
+    private final JsonMapper jsonMapper;
+    private final StringDecoder lineDecoder;
+    private final int concurrency;
+
+    public MovementImportService(final MovementService movementService,
+                                 final MovementSequencer movementSequencer,
+                                 final MovementBatchService movementBatchService,
+                                 final JsonMapper jsonMapper,
+                                 @Value("${app.movements.stream.concurrency:32}") final int concurrency,
+                                 @Value("${app.movements.stream.max-line-size:65536}") final int maxLineSize) {
+        this.movementService = movementService;
+        this.movementSequencer = movementSequencer;
+        this.movementBatchService = movementBatchService;
+        this.jsonMapper = jsonMapper;
+        this.concurrency = concurrency;
+        this.lineDecoder = StringDecoder.allMimeTypes();
+        this.lineDecoder.setMaxInMemorySize(maxLineSize);
+    }
+
+    /**
+     * Imports movements from an NDJSON byte stream.
+     * Results are emitted in input order, one per non-blank line, while the upload is still running.
+     *
+     * @param body The raw request body.
+     * @return A Flux emitting the result of each record.
+     */
+    public Flux<MovementBatchItemResultDTO> importMovements(final Flux<DataBuffer> body) {
+        log.info("Starting streaming movement import");
+
+        return lineDecoder.decode(body, STRING_TYPE, null, Map.of())
+                .filter(line -> !line.isBlank())
+                .index()
+                .flatMapSequential(record -> importRecord(record.getT1().intValue(), record.getT2()),
+                        concurrency, 1)
+                .doOnComplete(() -> log.info("Streaming movement import completed"))
+                .doOnError(error -> log.error("Error in streaming movement import: {}", error.getMessage()));
+    }
+
+    private Mono<MovementBatchItemResultDTO> importRecord(final int index, final String line) {
+        MovementRequestDTO request;
+        try {
+            request = jsonMapper.readValue(line, MovementRequestDTO.class);
+        } catch (JacksonException ex) {
+            return Mono.just(failure(index, MovementBatchItemResultDTO.VALIDATION_ERROR,
+                    "Malformed JSON record: " + ex.getOriginalMessage()));
+        }
+
+        String violations = movementBatchService.validate(request);
+        if (violations != null) {
+            return Mono.just(failure(index, MovementBatchItemResultDTO.VALIDATION_ERROR, violations));
+        }
+
+        return movementSequencer.submit(request.getAccountId(), () -> movementService.createMovement(request))
+                .map(movement -> MovementBatchItemResultDTO.builder()
+                        .index(index)
+                        .status(MovementBatchItemResultDTO.CREATED)
+                        .movement(movement)
+                        .build())
+                .onErrorResume(error -> Mono.just(failure(index, statusOf(error), error.getMessage())));
+    }
+
+    private String statusOf(final Throwable error) {
+        if (error instanceof InsufficientBalanceException) {
+            return MovementBatchItemResultDTO.INSUFFICIENT_BALANCE;
+        } else if (error instanceof AccountNotFoundException) {
+            return MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND;
+        } else if (error instanceof DailyDebitLimitExceededException) {
+            return MovementBatchItemResultDTO.DAILY_LIMIT_EXCEEDED;
+        } else if (error instanceof BusinessValidationException) {
+            return MovementBatchItemResultDTO.VALIDATION_ERROR;
+        } else if (error instanceof MovementQueueFullException) {
+            return MovementBatchItemResultDTO.REJECTED;
+        }
+        return MovementBatchItemResultDTO.ERROR;
+    }
+
+    private MovementBatchItemResultDTO failure(final int index, final String status, final String message) {
+        return MovementBatchItemResultDTO.builder()
+                .index(index)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.model.Movement;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Moves the partition of one month to the MovementArchive in a single transaction.
+ * The partition is locked against writes, its movements are streamed into the archive file sorted by
+ * account and date, and archive_movement_partition then checks the row count, checkpoints every
+ * account at the end of the month, records the month and drops the partition.
+ */
+@Slf4j
+@Service
+public class MovementPartitionArchiver {
+
+    static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'movements_'yyyy_MM");
+
+    private final DatabaseClient databaseClient;
+    private final MovementArchive movementArchive;
+    private final int fetchSize;
+
+    public MovementPartitionArchiver(final DatabaseClient databaseClient,
+                                     final MovementArchive movementArchive,
+                                     @Value("${app.movements.export.fetch-size:2000}") final int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.movementArchive = movementArchive;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Archives the partition of a month. The archive file is written before the partition is dropped;
+     * if the transaction does not commit, the caller must discard it.
+     *
+     * @param month The month to archive.
+     * @return A Mono emitting the number of movements archived.
+     */
+    @Transactional
+    public Mono<Long> archiveMonth(final YearMonth month) {
+        String partition = month.format(PARTITION_FORMAT);
+        log.info("Archiving movement partition {}", partition);
+
+        return databaseClient.sql("LOCK TABLE " + partition + " IN SHARE MODE")
+                .then()
+                .then(movementArchive.write(month, readPartition(partition)))
+                .flatMap(rows -> databaseClient.sql("SELECT archive_movement_partition(:month, :fileName, :rowCount)")
+                        .bind("month", month.atDay(1))
+                        .bind("fileName", movementArchive.fileNameOf(month))
+                        .bind("rowCount", rows)
+                        .then()
+                        .thenReturn(rows));
+    }
+
+    private Flux<Movement> readPartition(final String partition) {
+        return databaseClient.sql("SELECT movement_id, movement_date, movement_type, amount, balance, account_id, "
+                        + "created_at FROM " + partition + " ORDER BY account_id, movement_date, movement_id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> Movement.builder()
+                        .movementId(row.get("movement_id", Long.class))
+                        .movementDate(row.get("movement_date", LocalDateTime.class))
+                        .movementType(row.get("movement_type", String.class))
+                        .amount(row.get("amount", BigDecimal.class))
+                        .balance(row.get("balance", BigDecimal.class))
+                        .accountId(row.get("account_id", Long.class))
+                        .createdAt(row.get("created_at", LocalDateTime.class))
+                        .build())
+                .all();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bank.account.application.service;
+
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Background job maintaining the monthly partitions of the movements table.
+ * Partitions are created app.movements.partitions.months-ahead months in advance, so new movements
+ * never land in the default partition. Partitions older than app.movements.archive.after-months are
+ * moved, oldest first, to the MovementArchive by the MovementPartitionArchiver, after the month-end
+ * balance checkpoints are brought up to date.
+ * The archive horizon (the first month still in the database) is reloaded every
+ * app.movements.archive.horizon-refresh, so instances that did not run the archival pick it up.
+ */
+@Slf4j
+@Service
+public class MovementPartitionService {
+
+    private final DatabaseClient databaseClient;
+    private final MovementPartitionArchiver partitionArchiver;
+    private final AccountBalanceSnapshotService snapshotService;
+    private final MovementArchive movementArchive;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+
+    public MovementPartitionService(final DatabaseClient databaseClient,
+                                    final MovementPartitionArchiver partitionArchiver,
+                                    final AccountBalanceSnapshotService snapshotService,
+                                    final MovementArchive movementArchive,
+                                    @Value("${app.movements.partitions.months-ahead:3}") final int monthsAhead,
+                                    @Value("${app.movements.archive.after-months:24}") final int archiveAfterMonths) {
+        this.databaseClient = databaseClient;
+        this.partitionArchiver = partitionArchiver;
+        this.snapshotService = snapshotService;
+        this.movementArchive = movementArchive;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    /**
+     * Creates the upcoming partitions, then archives the expired ones.
+     *
+     * @return A Mono emitting the number of movements archived.
+     */
+    @Scheduled(cron = "${app.movements.partitions.cron:0 30 0 * * *}")
+    public Mono<Long> maintainPartitions() {
+        return createPartitions()
+                .then(archivePartitions())
+                .doOnError(error -> log.error("Error maintaining movement partitions: {}", error.getMessage()));
+    }
+
+    /**
+     * Creates the partitions of the current month and of the next months-ahead months that are missing.
+     *
+     * @return A Mono emitting the number of partitions created.
+     */
+    public Mono<Long> createPartitions() {
+        YearMonth current = YearMonth.now();
+        return Flux.range(0, monthsAhead + 1)
+                .map(current::plusMonths)
+                .concatMap(month -> databaseClient.sql("SELECT create_movement_partition(:month) AS created")
+                        .bind("month", month.atDay(1))
+                        .map(row -> Boolean.TRUE.equals(row.get("created", Boolean.class)))
+                        .one()
+                        .filter(Boolean::booleanValue)
+                        .doOnNext(created -> log.info("Movement partition of {} created", month)))
+                .count();
+    }
+
+    /**
+     * Archives every partition of a month older than archive-after-months, oldest first.
+     * Stops at the first failure, so archived months always stay contiguous.
+     *
+     * @return A Mono emitting the number of movements archived.
+     */
+    public Mono<Long> archivePartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(archiveAfterMonths);
+        return snapshotService.snapshotClosedMonths()
+                .thenMany(databaseClient.sql("SELECT c.relname AS name FROM pg_inherits i "
+                                + "INNER JOIN pg_class c ON c.oid = i.inhrelid "
+                                + "WHERE i.inhparent = 'movements'::regclass "
+                                + "AND c.relname ~ '^movements_[0-9]{4}_[0-9]{2}$' ORDER BY c.relname")
+                        .map(row -> row.get("name", String.class))
+                        .all())
+                .mapNotNull(MovementPartitionService::monthOf)
+                .filter(month -> month.isBefore(cutoff))
+                .concatMap(month -> partitionArchiver.archiveMonth(month)
+                        .doOnNext(rows -> {
+                            movementArchive.setHorizon(month.plusMonths(1));
+                            log.info("Movement partition of {} archived: {} movements", month, rows);
+                        })
+                        .doOnError(error -> movementArchive.discard(month)))
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Loads the archive horizon from the database, at startup and then periodically.
+     *
+     * @return A Mono completing once the horizon is set.
+     */
+    @Scheduled(fixedDelayString = "${app.movements.archive.horizon-refresh:PT1M}")
+    public Mono<Void> refreshHorizon() {
+        return databaseClient.sql("SELECT MAX(archive_month) AS month FROM movement_archives")
+                .map(row -> Optional.ofNullable(row.get("month", LocalDate.class)))
+                .one()
+                .doOnNext(latest -> movementArchive.setHorizon(latest
+                        .map(month -> YearMonth.from(month).plusMonths(1))
+                        .orElse(YearMonth.of(1, 1))))
+                .doOnError(error -> log.error("Error loading the movement archive horizon: {}", error.getMessage()))
+                .then();
+    }
+
+    private static YearMonth monthOf(final String partition) {
+        try {
+            return YearMonth.parse(partition, MovementPartitionArchiver.PARTITION_FORMAT);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
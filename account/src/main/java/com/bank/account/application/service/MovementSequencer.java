@@ -0,0 +1,192 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.MovementQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer sequencer for balance-changing operations.
+ * Each account is hashed onto one of a fixed set of lanes. A lane runs one operation at a time,
+ * so movements on the same account never race on the accounts row, while different lanes
+ * run in parallel. Lanes are bounded: when one is full new work is rejected instead of queued.
+ * Callers submit the whole operation, transaction included, at the entry point: MovementController
+ * for single creates, updates and deletes, the idempotency and NDJSON import services, transfers
+ * (source account lane) and holds. MovementService does not sequence itself, since an operation
+ * running in a lane must not wait on the same lane. Group commit, movement batches and bulk
+ * transfers do not use the sequencer: they lock the accounts rows in ID order within their
+ * transaction, so correctness never depends on the lane; it only avoids contention on the row.
+ */
+@Slf4j
+@Component
+public class MovementSequencer {
+
+    private final Lane[] lanes;
+    private final int laneCapacity;
+    private final Scheduler scheduler;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public MovementSequencer(@Value("${app.movements.sequencer.lanes:16}") final int laneCount,
+                             @Value("${app.movements.sequencer.lane-capacity:1000}") final int laneCapacity,
+                             final MeterRegistry meterRegistry) {
+        this.laneCapacity = laneCapacity;
+        this.scheduler = Schedulers.newParallel("movement-lane", Math.min(laneCount, Schedulers.DEFAULT_POOL_SIZE));
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(scheduler.createWorker());
+            Gauge.builder("movement.sequencer.queue.depth", lanes[i].depth, AtomicInteger::get)
+                    .description("Movements waiting in the lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("movement.sequencer.wait")
+                .description("Time a movement waits in its lane before running")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("movement.sequencer.rejected")
+                .description("Movements rejected because their lane was full")
+                .register(meterRegistry);
+        log.info("Movement sequencer started with {} lanes of capacity {}", laneCount, laneCapacity);
+    }
+
+    /**
+     * Runs the given operation in the lane of the account, after every operation queued before it.
+     * The operation is only subscribed when its turn comes.
+     *
+     * @param accountId The account whose lane serializes the operation.
+     * @param work      Supplier of the operation to run.
+     * @return A Mono emitting the operation result.
+     * @throws MovementQueueFullException If the lane already holds its maximum of pending operations.
+     */
+    public <T> Mono<T> submit(final Long accountId, final Supplier<Mono<T>> work) {
+        return Mono.create(sink -> {
+            Task<T> task = new Task<>(work, sink);
+            sink.onCancel(task::cancel);
+            if (!laneFor(accountId).offer(task)) {
+                rejectedCounter.increment();
+                sink.error(new MovementQueueFullException(accountId));
+            }
+        });
+    }
+
+    /**
+     * Total number of operations waiting across all lanes.
+     */
+    public int pendingCount() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.depth.get();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private Lane laneFor(final Long accountId) {
+        return lanes[Math.floorMod(Long.hashCode(accountId), lanes.length)];
+    }
+
+    /**
+     * A bounded lock-free queue drained by at most one running task at a time.
+     */
+    private final class Lane {
+
+        private final Queue<Task<?>> queue = Queues.<Task<?>>unboundedMultiproducer().get();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private final Scheduler.Worker worker;
+
+        private Lane(final Scheduler.Worker worker) {
+            this.worker = worker;
+        }
+
+        private boolean offer(final Task<?> task) {
+            if (depth.incrementAndGet() > laneCapacity) {
+                depth.decrementAndGet();
+                return false;
+            }
+            queue.offer(task);
+            runNext();
+            return true;
+        }
+
+        private void runNext() {
+            while (!queue.isEmpty() && busy.compareAndSet(false, true)) {
+                Task<?> task = queue.poll();
+                if (task == null) {
+                    busy.set(false);
+                    continue;
+                }
+                depth.decrementAndGet();
+                worker.schedule(() -> task.run(this::onTaskDone));
+                return;
+            }
+        }
+
+        private void onTaskDone() {
+            busy.set(false);
+            runNext();
+        }
+    }
+
+    /**
+     * A queued operation together with the sink of its caller.
+     */
+    private final class Task<T> {
+
+        private final Supplier<Mono<T>> work;
+        private final MonoSink<T> sink;
+        private final long enqueuedAt = System.nanoTime();
+        private volatile boolean cancelled;
+
+        private Task(final Supplier<Mono<T>> work, final MonoSink<T> sink) {
+            this.work = work;
+            this.sink = sink;
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void run(final Runnable onDone) {
+            waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            if (cancelled) {
+                onDone.run();
+                return;
+            }
+
+            Mono<T> operation;
+            try {
+                operation = work.get();
+            } catch (RuntimeException ex) {
+                sink.error(ex);
+                onDone.run();
+                return;
+            }
+
+            // Once started, the operation runs to completion so the lane order is never broken
+            operation.doFinally(signal -> onDone.run())
+                    .subscribe(sink::success, sink::error, sink::success);
+        }
+    }
+}
@@ -2,14 +2,19 @@ package com.bank.account.application.service;
 
 import com.bank.account.application.mapper.MovementMapper;
 import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
 import com.bank.account.domain.exception.InsufficientBalanceException;
 import com.bank.account.domain.exception.MovementNotFoundException;
 import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Hold;
 import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
 import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementArchiveRepository;
 import com.bank.account.domain.repository.MovementRepository;
 import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +24,7 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * Service class for Movement business logic.
@@ -34,6 +40,11 @@ public class MovementService {
     private final AccountRepository accountRepository;
     private final MovementMapper movementMapper;
     private final AccountService accountService;
+    private final AccountCache accountCache;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final DailyDebitLimiter debitLimiter;
+    private final HoldIndex holdIndex;
 
     /**
      * Creates a new financial movement (CREDIT or DEBIT).
@@ -53,46 +64,84 @@ public class MovementService {
                     "Movement amount must be greater than zero"));
         }
         return accountService.getAccountEntity(requestDTO.getAccountId())
-                .flatMap(account -> processMovement(account, requestDTO))
+                .flatMap(account -> processMovement(account, requestDTO, BigDecimal.ZERO))
                 .doOnSuccess(response -> log.info("Movement created successfully: {}", response.getMovementId()))
                 .doOnError(error -> log.error("Error creating movement: {}", error.getMessage()));
     }
 
     /**
-     * Logic to calculate the new balance and persist both the movement and the updated account.
+     * Creates the debit movement that captures a hold.
+     * The hold stays in the HoldIndex until the capture commits, so the debit may spend the funds of this
+     * hold but not those of the other active holds of the account.
+     *
+     * @param hold The hold being captured.
+     * @return A Mono emitting the debit movement.
+     * @throws InsufficientBalanceException     If the balance does not cover the hold.
+     * @throws DailyDebitLimitExceededException If the debit exceeds the daily limit of the account.
+     */
+    @Transactional
+    public Mono<MovementResponseDTO> createHoldCapture(final Hold hold) {
+        log.info("Creating capture debit of hold {} for account: {}, amount: {}",
+                hold.getHoldId(), hold.getAccountId(), hold.getAmount());
+        MovementRequestDTO requestDTO = MovementRequestDTO.builder()
+                .accountId(hold.getAccountId())
+                .movementType("DEBIT")
+                .amount(hold.getAmount())
+                .build();
+        return accountService.getAccountEntity(hold.getAccountId())
+                .flatMap(account -> processMovement(account, requestDTO, hold.getAmount()))
+                .doOnError(error -> log.error("Error creating capture debit: {}", error.getMessage()));
+    }
+
+    /**
+     * Applies the movement against the account balance and persists it atomically.
+     * The balance check, balance update and movement insert run as one conditional statement,
+     * so concurrent debits on the same account can never overdraw it or lose an update.
+     * Debits are first checked in memory against the daily debit limit of the account type, and cannot
+     * spend the funds reserved by active holds, apart from the amount of the hold it captures.
      * * @param account The domain account entity.
      *
      * @param requestDTO The movement request.
+     * @param captured   The amount of the hold the movement captures, zero for any other movement.
      * @return A Mono emitting the saved movement DTO.
-     * @throws InsufficientBalanceException If a DEBIT exceeds the current balance.
+     * @throws InsufficientBalanceException     If a DEBIT exceeds the available balance.
+     * @throws DailyDebitLimitExceededException If a DEBIT exceeds the daily limit of the account.
      */
-    private Mono<MovementResponseDTO> processMovement(final Account account, final MovementRequestDTO requestDTO) {
-        BigDecimal currentBalance = account.getCurrentBalance();
-        BigDecimal newBalance;
-
-        if ("DEBIT".equalsIgnoreCase(requestDTO.getMovementType())) {
-            if (currentBalance.compareTo(requestDTO.getAmount()) < 0) {
-                log.error("Insufficient balance. Current: {}, Required: {}",
-                        currentBalance, requestDTO.getAmount());
-                return Mono.error(new InsufficientBalanceException());
-            }
-            newBalance = currentBalance.subtract(requestDTO.getAmount());
-        } else if ("CREDIT".equalsIgnoreCase(requestDTO.getMovementType())) {
-            newBalance = currentBalance.add(requestDTO.getAmount());
-        } else {
+    private Mono<MovementResponseDTO> processMovement(final Account account, final MovementRequestDTO requestDTO,
+                                                      final BigDecimal captured) {
+        BigDecimal delta = signedAmount(requestDTO.getMovementType(), requestDTO.getAmount());
+        if (delta == null) {
             return Mono.error(new BusinessValidationException(
                     "Invalid movement type. Must be CREDIT or DEBIT"));
         }
+        if (delta.signum() > 0) {
+            return insertMovement(account, requestDTO, delta, BigDecimal.ZERO);
+        }
+        return debitLimiter.reserve(account, requestDTO.getAmount())
+                .flatMap(reservation -> insertMovement(account, requestDTO, delta, captured)
+                        .doOnError(error -> reservation.release()));
+    }
 
+    private Mono<MovementResponseDTO> insertMovement(final Account account, final MovementRequestDTO requestDTO,
+                                                     final BigDecimal delta, final BigDecimal captured) {
         Movement movement = movementMapper.toEntity(requestDTO);
-        movement.setBalance(newBalance);
 
-        return movementRepository.save(movement)
-                .flatMap(savedMovement -> {
-                    account.setCurrentBalance(newBalance);
-                    return accountRepository.save(account)
-                            .thenReturn(savedMovement);
-                })
+        return movementRepository.insertWithBalanceDelta(
+                        account.getAccountId(),
+                        delta,
+                        reservedFloor(account.getAccountId(), delta).subtract(captured),
+                        movement.getMovementType().toUpperCase(),
+                        movement.getAmount(),
+                        movement.getMovementDate(),
+                        movement.getCreatedAt())
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("Insufficient balance. Account: {}, Required: {}",
+                            account.getAccountId(), requestDTO.getAmount());
+                    return Mono.error(new InsufficientBalanceException());
+                }))
+                .flatMap(savedMovement -> accountCache
+                        .updateBalanceAfterCommit(account.getAccountId(), savedMovement.getBalance())
+                        .thenReturn(savedMovement))
                 .map(savedMovement -> {
                     MovementResponseDTO response = movementMapper.toResponseDTO(savedMovement);
                     response.setAccountNumber(account.getAccountNumber());
@@ -117,74 +166,128 @@ public class MovementService {
     }
 
     /**
-     * Retrieves all movements linked to a specific account.
-     * * @param accountId Internal ID of the account.
+     * Retrieves one page of movements, newest first.
+     * * @param cursor Cursor returned with the previous page, or null for the first page.
      *
-     * @return A Flux of movement responses.
+     * @param limit Page size, or null for the default.
+     * @return A Mono emitting the page and the cursor of the next one.
+     * @throws BusinessValidationException If the cursor or the limit is invalid.
      */
-    public Flux<MovementResponseDTO> getMovementsByAccountId(final Long accountId) {
-        log.info("Fetching movements for account: {}", accountId);
+    public Mono<PageResponseDTO<MovementResponseDTO>> getMovementsPage(final String cursor, final Integer limit) {
+        log.info("Fetching movements page, limit: {}", limit);
 
-        return movementRepository.findByAccountId(accountId)
-                .flatMap(this::enrichMovementWithAccountNumber)
-                .doOnComplete(() -> log.info("Movements fetched for account: {}", accountId))
-                .doOnError(error -> log.error("Error fetching movements: {}", error.getMessage()));
+        return Mono.defer(() -> {
+            int pageSize = PageCursor.limit(limit);
+            Flux<MovementResponseDTO> rows;
+            if (cursor == null) {
+                rows = movementRepository.findFirstPage(pageSize + 1);
+            } else {
+                String[] key = PageCursor.decode(cursor, 2);
+                rows = movementRepository.findPageAfter(PageCursor.dateTimePart(key[0]), PageCursor.longPart(key[1]), pageSize + 1);
+            }
+            return PageCursor.toPage(rows, pageSize, this::cursorOf);
+        }).doOnError(error -> log.error("Error fetching movements page: {}", error.getMessage()));
     }
 
     /**
-     * Retrieves all movements in the system.
-     * * @return A Flux of all movements.
+     * Retrieves one page of the movements of an account, newest first.
+     * * @param accountId Internal ID of the account.
+     *
+     * @param cursor Cursor returned with the previous page, or null for the first page.
+     * @param limit  Page size, or null for the default.
+     * @return A Mono emitting the page and the cursor of the next one.
+     * @throws BusinessValidationException If the cursor or the limit is invalid.
      */
-    public Flux<MovementResponseDTO> getAllMovements() {
-        log.info("Fetching all movements");
+    public Mono<PageResponseDTO<MovementResponseDTO>> getMovementsPageByAccountId(final Long accountId,
+                                                                                  final String cursor,
+                                                                                  final Integer limit) {
+        log.info("Fetching movements page for account: {}, limit: {}", accountId, limit);
 
-        return movementRepository.findAll()
-                .flatMap(this::enrichMovementWithAccountNumber)
-                .doOnComplete(() -> log.info("All movements fetched"))
-                .doOnError(error -> log.error("Error fetching all movements: {}", error.getMessage()));
+        return Mono.defer(() -> {
+            int pageSize = PageCursor.limit(limit);
+            Flux<MovementResponseDTO> rows;
+            if (cursor == null) {
+                rows = movementRepository.findFirstPageByAccountId(accountId, pageSize + 1);
+            } else {
+                String[] key = PageCursor.decode(cursor, 2);
+                rows = movementRepository.findPageByAccountIdAfter(accountId, PageCursor.dateTimePart(key[0]), PageCursor.longPart(key[1]),
+                        pageSize + 1);
+            }
+            return PageCursor.toPage(rows, pageSize, this::cursorOf);
+        }).doOnError(error -> log.error("Error fetching movements page: {}", error.getMessage()));
     }
 
     /**
      * Updates an existing movement, reverting the previous impact on the balance
-     * and applying the new amount/type.
+     * and applying the new amount/type. The running balance of the movement and of every later
+     * movement of the account is recomputed in the same transaction. An update that takes money out of
+     * the account, such as a larger debit or a credit turned into a debit, counts towards its daily debit
+     * limit and cannot spend the funds reserved by active holds.
      * * @param movementId ID of the movement to update.
      *
      * @param updateDTO New movement data.
      * @return A Mono emitting the updated movement response.
+     * @throws InsufficientBalanceException     If the account, or any later running balance, would go negative.
+     * @throws DailyDebitLimitExceededException If the extra debit exceeds the daily limit of the account.
      */
     @Transactional
     public Mono<MovementResponseDTO> updateMovement(final Long movementId, final MovementRequestDTO updateDTO) {
         log.info("Updating movement with ID: {}", movementId);
 
+        BigDecimal newEffect = signedAmount(updateDTO.getMovementType(), updateDTO.getAmount());
+        if (newEffect == null) {
+            return Mono.error(new BusinessValidationException(
+                    "Invalid movement type. Must be CREDIT or DEBIT"));
+        }
+
         return movementRepository.findById(movementId)
                 .switchIfEmpty(Mono.error(new MovementNotFoundException(movementId)))
                 .flatMap(movement -> {
-                    // Revertir el saldo anterior
-                    return accountRepository.findById(movement.getAccountId())
-                            .flatMap(account -> {
-                                BigDecimal revertedBalance = revertBalance(
-                                        account.getCurrentBalance(),
-                                        movement.getAmount(),
-                                        movement.getMovementType()
-                                );
-                                account.setCurrentBalance(revertedBalance);
-
-                                // Aplicar nuevo movimiento
-                                movement.setMovementType(updateDTO.getMovementType());
-                                movement.setAmount(updateDTO.getAmount());
+                    // Revertir el saldo anterior y aplicar el nuevo en una sola operación
+                    BigDecimal delta = newEffect.subtract(
+                            signedAmount(movement.getMovementType(), movement.getAmount()));
 
-                                return processMovementUpdate(account, movement, updateDTO);
-                            });
+                    return reserveDebit(movement.getAccountId(), delta)
+                            .flatMap(reservation -> accountRepository.applyBalanceDelta(movement.getAccountId(), delta,
+                                            reservedFloor(movement.getAccountId(), delta))
+                                    .switchIfEmpty(Mono.error(new InsufficientBalanceException()))
+                                    .flatMap(newBalance -> {
+                                        movement.setMovementType(updateDTO.getMovementType().toUpperCase());
+                                        movement.setAmount(updateDTO.getAmount());
+                                        return movementRepository.save(movement)
+                                                .then(repairBalances(movement.getAccountId(), movementId))
+                                                .then(accountCache.updateBalanceAfterCommit(movement.getAccountId(), newBalance))
+                                                .then(snapshotRepository.shiftBalancesAfter(
+                                                        movement.getAccountId(), movement.getMovementDate(), delta));
+                                    })
+                                    .doOnError(error -> reservation.release()))
+                            .then(movementRepository.findById(movementId));
                 })
+                .flatMap(this::enrichMovementWithAccountNumber)
                 .doOnSuccess(response -> log.info("Movement updated successfully: {}", response.getMovementId()))
                 .doOnError(error -> log.error("Error updating movement: {}", error.getMessage()));
     }
 
+    /**
+     * Reserves the extra debit of an update against the daily limit of the account.
+     * Updates that do not lower the balance need no reservation.
+     */
+    private Mono<DailyDebitLimiter.Reservation> reserveDebit(final Long accountId, final BigDecimal delta) {
+        if (delta.signum() >= 0) {
+            return Mono.just(DailyDebitLimiter.Reservation.NONE);
+        }
+        return accountService.getAccountEntity(accountId)
+                .flatMap(account -> debitLimiter.reserve(account, delta.negate()));
+    }
+
     /**
      * Logically deletes a movement and reverts its impact on the account balance.
+     * The running balance of every later movement of the account is recomputed in the same transaction.
+     * Deleting a credit cannot spend the funds reserved by active holds.
      * * @param movementId ID of the movement to delete.
      *
      * @return A Mono signifying completion.
+     * @throws InsufficientBalanceException If the account, or any later running balance, would go negative.
      */
     @Transactional
     public Mono<Void> deleteMovement(final Long movementId) {
@@ -192,27 +295,26 @@ public class MovementService {
 
         return movementRepository.findById(movementId)
                 .switchIfEmpty(Mono.error(new MovementNotFoundException(movementId)))
-                .flatMap(movement ->
-                        accountRepository.findById(movement.getAccountId())
-                                .flatMap(account -> {
-                                    // Revertir el saldo
-                                    BigDecimal revertedBalance = revertBalance(
-                                            account.getCurrentBalance(),
-                                            movement.getAmount(),
-                                            movement.getMovementType()
-                                    );
-                                    account.setCurrentBalance(revertedBalance);
+                .flatMap(movement -> {
+                    // Revertir el saldo
+                    BigDecimal delta = signedAmount(movement.getMovementType(), movement.getAmount()).negate();
 
-                                    return accountRepository.save(account)
-                                            .then(movementRepository.deleteById(movementId));
-                                })
-                )
+                    return accountRepository.applyBalanceDelta(movement.getAccountId(), delta,
+                                    reservedFloor(movement.getAccountId(), delta))
+                            .switchIfEmpty(Mono.error(new InsufficientBalanceException()))
+                            .flatMap(newBalance -> movementRepository.deleteById(movementId)
+                                    .then(repairBalances(movement.getAccountId(), movementId))
+                                    .then(accountCache.updateBalanceAfterCommit(movement.getAccountId(), newBalance)))
+                            .then(snapshotRepository.shiftBalancesAfter(
+                                    movement.getAccountId(), movement.getMovementDate(), delta));
+                })
                 .doOnSuccess(v -> log.info("Movement deleted successfully: {}", movementId))
                 .doOnError(error -> log.error("Error deleting movement: {}", error.getMessage()));
     }
 
     /**
      * Fetches movements for reporting based on customer and date range.
+     * Movements of archived months follow the ones still in the database, newest first as well.
      * * @param customerId Internal customer ID.
      *
      * @param startDate Start of the period.
@@ -221,7 +323,28 @@ public class MovementService {
      */
     public Flux<Movement> getMovementsByCustomerAndDateRange(final Long customerId, final LocalDateTime startDate, final LocalDateTime endDate) {
         log.info("Fetching movements for customer: {} between {} and {}", customerId, startDate, endDate);
-        return movementRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate);
+        Flux<Movement> live = movementRepository.findByCustomerIdAndDateRange(customerId, startDate, endDate);
+        if (!movementArchiveRepository.overlaps(startDate, endDate)) {
+            return live;
+        }
+        return live.concatWith(accountRepository.findIdsByCustomerId(customerId)
+                .concatMap(accountId -> movementArchiveRepository.findByAccountIdAndDateRange(
+                        accountId, startDate, endDate))
+                .collectSortedList(Comparator.comparing(Movement::getMovementDate).reversed())
+                .flatMapIterable(movements -> movements));
+    }
+
+    /**
+     * Internal helper to retrieve the domain entity of a movement.
+     * Useful for operations that require the full entity instead of a DTO.
+     *
+     * @param movementId Internal ID of the movement.
+     * @return A Mono emitting the Movement domain entity.
+     * @throws MovementNotFoundException If the movement ID is not found.
+     */
+    public Mono<Movement> getMovementEntity(final Long movementId) {
+        return movementRepository.findById(movementId)
+                .switchIfEmpty(Mono.error(new MovementNotFoundException(movementId)));
     }
 
     /**
@@ -238,43 +361,42 @@ public class MovementService {
     }
 
     /**
-     * Reverts a balance change based on the original movement type.
+     * Recomputes the running balance of the movements of an account from the given one on, inside the
+     * caller's transaction, which already holds the account row lock through its balance update.
+     * The work is a single statement, so the number of later movements does not reach the JVM.
      */
-    private BigDecimal revertBalance(final BigDecimal currentBalance, final BigDecimal amount, final String movementType) {
-        if ("DEBIT".equalsIgnoreCase(movementType)) {
-            return currentBalance.add(amount);
-        } else {
-            return currentBalance.subtract(amount);
-        }
+    private Mono<Long> repairBalances(final Long accountId, final Long fromMovementId) {
+        return movementRepository.repairBalancesFrom(accountId, fromMovementId)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.error("A running balance of account {} would go negative from movement {}",
+                            accountId, fromMovementId);
+                    return Mono.error(new InsufficientBalanceException());
+                }))
+                .doOnNext(repaired -> log.debug("Repaired {} running balances of account {}", repaired, accountId));
+    }
+
+    private String cursorOf(final MovementResponseDTO movement) {
+        return PageCursor.encode(movement.getMovementDate(), movement.getMovementId());
     }
 
     /**
-     * Internal logic for handling updates to existing movements and recalibrating the account balance.
+     * Returns the balance a change may not go below: the funds held by active holds when it takes money
+     * out of the account, zero otherwise.
      */
-    private Mono<MovementResponseDTO> processMovementUpdate(final Account account, final Movement movement, final MovementRequestDTO updateDTO) {
+    private BigDecimal reservedFloor(final Long accountId, final BigDecimal delta) {
+        return delta.signum() < 0 ? holdIndex.heldAmount(accountId) : BigDecimal.ZERO;
+    }
 
-        BigDecimal newBalance;
-        if ("DEBIT".equalsIgnoreCase(updateDTO.getMovementType())) {
-            if (account.getCurrentBalance().compareTo(updateDTO.getAmount()) < 0) {
-                return Mono.error(new InsufficientBalanceException());
-            }
-            newBalance = account.getCurrentBalance().subtract(updateDTO.getAmount());
-        } else {
-            newBalance = account.getCurrentBalance().add(updateDTO.getAmount());
+    /**
+     * Returns the signed effect of a movement on the balance: positive for CREDIT, negative for DEBIT.
+     * Returns null when the movement type is not recognised.
+     */
+    private BigDecimal signedAmount(final String movementType, final BigDecimal amount) {
+        if ("DEBIT".equalsIgnoreCase(movementType)) {
+            return amount.negate();
+        } else if ("CREDIT".equalsIgnoreCase(movementType)) {
+            return amount;
         }
-
-        movement.setBalance(newBalance);
-        account.setCurrentBalance(newBalance);
-
-        return movementRepository.save(movement)
-                .flatMap(savedMovement ->
-                        accountRepository.save(account)
-                                .thenReturn(savedMovement)
-                )
-                .map(savedMovement -> {
-                    MovementResponseDTO response = movementMapper.toResponseDTO(savedMovement);
-                    response.setAccountNumber(account.getAccountNumber());
-                    return response;
-                });
+        return null;
     }
-}
\ No newline at end of file
+}
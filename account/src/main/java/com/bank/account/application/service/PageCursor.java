@@ -0,0 +1,130 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset pagination.
+ * A cursor is the sort key of the last row of a page, encoded as an opaque URL-safe token,
+ * so the next page starts with an index seek instead of skipping an offset.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Resolves the requested page size.
+     *
+     * @param limit The requested size, or null for the default.
+     * @return The page size to use.
+     * @throws BusinessValidationException If the size is not between 1 and MAX_LIMIT.
+     */
+    public static int limit(final Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BusinessValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Encodes the sort key of a row as a cursor.
+     */
+    public static String encode(final Object... keyParts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : keyParts) {
+            if (!key.isEmpty()) {
+                key.append(SEPARATOR);
+            }
+            key.append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the parts of the sort key.
+     *
+     * @param cursor        The cursor received from the client.
+     * @param expectedParts Number of parts of the sort key.
+     * @return The parts of the sort key.
+     * @throws BusinessValidationException If the cursor was not produced by encode.
+     */
+    public static String[] decode(final String cursor, final int expectedParts) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Parses a numeric part of a decoded cursor.
+     *
+     * @throws BusinessValidationException If the part is not a number.
+     */
+    public static Long longPart(final String part) {
+        try {
+            return Long.valueOf(part);
+        } catch (NumberFormatException ex) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Parses a timestamp part of a decoded cursor.
+     *
+     * @throws BusinessValidationException If the part is not an ISO local date-time.
+     */
+    public static LocalDateTime dateTimePart(final String part) {
+        try {
+            return LocalDateTime.parse(part);
+        } catch (DateTimeParseException ex) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Collects a page from rows fetched with a limit of one more than the page size.
+     * The extra row only tells whether there is a next page and is not returned.
+     *
+     * @param rows     The rows in sort order, at most limit + 1 of them.
+     * @param limit    The page size.
+     * @param cursorOf Builds the cursor of a row.
+     * @return A Mono emitting the page.
+     */
+    public static <T> Mono<PageResponseDTO<T>> toPage(final Flux<T> rows, final int limit,
+                                                      final Function<T, String> cursorOf) {
+        return rows.collectList().map(items -> {
+            if (items.size() <= limit) {
+                return PageResponseDTO.<T>builder().items(items).build();
+            }
+            List<T> page = items.subList(0, limit);
+            return PageResponseDTO.<T>builder()
+                    .items(List.copyOf(page))
+                    .nextCursor(cursorOf.apply(page.get(limit - 1)))
+                    .build();
+        });
+    }
+}
@@ -0,0 +1,238 @@
+package com.bank.account.application.service;
+
+import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of generated account statements, JSON and Excel, keyed by customer, range and format.
+ * Bounded by the bytes it holds (JSON statements are weighed by an estimate, Excel files by their
+ * size) and by a TTL; a report larger than the per-entry cap is streamed without being cached.
+ * Every committed write to an account of a customer on this node (see AccountCache) drops all the
+ * reports of that customer. A report being generated while such a write commits is not cached, so
+ * a cached report never predates a committed write on this node; the TTL bounds how long writes
+ * made by other instances can go unnoticed. Owners of accounts are learnt from the AccountCache and
+ * from the reports themselves; until the first report of a customer is cached, a write to any
+ * account of unknown owner also keeps that customer's report out of the cache.
+ */
+@Slf4j
+@Component
+public class ReportCache {
+
+    private static final long STATEMENT_WEIGHT = 512;
+    private static final long MOVEMENT_WEIGHT = 256;
+
+    private final Cache<Key, Entry> reports;
+    private final ConcurrentMap<Long, CustomerReports> customers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> customersByAccount = new ConcurrentHashMap<>();
+    private final AtomicLong unknownOwnerGeneration = new AtomicLong();
+    private final long maxEntryBytes;
+
+    public ReportCache(final AccountCache accountCache,
+                       @Value("${app.reports.cache.max-bytes:67108864}") final long maxBytes,
+                       @Value("${app.reports.cache.max-entry-bytes:4194304}") final long maxEntryBytes,
+                       @Value("${app.reports.cache.ttl:10m}") final Duration ttl,
+                       final MeterRegistry meterRegistry) {
+        this.maxEntryBytes = Math.min(maxEntryBytes, Integer.MAX_VALUE);
+        this.reports = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> (int) entry.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .removalListener((Key key, Entry entry, RemovalCause cause) -> {
+                    CustomerReports owned = key == null ? null : customers.get(key.customerId());
+                    if (owned != null) {
+                        owned.entries().remove(key, entry);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, reports, "report");
+        Gauge.builder("report.cache.bytes", reports,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated bytes held by the report cache")
+                .register(meterRegistry);
+        accountCache.addCommitListener(this::accountCommitted);
+    }
+
+    /**
+     * Returns the cached statements of a customer for the range, or generates them.
+     * Generated statements are passed through as they stream, and cached once the stream completes.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The start of the range.
+     * @param endDate    The end of the range.
+     * @param generator  Generates the statements on a miss.
+     * @return A Flux emitting the statements.
+     */
+    public Flux<AccountStatementDTO> statements(final Long customerId,
+                                                final LocalDateTime startDate,
+                                                final LocalDateTime endDate,
+                                                final Supplier<Flux<AccountStatementDTO>> generator) {
+        return this.<AccountStatementDTO, AccountStatementDTO>cached(
+                new Key(customerId, startDate, endDate, Format.JSON), generator,
+                statement -> STATEMENT_WEIGHT + MOVEMENT_WEIGHT * statement.getMovements().size(),
+                Function.identity(), Function.identity());
+    }
+
+    /**
+     * Returns the cached Excel file of a customer for the range, or generates it.
+     * The chunks of a generated file are copied as they stream, and cached once the stream completes.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The start of the range.
+     * @param endDate    The end of the range.
+     * @param generator  Generates the file on a miss.
+     * @return A Flux emitting the bytes of the file.
+     */
+    public Flux<DataBuffer> excel(final Long customerId,
+                                  final LocalDateTime startDate,
+                                  final LocalDateTime endDate,
+                                  final Supplier<Flux<DataBuffer>> generator) {
+        return this.<DataBuffer, byte[]>cached(new Key(customerId, startDate, endDate, Format.EXCEL), generator,
+                bytes -> bytes.length, ReportCache::copy, DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    /**
+     * Records the owner of an account seen while generating a report, so writes to it find the customer.
+     *
+     * @param accountId  The internal ID of the account.
+     * @param customerId The owner of the account.
+     */
+    public void registerAccount(final Long accountId, final Long customerId) {
+        customersByAccount.put(accountId, customerId);
+    }
+
+    /**
+     * Drops every cached report of a customer.
+     *
+     * @param customerId The ID of the customer.
+     */
+    public void invalidateCustomer(final Long customerId) {
+        customers.compute(customerId, (id, owned) -> {
+            CustomerReports next = owned == null
+                    ? new CustomerReports(1, false, new ConcurrentHashMap<>())
+                    : new CustomerReports(owned.generation() + 1, owned.accountsKnown(), new ConcurrentHashMap<>());
+            if (owned != null && !owned.entries().isEmpty()) {
+                List<Key> keys = List.copyOf(owned.entries().keySet());
+                reports.invalidateAll(keys);
+                log.debug("Report cache: {} reports of customer {} invalidated", keys.size(), id);
+            }
+            return next;
+        });
+    }
+
+    private void accountCommitted(final Long accountId, final Long customerId) {
+        Long owner = customerId != null ? customerId : customersByAccount.get(accountId);
+        if (owner == null) {
+            unknownOwnerGeneration.incrementAndGet();
+            return;
+        }
+        customersByAccount.put(accountId, owner);
+        invalidateCustomer(owner);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, S> Flux<T> cached(final Key key,
+                                  final Supplier<Flux<T>> generator,
+                                  final ToLongFunction<S> weigher,
+                                  final Function<T, S> toStored,
+                                  final Function<S, T> fromStored) {
+        return Flux.defer(() -> {
+            Entry hit = reports.getIfPresent(key);
+            if (hit != null) {
+                return Flux.fromIterable((List<S>) hit.items()).map(fromStored);
+            }
+            CustomerReports owned = customers.get(key.customerId());
+            long generation = owned == null ? 0 : owned.generation();
+            long unknownGeneration = owned != null && owned.accountsKnown() ? -1 : unknownOwnerGeneration.get();
+            List<S> items = new ArrayList<>();
+            long[] weight = {0};
+            return generator.get()
+                    .doOnNext(item -> {
+                        if (weight[0] > maxEntryBytes) {
+                            return;
+                        }
+                        S stored = toStored.apply(item);
+                        weight[0] += weigher.applyAsLong(stored);
+                        if (weight[0] > maxEntryBytes) {
+                            items.clear();
+                        } else {
+                            items.add(stored);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (weight[0] <= maxEntryBytes) {
+                            putIfUnchanged(key, new Entry(List.copyOf(items), Math.max(weight[0], 1)),
+                                    generation, unknownGeneration);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Caches a generated report unless a write for its customer, or for an account of unknown owner
+     * when the accounts of the customer were not known yet, committed since generation started.
+     * Invalidations hold the customer entry while they bump the generation, so the check and the
+     * insert cannot interleave with them. Reports register every account they read, so once one is
+     * cached the accounts of its customer are known.
+     */
+    private void putIfUnchanged(final Key key, final Entry entry, final long generation, final long unknownGeneration) {
+        customers.compute(key.customerId(), (id, owned) -> {
+            CustomerReports current = owned == null ? new CustomerReports(0, false, new ConcurrentHashMap<>()) : owned;
+            if (current.generation() != generation
+                    || (unknownGeneration >= 0 && unknownOwnerGeneration.get() != unknownGeneration)) {
+                return owned;
+            }
+            current.entries().put(key, entry);
+            reports.put(key, entry);
+            return current.accountsKnown() ? current : new CustomerReports(current.generation(), true, current.entries());
+        });
+    }
+
+    private static byte[] copy(final DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        int position = buffer.readPosition();
+        buffer.read(bytes);
+        buffer.readPosition(position);
+        return bytes;
+    }
+
+    private enum Format {
+        JSON,
+        EXCEL
+    }
+
+    private record Key(Long customerId, LocalDateTime startDate, LocalDateTime endDate, Format format) {
+    }
+
+    private record Entry(List<?> items, long weight) {
+    }
+
+    /**
+     * Invalidation generation of a customer, whether its accounts are known, and its cached reports.
+     * An evicted report is only unlinked while it is still the entry linked under its key.
+     */
+    private record CustomerReports(long generation, boolean accountsKnown, ConcurrentMap<Key, Entry> entries) {
+    }
+}
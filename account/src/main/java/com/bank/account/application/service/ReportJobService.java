@@ -0,0 +1,426 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.ReportJobNotFoundException;
+import com.bank.account.domain.exception.ReportJobNotReadyException;
+import com.bank.account.domain.exception.ReportJobRejectedException;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobDTO;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobRequestDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous account statement jobs.
+ * Submitted jobs wait in a priority queue (highest priority first, then oldest first) and at most
+ * app.reports.jobs.workers of them run at a time. Each job writes its statement, JSON or Excel,
+ * to a file in app.reports.jobs.directory, which is served for download until the job expires.
+ * Submissions are rejected once the queue is full or the customer already has its maximum of
+ * queued and running jobs. Jobs live in memory on the node that accepted them.
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    private static final String FILE_PREFIX = "report_job_";
+    private static final Comparator<ReportJob> QUEUE_ORDER = Comparator
+            .comparingInt((ReportJob job) -> job.priority).reversed()
+            .thenComparingLong(job -> job.sequence);
+
+    private final ReportService reportService;
+    private final JsonMapper jsonMapper;
+    private final Path directory;
+    private final int workers;
+    private final int maxQueued;
+    private final int maxActivePerCustomer;
+    private final Duration ttl;
+    private final ConcurrentMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Guarded by this
+    private final PriorityQueue<ReportJob> queue = new PriorityQueue<>(QUEUE_ORDER);
+    private final Map<Long, Integer> activeByCustomer = new HashMap<>();
+    private int running;
+
+    public ReportJobService(final ReportService reportService,
+                            final JsonMapper jsonMapper,
+                            @Value("${app.reports.jobs.directory:${java.io.tmpdir}/account-report-jobs}") final Path directory,
+                            @Value("${app.reports.jobs.workers:4}") final int workers,
+                            @Value("${app.reports.jobs.max-queued:100}") final int maxQueued,
+                            @Value("${app.reports.jobs.max-active-per-customer:3}") final int maxActivePerCustomer,
+                            @Value("${app.reports.jobs.ttl:1h}") final Duration ttl,
+                            final MeterRegistry meterRegistry) throws IOException {
+        this.reportService = reportService;
+        this.jsonMapper = jsonMapper;
+        this.directory = directory;
+        this.workers = workers;
+        this.maxQueued = maxQueued;
+        this.maxActivePerCustomer = maxActivePerCustomer;
+        this.ttl = ttl;
+        Files.createDirectories(directory);
+        deleteOrphanedFiles();
+        Gauge.builder("report.jobs.queued", this, service -> service.queuedCount())
+                .description("Report jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("report.jobs.running", this, service -> service.runningCount())
+                .description("Report jobs running")
+                .register(meterRegistry);
+        log.info("Report jobs writing to {} with {} workers", directory, workers);
+    }
+
+    /**
+     * Queues an account statement job.
+     *
+     * @param request The customer, range, format and priority of the statement.
+     * @return A Mono emitting the queued job.
+     * @throws BusinessValidationException If the start date is after the end date.
+     * @throws ReportJobRejectedException  If the queue is full or the customer has too many active jobs.
+     */
+    public Mono<ReportJobDTO> submit(final ReportJobRequestDTO request) {
+        return Mono.fromCallable(() -> {
+            if (request.getStartDate().isAfter(request.getEndDate())) {
+                throw new BusinessValidationException("Start date must not be after end date");
+            }
+            ReportJob job = new ReportJob(request, sequence.incrementAndGet());
+            enqueue(job);
+            log.info("Report job {} queued: {} statement of customer {} from {} to {}, priority {}",
+                    job.id, job.format, job.customerId, job.startDate, job.endDate, job.priority);
+            return job.toDTO();
+        });
+    }
+
+    /**
+     * Returns the status and progress of a job.
+     *
+     * @param jobId The ID of the job.
+     * @return A Mono emitting the job.
+     * @throws ReportJobNotFoundException If the job does not exist or has expired.
+     */
+    public Mono<ReportJobDTO> getJob(final String jobId) {
+        return Mono.fromCallable(() -> find(jobId).toDTO());
+    }
+
+    /**
+     * Returns the output file of a completed job.
+     *
+     * @param jobId The ID of the job.
+     * @return A Mono emitting the path of the file.
+     * @throws ReportJobNotFoundException If the job does not exist or has expired.
+     * @throws ReportJobNotReadyException If the job has not completed.
+     */
+    public Mono<Path> getJobFile(final String jobId) {
+        return Mono.fromCallable(() -> {
+            ReportJob job = find(jobId);
+            if (job.status != Status.COMPLETED) {
+                throw new ReportJobNotReadyException(jobId, job.status.name());
+            }
+            return job.file;
+        });
+    }
+
+    /**
+     * Cancels a queued or running job. Jobs that already finished are left as they are.
+     *
+     * @param jobId The ID of the job.
+     * @return A Mono emitting the job after cancellation.
+     * @throws ReportJobNotFoundException If the job does not exist or has expired.
+     */
+    public Mono<ReportJobDTO> cancel(final String jobId) {
+        return Mono.fromCallable(() -> {
+            ReportJob job = find(jobId);
+            Disposable execution = null;
+            synchronized (this) {
+                if (job.status == Status.QUEUED) {
+                    queue.remove(job);
+                    finish(job, Status.CANCELLED, null);
+                } else if (job.status == Status.RUNNING) {
+                    execution = job.execution;
+                    finish(job, Status.CANCELLED, null);
+                }
+            }
+            if (execution != null) {
+                execution.dispose();
+            }
+            log.info("Report job {} is {}", jobId, job.status);
+            return job.toDTO();
+        });
+    }
+
+    /**
+     * Removes the jobs that expired, together with their files.
+     *
+     * @return The number of jobs removed.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval:PT5M}")
+    public int removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        for (ReportJob job : jobs.values()) {
+            if (job.expiresAt != null && job.expiresAt.isBefore(now) && jobs.remove(job.id, job)) {
+                deleteQuietly(job.file);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Report jobs expired: {}", removed);
+        }
+        return removed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> {
+            Disposable execution = job.execution;
+            if (execution != null) {
+                execution.dispose();
+            }
+        });
+    }
+
+    private synchronized void enqueue(final ReportJob job) {
+        if (queue.size() >= maxQueued) {
+            throw new ReportJobRejectedException("Too many report jobs waiting. Please retry later");
+        }
+        int active = activeByCustomer.getOrDefault(job.customerId, 0);
+        if (active >= maxActivePerCustomer) {
+            throw new ReportJobRejectedException("Customer " + job.customerId + " already has " + active
+                    + " report jobs queued or running. Please retry later");
+        }
+        activeByCustomer.put(job.customerId, active + 1);
+        jobs.put(job.id, job);
+        queue.offer(job);
+        dispatch();
+    }
+
+    /**
+     * Starts queued jobs while there are free workers.
+     */
+    private synchronized void dispatch() {
+        while (running < workers && !queue.isEmpty()) {
+            ReportJob job = queue.poll();
+            running++;
+            job.status = Status.RUNNING;
+            job.startedAt = LocalDateTime.now();
+            job.execution = execute(job)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .subscribe(file -> complete(job, null), error -> complete(job, error));
+        }
+    }
+
+    private Mono<Path> execute(final ReportJob job) {
+        return Mono.defer(() -> job.format == Format.EXCEL ? writeExcel(job) : writeJson(job))
+                .doOnSubscribe(subscription -> log.info("Report job {} started", job.id));
+    }
+
+    private Mono<Path> writeExcel(final ReportJob job) {
+        return reportService.writeAccountStatementExcel(job.customerId, job.startDate, job.endDate,
+                        job.rowsProcessed::incrementAndGet)
+                .publishOn(Schedulers.boundedElastic())
+                .map(file -> {
+                    try {
+                        return Files.move(file, job.file, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException ex) {
+                        deleteQuietly(file);
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    private Mono<Path> writeJson(final ReportJob job) {
+        return Mono.using(
+                () -> jsonMapper.createGenerator(Files.newOutputStream(job.file)),
+                generator -> {
+                    generator.writeStartArray();
+                    return reportService.generateAccountStatement(job.customerId, job.startDate, job.endDate)
+                            .publishOn(Schedulers.boundedElastic())
+                            .doOnNext(statement -> {
+                                jsonMapper.writeValue(generator, statement);
+                                job.rowsProcessed.addAndGet(Math.max(statement.getMovements().size(), 1));
+                            })
+                            .then(Mono.fromCallable(() -> {
+                                generator.writeEndArray();
+                                return job.file;
+                            }));
+                },
+                this::closeQuietly);
+    }
+
+    private void closeQuietly(final JsonGenerator generator) {
+        try {
+            generator.close();
+        } catch (Exception ex) {
+            log.warn("Could not close report job output: {}", ex.getMessage());
+        }
+    }
+
+    private void complete(final ReportJob job, final Throwable error) {
+        synchronized (this) {
+            if (job.status != Status.RUNNING) {
+                return;
+            }
+            finish(job, error == null ? Status.COMPLETED : Status.FAILED, error == null ? null : error.getMessage());
+        }
+        if (error == null) {
+            log.info("Report job {} completed: {} rows", job.id, job.rowsProcessed.get());
+        } else {
+            log.error("Report job {} failed: {}", job.id, error.getMessage());
+        }
+    }
+
+    /**
+     * Records the final status of a job, frees its worker and its customer slot, and starts the next job.
+     * Called with the monitor held.
+     */
+    private void finish(final ReportJob job, final Status status, final String error) {
+        if (job.status == Status.RUNNING) {
+            running--;
+        }
+        activeByCustomer.computeIfPresent(job.customerId, (id, active) -> active > 1 ? active - 1 : null);
+        job.status = status;
+        job.error = error;
+        job.finishedAt = LocalDateTime.now();
+        job.expiresAt = job.finishedAt.plus(ttl);
+        job.execution = null;
+        dispatch();
+    }
+
+    private ReportJob find(final String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ReportJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private synchronized int queuedCount() {
+        return queue.size();
+    }
+
+    private synchronized int runningCount() {
+        return running;
+    }
+
+    /**
+     * Job files outlive a restart but the jobs do not, so files left by a previous run are removed.
+     */
+    private void deleteOrphanedFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete report job file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private enum Format {
+        JSON(".json"),
+        EXCEL(".xlsx");
+
+        private final String extension;
+
+        Format(final String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * A submitted job. Status fields are written with the service monitor held and read without it.
+     */
+    private final class ReportJob {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Long customerId;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final Format format;
+        private final int priority;
+        private final long sequence;
+        private final Path file;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsProcessed = new AtomicLong();
+        private volatile Status status = Status.QUEUED;
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime expiresAt;
+        private volatile Disposable execution;
+
+        private ReportJob(final ReportJobRequestDTO request, final long sequence) {
+            this.customerId = request.getCustomerId();
+            this.startDate = request.getStartDate();
+            this.endDate = request.getEndDate();
+            this.format = Format.valueOf(request.getFormat());
+            this.priority = request.getPriority() == null ? 0 : request.getPriority();
+            this.sequence = sequence;
+            this.file = directory.resolve(FILE_PREFIX + id + format.extension);
+        }
+
+        private ReportJobDTO toDTO() {
+            Long fileSize = null;
+            if (status == Status.COMPLETED) {
+                try {
+                    fileSize = Files.size(file);
+                } catch (IOException ex) {
+                    log.warn("Could not read the size of report job file {}: {}", file, ex.getMessage());
+                }
+            }
+            return ReportJobDTO.builder()
+                    .jobId(id)
+                    .customerId(customerId)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .format(format.name())
+                    .priority(priority)
+                    .status(status.name())
+                    .rowsProcessed(rowsProcessed.get())
+                    .fileSize(fileSize)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .expiresAt(expiresAt)
+                    .build();
+        }
+    }
+}
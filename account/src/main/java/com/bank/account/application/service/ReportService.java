@@ -1,4 +1,330 @@
 package com.bank.account.application.service;
 
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.AccountStatementRow;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.bank.account.infrastructure.adapter.web.dto.AccountSummaryDTO;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+
+/**
+ * Service class for account statement reports and summaries.
+ * Statements stream from an ordered join over accounts and movements, per account when the range reaches
+ * archived months, and are served from the ReportCache while no account of the customer changes.
+ * Summaries read only the daily movement aggregates.
+ */
+@Slf4j
+@Service
 public class ReportService {
+
+    private static final int ACCOUNT_ROW_PREFETCH = 256;
+
+    private final MovementRepository movementRepository;
+    private final AccountRepository accountRepository;
+    private final MovementDailyAggregateRepository aggregateRepository;
+    private final CustomerClient customerClient;
+    private final MovementMapper movementMapper;
+    private final ReportCache reportCache;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final Timer statementTimer;
+    private final int excelWindowSize;
+    private final int excelBufferSize;
+    private final int accountConcurrency;
+
+    public ReportService(final MovementRepository movementRepository,
+                         final AccountRepository accountRepository,
+                         final MovementDailyAggregateRepository aggregateRepository,
+                         final CustomerClient customerClient,
+                         final MovementMapper movementMapper,
+                         final ReportCache reportCache,
+                         final MovementArchiveRepository movementArchiveRepository,
+                         @Value("${app.reports.statement.latency-target:2s}") final Duration latencyTarget,
+                         @Value("${app.reports.excel.window-size:100}") final int excelWindowSize,
+                         @Value("${app.reports.excel.buffer-size:65536}") final int excelBufferSize,
+                         @Value("${app.reports.statement.account-concurrency:8}") final int accountConcurrency,
+                         @Value("${spring.r2dbc.pool.max-size:10}") final int poolMaxSize,
+                         final MeterRegistry meterRegistry) {
+        this.movementRepository = movementRepository;
+        this.accountRepository = accountRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.customerClient = customerClient;
+        this.movementMapper = movementMapper;
+        this.reportCache = reportCache;
+        this.movementArchiveRepository = movementArchiveRepository;
+        this.excelWindowSize = excelWindowSize;
+        this.excelBufferSize = excelBufferSize;
+        this.accountConcurrency = Math.max(1, Math.min(accountConcurrency, poolMaxSize / 2));
+        this.statementTimer = Timer.builder("report.statement.duration")
+                .description("Time to stream the account statement of a customer")
+                .publishPercentiles(0.5, 0.99)
+                .serviceLevelObjectives(latencyTarget)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Generates the account statement of a customer within a date range.
+     * Statements are emitted one per account, ordered by account, with movements in chronological order.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The start of the range, inclusive.
+     * @param endDate    The end of the range, inclusive.
+     * @return A Flux emitting the statement of each account of the customer.
+     * @throws BusinessValidationException If the start date is after the end date.
+     */
+    public Flux<AccountStatementDTO> generateAccountStatement(final Long customerId,
+                                                              final LocalDateTime startDate,
+                                                              final LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Flux.error(new BusinessValidationException("Start date must not be after end date"));
+        }
+        log.info("Generating account statement for customer: {} from {} to {}", customerId, startDate, endDate);
+
+        return reportCache.statements(customerId, startDate, endDate, () -> Flux.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return customerClient.getCustomer(customerId)
+                    .flatMapMany(customer -> findStatementRows(customerId, startDate, endDate)
+                            .windowUntilChanged(AccountStatementRow::getAccountId)
+                            .concatMap(rows -> toStatement(customer.getName(), rows)))
+                    .doFinally(signal -> sample.stop(statementTimer));
+        }))
+                .doOnComplete(() -> log.info("Account statement generated for customer: {}", customerId))
+                .doOnError(error -> log.error("Error generating account statement for customer {}: {}",
+                        customerId, error.getMessage()));
+    }
+
+    /**
+     * Generates the account statement of a customer within a date range as an Excel workbook.
+     * Rows are written to the workbook as they stream from the database, on a bounded elastic thread,
+     * and the finished file is streamed back in chunks and deleted afterwards.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The start of the range, inclusive.
+     * @param endDate    The end of the range, inclusive.
+     * @return A Flux emitting the bytes of the xlsx file.
+     * @throws BusinessValidationException If the start date is after the end date.
+     */
+    public Flux<DataBuffer> generateAccountStatementExcel(final Long customerId,
+                                                          final LocalDateTime startDate,
+                                                          final LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Flux.error(new BusinessValidationException("Start date must not be after end date"));
+        }
+        log.info("Generating Excel statement for customer: {} from {} to {}", customerId, startDate, endDate);
+
+        return reportCache.excel(customerId, startDate, endDate, () -> writeAccountStatementExcel(customerId,
+                startDate, endDate, () -> { })
+                .flatMapMany(file -> DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, excelBufferSize)
+                        .doFinally(signal -> deleteQuietly(file))))
+                .doOnError(error -> log.error("Error generating Excel statement for customer {}: {}",
+                        customerId, error.getMessage()));
+    }
+
+    /**
+     * Writes the account statement of a customer within a date range to a new xlsx temp file.
+     * Rows are written to the workbook as they stream from the database, on a bounded elastic thread.
+     * The caller owns the file and must delete it once it has been read.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The start of the range, inclusive.
+     * @param endDate    The end of the range, inclusive.
+     * @param onRow      Called after each row is written, to follow the progress of the export.
+     * @return A Mono emitting the path of the finished file.
+     */
+    public Mono<Path> writeAccountStatementExcel(final Long customerId,
+                                                 final LocalDateTime startDate,
+                                                 final LocalDateTime endDate,
+                                                 final Runnable onRow) {
+        return customerClient.getCustomer(customerId)
+                .flatMap(customer -> Mono.usingWhen(
+                        Mono.fromCallable(() -> new StatementExcelWriter(customer.getName(), startDate, endDate,
+                                excelWindowSize)),
+                        writer -> findStatementRows(customerId, startDate, endDate)
+                                .publishOn(Schedulers.boundedElastic(), excelWindowSize)
+                                .doOnNext(row -> {
+                                    writer.write(row);
+                                    onRow.run();
+                                })
+                                .then(Mono.fromCallable(writer::finish))
+                                .doOnNext(file -> log.info("Excel statement for customer {} written: {} rows",
+                                        customerId, writer.getRowsWritten())),
+                        writer -> Mono.fromCallable(() -> {
+                            writer.close();
+                            return writer;
+                        }))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Generates the movement totals of every account of a customer between two days.
+     * Totals come from the daily aggregates, without reading individual movements.
+     *
+     * @param customerId The ID of the customer.
+     * @param startDate  The first day of the range, inclusive.
+     * @param endDate    The last day of the range, inclusive.
+     * @return A Mono emitting the totals of the customer and of each of its accounts.
+     * @throws BusinessValidationException If the start date is after the end date.
+     */
+    public Mono<CustomerSummaryDTO> generateCustomerSummary(final Long customerId,
+                                                            final LocalDate startDate,
+                                                            final LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Mono.error(new BusinessValidationException("Start date must not be after end date"));
+        }
+        log.info("Generating summary for customer: {} from {} to {}", customerId, startDate, endDate);
+
+        return customerClient.getCustomer(customerId)
+                .flatMap(customer -> aggregateRepository.findAccountSummaries(customerId, startDate, endDate)
+                        .collectList()
+                        .map(accounts -> CustomerSummaryDTO.builder()
+                                .customerName(customer.getName())
+                                .startDate(startDate)
+                                .endDate(endDate)
+                                .movementCount(accounts.stream().mapToLong(AccountSummaryDTO::getMovementCount).sum())
+                                .totalCredit(accounts.stream().map(AccountSummaryDTO::getTotalCredit)
+                                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                                .totalDebit(accounts.stream().map(AccountSummaryDTO::getTotalDebit)
+                                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                                .accounts(accounts)
+                                .build()))
+                .doOnSuccess(summary -> log.info("Summary generated for customer: {}", customerId))
+                .doOnError(error -> log.error("Error generating summary for customer {}: {}",
+                        customerId, error.getMessage()));
+    }
+
+    /**
+     * Statement rows of a customer, registering the owner of each account with the report cache.
+     * With an account concurrency above one, each account is queried on its own and the queries overlap;
+     * flatMapSequential emits the rows in account order and holds at most a prefetch of rows for each
+     * account that is ahead of the one being emitted, so a slow consumer still throttles every query.
+     * Each account is then read on its own connection, so the statement is not one snapshot.
+     */
+    private Flux<AccountStatementRow> findStatementRows(final Long customerId,
+                                                       final LocalDateTime startDate,
+                                                       final LocalDateTime endDate) {
+        Flux<AccountStatementRow> rows;
+        if (movementArchiveRepository.overlaps(startDate, endDate)) {
+            rows = accountRepository.findIdsByCustomerId(customerId)
+                    .flatMapSequential(accountId -> findArchivedAccountStatementRows(accountId, startDate, endDate),
+                            accountConcurrency, ACCOUNT_ROW_PREFETCH);
+        } else if (accountConcurrency == 1) {
+            rows = movementRepository.findStatementRows(customerId, startDate, endDate);
+        } else {
+            rows = accountRepository.findIdsByCustomerId(customerId)
+                    .flatMapSequential(accountId -> movementRepository.findAccountStatementRows(
+                            accountId, startDate, endDate), accountConcurrency, ACCOUNT_ROW_PREFETCH);
+        }
+        return rows.doOnNext(row -> reportCache.registerAccount(row.getAccountId(), customerId));
+    }
+
+    /**
+     * Statement rows of one account over a range that reaches into archived months.
+     * Archived months all precede the months in the database, so the archived movements are simply
+     * emitted before the live ones. Before the archive horizon the database only knows the balance at
+     * the end of each day, so for a start within an archived day the movements of that day before the
+     * start are added to the opening balance here.
+     */
+    private Flux<AccountStatementRow> findArchivedAccountStatementRows(final Long accountId,
+                                                                      final LocalDateTime startDate,
+                                                                      final LocalDateTime endDate) {
+        return movementRepository.findAccountStatementRows(accountId, startDate, endDate)
+                .switchOnFirst((first, live) -> {
+                    if (!first.hasValue()) {
+                        return live;
+                    }
+                    AccountStatementRow account = first.get();
+                    return archivedBalanceBefore(accountId, startDate)
+                            .map(delta -> account.getOpeningBalance().add(delta))
+                            .flatMapMany(opening -> movementArchiveRepository
+                                    .findByAccountIdAndDateRange(accountId, startDate, endDate)
+                                    .map(movement -> toStatementRow(account, movement))
+                                    .concatWith(live.filter(row -> row.getMovementId() != null))
+                                    .switchIfEmpty(Mono.just(account))
+                                    .doOnNext(row -> row.setOpeningBalance(opening)));
+                });
+    }
+
+    private Mono<BigDecimal> archivedBalanceBefore(final Long accountId, final LocalDateTime startDate) {
+        LocalDateTime startOfDay = startDate.toLocalDate().atStartOfDay();
+        if (startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                || !YearMonth.from(startDate).isBefore(movementArchiveRepository.getHorizon())) {
+            return Mono.just(BigDecimal.ZERO);
+        }
+        return movementArchiveRepository.findByAccountIdAndDateRange(accountId, startOfDay, startDate.minusNanos(1))
+                .map(movement -> "CREDIT".equals(movement.getMovementType())
+                        ? movement.getAmount() : movement.getAmount().negate())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static AccountStatementRow toStatementRow(final AccountStatementRow account, final Movement movement) {
+        return AccountStatementRow.builder()
+                .accountId(account.getAccountId())
+                .accountNumber(account.getAccountNumber())
+                .accountType(account.getAccountType())
+                .initialBalance(account.getInitialBalance())
+                .currentBalance(account.getCurrentBalance())
+                .status(account.getStatus())
+                .movementId(movement.getMovementId())
+                .movementDate(movement.getMovementDate())
+                .movementType(movement.getMovementType())
+                .amount(movement.getAmount())
+                .balance(movement.getBalance())
+                .build();
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete Excel statement file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private Mono<AccountStatementDTO> toStatement(final String customerName, final Flux<AccountStatementRow> rows) {
+        return rows.switchOnFirst((first, all) -> {
+            if (!first.hasValue()) {
+                return Flux.empty();
+            }
+            AccountStatementRow account = first.get();
+            return all.filter(row -> row.getMovementId() != null)
+                    .map(movementMapper::toDetailDTO)
+                    .collectList()
+                    .map(movements -> AccountStatementDTO.builder()
+                            .customerName(customerName)
+                            .accountNumber(account.getAccountNumber())
+                            .accountType(account.getAccountType())
+                            .initialBalance(account.getInitialBalance())
+                            .openingBalance(account.getOpeningBalance())
+                            .currentBalance(account.getCurrentBalance())
+                            .status(account.getStatus())
+                            .movements(movements)
+                            .build());
+        }).next();
+    }
 }
@@ -0,0 +1,155 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.model.AccountStatementRow;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Writes an account statement workbook one row at a time.
+ * Backed by a streaming SXSSF workbook: only the last windowSize rows stay in memory, older rows
+ * are flushed to a compressed temp file, so heap use does not grow with the number of movements.
+ * Not thread-safe; one instance per export.
+ */
+public final class StatementExcelWriter implements Closeable {
+
+    private static final String[] HEADERS = {
+            "Account Number", "Account Type", "Initial Balance", "Opening Balance", "Current Balance", "Status",
+            "Movement Date", "Movement Type", "Amount", "Balance"
+    };
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle amountStyle;
+    private final String customerName;
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+    private SXSSFSheet sheet;
+    private int nextRow;
+    private long rowsWritten;
+
+    public StatementExcelWriter(final String customerName,
+                                final LocalDateTime startDate,
+                                final LocalDateTime endDate,
+                                final int windowSize) {
+        this.customerName = customerName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.workbook = new SXSSFWorkbook(windowSize);
+        this.workbook.setCompressTempFiles(true);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+        this.amountStyle = workbook.createCellStyle();
+        this.amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+        newSheet();
+    }
+
+    /**
+     * Appends one statement row. Rows continue on a new sheet when the current one is full.
+     *
+     * @param row The statement row; movement columns are left blank when the row has no movement.
+     */
+    public void write(final AccountStatementRow row) {
+        if (nextRow == MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row excelRow = sheet.createRow(nextRow++);
+        excelRow.createCell(0).setCellValue(row.getAccountNumber());
+        excelRow.createCell(1).setCellValue(row.getAccountType());
+        amountCell(excelRow, 2, row.getInitialBalance());
+        amountCell(excelRow, 3, row.getOpeningBalance());
+        amountCell(excelRow, 4, row.getCurrentBalance());
+        excelRow.createCell(5).setCellValue(Boolean.TRUE.equals(row.getStatus()) ? "Active" : "Inactive");
+        if (row.getMovementId() != null) {
+            Cell date = excelRow.createCell(6);
+            date.setCellValue(row.getMovementDate());
+            date.setCellStyle(dateStyle);
+            excelRow.createCell(7).setCellValue(row.getMovementType());
+            amountCell(excelRow, 8, row.getAmount());
+            amountCell(excelRow, 9, row.getBalance());
+        }
+        rowsWritten++;
+    }
+
+    /**
+     * Writes the finished workbook to a new temp file.
+     * The caller owns the file and must delete it once it has been read.
+     *
+     * @return The path of the workbook file.
+     * @throws IOException If the file cannot be written.
+     */
+    public Path finish() throws IOException {
+        Path file = Files.createTempFile("account_statement_", ".xlsx");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    /**
+     * @return The number of statement rows written so far.
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Deletes the temp files backing the flushed rows and releases the workbook.
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void newSheet() {
+        int number = workbook.getNumberOfSheets() + 1;
+        sheet = workbook.createSheet(number == 1 ? "Statement" : "Statement (" + number + ")");
+        nextRow = 0;
+
+        Row title = sheet.createRow(nextRow++);
+        title.createCell(0).setCellValue("Customer");
+        title.createCell(1).setCellValue(customerName);
+        title.createCell(2).setCellValue("From");
+        title.createCell(3).setCellValue(startDate.toString());
+        title.createCell(4).setCellValue("To");
+        title.createCell(5).setCellValue(endDate.toString());
+
+        Row header = sheet.createRow(nextRow++);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private void amountCell(final Row row, final int column, final BigDecimal value) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value.doubleValue());
+            cell.setCellStyle(amountStyle);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.account.application.service;
+
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.infrastructure.adapter.messaging.publisher.MovementEventPublisher;
+import com.bank.account.infrastructure.adapter.web.dto.TransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service class for transfers between accounts.
+ * The debit and the credit are written together by the TransferWriter, after the debit is checked
+ * against the daily debit limit of the source account. A single TRANSFER_COMPLETED event is published
+ * once the transaction has committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferService {
+
+    private final TransferWriter transferWriter;
+    private final AccountService accountService;
+    private final DailyDebitLimiter debitLimiter;
+    private final MovementEventPublisher movementEventPublisher;
+
+    /**
+     * Transfers funds from one account to another.
+     *
+     * @param requestDTO The transfer request.
+     * @return A Mono emitting the transfer, with its DEBIT and CREDIT movements.
+     * @throws BusinessValidationException      If both accounts are the same.
+     * @throws AccountNotFoundException         If either account does not exist.
+     * @throws InsufficientBalanceException     If the available balance of the source does not cover the amount.
+     * @throws DailyDebitLimitExceededException If the debit exceeds the daily limit of the source account.
+     */
+    public Mono<TransferResponseDTO> transfer(final TransferRequestDTO requestDTO) {
+        log.info("Transferring {} from account {} to account {}", requestDTO.getAmount(),
+                requestDTO.getSourceAccountId(), requestDTO.getDestinationAccountId());
+
+        if (requestDTO.getSourceAccountId().equals(requestDTO.getDestinationAccountId())) {
+            return Mono.error(new BusinessValidationException("Source and destination accounts must be different"));
+        }
+        return accountService.getAccountEntity(requestDTO.getSourceAccountId())
+                .flatMap(source -> debitLimiter.reserve(source, requestDTO.getAmount()))
+                .flatMap(reservation -> transferWriter.transfer(requestDTO)
+                        .doOnError(error -> reservation.release()))
+                .doOnNext(this::publish)
+                .doOnSuccess(transfer -> log.info("Transfer completed: debit {}, credit {}",
+                        transfer.getDebit().getMovementId(), transfer.getCredit().getMovementId()))
+                .doOnError(error -> log.error("Error transferring funds: {}", error.getMessage()));
+    }
+
+    /**
+     * Sends the event off the request path: the JMS send blocks, and the transfer is already committed.
+     */
+    private void publish(final TransferResponseDTO transfer) {
+        Mono.fromRunnable(() -> movementEventPublisher.publishTransferCompletedEvent(transfer))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+}
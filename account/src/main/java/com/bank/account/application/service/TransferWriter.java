@@ -0,0 +1,112 @@
+package com.bank.account.application.service;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Writes a transfer in a single transaction.
+ * Both accounts are locked in ascending ID order, like every other multi-account write, so transfers in
+ * opposite directions wait for each other instead of deadlocking. The DEBIT and CREDIT movements are
+ * inserted with one multi-row statement and both balances are updated with one statement.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferWriter {
+
+    private final MovementRepository movementRepository;
+    private final AccountRepository accountRepository;
+    private final MovementMapper movementMapper;
+    private final AccountCache accountCache;
+    private final HoldIndex holdIndex;
+
+    /**
+     * Moves the amount from the source to the destination account.
+     *
+     * @param request A validated transfer between two different accounts.
+     * @return A Mono emitting the transfer, with both movements.
+     * @throws AccountNotFoundException     If either account does not exist.
+     * @throws InsufficientBalanceException If the available balance of the source does not cover the amount.
+     */
+    @Transactional
+    public Mono<TransferResponseDTO> transfer(final TransferRequestDTO request) {
+        Long sourceId = request.getSourceAccountId();
+        Long destinationId = request.getDestinationAccountId();
+        Long[] accountIds = sourceId < destinationId
+                ? new Long[]{sourceId, destinationId}
+                : new Long[]{destinationId, sourceId};
+
+        return accountRepository.findAllByIdForUpdate(accountIds)
+                .collectMap(Account::getAccountId)
+                .flatMap(accounts -> {
+                    Account source = accounts.get(sourceId);
+                    Account destination = accounts.get(destinationId);
+                    if (source == null) {
+                        return Mono.error(new AccountNotFoundException(sourceId));
+                    }
+                    if (destination == null) {
+                        return Mono.error(new AccountNotFoundException(destinationId));
+                    }
+                    return apply(request, source, destination);
+                });
+    }
+
+    private Mono<TransferResponseDTO> apply(final TransferRequestDTO request, final Account source,
+                                            final Account destination) {
+        BigDecimal amount = request.getAmount();
+        BigDecimal sourceBalance = source.getCurrentBalance().subtract(amount);
+        if (sourceBalance.compareTo(holdIndex.heldAmount(source.getAccountId())) < 0) {
+            log.error("Insufficient balance for transfer. Account: {}, Required: {}", source.getAccountId(), amount);
+            return Mono.error(new InsufficientBalanceException());
+        }
+        BigDecimal destinationBalance = destination.getCurrentBalance().add(amount);
+        LocalDateTime now = LocalDateTime.now();
+
+        return movementRepository.insertAll(
+                        new LocalDateTime[]{now, now},
+                        new String[]{"DEBIT", "CREDIT"},
+                        new BigDecimal[]{amount, amount},
+                        new BigDecimal[]{sourceBalance, destinationBalance},
+                        new Long[]{source.getAccountId(), destination.getAccountId()})
+                .collectMap(Movement::getAccountId)
+                .flatMap(movements -> {
+                    Map<Long, BigDecimal> balances = Map.of(
+                            source.getAccountId(), sourceBalance,
+                            destination.getAccountId(), destinationBalance);
+                    return accountRepository.updateBalances(
+                                    new Long[]{source.getAccountId(), destination.getAccountId()},
+                                    new BigDecimal[]{sourceBalance, destinationBalance})
+                            .then(accountCache.updateBalancesAfterCommit(balances))
+                            .thenReturn(TransferResponseDTO.builder()
+                                    .sourceAccountId(source.getAccountId())
+                                    .destinationAccountId(destination.getAccountId())
+                                    .amount(amount)
+                                    .debit(toResponseDTO(movements.get(source.getAccountId()), source))
+                                    .credit(toResponseDTO(movements.get(destination.getAccountId()), destination))
+                                    .build());
+                });
+    }
+
+    private MovementResponseDTO toResponseDTO(final Movement movement, final Account account) {
+        MovementResponseDTO response = movementMapper.toResponseDTO(movement);
+        response.setAccountNumber(account.getAccountNumber());
+        return response;
+    }
+}
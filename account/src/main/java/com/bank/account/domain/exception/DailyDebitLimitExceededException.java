@@ -0,0 +1,14 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when a debit would exceed the daily debit limit of the account
+ */
+public class DailyDebitLimitExceededException extends RuntimeException {
+    public DailyDebitLimitExceededException(String message) {
+        super(message);
+    }
+
+    public DailyDebitLimitExceededException() {
+        super("Cupo diario excedido");
+    }
+}
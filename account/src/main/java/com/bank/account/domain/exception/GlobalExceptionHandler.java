@@ -82,6 +82,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Handles debits that would exceed the daily debit limit of the account.
+     *
+     * @param ex The DailyDebitLimitExceededException instance.
+     * @return A standardized error response with 400 Bad Request status.
+     */
+    @ExceptionHandler(DailyDebitLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDailyDebitLimitExceeded(final DailyDebitLimitExceededException ex) {
+        log.warn("Daily debit limit exceeded: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Daily Limit Exceeded")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles cases where a specific transaction or movement cannot be found.
      *
@@ -102,6 +122,126 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles cases where a hold cannot be found on the account.
+     *
+     * @param ex The HoldNotFoundException instance.
+     * @return A standardized error response with 404 Not Found status.
+     */
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotFound(final HoldNotFoundException ex) {
+        log.error("Hold not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles movements rejected because the account's movement queue is saturated.
+     *
+     * @param ex The MovementQueueFullException instance.
+     * @return A standardized error response with 429 Too Many Requests status.
+     */
+    @ExceptionHandler(MovementQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleMovementQueueFull(final MovementQueueFullException ex) {
+        log.warn("Movement queue full: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+    }
+
+    /**
+     * Handles cases where a report job does not exist or has expired.
+     *
+     * @param ex The ReportJobNotFoundException instance.
+     * @return A standardized error response with 404 Not Found status.
+     */
+    @ExceptionHandler(ReportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobNotFound(final ReportJobNotFoundException ex) {
+        log.error("Report job not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
+    /**
+     * Handles downloads of report jobs that have not completed.
+     *
+     * @param ex The ReportJobNotReadyException instance.
+     * @return A standardized error response with 409 Conflict status.
+     */
+    @ExceptionHandler(ReportJobNotReadyException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobNotReady(final ReportJobNotReadyException ex) {
+        log.warn("Report job not ready: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles report jobs rejected because a per-customer or service-wide job limit was reached.
+     *
+     * @param ex The ReportJobRejectedException instance.
+     * @return A standardized error response with 429 Too Many Requests status.
+     */
+    @ExceptionHandler(ReportJobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleReportJobRejected(final ReportJobRejectedException ex) {
+        log.warn("Report job rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
+    }
+
+    /**
+     * Handles idempotency keys replayed with a request different from the original one.
+     *
+     * @param ex The IdempotencyKeyReusedException instance.
+     * @return A standardized error response with 422 Unprocessable Content status.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(final IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNPROCESSABLE_CONTENT.value())
+                .error(HttpStatus.UNPROCESSABLE_CONTENT.getReasonPhrase())
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(errorResponse);
+    }
+
     /**
      * Handles failures in customer status or existence validation from external services.
      *
@@ -0,0 +1,14 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when a hold is not found
+ */
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+
+    public HoldNotFoundException(Long holdId) {
+        super("Hold not found with ID: " + holdId);
+    }
+}
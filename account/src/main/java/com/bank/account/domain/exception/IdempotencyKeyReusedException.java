@@ -0,0 +1,10 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when an idempotency key is reused with a different request
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used with a different request");
+    }
+}
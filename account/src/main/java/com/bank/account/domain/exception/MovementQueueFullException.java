@@ -0,0 +1,14 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when an account's movement queue is full and cannot accept more work
+ */
+public class MovementQueueFullException extends RuntimeException {
+    public MovementQueueFullException(String message) {
+        super(message);
+    }
+
+    public MovementQueueFullException(Long accountId) {
+        super("Too many pending movements for account with ID: " + accountId + ". Please retry later");
+    }
+}
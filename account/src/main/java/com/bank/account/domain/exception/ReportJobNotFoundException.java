@@ -0,0 +1,10 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when a report job does not exist or has expired
+ */
+public class ReportJobNotFoundException extends RuntimeException {
+    public ReportJobNotFoundException(String jobId) {
+        super("Report job not found with ID: " + jobId);
+    }
+}
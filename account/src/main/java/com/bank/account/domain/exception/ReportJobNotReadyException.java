@@ -0,0 +1,10 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when the output of a report job is requested before the job has completed
+ */
+public class ReportJobNotReadyException extends RuntimeException {
+    public ReportJobNotReadyException(String jobId, String status) {
+        super("Report job " + jobId + " has no output to download, status: " + status);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.account.domain.exception;
+
+/**
+ * Exception thrown when a report job cannot be accepted because a job limit has been reached
+ */
+public class ReportJobRejectedException extends RuntimeException {
+    public ReportJobRejectedException(String message) {
+        super(message);
+    }
+}
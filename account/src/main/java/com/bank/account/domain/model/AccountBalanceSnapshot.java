@@ -0,0 +1,41 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Month-end balance checkpoint of an account.
+ * Holds the balance after every movement dated before snapshotAt, so a balance as of any later
+ * timestamp only needs the movements since the checkpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("account_balance_snapshots")
+public class AccountBalanceSnapshot {
+
+    @Id
+    @Column("snapshot_id")
+    private Long snapshotId;
+
+    @Column("account_id")
+    private Long accountId;
+
+    @Column("snapshot_at")
+    private LocalDateTime snapshotAt;
+
+    @Column("balance")
+    private BigDecimal balance;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the account statement query: an account joined with one of its movements.
+ * The movement columns are null for an account without movements in the requested range.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatementRow {
+
+    private Long accountId;
+    private String accountNumber;
+    private String accountType;
+    private BigDecimal initialBalance;
+    private BigDecimal currentBalance;
+    private Boolean status;
+    private BigDecimal openingBalance;
+
+    private Long movementId;
+    private LocalDateTime movementDate;
+    private String movementType;
+    private BigDecimal amount;
+    private BigDecimal balance;
+}
@@ -0,0 +1,23 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum of the debits of an account within one time bucket, used to seed the daily debit limits.
+ * The bucket is the movement date in seconds since the epoch (UTC) divided by the bucket length.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DebitBucketRow {
+
+    private Long accountId;
+    private Long bucket;
+    private BigDecimal amount;
+}
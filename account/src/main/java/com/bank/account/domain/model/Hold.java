@@ -0,0 +1,54 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Funds reserved on an account. An ACTIVE hold reduces the available balance until it is
+ * CAPTURED as a debit movement, RELEASED, or EXPIRED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("holds")
+public class Hold {
+
+    public static final String ACTIVE = "ACTIVE";
+    public static final String CAPTURED = "CAPTURED";
+    public static final String RELEASED = "RELEASED";
+    public static final String EXPIRED = "EXPIRED";
+
+    @Id
+    @Column("hold_id")
+    private Long holdId;
+
+    @Column("account_id")
+    private Long accountId;
+
+    @Column("amount")
+    private BigDecimal amount;
+
+    @Column("status")
+    private String status;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("settled_at")
+    private LocalDateTime settledAt;
+
+    @Column("movement_id")
+    private Long movementId;
+}
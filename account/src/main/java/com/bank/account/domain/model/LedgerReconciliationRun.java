@@ -0,0 +1,51 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of the ledger reconciliation, FULL or INCREMENTAL.
+ * Timestamps come from the database clock, the same one that stamps accounts.updated_at.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("ledger_reconciliation_runs")
+public class LedgerReconciliationRun {
+
+    public static final String FULL = "FULL";
+    public static final String INCREMENTAL = "INCREMENTAL";
+
+    @Id
+    @Column("run_id")
+    private Long runId;
+
+    @Column("mode")
+    private String mode;
+
+    @Column("started_at")
+    private LocalDateTime startedAt;
+
+    @Column("finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column("accounts_checked")
+    private Long accountsChecked;
+
+    @Column("movements_checked")
+    private Long movementsChecked;
+
+    @Column("drift_count")
+    private Long driftCount;
+
+    @Column("report_file")
+    private String reportFile;
+}
@@ -0,0 +1,28 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the ledger reconciliation query: an account joined with one of its movements.
+ * The movement columns are null for an account without movements.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerRow {
+
+    private Long accountId;
+    private BigDecimal currentBalance;
+    private BigDecimal openingBalance;
+
+    private Long movementId;
+    private String movementType;
+    private BigDecimal amount;
+    private BigDecimal balance;
+}
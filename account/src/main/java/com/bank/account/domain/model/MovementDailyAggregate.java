@@ -0,0 +1,47 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of the movements of an account.
+ * Maintained by database triggers on every write to movements; closingBalance is the balance
+ * after the last movement of the day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("movement_daily_aggregates")
+public class MovementDailyAggregate {
+
+    @Id
+    @Column("aggregate_id")
+    private Long aggregateId;
+
+    @Column("account_id")
+    private Long accountId;
+
+    @Column("day")
+    private LocalDate day;
+
+    @Column("movement_count")
+    private Long movementCount;
+
+    @Column("total_credit")
+    private BigDecimal totalCredit;
+
+    @Column("total_debit")
+    private BigDecimal totalDebit;
+
+    @Column("closing_balance")
+    private BigDecimal closingBalance;
+}
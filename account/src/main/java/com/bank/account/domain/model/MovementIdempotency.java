@@ -0,0 +1,39 @@
+package com.bank.account.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency record of a movement creation.
+ * Keeps the original response so a retried request can be answered without creating the movement again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("movement_idempotency")
+public class MovementIdempotency {
+
+    @Id
+    @Column("idempotency_key")
+    private String idempotencyKey;
+
+    @Column("request_fingerprint")
+    private String requestFingerprint;
+
+    @Column("movement_id")
+    private Long movementId;
+
+    @Column("response_body")
+    private String responseBody;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,48 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.AccountBalanceSnapshot;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for month-end balance checkpoints
+ */
+@Repository
+public interface AccountBalanceSnapshotRepository extends R2dbcRepository<AccountBalanceSnapshot, Long> {
+
+    /**
+     * Balance of the account as of the given timestamp, excluding movements at or after it.
+     * Starts from the nearest checkpoint, so at most one month of movements is summed.
+     * Completes empty when the account does not exist.
+     */
+    @Query("SELECT balance FROM (SELECT account_balance_as_of(:accountId, :asOf) AS balance) b " +
+            "WHERE balance IS NOT NULL")
+    Mono<BigDecimal> findBalanceAsOf(Long accountId, LocalDateTime asOf);
+
+    @Query("SELECT snapshot_at FROM account_balance_snapshots ORDER BY snapshot_at DESC LIMIT 1")
+    Mono<LocalDateTime> findLatestSnapshotAt();
+
+    /**
+     * Checkpoints every account at the given month boundary, from its previous checkpoint.
+     * Existing checkpoints are left untouched, so the statement can be re-run safely.
+     */
+    @Modifying
+    @Query("INSERT INTO account_balance_snapshots (account_id, snapshot_at, balance) " +
+            "SELECT a.account_id, :snapshotAt, account_balance_as_of(a.account_id, :snapshotAt) " +
+            "FROM accounts a " +
+            "ON CONFLICT (account_id, snapshot_at) DO NOTHING")
+    Mono<Long> insertSnapshots(LocalDateTime snapshotAt);
+
+    /**
+     * Shifts the checkpoints taken after a movement that was changed or removed.
+     */
+    @Query("UPDATE account_balance_snapshots SET balance = balance + :delta " +
+            "WHERE account_id = :accountId AND snapshot_at > :movementDate")
+    Mono<Void> shiftBalancesAfter(Long accountId, LocalDateTime movementDate, BigDecimal delta);
+}
@@ -19,7 +19,49 @@ public interface AccountRepository extends R2dbcRepository<Account, Long> {
 
     Mono<Boolean> existsByAccountNumber(String accountNumber);
 
+    /**
+     * Page of accounts with an ID greater than the given one, in ID order.
+     */
+    @Query("SELECT * FROM accounts WHERE account_id > :accountId " +
+            "ORDER BY account_id LIMIT :limit")
+    Flux<Account> findPageAfter(Long accountId, int limit);
+
+    @Query("SELECT account_id FROM accounts ORDER BY account_id")
+    Flux<Long> findAllIds();
+
+    @Query("SELECT account_id FROM accounts WHERE customer_id = :customerId ORDER BY account_id")
+    Flux<Long> findIdsByCustomerId(Long customerId);
+
+    @Query("SELECT account_id FROM accounts WHERE updated_at >= :since ORDER BY account_id")
+    Flux<Long> findIdsUpdatedSince(java.time.LocalDateTime since);
+
     @Query("UPDATE accounts SET current_balance = :balance, updated_at = NOW() " +
             "WHERE account_id = :accountId")
     Mono<Void> updateBalance(Long accountId, java.math.BigDecimal balance);
+
+    /**
+     * Atomically applies a signed delta to the balance, only if the result stays at or above the reserved
+     * amount (the funds held by active holds for a debit, zero otherwise).
+     * Emits the new balance, or completes empty when the account does not have enough funds.
+     */
+    @Query("UPDATE accounts SET current_balance = current_balance + :delta, updated_at = NOW() " +
+            "WHERE account_id = :accountId AND current_balance + :delta >= :reserved " +
+            "RETURNING current_balance")
+    Mono<java.math.BigDecimal> applyBalanceDelta(Long accountId, java.math.BigDecimal delta,
+                                                 java.math.BigDecimal reserved);
+
+    /**
+     * Locks the given accounts in ascending ID order, so concurrent batches cannot deadlock.
+     */
+    @Query("SELECT * FROM accounts WHERE account_id = ANY(:accountIds) " +
+            "ORDER BY account_id FOR UPDATE")
+    Flux<Account> findAllByIdForUpdate(Long[] accountIds);
+
+    /**
+     * Sets the balance of several accounts in a single statement.
+     */
+    @Query("UPDATE accounts a SET current_balance = v.balance, updated_at = NOW() " +
+            "FROM UNNEST(:accountIds, :balances) AS v(account_id, balance) " +
+            "WHERE a.account_id = v.account_id")
+    Mono<Void> updateBalances(Long[] accountIds, java.math.BigDecimal[] balances);
 }
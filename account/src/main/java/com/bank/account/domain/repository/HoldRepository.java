@@ -0,0 +1,49 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.Hold;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for funds holds
+ */
+@Repository
+public interface HoldRepository extends R2dbcRepository<Hold, Long> {
+
+    /**
+     * Places a hold if the balance of the account, minus the amount already held, covers it.
+     * The account row is locked for the check, so a concurrent debit cannot spend the same funds.
+     * Emits nothing when the funds are not available.
+     */
+    @Query("WITH a AS (" +
+            "SELECT account_id FROM accounts " +
+            "WHERE account_id = :accountId AND current_balance - :held >= :amount " +
+            "FOR UPDATE) " +
+            "INSERT INTO holds (account_id, amount, status, created_at, expires_at) " +
+            "SELECT a.account_id, :amount, 'ACTIVE', :createdAt, :expiresAt FROM a " +
+            "RETURNING *")
+    Mono<Hold> place(Long accountId, BigDecimal amount, BigDecimal held, LocalDateTime createdAt,
+                     LocalDateTime expiresAt);
+
+    /**
+     * Marks an active hold as captured by the given movement. Emits nothing if the hold is not active.
+     */
+    @Query("UPDATE holds SET status = 'CAPTURED', settled_at = NOW(), movement_id = :movementId " +
+            "WHERE hold_id = :holdId AND status = 'ACTIVE' RETURNING *")
+    Mono<Hold> capture(Long holdId, Long movementId);
+
+    /**
+     * Marks an active hold as RELEASED or EXPIRED. Emits nothing if the hold is not active.
+     */
+    @Query("UPDATE holds SET status = :status, settled_at = NOW() " +
+            "WHERE hold_id = :holdId AND status = 'ACTIVE' RETURNING *")
+    Mono<Hold> settle(Long holdId, String status);
+
+    Flux<Hold> findByStatus(String status);
+}
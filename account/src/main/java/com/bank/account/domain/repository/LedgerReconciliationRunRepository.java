@@ -0,0 +1,30 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.LedgerReconciliationRun;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository interface for ledger reconciliation runs
+ */
+@Repository
+public interface LedgerReconciliationRunRepository extends R2dbcRepository<LedgerReconciliationRun, Long> {
+
+    /**
+     * Records the start of a run, stamped with the database clock.
+     */
+    @Query("INSERT INTO ledger_reconciliation_runs (mode, started_at) VALUES (:mode, NOW()) RETURNING *")
+    Mono<LedgerReconciliationRun> start(String mode);
+
+    @Query("UPDATE ledger_reconciliation_runs SET finished_at = NOW(), accounts_checked = :accountsChecked, " +
+            "movements_checked = :movementsChecked, drift_count = :driftCount, report_file = :reportFile " +
+            "WHERE run_id = :runId RETURNING *")
+    Mono<LedgerReconciliationRun> finish(Long runId, long accountsChecked, long movementsChecked, long driftCount,
+                                         String reportFile);
+
+    @Query("SELECT * FROM ledger_reconciliation_runs WHERE finished_at IS NOT NULL " +
+            "ORDER BY started_at DESC LIMIT 1")
+    Mono<LedgerReconciliationRun> findLatestFinished();
+}
@@ -0,0 +1,29 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.Movement;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Repository interface for movements of archived months, which are no longer in the database.
+ * Archived movements are read-only.
+ */
+public interface MovementArchiveRepository {
+
+    /**
+     * First month still in the database. Every month before it is archived.
+     */
+    YearMonth getHorizon();
+
+    /**
+     * Whether part of the range lies in archived months.
+     */
+    boolean overlaps(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Archived movements of the account within the range, inclusive, in chronological order.
+     */
+    Flux<Movement> findByAccountIdAndDateRange(Long accountId, LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,48 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.MovementDailyAggregate;
+import com.bank.account.infrastructure.adapter.web.dto.AccountSummaryDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Repository interface for the daily movement aggregates
+ */
+@Repository
+public interface MovementDailyAggregateRepository extends R2dbcRepository<MovementDailyAggregate, Long> {
+
+    Flux<MovementDailyAggregate> findByAccountIdOrderByDay(Long accountId);
+
+    /**
+     * Movement totals of every account of a customer between two days, both inclusive, one row per account.
+     * Reads only the aggregates: the opening balance is the closing balance of the last day before the
+     * range (or the initial balance), and the closing balance adds the net of the range to it.
+     */
+    @Query("SELECT s.*, s.opening_balance + s.total_credit - s.total_debit AS closing_balance FROM (" +
+            "SELECT a.account_id, a.account_number, a.account_type, a.status, " +
+            "COALESCE((SELECT p.closing_balance FROM movement_daily_aggregates p " +
+            "WHERE p.account_id = a.account_id AND p.day < :startDate " +
+            "ORDER BY p.day DESC LIMIT 1), a.initial_balance) AS opening_balance, " +
+            "COALESCE(SUM(d.movement_count), 0)::BIGINT AS movement_count, " +
+            "COALESCE(SUM(d.total_credit), 0) AS total_credit, " +
+            "COALESCE(SUM(d.total_debit), 0) AS total_debit " +
+            "FROM accounts a " +
+            "LEFT JOIN movement_daily_aggregates d ON d.account_id = a.account_id " +
+            "AND d.day BETWEEN :startDate AND :endDate " +
+            "WHERE a.customer_id = :customerId " +
+            "GROUP BY a.account_id) s " +
+            "ORDER BY s.account_id")
+    Flux<AccountSummaryDTO> findAccountSummaries(Long customerId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Recomputes the aggregates of the accounts with an ID in the given range, both inclusive, from movements.
+     * Runs as one statement, so the range is replaced atomically.
+     */
+    @Query("SELECT rebuild_daily_aggregates(:fromAccountId, :toAccountId)")
+    Mono<Long> rebuild(Long fromAccountId, Long toAccountId);
+}
@@ -0,0 +1,42 @@
+package com.bank.account.domain.repository;
+
+import com.bank.account.domain.model.MovementIdempotency;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for movement idempotency records
+ */
+@Repository
+public interface MovementIdempotencyRepository extends R2dbcRepository<MovementIdempotency, String> {
+
+    /**
+     * Claims the key for the current transaction.
+     * Emits the key when it was free, or completes empty when it is already taken. A claim still
+     * in progress in another transaction makes this statement wait until that transaction ends.
+     */
+    @Query("INSERT INTO movement_idempotency (idempotency_key, request_fingerprint, created_at) " +
+            "VALUES (:idempotencyKey, :requestFingerprint, :createdAt) " +
+            "ON CONFLICT (idempotency_key) DO NOTHING " +
+            "RETURNING idempotency_key")
+    Mono<String> claim(String idempotencyKey, String requestFingerprint, LocalDateTime createdAt);
+
+    @Query("UPDATE movement_idempotency SET movement_id = :movementId, response_body = :responseBody " +
+            "WHERE idempotency_key = :idempotencyKey")
+    Mono<Void> complete(String idempotencyKey, Long movementId, String responseBody);
+
+    /**
+     * Deletes up to limit records created before the cutoff, oldest first, through the created_at index.
+     * Rows locked by another purge are skipped, so concurrent instances do not wait on each other.
+     */
+    @Modifying
+    @Query("DELETE FROM movement_idempotency WHERE idempotency_key IN (" +
+            "SELECT idempotency_key FROM movement_idempotency WHERE created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED)")
+    Mono<Long> deleteCreatedBefore(LocalDateTime cutoff, int limit);
+}
@@ -1,12 +1,18 @@
 package com.bank.account.domain.repository;
 
+import com.bank.account.domain.model.AccountStatementRow;
+import com.bank.account.domain.model.DebitBucketRow;
+import com.bank.account.domain.model.LedgerRow;
 import com.bank.account.domain.model.Movement;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 
@@ -15,6 +21,119 @@ public interface MovementRepository extends R2dbcRepository<Movement, Long> {
 
     Flux<Movement> findByAccountId(Long accountId);
 
+    /**
+     * Applies the signed delta to the account balance and inserts the movement in a single statement.
+     * The balance update is conditional, so the statement emits nothing when funds are insufficient:
+     * the new balance must not fall below the reserved amount (the active holds, for a debit).
+     */
+    @Query("WITH updated AS (" +
+            "UPDATE accounts SET current_balance = current_balance + :delta, updated_at = NOW() " +
+            "WHERE account_id = :accountId AND current_balance + :delta >= :reserved " +
+            "RETURNING account_id, current_balance) " +
+            "INSERT INTO movements (movement_date, movement_type, amount, balance, account_id, created_at) " +
+            "SELECT :movementDate, :movementType, :amount, u.current_balance, u.account_id, :createdAt " +
+            "FROM updated u " +
+            "RETURNING *")
+    Mono<Movement> insertWithBalanceDelta(
+            Long accountId,
+            BigDecimal delta,
+            BigDecimal reserved,
+            String movementType,
+            BigDecimal amount,
+            LocalDateTime movementDate,
+            LocalDateTime createdAt
+    );
+
+    /**
+     * Sums the debits of several accounts since the given date, per account and time bucket of the given
+     * length, leaving out bulk transfer debits. Seeds and reconciles the in-memory daily debit limits;
+     * served by the (account_id, movement_date) index.
+     */
+    @Query("SELECT account_id, FLOOR(EXTRACT(EPOCH FROM movement_date) / :bucketSeconds)::BIGINT AS bucket, " +
+            "SUM(amount) AS amount " +
+            "FROM movements m " +
+            "WHERE account_id = ANY(:accountIds) AND movement_type = 'DEBIT' AND movement_date >= :since " +
+            "AND NOT EXISTS (SELECT 1 FROM bulk_transfer_debits b WHERE b.movement_id = m.movement_id) " +
+            "GROUP BY 1, 2")
+    Flux<DebitBucketRow> sumDebitsByBucket(Long[] accountIds, LocalDateTime since, long bucketSeconds);
+
+    /**
+     * Sums the bulk transfer debits of several accounts since the given date, like sumDebitsByBucket.
+     */
+    @Query("SELECT m.account_id, FLOOR(EXTRACT(EPOCH FROM m.movement_date) / :bucketSeconds)::BIGINT AS bucket, " +
+            "SUM(m.amount) AS amount " +
+            "FROM movements m JOIN bulk_transfer_debits b ON b.movement_id = m.movement_id " +
+            "WHERE m.account_id = ANY(:accountIds) AND m.movement_date >= :since " +
+            "GROUP BY 1, 2")
+    Flux<DebitBucketRow> sumBulkDebitsByBucket(Long[] accountIds, LocalDateTime since, long bucketSeconds);
+
+    /**
+     * Records a movement as the debit of a bulk transfer, so it counts against the bulk limit only.
+     */
+    @Modifying
+    @Query("INSERT INTO bulk_transfer_debits (movement_id) VALUES (:movementId)")
+    Mono<Void> markBulkDebit(Long movementId);
+
+    /**
+     * Inserts many movements with a single multi-row statement.
+     * The arrays are parallel: position i of each array describes the i-th movement.
+     */
+    @Query("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+            "SELECT * FROM UNNEST(:movementDates, :movementTypes, :amounts, :balances, :accountIds) " +
+            "RETURNING *")
+    Flux<Movement> insertAll(
+            LocalDateTime[] movementDates,
+            String[] movementTypes,
+            BigDecimal[] amounts,
+            BigDecimal[] balances,
+            Long[] accountIds
+    );
+
+    /**
+     * First page of movements, newest first, with their account number.
+     */
+    @Query("SELECT m.*, a.account_number FROM movements m " +
+            "INNER JOIN accounts a ON m.account_id = a.account_id " +
+            "ORDER BY m.movement_date DESC, m.movement_id DESC " +
+            "LIMIT :limit")
+    Flux<MovementResponseDTO> findFirstPage(int limit);
+
+    /**
+     * Page of movements that sort after the given key, newest first, with their account number.
+     * The row comparison seeks the (movement_date, movement_id) index, so every page costs the same.
+     */
+    @Query("SELECT m.*, a.account_number FROM movements m " +
+            "INNER JOIN accounts a ON m.account_id = a.account_id " +
+            "WHERE (m.movement_date, m.movement_id) < (:movementDate, :movementId) " +
+            "ORDER BY m.movement_date DESC, m.movement_id DESC " +
+            "LIMIT :limit")
+    Flux<MovementResponseDTO> findPageAfter(LocalDateTime movementDate, Long movementId, int limit);
+
+    /**
+     * First page of the movements of an account, newest first, with its account number.
+     */
+    @Query("SELECT m.*, a.account_number FROM movements m " +
+            "INNER JOIN accounts a ON m.account_id = a.account_id " +
+            "WHERE m.account_id = :accountId " +
+            "ORDER BY m.movement_date DESC, m.movement_id DESC " +
+            "LIMIT :limit")
+    Flux<MovementResponseDTO> findFirstPageByAccountId(Long accountId, int limit);
+
+    /**
+     * Page of the movements of an account that sort after the given key, newest first.
+     */
+    @Query("SELECT m.*, a.account_number FROM movements m " +
+            "INNER JOIN accounts a ON m.account_id = a.account_id " +
+            "WHERE m.account_id = :accountId " +
+            "AND (m.movement_date, m.movement_id) < (:movementDate, :movementId) " +
+            "ORDER BY m.movement_date DESC, m.movement_id DESC " +
+            "LIMIT :limit")
+    Flux<MovementResponseDTO> findPageByAccountIdAfter(Long accountId, LocalDateTime movementDate,
+                                                       Long movementId, int limit);
+
+    @Query("SELECT movement_date FROM movements ORDER BY movement_date LIMIT 1")
+    Mono<LocalDateTime> findEarliestMovementDate();
+
     @Query("SELECT * FROM movements WHERE account_id = :accountId " +
             "ORDER BY movement_date DESC LIMIT 1")
     Mono<Movement> findLatestByAccountId(Long accountId);
@@ -30,6 +149,94 @@ public interface MovementRepository extends R2dbcRepository<Movement, Long> {
             LocalDateTime endDate
     );
 
+    /**
+     * Streams the statement rows of every account of a customer, one row per movement in the range.
+     * Rows come ordered by account and then chronologically, so each account forms one contiguous run;
+     * accounts without movements in the range still produce a single row with null movement columns.
+     * The opening balance comes from the nearest month-end checkpoint, computed once per account.
+     */
+    @Query("WITH a AS MATERIALIZED (" +
+            "SELECT acc.*, account_balance_as_of(acc.account_id, :startDate) AS opening_balance " +
+            "FROM accounts acc WHERE acc.customer_id = :customerId) " +
+            "SELECT a.account_id, a.account_number, a.account_type, a.initial_balance, a.current_balance, a.status, " +
+            "a.opening_balance, m.movement_id, m.movement_date, m.movement_type, m.amount, m.balance " +
+            "FROM a " +
+            "LEFT JOIN movements m ON m.account_id = a.account_id " +
+            "AND m.movement_date BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.account_id, m.movement_date, m.movement_id")
+    Flux<AccountStatementRow> findStatementRows(
+            Long customerId,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    );
+
+    /**
+     * Streams the statement rows of a single account, in the same shape and order as findStatementRows.
+     * Used to query the accounts of a customer concurrently, one connection per account.
+     */
+    @Query("WITH a AS MATERIALIZED (" +
+            "SELECT acc.*, account_balance_as_of(acc.account_id, :startDate) AS opening_balance " +
+            "FROM accounts acc WHERE acc.account_id = :accountId) " +
+            "SELECT a.account_id, a.account_number, a.account_type, a.initial_balance, a.current_balance, a.status, " +
+            "a.opening_balance, m.movement_id, m.movement_date, m.movement_type, m.amount, m.balance " +
+            "FROM a " +
+            "LEFT JOIN movements m ON m.account_id = a.account_id " +
+            "AND m.movement_date BETWEEN :startDate AND :endDate " +
+            "ORDER BY m.movement_date, m.movement_id")
+    Flux<AccountStatementRow> findAccountStatementRows(
+            Long accountId,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    );
+
+    /**
+     * Ledger of a chunk of accounts for reconciliation: every movement, ordered by account and then by
+     * movement ID, which is the order their balances were computed in (inserts lock the account first).
+     * Each row carries the balance the ledger starts from (the balance at the archive horizon) and the
+     * current balance of the account; accounts without movements get one row with null movement columns.
+     */
+    @Query("WITH chunk AS MATERIALIZED (" +
+            "SELECT a.account_id, a.current_balance, " +
+            "account_balance_as_of(a.account_id, movement_archive_horizon()) AS opening_balance " +
+            "FROM accounts a WHERE a.account_id = ANY(:accountIds)) " +
+            "SELECT c.account_id, c.current_balance, c.opening_balance, " +
+            "m.movement_id, m.movement_type, m.amount, m.balance " +
+            "FROM chunk c LEFT JOIN movements m ON m.account_id = c.account_id " +
+            "ORDER BY c.account_id, m.movement_id")
+    Flux<LedgerRow> findLedgerRows(Long[] accountIds);
+
+    /**
+     * Recomputes the running balance of the movements of an account from the given movement ID on, in
+     * ledger order, with a single window-function UPDATE. The balance the run starts from is the one of
+     * the movement before, or the balance at the archive horizon when there is none.
+     * Only rows whose balance changes are written. The statement emits nothing, and writes nothing,
+     * when any recomputed balance would be negative.
+     * The account row must be locked by the caller, so no movement is inserted meanwhile.
+     *
+     * @return The number of movements repaired.
+     */
+    @Query("WITH base AS (" +
+            "SELECT COALESCE((SELECT p.balance FROM movements p " +
+            "WHERE p.account_id = :accountId AND p.movement_id < :fromMovementId " +
+            "ORDER BY p.movement_id DESC LIMIT 1), " +
+            "account_balance_as_of(:accountId, movement_archive_horizon())) AS balance), " +
+            "running AS (" +
+            "SELECT m.movement_id, m.movement_date, m.balance AS stored, b.balance + " +
+            "SUM(CASE WHEN m.movement_type = 'CREDIT' THEN m.amount ELSE -m.amount END) " +
+            "OVER (ORDER BY m.movement_id) AS balance " +
+            "FROM movements m CROSS JOIN base b " +
+            "WHERE m.account_id = :accountId AND m.movement_id >= :fromMovementId), " +
+            "guard AS (SELECT COUNT(*) FILTER (WHERE balance < 0) AS negatives FROM running), " +
+            "repaired AS (" +
+            "UPDATE movements m SET balance = r.balance " +
+            "FROM running r, guard g " +
+            "WHERE g.negatives = 0 AND m.account_id = :accountId " +
+            "AND m.movement_id = r.movement_id AND m.movement_date = r.movement_date " +
+            "AND r.stored <> r.balance " +
+            "RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM repaired) AS repaired FROM guard WHERE negatives = 0")
+    Mono<Long> repairBalancesFrom(Long accountId, Long fromMovementId);
+
     @Query("SELECT m.* FROM movements m " +
             "WHERE m.account_id = :accountId " +
             "AND m.movement_date BETWEEN :startDate AND :endDate " +
@@ -0,0 +1,45 @@
+package com.bank.account.infrastructure.adapter.actuator;
+
+import com.bank.account.application.service.LedgerReconciliationService;
+import com.bank.account.infrastructure.adapter.web.dto.LedgerReconciliationReportDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Actuator endpoint of the ledger reconciliation: GET /actuator/reconciliation returns the last report
+ * of this node, POST /actuator/reconciliation/{full|incremental} runs a reconciliation and returns its report.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class LedgerReconciliationEndpoint {
+
+    private final LedgerReconciliationService reconciliationService;
+
+    @ReadOperation
+    public LedgerReconciliationReportDTO lastReport() {
+        return reconciliationService.getLastReport();
+    }
+
+    /**
+     * Runs a reconciliation of the given mode.
+     *
+     * @throws InvalidEndpointRequestException If the mode is neither full nor incremental, answered with a 400.
+     */
+    @WriteOperation
+    public Mono<LedgerReconciliationReportDTO> run(@Selector final String mode) {
+        if ("full".equalsIgnoreCase(mode)) {
+            return reconciliationService.reconcile(false);
+        } else if ("incremental".equalsIgnoreCase(mode)) {
+            return reconciliationService.reconcile(true);
+        }
+        throw new InvalidEndpointRequestException("Unknown reconciliation mode: " + mode,
+                "Reconciliation mode must be full or incremental");
+    }
+}
@@ -0,0 +1,238 @@
+package com.bank.account.infrastructure.adapter.archive;
+
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Cold tier of the movements: one compressed, columnar file per archived month.
+ * Files are written by the partition archival job before the month's partition is dropped, and are
+ * only read for months before the archive horizon (the first month still in the database), so a
+ * file whose partition drop did not commit is never read alongside the partition.
+ * The archive is append-only: a month is written once, and months before the horizon are never
+ * rewritten. Each file is memory-mapped on first use and its reader is kept for later queries.
+ * The directory must be shared by every instance of the service that serves reports.
+ */
+@Slf4j
+@Component
+public class MovementArchive implements MovementArchiveRepository {
+
+    private static final String FILE_PREFIX = "movements_";
+    private static final String FILE_SUFFIX = ".mva";
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final Path directory;
+    private final ConcurrentNavigableMap<YearMonth, Path> files = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Path, MovementArchiveFileReader> readers = new ConcurrentHashMap<>();
+    private volatile YearMonth horizon = YearMonth.of(1, 1);
+
+    public MovementArchive(@Value("${app.movements.archive.directory:${java.io.tmpdir}/account-movement-archive}")
+                           final Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        scan();
+        log.info("Movement archive at {} holds {} months", directory, files.size());
+    }
+
+    /**
+     * Sets the first month still in the database. Only months before it are read from the archive.
+     * When it moves, the directory is scanned again for files written by other instances.
+     *
+     * @param horizon The first month that was not archived.
+     */
+    public void setHorizon(final YearMonth horizon) {
+        if (!horizon.equals(this.horizon)) {
+            scan();
+            this.horizon = horizon;
+        }
+    }
+
+    @Override
+    public YearMonth getHorizon() {
+        return horizon;
+    }
+
+    @Override
+    public boolean overlaps(final LocalDateTime from, final LocalDateTime to) {
+        return !months(from, to).isEmpty();
+    }
+
+    /**
+     * Writes the archive file of a month. The file is not read until the horizon moves past the month.
+     *
+     * @param month     The month being archived.
+     * @param movements The movements of the month, sorted by account, date and ID.
+     * @return A Mono emitting the number of movements written.
+     * @throws IllegalStateException If the month is already archived.
+     */
+    public Mono<Long> write(final YearMonth month, final Flux<Movement> movements) {
+        if (month.isBefore(horizon)) {
+            return Mono.error(new IllegalStateException("Movements of " + month + " are already archived"));
+        }
+        Path file = fileOf(month);
+        Path temp = directory.resolve(file.getFileName() + ".tmp");
+        return Mono.usingWhen(
+                        Mono.fromCallable(() -> new MovementArchiveFileWriter(temp)),
+                        writer -> movements
+                                .publishOn(Schedulers.boundedElastic(), 1024)
+                                .doOnNext(movement -> {
+                                    try {
+                                        writer.append(movement);
+                                    } catch (IOException ex) {
+                                        throw new UncheckedIOException(ex);
+                                    }
+                                })
+                                .then(Mono.fromCallable(writer::finish)),
+                        writer -> Mono.fromCallable(() -> {
+                            writer.close();
+                            return writer;
+                        }))
+                .map(rows -> {
+                    try {
+                        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    evict(file);
+                    files.put(month, file);
+                    log.info("Movement archive of {} written: {} movements", month, rows);
+                    return rows;
+                })
+                .doOnError(error -> delete(temp))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Deletes the archive file of a month whose partition could not be dropped.
+     *
+     * @param month The month.
+     */
+    public void discard(final YearMonth month) {
+        if (!month.isBefore(horizon)) {
+            files.remove(month);
+            evict(fileOf(month));
+            delete(fileOf(month));
+        }
+    }
+
+    /**
+     * Reads the archived movements of an account within a range, in chronological order.
+     * Only the blocks of each month file that hold the range are inflated.
+     *
+     * @param accountId The account.
+     * @param from      The start of the range, inclusive.
+     * @param to        The end of the range, inclusive.
+     * @return A Flux emitting the movements, read block by block on a bounded elastic thread.
+     */
+    @Override
+    public Flux<Movement> findByAccountIdAndDateRange(final Long accountId, final LocalDateTime from,
+                                                      final LocalDateTime to) {
+        return Flux.fromIterable(months(from, to))
+                .concatMap(file -> Mono.fromCallable(() -> reader(file))
+                        .flatMapMany(reader -> Flux.fromIterable(reader.blocks(accountId, from, to))
+                                .concatMapIterable(block -> {
+                                    try {
+                                        return reader.read(block, accountId, from, to);
+                                    } catch (IOException ex) {
+                                        throw new UncheckedIOException(ex);
+                                    }
+                                })))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public String fileNameOf(final YearMonth month) {
+        return fileOf(month).getFileName().toString();
+    }
+
+    private List<Path> months(final LocalDateTime from, final LocalDateTime to) {
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+        YearMonth upper = last.isBefore(horizon) ? last : horizon.minusMonths(1);
+        if (first.isAfter(upper)) {
+            return List.of();
+        }
+        return List.copyOf(files.subMap(first, true, upper, true).values());
+    }
+
+    private void scan() {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : entries) {
+                String name = file.getFileName().toString();
+                try {
+                    YearMonth month = YearMonth.parse(
+                            name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()), MONTH_FORMAT);
+                    files.put(month, file);
+                } catch (DateTimeParseException ex) {
+                    log.warn("Ignoring unexpected file in the movement archive: {}", file);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Path fileOf(final YearMonth month) {
+        return directory.resolve(FILE_PREFIX + month.format(MONTH_FORMAT) + FILE_SUFFIX);
+    }
+
+    @PreDestroy
+    public void close() {
+        readers.values().forEach(this::closeQuietly);
+        readers.clear();
+    }
+
+    private MovementArchiveFileReader reader(final Path file) {
+        return readers.computeIfAbsent(file, path -> {
+            try {
+                return new MovementArchiveFileReader(path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private void evict(final Path file) {
+        MovementArchiveFileReader reader = readers.remove(file);
+        if (reader != null) {
+            closeQuietly(reader);
+        }
+    }
+
+    private void closeQuietly(final MovementArchiveFileReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ex) {
+            log.warn("Could not close movement archive file: {}", ex.getMessage());
+        }
+    }
+
+    private void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete movement archive file {}: {}", file, ex.getMessage());
+        }
+    }
+}
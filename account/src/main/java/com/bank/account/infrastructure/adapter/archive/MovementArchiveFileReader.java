@@ -0,0 +1,278 @@
+package com.bank.account.infrastructure.adapter.archive;
+
+import com.bank.account.domain.model.Movement;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter.AMOUNT_SCALE;
+import static com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter.CREDIT;
+import static com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter.INDEX_ENTRY_BYTES;
+import static com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter.MAGIC;
+import static com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter.TRAILER_BYTES;
+
+/**
+ * Reads movements back from an archive file written by MovementArchiveFileWriter.
+ * The file is memory-mapped once; the sparse block index is searched in place with a binary search on
+ * (accountId, date), and only the blocks of the requested range are inflated, straight from the mapping,
+ * so nothing but the decoded rows of those blocks ever reaches the heap.
+ * Archive files never change once written, so one instance can be shared: every read uses absolute
+ * positions on the mapping and its own Inflater.
+ */
+public final class MovementArchiveFileReader implements Closeable {
+
+    private static final int BLOCK_OFFSET = 0;
+    private static final int BLOCK_LENGTH = 8;
+    private static final int BLOCK_ROWS = 12;
+    private static final int FIRST_ACCOUNT_ID = 16;
+    private static final int FIRST_DATE = 24;
+    private static final int LAST_ACCOUNT_ID = 32;
+    private static final int LAST_DATE = 40;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer file;
+    private final int indexOffset;
+    private final int blockCount;
+    private final long rowCount;
+
+    public MovementArchiveFileReader(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a movement archive, or too large to map: " + path);
+            }
+            this.file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int trailer = (int) size - TRAILER_BYTES;
+            long index = file.getLong(trailer);
+            this.blockCount = file.getInt(trailer + Long.BYTES);
+            this.rowCount = file.getLong(trailer + Long.BYTES + Integer.BYTES);
+            if (file.getInt(0) != MAGIC || file.getInt((int) size - Integer.BYTES) != MAGIC
+                    || index + (long) blockCount * INDEX_ENTRY_BYTES != trailer) {
+                throw new IOException("Not a movement archive: " + path);
+            }
+            this.indexOffset = (int) index;
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Blocks that may hold movements of the account within the range, in file order.
+     * Blocks are sorted by key, so the first one is found with a binary search on the last key of
+     * each block, and the following ones are taken until a block starts after the range.
+     *
+     * @param accountId The account, or null for every account.
+     * @param from      The start of the range, inclusive.
+     * @param to        The end of the range, inclusive.
+     * @return The candidate blocks.
+     */
+    public List<Block> blocks(final Long accountId, final LocalDateTime from, final LocalDateTime to) {
+        if (accountId == null) {
+            List<Block> all = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                all.add(block(i));
+            }
+            return all;
+        }
+        long fromMicros = MovementArchiveFileWriter.toMicros(from);
+        long toMicros = MovementArchiveFileWriter.toMicros(to);
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int entry = indexOffset + middle * INDEX_ENTRY_BYTES;
+            if (compare(file.getLong(entry + LAST_ACCOUNT_ID), file.getLong(entry + LAST_DATE),
+                    accountId, fromMicros) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<Block> matches = new ArrayList<>();
+        for (int i = low; i < blockCount; i++) {
+            int entry = indexOffset + i * INDEX_ENTRY_BYTES;
+            if (compare(file.getLong(entry + FIRST_ACCOUNT_ID), file.getLong(entry + FIRST_DATE),
+                    accountId, toMicros) > 0) {
+                break;
+            }
+            matches.add(block(i));
+        }
+        return matches;
+    }
+
+    /**
+     * Reads the movements of a block that belong to the account and fall within the range.
+     *
+     * @param block     A block of this file.
+     * @param accountId The account, or null for every account.
+     * @param from      The start of the range, inclusive.
+     * @param to        The end of the range, inclusive.
+     * @return The matching movements, in file order.
+     */
+    public List<Movement> read(final Block block, final Long accountId, final LocalDateTime from,
+                               final LocalDateTime to) throws IOException {
+        Decoder decoder = new Decoder(inflate(block));
+        int rows = (int) decoder.readVarLong();
+        long[] accountIds = new long[rows];
+        long[] dates = new long[rows];
+        long[] movementIds = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += decoder.readVarLong();
+            accountIds[i] = previous;
+        }
+        decoder.readDeltas(dates);
+        decoder.readDeltas(movementIds);
+        int types = decoder.skip(rows);
+        long[] amounts = decoder.readZigzags(rows);
+        long[] balances = decoder.readZigzags(rows);
+        long[] createdOffsets = decoder.readZigzags(rows);
+
+        long fromMicros = MovementArchiveFileWriter.toMicros(from);
+        long toMicros = MovementArchiveFileWriter.toMicros(to);
+        List<Movement> movements = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            if ((accountId != null && accountIds[i] != accountId) || dates[i] < fromMicros || dates[i] > toMicros) {
+                continue;
+            }
+            movements.add(Movement.builder()
+                    .movementId(movementIds[i])
+                    .accountId(accountIds[i])
+                    .movementDate(fromMicros(dates[i]))
+                    .movementType(decoder.bytes[types + i] == CREDIT ? "CREDIT" : "DEBIT")
+                    .amount(BigDecimal.valueOf(amounts[i], AMOUNT_SCALE))
+                    .balance(BigDecimal.valueOf(balances[i], AMOUNT_SCALE))
+                    .createdAt(fromMicros(dates[i] + createdOffsets[i]))
+                    .build());
+        }
+        return movements;
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Block block(final int i) {
+        int entry = indexOffset + i * INDEX_ENTRY_BYTES;
+        return new Block(file.getLong(entry + BLOCK_OFFSET), file.getInt(entry + BLOCK_LENGTH),
+                file.getInt(entry + BLOCK_ROWS), file.getLong(entry + FIRST_ACCOUNT_ID),
+                file.getLong(entry + FIRST_DATE), file.getLong(entry + LAST_ACCOUNT_ID),
+                file.getLong(entry + LAST_DATE));
+    }
+
+    private byte[] inflate(final Block block) throws IOException {
+        ByteBuffer compressed = file.slice((int) block.offset(), block.length());
+        byte[] inflated = new byte[block.rows() * 24];
+        int length = 0;
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            while (!inflater.finished()) {
+                if (length == inflated.length) {
+                    inflated = Arrays.copyOf(inflated, inflated.length * 2);
+                }
+                int count = inflater.inflate(inflated, length, inflated.length - length);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block at " + block.offset());
+                }
+                length += count;
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt archive block at " + block.offset(), ex);
+        } finally {
+            inflater.end();
+        }
+        return inflated;
+    }
+
+    private static int compare(final long accountId, final long date, final long otherAccountId, final long otherDate) {
+        int byAccount = Long.compare(accountId, otherAccountId);
+        return byAccount != 0 ? byAccount : Long.compare(date, otherDate);
+    }
+
+    private static LocalDateTime fromMicros(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Location, size and key range of a block.
+     */
+    public record Block(long offset, int length, int rows, long firstAccountId, long firstDate,
+                        long lastAccountId, long lastDate) {
+    }
+
+    /**
+     * Cursor over the inflated bytes of one block.
+     */
+    private static final class Decoder {
+
+        private final byte[] bytes;
+        private int cursor;
+
+        private Decoder(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int skip(final int count) {
+            int start = cursor;
+            cursor += count;
+            return start;
+        }
+
+        private void readDeltas(final long[] values) {
+            long previous = 0;
+            for (int i = 0; i < values.length; i++) {
+                previous += unzigzag(readVarLong());
+                values[i] = previous;
+            }
+        }
+
+        private long[] readZigzags(final int rows) {
+            long[] values = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                values[i] = unzigzag(readVarLong());
+            }
+            return values;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[cursor++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private static long unzigzag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.bank.account.infrastructure.adapter.archive;
+
+import com.bank.account.domain.model.Movement;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one month of movements to a compressed, columnar archive file.
+ * Movements must be appended sorted by account, date and ID. They are grouped into blocks of
+ * BLOCK_ROWS rows; each block stores its rows column by column (delta and zigzag varint encoded,
+ * amounts as unscaled cents) and is deflated on its own, so a reader only inflates the blocks it needs.
+ * <pre>
+ * file    := MAGIC block* index trailer
+ * index   := (offset:long length:int rows:int firstAccountId:long firstDate:long lastAccountId:long lastDate:long)*
+ * trailer := indexOffset:long blockCount:int rowCount:long MAGIC
+ * </pre>
+ * Dates are stored as microseconds since the epoch, in UTC. Not thread-safe; one instance per file.
+ */
+public final class MovementArchiveFileWriter implements Closeable {
+
+    static final int MAGIC = 0x4D564131; // "MVA1"
+    static final int BLOCK_ROWS = 4096;
+    static final int INDEX_ENTRY_BYTES = 48;
+    static final int TRAILER_BYTES = 24;
+    static final int AMOUNT_SCALE = 2;
+    static final byte CREDIT = 0;
+    static final byte DEBIT = 1;
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final List<long[]> index = new ArrayList<>();
+    private final long[] accountIds = new long[BLOCK_ROWS];
+    private final long[] dates = new long[BLOCK_ROWS];
+    private final long[] movementIds = new long[BLOCK_ROWS];
+    private final byte[] types = new byte[BLOCK_ROWS];
+    private final long[] amounts = new long[BLOCK_ROWS];
+    private final long[] balances = new long[BLOCK_ROWS];
+    private final long[] createdAts = new long[BLOCK_ROWS];
+    private final ByteArrayOutputStream raw = new ByteArrayOutputStream(BLOCK_ROWS * 32);
+    private final byte[] deflated = new byte[64 * 1024];
+    private int rows;
+    private long position;
+    private long rowCount;
+
+    public MovementArchiveFileWriter(final Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024));
+        this.out.writeInt(MAGIC);
+        this.position = Integer.BYTES;
+    }
+
+    /**
+     * Appends a movement, which must not sort before the previous one.
+     *
+     * @param movement The movement to archive.
+     */
+    public void append(final Movement movement) throws IOException {
+        accountIds[rows] = movement.getAccountId();
+        dates[rows] = toMicros(movement.getMovementDate());
+        movementIds[rows] = movement.getMovementId();
+        types[rows] = "CREDIT".equals(movement.getMovementType()) ? CREDIT : DEBIT;
+        amounts[rows] = toCents(movement.getAmount());
+        balances[rows] = toCents(movement.getBalance());
+        createdAts[rows] = movement.getCreatedAt() == null ? dates[rows] : toMicros(movement.getCreatedAt());
+        if (rows > 0 && (accountIds[rows] < accountIds[rows - 1]
+                || (accountIds[rows] == accountIds[rows - 1] && dates[rows] < dates[rows - 1]))) {
+            throw new IllegalArgumentException("Movement " + movement.getMovementId() + " is out of order");
+        }
+        rows++;
+        rowCount++;
+        if (rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the last block, the index and the trailer.
+     *
+     * @return The number of movements in the file.
+     */
+    public long finish() throws IOException {
+        flushBlock();
+        long indexOffset = position;
+        for (long[] entry : index) {
+            out.writeLong(entry[0]);
+            out.writeInt((int) entry[1]);
+            out.writeInt((int) entry[2]);
+            for (int i = 3; i < entry.length; i++) {
+                out.writeLong(entry[i]);
+            }
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(index.size());
+        out.writeLong(rowCount);
+        out.writeInt(MAGIC);
+        out.flush();
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        raw.reset();
+        writeVarLong(rows);
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(accountIds[i] - previous);
+            previous = accountIds[i];
+        }
+        writeDeltas(dates);
+        writeDeltas(movementIds);
+        raw.write(types, 0, rows);
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(amounts[i]));
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(balances[i]));
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(createdAts[i] - dates[i]));
+        }
+
+        long offset = position;
+        deflater.reset();
+        deflater.setInput(raw.toByteArray());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            int count = deflater.deflate(deflated);
+            out.write(deflated, 0, count);
+            length += count;
+        }
+        position += length;
+        index.add(new long[]{offset, length, rows, accountIds[0], dates[0], accountIds[rows - 1], dates[rows - 1]});
+        rows = 0;
+    }
+
+    private void writeDeltas(final long[] values) {
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            writeVarLong(zigzag(values[i] - previous));
+            previous = values[i];
+        }
+    }
+
+    private void writeVarLong(final long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            raw.write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        raw.write((int) remaining);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long toCents(final BigDecimal value) {
+        return value.setScale(AMOUNT_SCALE).unscaledValue().longValueExact();
+    }
+
+    static long toMicros(final LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + date.getNano() / 1_000;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.account.infrastructure.adapter.messaging.listener;
 
+import com.bank.account.application.service.AccountCache;
 import com.bank.account.domain.repository.AccountRepository;
 import com.bank.account.infrastructure.adapter.web.dto.CustomerEventDTO;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Component;
 public class CustomerEventListener {
 
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
 
     /**
      * Listens to customer events from the customer.events topic
@@ -101,6 +103,7 @@ public class CustomerEventListener {
                     account.setStatus(false);
                     return accountRepository.save(account);
                 })
+                .flatMap(account -> accountCache.putAfterCommit(account).thenReturn(account))
                 .subscribe(
                         account -> log.info("Account {} frozen successfully", account.getAccountNumber()),
                         error -> log.error("Error freezing accounts: {}", error.getMessage())
@@ -1,6 +1,8 @@
 package com.bank.account.infrastructure.adapter.messaging.publisher;
 
 import com.bank.account.infrastructure.adapter.web.dto.MovementEventDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferEventDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -45,6 +47,40 @@ public class MovementEventPublisher {
                 movementType, amount, accountNumber);
     }
 
+    /**
+     * Publishes one event for a transfer, covering both of its movements.
+     */
+    public void publishTransferCompletedEvent(TransferResponseDTO transfer) {
+        TransferEventDTO event = TransferEventDTO.builder()
+                .eventType("TRANSFER_COMPLETED")
+                .debitMovementId(transfer.getDebit().getMovementId())
+                .creditMovementId(transfer.getCredit().getMovementId())
+                .sourceAccountId(transfer.getSourceAccountId())
+                .sourceAccountNumber(transfer.getDebit().getAccountNumber())
+                .destinationAccountId(transfer.getDestinationAccountId())
+                .destinationAccountNumber(transfer.getCredit().getAccountNumber())
+                .amount(transfer.getAmount())
+                .sourceBalanceAfter(transfer.getDebit().getBalance())
+                .destinationBalanceAfter(transfer.getCredit().getBalance())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        try {
+            jmsTemplate.setPubSubDomain(true); // Use Topic
+            jmsTemplate.convertAndSend(movementEventsTopic, event, message -> {
+                message.setStringProperty("eventType", event.getEventType());
+                message.setLongProperty("accountId", event.getSourceAccountId());
+                message.setLongProperty("destinationAccountId", event.getDestinationAccountId());
+                return message;
+            });
+            log.info("✅ Published TRANSFER_COMPLETED event: {} from account {} to account {}",
+                    event.getAmount(), event.getSourceAccountNumber(), event.getDestinationAccountNumber());
+        } catch (Exception e) {
+            log.error("Error publishing transfer event: {} - Error: {}",
+                    event.getEventType(), e.getMessage(), e);
+        }
+    }
+
     private void publishEvent(MovementEventDTO event) {
         try {
             jmsTemplate.setPubSubDomain(true); // Use Topic
@@ -1,9 +1,11 @@
 package com.bank.account.infrastructure.adapter.web.controller;
 
 import com.bank.account.application.service.AccountService;
+import com.bank.account.infrastructure.adapter.web.dto.AccountBalanceDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountResponseDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountUpdateDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,12 +13,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 /**
  * REST Controller for Account operations
  * Endpoint: /api/v1/accounts
@@ -88,6 +93,28 @@ public class AccountController {
         return accountService.getAccountByNumber(accountNumber);
     }
 
+    /**
+     * Gets the balance of an account as of a timestamp
+     * GET /api/v1/accounts/{id}/balance?asOf=...
+     */
+    @GetMapping(
+            value = "/{id}/balance",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get balance as of a timestamp",
+            description = "Retrieves the balance of an account before the given timestamp")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public Mono<AccountBalanceDTO> getBalanceAsOf(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        log.info("REST request to get balance of account {} as of {}", id, asOf);
+        return accountService.getBalanceAsOf(id, asOf);
+    }
+
     /**
      * Gets all accounts for a customer
      * GET /api/v1/accounts/customer/{customerId}
@@ -107,18 +134,25 @@ public class AccountController {
     }
 
     /**
-     * Gets all accounts
-     * GET /api/v1/accounts
+     * Gets all accounts, one page at a time (ID order)
+     * GET /api/v1/accounts?cursor=&limit=
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get all accounts", description = "Retrieves all accounts in the system")
+    @Operation(
+            summary = "Get all accounts",
+            description = "Retrieves one page of accounts. Pass next_cursor back as cursor "
+                    + "to get the following page"
+    )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Accounts retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Accounts retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
-    public Flux<AccountResponseDTO> getAllAccounts() {
+    public Mono<PageResponseDTO<AccountResponseDTO>> getAllAccounts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("REST request to get all accounts");
-        return accountService.getAllAccounts();
+        return accountService.getAccountsPage(cursor, limit);
     }
 
     /**
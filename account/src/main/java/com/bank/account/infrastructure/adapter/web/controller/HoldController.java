@@ -0,0 +1,122 @@
+package com.bank.account.infrastructure.adapter.web.controller;
+
+import com.bank.account.application.service.HoldService;
+import com.bank.account.application.service.MovementSequencer;
+import com.bank.account.infrastructure.adapter.web.dto.AccountHoldsDTO;
+import com.bank.account.infrastructure.adapter.web.dto.HoldRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.HoldResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for funds holds
+ * Endpoint: /api/v1/accounts/{accountId}/holds
+ * Operations that change the available balance run through the MovementSequencer, in order with
+ * the other movements of the account.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/accounts/{accountId}/holds")
+@RequiredArgsConstructor
+@Tag(name = "Holds", description = "Funds hold (two-phase debit) APIs")
+public class HoldController {
+
+    private final HoldService holdService;
+    private final MovementSequencer movementSequencer;
+
+    /**
+     * Places a hold on an account
+     * POST /api/v1/accounts/{accountId}/holds
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+            summary = "Place a hold",
+            description = "Reserves funds on the account until the hold is captured, released or expires"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold placed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient available balance"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
+    })
+    public Mono<HoldResponseDTO> placeHold(
+            @PathVariable Long accountId,
+            @Valid @RequestBody HoldRequestDTO requestDTO) {
+        log.info("REST request to place hold on account: {}", accountId);
+        return movementSequencer.submit(accountId, () -> holdService.placeHold(accountId, requestDTO));
+    }
+
+    /**
+     * Gets the active holds and the available balance of an account
+     * GET /api/v1/accounts/{accountId}/holds
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Get active holds",
+            description = "Retrieves the active holds of the account and its available balance"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Holds retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public Mono<AccountHoldsDTO> getHolds(@PathVariable Long accountId) {
+        log.info("REST request to get holds of account: {}", accountId);
+        return holdService.getHolds(accountId);
+    }
+
+    /**
+     * Captures a hold as a debit movement
+     * POST /api/v1/accounts/{accountId}/holds/{holdId}/capture
+     */
+    @PostMapping(
+            value = "/{holdId}/capture",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Capture a hold", description = "Debits the held amount from the account")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured successfully"),
+            @ApiResponse(responseCode = "400", description = "Hold no longer active or daily limit exceeded"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
+    })
+    public Mono<HoldResponseDTO> captureHold(@PathVariable Long accountId, @PathVariable Long holdId) {
+        log.info("REST request to capture hold {} of account {}", holdId, accountId);
+        return movementSequencer.submit(accountId, () -> holdService.captureHold(accountId, holdId));
+    }
+
+    /**
+     * Releases a hold without debiting the account
+     * POST /api/v1/accounts/{accountId}/holds/{holdId}/release
+     */
+    @PostMapping(
+            value = "/{holdId}/release",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Release a hold", description = "Makes the held amount available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released successfully"),
+            @ApiResponse(responseCode = "400", description = "Hold no longer active"),
+            @ApiResponse(responseCode = "404", description = "Hold not found"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
+    })
+    public Mono<HoldResponseDTO> releaseHold(@PathVariable Long accountId, @PathVariable Long holdId) {
+        log.info("REST request to release hold {} of account {}", holdId, accountId);
+        return movementSequencer.submit(accountId, () -> holdService.releaseHold(accountId, holdId));
+    }
+}
@@ -1,8 +1,17 @@
 package com.bank.account.infrastructure.adapter.web.controller;
 
+import com.bank.account.application.service.MovementBatchService;
+import com.bank.account.application.service.MovementExportService;
+import com.bank.account.application.service.MovementGroupCommitter;
+import com.bank.account.application.service.MovementIdempotencyService;
+import com.bank.account.application.service.MovementImportService;
+import com.bank.account.application.service.MovementSequencer;
 import com.bank.account.application.service.MovementService;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchResponseDTO;
 import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -10,15 +19,25 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * REST Controller for Movement operations
  * Endpoint: /api/v1/movements
+ * Balance-changing operations run through the MovementSequencer, one at a time per account,
+ * or through the MovementGroupCommitter when group commit is enabled.
  */
 @Slf4j
 @RestController
@@ -28,10 +47,17 @@ import reactor.core.publisher.Mono;
 public class MovementController {
 
     private final MovementService movementService;
+    private final MovementSequencer movementSequencer;
+    private final MovementBatchService movementBatchService;
+    private final MovementImportService movementImportService;
+    private final MovementIdempotencyService movementIdempotencyService;
+    private final MovementGroupCommitter movementGroupCommitter;
+    private final MovementExportService movementExportService;
 
     /**
      * Creates a new movement (CREDIT or DEBIT)
      * POST /api/v1/movements
+     * Retries sending the same Idempotency-Key get the original response instead of a new movement.
      */
     @PostMapping(
             consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -40,16 +66,75 @@ public class MovementController {
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(
             summary = "Create a new movement",
-            description = "Creates a new movement (CREDIT/DEBIT) with balance validation"
+            description = "Creates a new movement (CREDIT/DEBIT) with balance validation. "
+                    + "An optional Idempotency-Key header makes retries return the original result"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Movement created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient balance"),
-            @ApiResponse(responseCode = "404", description = "Account not found")
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "422", description = "Idempotency key already used for a different request"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
     })
-    public Mono<MovementResponseDTO> createMovement(@Valid @RequestBody MovementRequestDTO requestDTO) {
+    public Mono<MovementResponseDTO> createMovement(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody MovementRequestDTO requestDTO) {
         log.info("REST request to create movement for account: {}", requestDTO.getAccountId());
-        return movementService.createMovement(requestDTO);
+        if (idempotencyKey != null) {
+            return movementIdempotencyService.createMovement(idempotencyKey, requestDTO);
+        }
+        if (movementGroupCommitter.isEnabled()) {
+            return movementGroupCommitter.submit(requestDTO);
+        }
+        return movementSequencer.submit(requestDTO.getAccountId(),
+                () -> movementService.createMovement(requestDTO));
+    }
+
+    /**
+     * Creates a batch of movements, reporting a result per item
+     * POST /api/v1/movements/batch
+     */
+    @PostMapping(
+            value = "/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Create a batch of movements",
+            description = "Creates many movements at once. Items are applied in order per account "
+                    + "and each one reports its own result"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    })
+    public Mono<MovementBatchResponseDTO> createMovementsBatch(@RequestBody List<MovementRequestDTO> requests) {
+        log.info("REST request to create movement batch of {} items", requests.size());
+        return movementBatchService.createMovements(requests);
+    }
+
+    /**
+     * Imports movements from an NDJSON stream, streaming one NDJSON result per record back
+     * POST /api/v1/movements/stream
+     */
+    @PostMapping(
+            value = "/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Stream-import movements (NDJSON)",
+            description = "Parses movements incrementally from an NDJSON upload and streams a result "
+                    + "per record while the upload is still running"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import started, see per-record results")
+    })
+    public Flux<MovementBatchItemResultDTO> streamMovements(@RequestBody Flux<DataBuffer> body) {
+        log.info("REST request to stream-import movements");
+        return movementImportService.importMovements(body);
     }
 
     /**
@@ -72,36 +157,86 @@ public class MovementController {
     }
 
     /**
-     * Gets all movements for an account
-     * GET /api/v1/movements/account/{accountId}
+     * Gets the movements of an account, one page at a time (newest first)
+     * GET /api/v1/movements/account/{accountId}?cursor=&limit=
      */
     @GetMapping(
             value = "/account/{accountId}",
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get movements by account", description = "Retrieves all movements for a specific account")
+    @Operation(
+            summary = "Get movements by account",
+            description = "Retrieves one page of movements for a specific account. Pass next_cursor "
+                    + "back as cursor to get the following page"
+    )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
-    public Flux<MovementResponseDTO> getMovementsByAccountId(@PathVariable Long accountId) {
+    public Mono<PageResponseDTO<MovementResponseDTO>> getMovementsByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("REST request to get movements for account: {}", accountId);
-        return movementService.getMovementsByAccountId(accountId);
+        return movementService.getMovementsPageByAccountId(accountId, cursor, limit);
     }
 
     /**
-     * Gets all movements
-     * GET /api/v1/movements
+     * Gets all movements, one page at a time (newest first)
+     * GET /api/v1/movements?cursor=&limit=
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get all movements", description = "Retrieves all movements in the system")
+    @Operation(
+            summary = "Get all movements",
+            description = "Retrieves one page of movements. Pass next_cursor back as cursor "
+                    + "to get the following page"
+    )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Movements retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
     })
-    public Flux<MovementResponseDTO> getAllMovements() {
+    public Mono<PageResponseDTO<MovementResponseDTO>> getAllMovements(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("REST request to get all movements");
-        return movementService.getAllMovements();
+        return movementService.getMovementsPage(cursor, limit);
+    }
+
+    /**
+     * Exports movements as CSV, for bulk consumers such as the data warehouse
+     * GET /api/v1/movements/export.csv?accountId=&startDate=&endDate=&gzip=
+     * Rows are encoded straight into the response buffers as they are read.
+     */
+    @GetMapping(value = "/export.csv", produces = "text/csv")
+    @Operation(
+            summary = "Export movements (CSV)",
+            description = "Streams every movement matching the optional account and date filters as CSV, "
+                    + "ordered by movement ID. With gzip=true the body is sent gzip-encoded"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid filters")
+    })
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportMovementsCsv(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            ServerHttpResponse response) {
+        log.info("REST request to export movements as CSV");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
+        headers.setContentDispositionFormData("attachment", "movements.csv");
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return Mono.just(ResponseEntity.ok()
+                .headers(headers)
+                .body(movementExportService.exportCsv(accountId, startDate, endDate, gzip, response.bufferFactory())));
     }
 
     /**
@@ -118,13 +253,16 @@ public class MovementController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Movement updated successfully"),
             @ApiResponse(responseCode = "404", description = "Movement not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient balance")
+            @ApiResponse(responseCode = "400", description = "Invalid input data or insufficient balance"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
     })
     public Mono<MovementResponseDTO> updateMovement(
             @PathVariable Long id,
             @Valid @RequestBody MovementRequestDTO updateDTO) {
         log.info("REST request to update movement: {}", id);
-        return movementService.updateMovement(id, updateDTO);
+        return movementService.getMovementEntity(id)
+                .flatMap(movement -> movementSequencer.submit(movement.getAccountId(),
+                        () -> movementService.updateMovement(id, updateDTO)));
     }
 
     /**
@@ -139,10 +277,13 @@ public class MovementController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Movement deleted successfully"),
-            @ApiResponse(responseCode = "404", description = "Movement not found")
+            @ApiResponse(responseCode = "404", description = "Movement not found"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
     })
     public Mono<Void> deleteMovement(@PathVariable Long id) {
         log.info("REST request to delete movement: {}", id);
-        return movementService.deleteMovement(id);
+        return movementService.getMovementEntity(id)
+                .flatMap(movement -> movementSequencer.submit(movement.getAccountId(),
+                        () -> movementService.deleteMovement(id)));
     }
 }
\ No newline at end of file
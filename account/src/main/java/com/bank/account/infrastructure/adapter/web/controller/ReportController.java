@@ -1,7 +1,9 @@
 package com.bank.account.infrastructure.adapter.web.controller;
 
+import com.bank.account.application.service.MovementDailyAggregateService;
 import com.bank.account.application.service.ReportService;
 import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -9,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -18,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -32,87 +36,137 @@ import java.time.LocalDateTime;
 @Tag(name = "Reports", description = "Account statement report APIs")
 public class ReportController {
 
-//    private final ReportService reportService;
-//
-//    /**
-//     * Generates account statement in JSON format
-//     * GET /api/v1/reports/{client-id}?startDate=...&endDate=...
-//     */
-//    @GetMapping(
-//            value = "/{client-id}",
-//            produces = MediaType.APPLICATION_JSON_VALUE
-//    )
-//    @ResponseStatus(HttpStatus.OK)
-//    @Operation(
-//            summary = "Generate account statement (JSON)",
-//            description = "Generates account statement for a customer within a date range in JSON format"
-//    )
-//    @ApiResponses(value = {
-//            @ApiResponse(responseCode = "200", description = "Report generated successfully"),
-//            @ApiResponse(responseCode = "404", description = "Customer not found"),
-//            @ApiResponse(responseCode = "400", description = "Invalid date format")
-//    })
-//    public Flux<AccountStatementDTO> generateAccountStatementJson(
-//            @Parameter(description = "Customer ID", required = true)
-//            @PathVariable("client-id") Long clientId,
-//
-//            @Parameter(description = "Start date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-//
-//            @Parameter(description = "End date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-//
-//        log.info("REST request to generate account statement for customer: {} from {} to {}",
-//                clientId, startDate, endDate);
-//
-//        return reportService.generateAccountStatement(clientId, startDate, endDate);
-//    }
-//
-//    /**
-//     * Generates account statement in Excel format
-//     * GET /api/v1/reports/{client-id}/excel?startDate=...&endDate=...
-//     */
-//    @GetMapping(
-//            value = "/{client-id}/excel",
-//            produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
-//    )
-//    @ResponseStatus(HttpStatus.OK)
-//    @Operation(
-//            summary = "Generate account statement (Excel)",
-//            description = "Generates account statement for a customer within a date range in Excel format"
-//    )
-//    @ApiResponses(value = {
-//            @ApiResponse(responseCode = "200", description = "Excel report generated successfully"),
-//            @ApiResponse(responseCode = "404", description = "Customer not found"),
-//            @ApiResponse(responseCode = "400", description = "Invalid date format")
-//    })
-//    public Mono<ResponseEntity<byte[]>> generateAccountStatementExcel(
-//            @Parameter(description = "Customer ID", required = true)
-//            @PathVariable("client-id") Long clientId,
-//
-//            @Parameter(description = "Start date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-//
-//            @Parameter(description = "End date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-//
-//        log.info("REST request to generate Excel report for customer: {} from {} to {}",
-//                clientId, startDate, endDate);
-//
-//        return reportService.generateAccountStatementExcel(clientId, startDate, endDate)
-//                .map(excelBytes -> {
-//                    HttpHeaders headers = new HttpHeaders();
-//                    headers.setContentType(MediaType.parseMediaType(
-//                            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-//                    headers.setContentDispositionFormData("attachment",
-//                            String.format("account_statement_%d_%s.xlsx",
-//                                    clientId,
-//                                    LocalDateTime.now().toString().replace(":", "-")));
-//                    headers.setContentLength(excelBytes.length);
-//
-//                    return ResponseEntity.ok()
-//                            .headers(headers)
-//                            .body(excelBytes);
-//                });
-//    }
-}
\ No newline at end of file
+    private final ReportService reportService;
+    private final MovementDailyAggregateService aggregateService;
+
+    /**
+     * Generates account statement in JSON format
+     * GET /api/v1/reports/{client-id}?startDate=...&endDate=...
+     */
+    @GetMapping(
+            value = "/{client-id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Generate account statement (JSON)",
+            description = "Generates account statement for a customer within a date range in JSON format"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report generated successfully"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format")
+    })
+    public Flux<AccountStatementDTO> generateAccountStatementJson(
+            @Parameter(description = "Customer ID", required = true)
+            @PathVariable("client-id") Long clientId,
+
+            @Parameter(description = "Start date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "End date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        log.info("REST request to generate account statement for customer: {} from {} to {}",
+                clientId, startDate, endDate);
+
+        return reportService.generateAccountStatement(clientId, startDate, endDate);
+    }
+
+    /**
+     * Generates account statement in Excel format
+     * GET /api/v1/reports/{client-id}/excel?startDate=...&endDate=...
+     */
+    @GetMapping(
+            value = "/{client-id}/excel",
+            produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Generate account statement (Excel)",
+            description = "Generates account statement for a customer within a date range in Excel format"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Excel report generated successfully"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format")
+    })
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateAccountStatementExcel(
+            @Parameter(description = "Customer ID", required = true)
+            @PathVariable("client-id") Long clientId,
+
+            @Parameter(description = "Start date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+
+            @Parameter(description = "End date (format: yyyy-MM-dd'T'HH:mm:ss)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+
+        log.info("REST request to generate Excel report for customer: {} from {} to {}",
+                clientId, startDate, endDate);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        headers.setContentDispositionFormData("attachment",
+                String.format("account_statement_%d_%s.xlsx",
+                        clientId,
+                        LocalDateTime.now().toString().replace(":", "-")));
+
+        return Mono.just(ResponseEntity.ok()
+                .headers(headers)
+                .body(reportService.generateAccountStatementExcel(clientId, startDate, endDate)));
+    }
+
+    /**
+     * Generates movement totals per account from the daily aggregates
+     * GET /api/v1/reports/{client-id}/summary?startDate=...&endDate=...
+     */
+    @GetMapping(
+            value = "/{client-id}/summary",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Generate movement summary",
+            description = "Generates movement count, credit and debit totals and balances per account of a customer " +
+                    "between two days, from the daily aggregates"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary generated successfully"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date format")
+    })
+    public Mono<CustomerSummaryDTO> generateCustomerSummary(
+            @Parameter(description = "Customer ID", required = true)
+            @PathVariable("client-id") Long clientId,
+
+            @Parameter(description = "Start date (format: yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+
+            @Parameter(description = "End date (format: yyyy-MM-dd)", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        log.info("REST request to generate summary for customer: {} from {} to {}", clientId, startDate, endDate);
+
+        return reportService.generateCustomerSummary(clientId, startDate, endDate);
+    }
+
+    /**
+     * Recomputes the daily aggregates of every account from its movements
+     * POST /api/v1/reports/daily-aggregates/rebuild
+     */
+    @PostMapping("/daily-aggregates/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Rebuild daily aggregates",
+            description = "Recomputes the daily movement aggregates of every account from its movements, in parallel chunks"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Aggregates rebuilt, returns the number of rows written")
+    })
+    public Mono<Long> rebuildDailyAggregates() {
+        log.info("REST request to rebuild daily aggregates");
+
+        return aggregateService.rebuildAll();
+    }
+}
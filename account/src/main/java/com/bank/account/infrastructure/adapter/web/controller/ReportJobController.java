@@ -0,0 +1,133 @@
+package com.bank.account.infrastructure.adapter.web.controller;
+
+import com.bank.account.application.service.ReportJobService;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobDTO;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobRequestDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for asynchronous report jobs
+ * Endpoint: /api/v1/reports/jobs
+ * Large statements are generated in the background and downloaded once ready.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/reports/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Report Jobs", description = "Asynchronous account statement APIs")
+public class ReportJobController {
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final ReportJobService reportJobService;
+
+    /**
+     * Submits an account statement job
+     * POST /api/v1/reports/jobs
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(
+            summary = "Submit a report job",
+            description = "Queues the account statement of a customer within a date range, in JSON or Excel format. "
+                    + "Returns the job, whose ID is used to poll its status and download the result"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "429", description = "Too many report jobs queued, for the customer or overall")
+    })
+    public Mono<ReportJobDTO> submitJob(@Valid @RequestBody ReportJobRequestDTO requestDTO) {
+        log.info("REST request to submit {} report job for customer: {}",
+                requestDTO.getFormat(), requestDTO.getCustomerId());
+        return reportJobService.submit(requestDTO);
+    }
+
+    /**
+     * Gets the status and progress of a report job
+     * GET /api/v1/reports/jobs/{job-id}
+     */
+    @GetMapping(
+            value = "/{job-id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Get report job status", description = "Retrieves the status and progress of a report job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    public Mono<ReportJobDTO> getJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable("job-id") String jobId) {
+        log.info("REST request to get report job: {}", jobId);
+        return reportJobService.getJob(jobId);
+    }
+
+    /**
+     * Downloads the output of a completed report job
+     * GET /api/v1/reports/jobs/{job-id}/download
+     * The file is sent as a file region, without copying it through the heap.
+     */
+    @GetMapping("/{job-id}/download")
+    @Operation(summary = "Download report job output", description = "Downloads the file written by a completed report job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File sent"),
+            @ApiResponse(responseCode = "404", description = "Job not found or expired"),
+            @ApiResponse(responseCode = "409", description = "Job has not completed")
+    })
+    public Mono<ResponseEntity<FileSystemResource>> downloadJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable("job-id") String jobId) {
+        log.info("REST request to download report job: {}", jobId);
+
+        return reportJobService.getJobFile(jobId)
+                .map(file -> {
+                    String fileName = file.getFileName().toString();
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.setContentType(fileName.endsWith(".xlsx")
+                            ? MediaType.parseMediaType(XLSX_CONTENT_TYPE)
+                            : MediaType.APPLICATION_JSON);
+                    headers.setContentDispositionFormData("attachment", fileName);
+                    return ResponseEntity.ok()
+                            .headers(headers)
+                            .body(new FileSystemResource(file));
+                });
+    }
+
+    /**
+     * Cancels a queued or running report job
+     * DELETE /api/v1/reports/jobs/{job-id}
+     */
+    @DeleteMapping(
+            value = "/{job-id}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Cancel report job", description = "Cancels a queued or running report job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job cancelled, or already finished"),
+            @ApiResponse(responseCode = "404", description = "Job not found or expired")
+    })
+    public Mono<ReportJobDTO> cancelJob(
+            @Parameter(description = "Job ID", required = true)
+            @PathVariable("job-id") String jobId) {
+        log.info("REST request to cancel report job: {}", jobId);
+        return reportJobService.cancel(jobId);
+    }
+}
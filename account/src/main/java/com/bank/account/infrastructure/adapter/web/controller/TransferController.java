@@ -0,0 +1,90 @@
+package com.bank.account.infrastructure.adapter.web.controller;
+
+import com.bank.account.application.service.BulkTransferService;
+import com.bank.account.application.service.MovementSequencer;
+import com.bank.account.application.service.TransferService;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for transfers between accounts
+ * Endpoint: /api/v1/transfers
+ * Transfers run through the MovementSequencer lane of the source account; the destination account is
+ * protected by the database lock taken by the transfer. Bulk transfers rely on the database locks alone.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/transfers")
+@RequiredArgsConstructor
+@Tag(name = "Transfers", description = "Account-to-account transfer APIs")
+public class TransferController {
+
+    private final TransferService transferService;
+    private final MovementSequencer movementSequencer;
+    private final BulkTransferService bulkTransferService;
+
+    /**
+     * Transfers funds between two accounts
+     * POST /api/v1/transfers
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+            summary = "Transfer funds",
+            description = "Debits the source account and credits the destination account atomically"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transfer completed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, insufficient balance or daily limit exceeded"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "429", description = "Too many pending movements for the account")
+    })
+    public Mono<TransferResponseDTO> transfer(@Valid @RequestBody TransferRequestDTO requestDTO) {
+        log.info("REST request to transfer from account {} to account {}",
+                requestDTO.getSourceAccountId(), requestDTO.getDestinationAccountId());
+        return movementSequencer.submit(requestDTO.getSourceAccountId(),
+                () -> transferService.transfer(requestDTO));
+    }
+
+    /**
+     * Transfers funds from one account to many, reporting a result per item
+     * POST /api/v1/transfers/bulk
+     */
+    @PostMapping(
+            value = "/bulk",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+            summary = "Bulk transfer (payroll)",
+            description = "Debits the source account once for the total and credits every destination "
+                    + "account in the same transaction. Each item reports its own result"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk transfer processed, see per-item results"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, too many items, insufficient balance or daily limit exceeded"),
+            @ApiResponse(responseCode = "404", description = "Source account not found")
+    })
+    public Mono<BulkTransferResponseDTO> bulkTransfer(@Valid @RequestBody BulkTransferRequestDTO requestDTO) {
+        log.info("REST request to bulk transfer {} items from account {}",
+                requestDTO.getItems().size(), requestDTO.getSourceAccountId());
+        return bulkTransferService.transfer(requestDTO);
+    }
+}
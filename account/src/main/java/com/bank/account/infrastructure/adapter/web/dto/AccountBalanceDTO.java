@@ -0,0 +1,26 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the balance of an account at a point in time
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceDTO {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+    @JsonProperty("as_of")
+    private LocalDateTime asOf;
+    private BigDecimal balance;
+}
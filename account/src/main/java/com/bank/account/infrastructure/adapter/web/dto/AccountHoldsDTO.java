@@ -0,0 +1,30 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for the active holds of an account and its available balance
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountHoldsDTO {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+    @JsonProperty("current_balance")
+    private BigDecimal currentBalance;
+    @JsonProperty("held_amount")
+    private BigDecimal heldAmount;
+    @JsonProperty("available_balance")
+    private BigDecimal availableBalance;
+    private List<HoldResponseDTO> holds;
+}
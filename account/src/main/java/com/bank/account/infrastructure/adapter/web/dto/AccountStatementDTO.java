@@ -24,6 +24,8 @@ public class AccountStatementDTO {
     private String accountType;
     @JsonProperty("initial_balance")
     private BigDecimal initialBalance;
+    @JsonProperty("opening_balance")
+    private BigDecimal openingBalance;
     @JsonProperty("current_balance")
     private BigDecimal currentBalance;
     private Boolean status;
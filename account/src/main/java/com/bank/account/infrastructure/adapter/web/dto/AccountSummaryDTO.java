@@ -0,0 +1,37 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for the movement totals of one account over a range of days
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSummaryDTO {
+
+    @JsonProperty("account_id")
+    private Long accountId;
+    @JsonProperty("account_number")
+    private String accountNumber;
+    @JsonProperty("account_type")
+    private String accountType;
+    private Boolean status;
+    @JsonProperty("opening_balance")
+    private BigDecimal openingBalance;
+    @JsonProperty("movement_count")
+    private Long movementCount;
+    @JsonProperty("total_credit")
+    private BigDecimal totalCredit;
+    @JsonProperty("total_debit")
+    private BigDecimal totalDebit;
+    @JsonProperty("closing_balance")
+    private BigDecimal closingBalance;
+}
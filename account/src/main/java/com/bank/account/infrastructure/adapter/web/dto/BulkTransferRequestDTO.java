@@ -0,0 +1,29 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for a one-to-many transfer, such as a payroll run.
+ * Items are validated one by one, so an invalid item fails alone instead of the whole request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferRequestDTO {
+
+    @NotNull(message = "Source account ID is required")
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @NotEmpty(message = "Items are required")
+    private List<BulkTransferItemDTO> items;
+}
@@ -0,0 +1,31 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for a bulk transfer: the single debit of the source account and one result per item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferResponseDTO {
+
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    @JsonProperty("transferred_amount")
+    private BigDecimal transferredAmount;
+    private MovementResponseDTO debit;
+    @JsonProperty("results")
+    private List<MovementBatchItemResultDTO> results;
+}
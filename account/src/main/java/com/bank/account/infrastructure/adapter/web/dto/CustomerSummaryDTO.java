@@ -0,0 +1,35 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for the movement totals of every account of a customer over a range of days
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryDTO {
+
+    @JsonProperty("customer_name")
+    private String customerName;
+    @JsonProperty("start_date")
+    private LocalDate startDate;
+    @JsonProperty("end_date")
+    private LocalDate endDate;
+    @JsonProperty("movement_count")
+    private Long movementCount;
+    @JsonProperty("total_credit")
+    private BigDecimal totalCredit;
+    @JsonProperty("total_debit")
+    private BigDecimal totalDebit;
+    private List<AccountSummaryDTO> accounts;
+}
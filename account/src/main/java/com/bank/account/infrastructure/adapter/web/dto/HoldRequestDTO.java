@@ -0,0 +1,30 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for placing a hold on an account
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequestDTO {
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    @Positive(message = "TTL must be positive")
+    @JsonProperty("ttl_seconds")
+    private Long ttlSeconds; // optional, app.holds.default-ttl when absent
+}
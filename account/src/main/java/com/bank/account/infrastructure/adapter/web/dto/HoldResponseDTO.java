@@ -0,0 +1,35 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a hold
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponseDTO {
+
+    @JsonProperty("hold_id")
+    private Long holdId;
+    @JsonProperty("account_id")
+    private Long accountId;
+    private BigDecimal amount;
+    private String status; // ACTIVE, CAPTURED, RELEASED, EXPIRED
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+    @JsonProperty("settled_at")
+    private LocalDateTime settledAt;
+    @JsonProperty("movement_id")
+    private Long movementId;
+}
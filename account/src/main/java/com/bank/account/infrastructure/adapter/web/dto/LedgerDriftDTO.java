@@ -0,0 +1,30 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A balance that does not follow from the ledger, found by the reconciliation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerDriftDTO {
+
+    public static final String MOVEMENT_BALANCE = "MOVEMENT_BALANCE";
+    public static final String CURRENT_BALANCE = "CURRENT_BALANCE";
+
+    @JsonProperty("account_id")
+    private Long accountId;
+    @JsonProperty("movement_id")
+    private Long movementId; // null for CURRENT_BALANCE
+    private String type; // MOVEMENT_BALANCE, CURRENT_BALANCE
+    private BigDecimal expected;
+    private BigDecimal actual;
+}
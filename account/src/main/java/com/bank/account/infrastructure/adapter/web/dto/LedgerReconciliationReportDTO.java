@@ -0,0 +1,38 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Summary of a ledger reconciliation run, with the first drifts found.
+ * Every drift is listed in the report file.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerReconciliationReportDTO {
+
+    @JsonProperty("run_id")
+    private Long runId;
+    private String mode; // FULL, INCREMENTAL
+    @JsonProperty("started_at")
+    private LocalDateTime startedAt;
+    @JsonProperty("finished_at")
+    private LocalDateTime finishedAt;
+    @JsonProperty("accounts_checked")
+    private Long accountsChecked;
+    @JsonProperty("movements_checked")
+    private Long movementsChecked;
+    @JsonProperty("drift_count")
+    private Long driftCount;
+    @JsonProperty("report_file")
+    private String reportFile;
+    private List<LedgerDriftDTO> drifts;
+}
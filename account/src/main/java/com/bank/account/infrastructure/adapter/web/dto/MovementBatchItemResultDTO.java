@@ -0,0 +1,31 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single item of a movement batch
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementBatchItemResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String INSUFFICIENT_BALANCE = "INSUFFICIENT_BALANCE";
+    public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    public static final String ACCOUNT_NOT_FOUND = "ACCOUNT_NOT_FOUND";
+    public static final String DAILY_LIMIT_EXCEEDED = "DAILY_LIMIT_EXCEEDED";
+    public static final String REJECTED = "REJECTED";
+    public static final String ERROR = "ERROR";
+
+    private Integer index;
+    private String status; // CREATED, INSUFFICIENT_BALANCE, VALIDATION_ERROR, ACCOUNT_NOT_FOUND, DAILY_LIMIT_EXCEEDED, REJECTED, ERROR
+    private String message;
+    @JsonProperty("movement")
+    private MovementResponseDTO movement;
+}
@@ -0,0 +1,25 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a movement batch, with one result per submitted item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovementBatchResponseDTO {
+
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    @JsonProperty("results")
+    private List<MovementBatchItemResultDTO> results;
+}
@@ -0,0 +1,25 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated listing.
+ * The next page is requested by passing next_cursor back as the cursor parameter;
+ * it is absent on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponseDTO<T> {
+
+    private List<T> items;
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
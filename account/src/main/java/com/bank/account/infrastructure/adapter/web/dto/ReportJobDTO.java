@@ -0,0 +1,44 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the status and progress of an asynchronous account statement job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+
+    @JsonProperty("job_id")
+    private String jobId;
+    @JsonProperty("customer_id")
+    private Long customerId;
+    @JsonProperty("start_date")
+    private LocalDateTime startDate;
+    @JsonProperty("end_date")
+    private LocalDateTime endDate;
+    private String format;
+    private Integer priority;
+    private String status;
+    @JsonProperty("rows_processed")
+    private Long rowsProcessed;
+    @JsonProperty("file_size")
+    private Long fileSize;
+    private String error;
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+    @JsonProperty("started_at")
+    private LocalDateTime startedAt;
+    @JsonProperty("finished_at")
+    private LocalDateTime finishedAt;
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,44 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Request DTO for submitting an asynchronous account statement job
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobRequestDTO {
+
+    @NotNull(message = "Customer ID is required")
+    @JsonProperty("customer_id")
+    private Long customerId;
+
+    @NotNull(message = "Start date is required")
+    @JsonProperty("start_date")
+    private LocalDateTime startDate;
+
+    @NotNull(message = "End date is required")
+    @JsonProperty("end_date")
+    private LocalDateTime endDate;
+
+    @NotBlank(message = "Format is required")
+    @Pattern(regexp = "^(JSON|EXCEL)$", message = "Format must be 'JSON' or 'EXCEL'")
+    private String format;
+
+    @Min(value = 0, message = "Priority must be between 0 and 9")
+    @Max(value = 9, message = "Priority must be between 0 and 9")
+    private Integer priority;
+}
@@ -0,0 +1,34 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferEventDTO implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    private String eventType;
+    private Long debitMovementId;
+    private Long creditMovementId;
+    private Long sourceAccountId;
+    private String sourceAccountNumber;
+    private Long destinationAccountId;
+    private String destinationAccountNumber;
+    private BigDecimal amount;
+    private BigDecimal sourceBalanceAfter;
+    private BigDecimal destinationBalanceAfter;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,33 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request DTO for a transfer between two accounts
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequestDTO {
+
+    @NotNull(message = "Source account ID is required")
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    private BigDecimal amount;
+}
@@ -0,0 +1,31 @@
+package com.bank.account.infrastructure.adapter.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO for a completed transfer, with the DEBIT and CREDIT movements it wrote
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponseDTO {
+
+    @JsonProperty("source_account_id")
+    private Long sourceAccountId;
+
+    @JsonProperty("destination_account_id")
+    private Long destinationAccountId;
+
+    private BigDecimal amount;
+
+    private MovementResponseDTO debit;
+
+    private MovementResponseDTO credit;
+}
@@ -2,6 +2,7 @@ package com.bank.account.infrastructure.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
@@ -13,7 +14,9 @@ public class SecurityConfig {
 
 
     /**
-     * Security configuration for WebFlux
+     * Security configuration for WebFlux.
+     * Actuator endpoints other than health, which include the reconciliation runs, need HTTP basic
+     * authentication of a user with the ACTUATOR role, configured through the spring.security.user properties.
      */
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(final ServerHttpSecurity http) {
@@ -29,13 +32,16 @@ public class SecurityConfig {
                                 "/api/v1/accounts/**",
                                 "/api/v1/movements/**",
                                 "/api/v1/reports/**",
+                                "/api/v1/transfers/**",
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ACTUATOR")
                         .anyExchange().authenticated()
                 )
-                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .httpBasic(Customizer.withDefaults())
                 .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
                 .build();
     }
@@ -0,0 +1,38 @@
+package com.bank.account;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Base class for tests that need a real PostgreSQL database.
+ * The schema is created from docker/account-db-init.sql, the same script used by docker-compose.
+ * Tests are skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringJUnitConfig(PostgresTestConfig.class)
+abstract class AbstractPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("account_db")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath("../docker/account-db-init.sql"),
+                    "/docker-entrypoint-initdb.d/init.sql");
+
+    @DynamicPropertySource
+    static void r2dbcProperties(final DynamicPropertyRegistry registry) {
+        registry.add("test.r2dbc.url", () -> String.format("r2dbc:pool:postgresql://%s:%s@%s:%d/%s?maxSize=20",
+                POSTGRES.getUsername(),
+                POSTGRES.getPassword(),
+                POSTGRES.getHost(),
+                POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+                POSTGRES.getDatabaseName()));
+    }
+}
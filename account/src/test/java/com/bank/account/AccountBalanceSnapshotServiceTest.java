@@ -0,0 +1,88 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountBalanceSnapshotService;
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AccountBalanceSnapshotService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Balance Snapshot Service Unit Tests")
+class AccountBalanceSnapshotServiceTest {
+
+    private static final LocalDateTime MAY = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+    @Mock
+    private MovementRepository movementRepository;
+    @InjectMocks
+    private AccountBalanceSnapshotService snapshotService;
+
+    @Test
+    @DisplayName("Should checkpoint every month after the latest checkpoint, in order")
+    void testSnapshotUntil_ContinuesFromLatestCheckpoint() {
+        // Given
+        when(snapshotRepository.findLatestSnapshotAt()).thenReturn(Mono.just(LocalDateTime.of(2024, 2, 1, 0, 0)));
+        when(snapshotRepository.insertSnapshots(any())).thenReturn(Mono.just(10L));
+
+        // When / Then
+        StepVerifier.create(snapshotService.snapshotUntil(MAY))
+                .expectNext(30L)
+                .verifyComplete();
+
+        ArgumentCaptor<LocalDateTime> boundaries = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(snapshotRepository, times(3)).insertSnapshots(boundaries.capture());
+        assertEquals(List.of(LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 4, 1, 0, 0), MAY),
+                boundaries.getAllValues());
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should start with the month of the oldest movement on the first run")
+    void testSnapshotUntil_FirstRun() {
+        // Given
+        when(snapshotRepository.findLatestSnapshotAt()).thenReturn(Mono.empty());
+        when(movementRepository.findEarliestMovementDate()).thenReturn(Mono.just(LocalDateTime.of(2024, 3, 20, 9, 30)));
+        when(snapshotRepository.insertSnapshots(any())).thenReturn(Mono.just(2L));
+
+        // When / Then
+        StepVerifier.create(snapshotService.snapshotUntil(MAY))
+                .expectNext(4L)
+                .verifyComplete();
+
+        verify(snapshotRepository).insertSnapshots(LocalDateTime.of(2024, 4, 1, 0, 0));
+        verify(snapshotRepository).insertSnapshots(MAY);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when every closed month is already checkpointed")
+    void testSnapshotUntil_UpToDate() {
+        // Given
+        when(snapshotRepository.findLatestSnapshotAt()).thenReturn(Mono.just(MAY));
+
+        // When / Then
+        StepVerifier.create(snapshotService.snapshotUntil(MAY))
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(snapshotRepository, never()).insertSnapshots(any());
+    }
+}
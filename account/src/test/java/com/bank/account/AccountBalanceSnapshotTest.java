@@ -0,0 +1,102 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountBalanceSnapshotService;
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Month-end balance checkpoints against a real PostgreSQL database
+ */
+@Slf4j
+@DisplayName("Account Balance Snapshot Tests")
+class AccountBalanceSnapshotTest extends AbstractPostgresTest {
+
+    @Autowired
+    private AccountBalanceSnapshotService snapshotService;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private BigDecimal fullScan(final Long accountId, final LocalDateTime asOf) {
+        return databaseClient.sql("SELECT a.initial_balance + COALESCE(SUM(CASE WHEN m.movement_type = 'CREDIT' " +
+                        "THEN m.amount ELSE -m.amount END), 0) AS balance " +
+                        "FROM accounts a LEFT JOIN movements m ON m.account_id = a.account_id AND m.movement_date < :asOf " +
+                        "WHERE a.account_id = :accountId GROUP BY a.initial_balance")
+                .bind("asOf", asOf)
+                .bind("accountId", accountId)
+                .map(row -> row.get("balance", BigDecimal.class))
+                .one().block();
+    }
+
+    @Test
+    @DisplayName("Should match a full scan at any timestamp, before and after a movement is changed")
+    void testBalanceAsOf_MatchesFullScan() {
+        // Given - two years of daily movements and one account without movements
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('960001', 'Ahorro', 500, 500, 96), ('960002', 'Ahorro', 75, 75, 96)")
+                .then().block();
+        Long accountId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '960001'")
+                .map(row -> row.get("account_id", Long.class)).one().block();
+        Long idleAccountId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '960002'")
+                .map(row -> row.get("account_id", Long.class)).one().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2022-01-01' + i * INTERVAL '1 day', " +
+                        "CASE WHEN i % 3 = 0 THEN 'DEBIT' ELSE 'CREDIT' END, 10, 0, :accountId " +
+                        "FROM generate_series(0, 729) i")
+                .bind("accountId", accountId)
+                .then().block();
+
+        // When
+        long created = snapshotService.snapshotUntil(LocalDateTime.of(2024, 1, 1, 0, 0)).block();
+        long rerun = snapshotService.snapshotUntil(LocalDateTime.of(2024, 1, 1, 0, 0)).block();
+
+        // Then
+        assertTrue(created >= 48, "created " + created);
+        assertEquals(0, rerun);
+        List<LocalDateTime> probes = List.of(
+                LocalDateTime.of(2021, 6, 1, 0, 0),
+                LocalDateTime.of(2022, 2, 1, 0, 0),
+                LocalDateTime.of(2022, 7, 15, 12, 0),
+                LocalDateTime.of(2023, 12, 31, 23, 59),
+                LocalDateTime.of(2025, 1, 1, 0, 0));
+        for (LocalDateTime asOf : probes) {
+            assertEquals(0, fullScan(accountId, asOf)
+                    .compareTo(accountService.getBalanceAsOf(accountId, asOf).block().getBalance()), asOf.toString());
+        }
+        assertEquals(0, new BigDecimal("75")
+                .compareTo(accountService.getBalanceAsOf(idleAccountId, probes.get(2)).block().getBalance()));
+
+        // When - an old movement is changed, the later checkpoints follow
+        Long oldMovementId = databaseClient.sql("SELECT movement_id FROM movements WHERE account_id = :accountId " +
+                        "ORDER BY movement_date LIMIT 1")
+                .bind("accountId", accountId)
+                .map(row -> row.get("movement_id", Long.class)).one().block();
+        movementService.updateMovement(oldMovementId, MovementRequestDTO.builder()
+                .accountId(accountId)
+                .movementType("CREDIT")
+                .amount(new BigDecimal("110"))
+                .build()).block();
+
+        // Then
+        for (LocalDateTime asOf : probes) {
+            assertEquals(0, fullScan(accountId, asOf)
+                    .compareTo(accountService.getBalanceAsOf(accountId, asOf).block().getBalance()), asOf.toString());
+        }
+    }
+}
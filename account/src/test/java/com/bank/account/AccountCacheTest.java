@@ -0,0 +1,169 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.domain.model.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for AccountCache
+ */
+@DisplayName("Account Cache Unit Tests")
+class AccountCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCache accountCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(1000, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private Mono<Account> load(final Long accountId) {
+        loads.incrementAndGet();
+        return Mono.just(Account.builder()
+                .accountId(accountId)
+                .accountNumber("478758")
+                .currentBalance(new BigDecimal("2000"))
+                .build());
+    }
+
+    private BigDecimal cachedBalance(final Long accountId) {
+        return accountCache.get(accountId, this::load).block().getCurrentBalance();
+    }
+
+    @Test
+    @DisplayName("Should load an account once and serve it from the cache afterwards")
+    void testGet_LoadsOnce() {
+        // When
+        accountCache.get(1L, this::load).block();
+        accountCache.get(1L, this::load).block();
+        Account byNumber = accountCache.getByNumber("478758", number -> Mono.error(new IllegalStateException())).block();
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(1L, byNumber.getAccountId());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "account").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that do not change the cached account")
+    void testGet_ReturnsCopies() {
+        // Given
+        accountCache.get(1L, this::load).block().setCurrentBalance(BigDecimal.ZERO);
+
+        // Then
+        assertEquals(0, cachedBalance(1L).compareTo(new BigDecimal("2000")));
+    }
+
+    @Test
+    @DisplayName("Should apply a balance written outside a transaction right away")
+    void testUpdateBalance_NoTransaction() {
+        // Given
+        accountCache.get(1L, this::load).block();
+
+        // When
+        accountCache.updateBalanceAfterCommit(1L, new BigDecimal("1425")).block();
+
+        // Then
+        assertEquals(0, cachedBalance(1L).compareTo(new BigDecimal("1425")));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should apply a balance written in a transaction only once it commits")
+    void testUpdateBalance_AfterCommit() {
+        // Given
+        accountCache.get(1L, this::load).block();
+        TransactionalOperator transaction = TransactionalOperator.create(new NoOpTransactionManager());
+
+        // When
+        BigDecimal balanceBeforeCommit = accountCache.updateBalanceAfterCommit(1L, new BigDecimal("1425"))
+                .then(Mono.fromSupplier(() -> cachedBalance(1L)))
+                .as(transaction::transactional)
+                .block();
+
+        // Then
+        assertEquals(0, balanceBeforeCommit.compareTo(new BigDecimal("2000")));
+        assertEquals(0, cachedBalance(1L).compareTo(new BigDecimal("1425")));
+    }
+
+    @Test
+    @DisplayName("Should ignore a balance written in a transaction that rolls back")
+    void testUpdateBalance_Rollback() {
+        // Given
+        accountCache.get(1L, this::load).block();
+        TransactionalOperator transaction = TransactionalOperator.create(new NoOpTransactionManager());
+
+        // When
+        StepVerifier.create(accountCache.updateBalanceAfterCommit(1L, new BigDecimal("1425"))
+                        .then(Mono.error(new IllegalStateException("rollback")))
+                        .as(transaction::transactional))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // Then
+        assertEquals(0, cachedBalance(1L).compareTo(new BigDecimal("2000")));
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced with a committed write")
+    void testGet_LoadRacingWithWrite() {
+        // When - a movement commits while the old row is being read
+        accountCache.get(1L, accountId -> load(accountId)
+                        .delayUntil(account -> accountCache.updateBalanceAfterCommit(1L, new BigDecimal("1425"))))
+                .block();
+
+        // Then - the stale row was not cached, the next read loads again
+        accountCache.get(1L, this::load).block();
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Transaction manager without a resource, enough to drive transaction synchronizations.
+     */
+    private static class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(final TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(final TransactionSynchronizationManager synchronizationManager,
+                                     final Object transaction, final TransactionDefinition definition) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(final TransactionSynchronizationManager synchronizationManager,
+                                      final GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doRollback(final TransactionSynchronizationManager synchronizationManager,
+                                        final GenericReactiveTransaction status) {
+            return Mono.empty();
+        }
+    }
+}
@@ -1,29 +1,38 @@
 package com.bank.account;
 
 import com.bank.account.application.mapper.AccountMapper;
+import com.bank.account.application.service.AccountCache;
 import com.bank.account.application.service.AccountService;
 import com.bank.account.domain.exception.AccountAlreadyExistsException;
 import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
 import com.bank.account.domain.model.Account;
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
 import com.bank.account.domain.repository.AccountRepository;
 import com.bank.account.infrastructure.adapter.client.CustomerClient;
 import com.bank.account.infrastructure.adapter.web.dto.AccountRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountResponseDTO;
 import com.bank.account.infrastructure.adapter.web.dto.AccountUpdateDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +52,11 @@ class AccountServiceTest {
     @Mock
     private CustomerClient customerClient;
 
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Spy
+    private AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
     @InjectMocks
     private AccountService accountService;
 
@@ -201,6 +215,69 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).findByCustomerId(1L);
     }
 
+    @Test
+    @DisplayName("Should page accounts with an opaque cursor that resumes after the last account")
+    void testGetAccountsPage_Success() {
+        // Given - limit 2: the third row only signals that a next page exists
+        Account second = Account.builder().accountId(2L).build();
+        Account third = Account.builder().accountId(3L).build();
+        when(accountRepository.findPageAfter(0L, 3)).thenReturn(Flux.just(testAccount, second, third));
+        when(accountRepository.findPageAfter(2L, 3)).thenReturn(Flux.just(third));
+        when(accountMapper.toResponseDTO(any(Account.class))).thenAnswer(invocation ->
+                AccountResponseDTO.builder()
+                        .accountId(invocation.<Account>getArgument(0).getAccountId())
+                        .build());
+
+        // When
+        PageResponseDTO<AccountResponseDTO> firstPage = accountService.getAccountsPage(null, 2).block();
+        PageResponseDTO<AccountResponseDTO> lastPage = accountService.getAccountsPage(firstPage.getNextCursor(), 2).block();
+
+        // Then
+        assertEquals(2, firstPage.getItems().size());
+        assertEquals(1, lastPage.getItems().size());
+        assertEquals(3L, lastPage.getItems().get(0).getAccountId());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered cursor and an out of range limit")
+    void testGetAccountsPage_InvalidInput() {
+        StepVerifier.create(accountService.getAccountsPage("not-a-cursor", 10))
+                .expectError(BusinessValidationException.class)
+                .verify();
+        StepVerifier.create(accountService.getAccountsPage(null, 100_000))
+                .expectError(BusinessValidationException.class)
+                .verify();
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the balance as of a timestamp from the checkpoint lookup")
+    void testGetBalanceAsOf_Success() {
+        // Given
+        LocalDateTime asOf = LocalDateTime.of(2024, 3, 15, 0, 0);
+        when(snapshotRepository.findBalanceAsOf(1L, asOf)).thenReturn(Mono.just(new BigDecimal("1425.00")));
+
+        // When / Then
+        StepVerifier.create(accountService.getBalanceAsOf(1L, asOf))
+                .expectNextMatches(balance -> balance.getAccountId() == 1L
+                        && balance.getAsOf().equals(asOf)
+                        && balance.getBalance().compareTo(new BigDecimal("1425")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should throw AccountNotFoundException when asking the balance of an unknown account")
+    void testGetBalanceAsOf_NotFound() {
+        // Given
+        when(snapshotRepository.findBalanceAsOf(anyLong(), any())).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(accountService.getBalanceAsOf(99L, LocalDateTime.now()))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+    }
+
     @Test
     @DisplayName("Should delete account (logical deletion)")
     void testDeleteAccount_Success() {
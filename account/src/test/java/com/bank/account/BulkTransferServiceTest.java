@@ -0,0 +1,311 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.BulkTransferService;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.HoldIndex;
+import com.bank.account.application.service.MovementBatchWriter;
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.DebitBucketRow;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferItemDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkTransferService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bulk Transfer Service Unit Tests")
+class BulkTransferServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final MovementMapper movementMapper = Mappers.getMapper(MovementMapper.class);
+    private final AtomicLong movementIds = new AtomicLong();
+
+    private Account company;
+    private Account employee1;
+    private Account employee2;
+
+    @BeforeEach
+    void setUp() {
+        company = account(5L, "100");
+        employee1 = account(2L, "0");
+        employee2 = account(9L, "10");
+    }
+
+    private static Account account(final Long accountId, final String balance) {
+        return Account.builder()
+                .accountId(accountId)
+                .accountNumber("47875" + accountId)
+                .currentBalance(new BigDecimal(balance))
+                .build();
+    }
+
+    private BulkTransferService bulkTransferService(final int chunkSize) {
+        return bulkTransferService(chunkSize, limiter("0", "0", "0"));
+    }
+
+    private DailyDebitLimiter limiter(final String ahorro, final String corriente, final String bulk) {
+        return new DailyDebitLimiter(movementRepository, new BigDecimal(ahorro), new BigDecimal(corriente),
+                new BigDecimal(bulk), Duration.ofMinutes(30), 1000, false, new SimpleMeterRegistry());
+    }
+
+    private BulkTransferService bulkTransferService(final int chunkSize, final DailyDebitLimiter debitLimiter) {
+        AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        HoldIndex holdIndex = new HoldIndex();
+        MovementBatchWriter writer = new MovementBatchWriter(movementRepository, accountRepository, movementMapper,
+                accountCache, holdIndex, debitLimiter);
+        return new BulkTransferService(movementRepository, accountRepository, writer, movementMapper, accountCache,
+                holdIndex, debitLimiter, VALIDATOR, chunkSize, 100);
+    }
+
+    private static BulkTransferRequestDTO request(final BulkTransferItemDTO... items) {
+        return BulkTransferRequestDTO.builder()
+                .sourceAccountId(5L)
+                .items(List.of(items))
+                .build();
+    }
+
+    private static BulkTransferItemDTO item(final Long destinationId, final String amount) {
+        return BulkTransferItemDTO.builder()
+                .destinationAccountId(destinationId)
+                .amount(amount == null ? null : new BigDecimal(amount))
+                .build();
+    }
+
+    private void stubDebit() {
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    BigDecimal delta = invocation.getArgument(1);
+                    return Mono.just(Movement.builder()
+                            .movementId(movementIds.incrementAndGet())
+                            .movementType(invocation.getArgument(3))
+                            .amount(invocation.getArgument(4))
+                            .balance(company.getCurrentBalance().add(delta))
+                            .accountId(invocation.getArgument(0))
+                            .build());
+                });
+        when(movementRepository.markBulkDebit(anyLong())).thenReturn(Mono.empty());
+    }
+
+    private void stubCredits() {
+        when(movementRepository.insertAll(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime[] dates = invocation.getArgument(0);
+            String[] types = invocation.getArgument(1);
+            BigDecimal[] amounts = invocation.getArgument(2);
+            BigDecimal[] balances = invocation.getArgument(3);
+            Long[] accountIds = invocation.getArgument(4);
+            return Flux.fromStream(IntStream.range(0, dates.length).mapToObj(i -> Movement.builder()
+                    .movementId(movementIds.incrementAndGet())
+                    .movementDate(dates[i])
+                    .movementType(types[i])
+                    .amount(amounts[i])
+                    .balance(balances[i])
+                    .accountId(accountIds[i])
+                    .build()));
+        });
+        when(accountRepository.updateBalances(any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should debit the source once for the credits that can be applied and report every item")
+    void testTransfer_MixedResults() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any()))
+                .thenReturn(Flux.just(employee1, company, employee2))
+                .thenReturn(Flux.just(employee1, employee2));
+        stubDebit();
+        stubCredits();
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500).transfer(request(
+                        item(9L, "30"),
+                        item(2L, "0"),
+                        item(99L, "10"),
+                        item(2L, "20"),
+                        item(5L, "10"),
+                        item(9L, "5"))))
+                .expectNextMatches(response -> response.getTotal() == 6
+                        && response.getSucceeded() == 3
+                        && response.getFailed() == 3
+                        && response.getTransferredAmount().compareTo(new BigDecimal("55")) == 0
+                        && response.getDebit().getBalance().compareTo(new BigDecimal("45")) == 0
+                        && response.getResults().get(0).getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && response.getResults().get(0).getMovement().getBalance().compareTo(new BigDecimal("40")) == 0
+                        && response.getResults().get(1).getStatus().equals(MovementBatchItemResultDTO.VALIDATION_ERROR)
+                        && response.getResults().get(2).getStatus().equals(MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND)
+                        && response.getResults().get(3).getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && response.getResults().get(4).getStatus().equals(MovementBatchItemResultDTO.VALIDATION_ERROR)
+                        && response.getResults().get(5).getMovement().getBalance().compareTo(new BigDecimal("45")) == 0
+                        && response.getResults().get(5).getIndex() == 5)
+                .verifyComplete();
+
+        // Every account locked up front in ascending order, then one debit and one chunk of credits
+        ArgumentCaptor<Long[]> locked = ArgumentCaptor.forClass(Long[].class);
+        verify(accountRepository, times(2)).findAllByIdForUpdate(locked.capture());
+        assertArrayEquals(new Long[]{2L, 5L, 9L, 99L}, locked.getAllValues().get(0));
+        verify(movementRepository, times(1)).insertWithBalanceDelta(
+                eq(5L), eq(new BigDecimal("-55")), eq(BigDecimal.ZERO), eq("DEBIT"), eq(new BigDecimal("55")),
+                any(), any());
+        verify(movementRepository, times(1)).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, times(1)).updateBalances(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should write the credits in chunks after a single debit")
+    void testTransfer_Chunked() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(employee1, company));
+        stubDebit();
+        stubCredits();
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(2).transfer(request(
+                        item(2L, "1"), item(2L, "1"), item(2L, "1"), item(2L, "1"), item(2L, "1"))))
+                .expectNextMatches(response -> response.getSucceeded() == 5
+                        && response.getResults().stream().allMatch(result -> result.getMovement() != null))
+                .verifyComplete();
+
+        verify(movementRepository, times(1)).insertWithBalanceDelta(anyLong(), any(), any(), any(), any(), any(), any());
+        verify(movementRepository, times(3)).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, times(3)).updateBalances(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should pay a run over the account type limit with the shipped daily limits")
+    void testTransfer_NotLimitedByAccountType() {
+        // Given - 6000 out of a checking account limited to 5000 a day for ordinary debits
+        company = Account.builder()
+                .accountId(5L)
+                .accountNumber("478755")
+                .accountType("Corriente")
+                .currentBalance(new BigDecimal("10000"))
+                .build();
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(employee1, company, employee2));
+        stubDebit();
+        stubCredits();
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500, limiter("1000.00", "5000.00", "0"))
+                        .transfer(request(item(2L, "3000"), item(9L, "3000"))))
+                .expectNextMatches(response -> response.getSucceeded() == 2
+                        && response.getDebit().getBalance().compareTo(new BigDecimal("4000")) == 0)
+                .verifyComplete();
+
+        verify(movementRepository, times(1)).markBulkDebit(anyLong());
+        verify(movementRepository, never()).sumDebitsByBucket(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a run over the daily bulk limit of the source")
+    void testTransfer_BulkLimitExceeded() {
+        // Given - 4000 already paid out in bulk today, against a bulk limit of 5000
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(employee1, company));
+        when(movementRepository.sumBulkDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.just(
+                DebitBucketRow.builder()
+                        .accountId(5L)
+                        .bucket(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / 900)
+                        .amount(new BigDecimal("4000"))
+                        .build()));
+        company.setAccountType("Corriente");
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500, limiter("1000.00", "5000.00", "5000.00"))
+                        .transfer(request(item(2L, "60"), item(2L, "1000"))))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+
+        verify(movementRepository, never()).insertWithBalanceDelta(anyLong(), any(), any(), any(), any(), any(), any());
+        verify(movementRepository, never()).insertAll(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the source cannot cover the total")
+    void testTransfer_InsufficientBalance() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(employee1, company));
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500).transfer(request(item(2L, "60"), item(2L, "60"))))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        verify(movementRepository, never()).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, never()).updateBalances(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fail when the source account does not exist")
+    void testTransfer_SourceNotFound() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(employee1));
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500).transfer(request(item(2L, "10"))))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a request with too many items")
+    void testTransfer_TooManyItems() {
+        // Given
+        BulkTransferRequestDTO requestDTO = BulkTransferRequestDTO.builder()
+                .sourceAccountId(5L)
+                .items(IntStream.range(0, 101).mapToObj(i -> item(2L, "1")).toList())
+                .build();
+
+        // When / Then
+        StepVerifier.create(bulkTransferService(500).transfer(requestDTO))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        verifyNoInteractions(accountRepository, movementRepository);
+    }
+}
@@ -0,0 +1,216 @@
+package com.bank.account;
+
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.DebitBucketRow;
+import com.bank.account.domain.repository.MovementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DailyDebitLimiter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Daily Debit Limiter Unit Tests")
+class DailyDebitLimiterTest {
+
+    private static final long BUCKET_SECONDS = 900;
+
+    @Mock
+    private MovementRepository movementRepository;
+
+    private DailyDebitLimiter limiter(final boolean shared) {
+        return new DailyDebitLimiter(movementRepository, new BigDecimal("1000.00"), new BigDecimal("5000.00"),
+                BigDecimal.ZERO, Duration.ofMinutes(30), 1000, shared, new SimpleMeterRegistry());
+    }
+
+    private static Account account(final Long accountId, final String accountType) {
+        return Account.builder()
+                .accountId(accountId)
+                .accountNumber("47875" + accountId)
+                .accountType(accountType)
+                .build();
+    }
+
+    private static DebitBucketRow debitedNow(final Long accountId, final String amount) {
+        return DebitBucketRow.builder()
+                .accountId(accountId)
+                .bucket(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) / BUCKET_SECONDS)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should count today's debits from the database and reject a debit over the limit")
+    void testReserve_SeededFromDatabase() {
+        // Given - 900 of the 1000 of a savings account already debited
+        DailyDebitLimiter limiter = limiter(false);
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong()))
+                .thenReturn(Flux.just(debitedNow(1L, "900.00")));
+
+        // When / Then
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("100.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("0.01")))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+
+        verify(movementRepository, times(1)).sumDebitsByBucket(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should give the room of a released debit back")
+    void testReserve_Release() {
+        // Given
+        DailyDebitLimiter limiter = limiter(false);
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+        DailyDebitLimiter.Reservation reservation = limiter.reserve(account(1L, "Ahorro"), new BigDecimal("1000.00"))
+                .block();
+
+        // When
+        reservation.release();
+        reservation.release();
+
+        // Then
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("1000.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("1.00")))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should apply the limit of the account type")
+    void testReserve_LimitPerAccountType() {
+        // Given
+        DailyDebitLimiter limiter = limiter(false);
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+
+        // When / Then
+        StepVerifier.create(limiter.reserve(account(2L, "Corriente"), new BigDecimal("4000.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("4000.00")))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should count bulk debits against the bulk limit only")
+    void testReserveBulk_SeparateWindow() {
+        // Given
+        DailyDebitLimiter limiter = new DailyDebitLimiter(movementRepository, new BigDecimal("1000.00"),
+                new BigDecimal("5000.00"), new BigDecimal("20000.00"), Duration.ofMinutes(30), 1000, false,
+                new SimpleMeterRegistry());
+        when(movementRepository.sumBulkDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+
+        // When / Then - a payroll over the account type limit leaves ordinary debits untouched
+        StepVerifier.create(limiter.reserveBulk(account(2L, "Corriente"), new BigDecimal("15000.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(2L, "Corriente"), new BigDecimal("5000.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserveBulk(account(2L, "Corriente"), new BigDecimal("5000.01")))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not limit accounts without a type or of an unknown type")
+    void testReserve_UntypedAccount() {
+        // Given
+        DailyDebitLimiter limiter = limiter(false);
+
+        // When / Then
+        StepVerifier.create(limiter.reserve(account(1L, null), new BigDecimal("9000.00")))
+                .expectNext(DailyDebitLimiter.Reservation.NONE)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(2L, "Plazo"), new BigDecimal("9000.00")))
+                .expectNext(DailyDebitLimiter.Reservation.NONE)
+                .verifyComplete();
+
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should never let parallel debits exceed the limit together")
+    void testReserve_ParallelDebits() {
+        // Given - 1000 debits of 10 race for a limit of 5000
+        DailyDebitLimiter limiter = limiter(false);
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+        limiter.reserve(account(2L, "Corriente"), new BigDecimal("0.00")).block();
+        AtomicInteger accepted = new AtomicInteger();
+
+        // When
+        Flux.range(0, 1000)
+                .parallel()
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> limiter.reserve(account(2L, "Corriente"), new BigDecimal("10.00"))
+                        .doOnNext(reservation -> accepted.incrementAndGet())
+                        .onErrorResume(DailyDebitLimitExceededException.class, error -> Mono.empty()))
+                .sequential()
+                .blockLast(Duration.ofSeconds(10));
+
+        // Then - contention may reject a few debits early, but never admits one too many
+        assertTrue(accepted.get() <= 500, "accepted " + accepted.get());
+        assertTrue(accepted.get() >= 450, "accepted " + accepted.get());
+    }
+
+    @Test
+    @DisplayName("Should reload the counters of active accounts from the database in shared mode")
+    void testReconcile_Shared() {
+        // Given - another instance debited 600 after this one seeded the account
+        DailyDebitLimiter limiter = limiter(true);
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong()))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just(debitedNow(1L, "600.00")));
+        limiter.reserve(account(1L, "Ahorro"), new BigDecimal("100.00")).block();
+
+        // When
+        limiter.reconcile().block();
+
+        // Then - only what the database holds counts: the reservation was not committed
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("400.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(limiter.reserve(account(1L, "Ahorro"), new BigDecimal("0.01")))
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+        verify(movementRepository, times(2)).sumDebitsByBucket(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not reload anything when the instance owns its accounts")
+    void testReconcile_Local() {
+        // When / Then
+        StepVerifier.create(limiter(false).reconcile())
+                .verifyComplete();
+
+        verifyNoInteractions(movementRepository);
+    }
+}
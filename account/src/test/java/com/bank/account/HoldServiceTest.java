@@ -0,0 +1,348 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.HoldCaptureWriter;
+import com.bank.account.application.service.HoldIndex;
+import com.bank.account.application.service.HoldService;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.HoldNotFoundException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Hold;
+import com.bank.account.domain.repository.HoldRepository;
+import com.bank.account.infrastructure.adapter.web.dto.HoldRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HoldService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Hold Service Unit Tests")
+class HoldServiceTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+    @Mock
+    private HoldCaptureWriter holdCaptureWriter;
+    @Mock
+    private AccountService accountService;
+
+    private final HoldIndex holdIndex = new HoldIndex();
+    private HoldService holdService;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(holdRepository, holdIndex, holdCaptureWriter, accountService,
+                Duration.ofDays(7), Duration.ofDays(30), Duration.ofMillis(10), 64, Duration.ofMillis(50));
+        account = Account.builder()
+                .accountId(1L)
+                .accountNumber("478758")
+                .accountType("Ahorro")
+                .currentBalance(new BigDecimal("1000.00"))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdService.close();
+    }
+
+    private static Hold hold(final Long holdId, final String amount, final LocalDateTime expiresAt) {
+        return Hold.builder()
+                .holdId(holdId)
+                .accountId(1L)
+                .amount(new BigDecimal(amount))
+                .status(Hold.ACTIVE)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static Hold settled(final Hold hold, final String status) {
+        return Hold.builder()
+                .holdId(hold.getHoldId())
+                .accountId(hold.getAccountId())
+                .amount(hold.getAmount())
+                .status(status)
+                .createdAt(hold.getCreatedAt())
+                .expiresAt(hold.getExpiresAt())
+                .settledAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static HoldRequestDTO request(final String amount) {
+        return HoldRequestDTO.builder().amount(new BigDecimal(amount)).build();
+    }
+
+    /**
+     * Waits for the timer thread to take a settled hold out of the index.
+     */
+    private void awaitRemoved(final Long holdId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (holdIndex.get(holdId) != null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(holdIndex.get(holdId));
+    }
+
+    @Test
+    @DisplayName("Should place a hold against the balance not already held and index it")
+    void testPlaceHold_Success() {
+        // Given
+        Hold first = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        Hold second = hold(11L, "300.00", LocalDateTime.now().plusDays(7));
+        when(accountService.getAccountEntity(1L)).thenReturn(Mono.just(account));
+        when(holdRepository.place(eq(1L), eq(new BigDecimal("600.00")), any(), any(), any()))
+                .thenReturn(Mono.just(first));
+        when(holdRepository.place(eq(1L), eq(new BigDecimal("300.00")), any(), any(), any()))
+                .thenReturn(Mono.just(second));
+
+        // When / Then
+        StepVerifier.create(holdService.placeHold(1L, request("600.00")))
+                .expectNextMatches(response -> response.getHoldId().equals(10L)
+                        && Hold.ACTIVE.equals(response.getStatus()))
+                .verifyComplete();
+        StepVerifier.create(holdService.placeHold(1L, request("300.00")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(holdRepository).place(eq(1L), eq(new BigDecimal("600.00")), eq(BigDecimal.ZERO), any(), any());
+        verify(holdRepository).place(eq(1L), eq(new BigDecimal("300.00")), eq(new BigDecimal("600.00")), any(), any());
+        assertEquals(0, new BigDecimal("900.00").compareTo(holdIndex.heldAmount(1L)));
+        StepVerifier.create(holdService.getHolds(1L))
+                .expectNextMatches(holds -> holds.getHolds().size() == 2
+                        && holds.getAvailableBalance().compareTo(new BigDecimal("100.00")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should count a hold as held while it is being placed")
+    void testPlaceHold_HeldWhilePlacing() {
+        // Given
+        Sinks.One<Hold> placed = Sinks.one();
+        when(accountService.getAccountEntity(1L)).thenReturn(Mono.just(account));
+        when(holdRepository.place(eq(1L), eq(new BigDecimal("600.00")), any(), any(), any()))
+                .thenReturn(placed.asMono());
+
+        // When / Then
+        StepVerifier.create(holdService.placeHold(1L, request("600.00")))
+                .then(() -> assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L))))
+                .then(() -> placed.tryEmitValue(hold(10L, "600.00", LocalDateTime.now().plusDays(7))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L)));
+    }
+
+    @Test
+    @DisplayName("Should reject a hold when the available balance does not cover it")
+    void testPlaceHold_InsufficientBalance() {
+        // Given
+        when(accountService.getAccountEntity(1L)).thenReturn(Mono.just(account));
+        when(holdRepository.place(anyLong(), any(), any(), any(), any())).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(holdService.placeHold(1L, request("1000.01")))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(holdIndex.heldAmount(1L)));
+    }
+
+    @Test
+    @DisplayName("Should reject a TTL longer than the maximum")
+    void testPlaceHold_TtlTooLong() {
+        // Given
+        HoldRequestDTO requestDTO = request("10.00");
+        requestDTO.setTtlSeconds(Duration.ofDays(31).toSeconds());
+
+        // When / Then
+        StepVerifier.create(holdService.placeHold(1L, requestDTO))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        verifyNoInteractions(holdRepository, accountService);
+    }
+
+    @Test
+    @DisplayName("Should capture a hold through the capture writer and take it out of the index")
+    void testCaptureHold_Success() {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        holdIndex.add(hold);
+        Hold captured = settled(hold, Hold.CAPTURED);
+        captured.setMovementId(99L);
+        when(holdCaptureWriter.capture(hold)).thenReturn(Mono.just(captured));
+
+        // When / Then
+        StepVerifier.create(holdService.captureHold(1L, 10L))
+                .expectNextMatches(response -> Hold.CAPTURED.equals(response.getStatus())
+                        && response.getMovementId().equals(99L))
+                .verifyComplete();
+
+        assertNull(holdIndex.get(10L));
+        assertEquals(0, BigDecimal.ZERO.compareTo(holdIndex.heldAmount(1L)));
+    }
+
+    @Test
+    @DisplayName("Should put the hold back when the capture debit fails")
+    void testCaptureHold_FailureRestoresHold() {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        holdIndex.add(hold);
+        when(holdCaptureWriter.capture(hold)).thenReturn(Mono.error(new InsufficientBalanceException()));
+
+        // When / Then
+        StepVerifier.create(holdService.captureHold(1L, 10L))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        assertSame(hold, holdIndex.get(10L));
+        assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L)));
+    }
+
+    @Test
+    @DisplayName("Should keep the funds held during the capture and give the hold back when the caller cancels")
+    void testCaptureHold_CancelRestoresHold() {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        holdIndex.add(hold);
+        when(holdCaptureWriter.capture(hold)).thenReturn(Mono.never());
+
+        // When
+        StepVerifier.create(holdService.captureHold(1L, 10L))
+                .then(() -> assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L))))
+                .thenCancel()
+                .verify();
+
+        // Then - claimed again by a second capture
+        assertSame(hold, holdIndex.get(10L));
+        assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L)));
+        assertSame(hold, holdIndex.claim(10L));
+    }
+
+    @Test
+    @DisplayName("Should release a hold and make its funds available again")
+    void testReleaseHold_Success() {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        holdIndex.add(hold);
+        when(holdRepository.settle(10L, Hold.RELEASED)).thenReturn(Mono.just(settled(hold, Hold.RELEASED)));
+
+        // When / Then
+        StepVerifier.create(holdService.releaseHold(1L, 10L))
+                .expectNextMatches(response -> Hold.RELEASED.equals(response.getStatus()))
+                .verifyComplete();
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(holdIndex.heldAmount(1L)));
+        verifyNoInteractions(holdCaptureWriter);
+    }
+
+    @Test
+    @DisplayName("Should report a settled hold as not active and an unknown hold as not found")
+    void testReleaseHold_NotActive() {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        when(holdRepository.findById(10L)).thenReturn(Mono.just(settled(hold, Hold.EXPIRED)));
+        when(holdRepository.findById(11L)).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(holdService.releaseHold(1L, 10L))
+                .expectErrorMatches(error -> error instanceof BusinessValidationException
+                        && error.getMessage().contains(Hold.EXPIRED))
+                .verify();
+        StepVerifier.create(holdService.captureHold(2L, 10L))
+                .expectError(HoldNotFoundException.class)
+                .verify();
+        StepVerifier.create(holdService.captureHold(1L, 11L))
+                .expectError(HoldNotFoundException.class)
+                .verify();
+
+        verify(holdRepository, never()).settle(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should expire a hold when its TTL passes")
+    void testExpiry() throws InterruptedException {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plus(Duration.ofMillis(100)));
+        when(holdRepository.findByStatus(Hold.ACTIVE)).thenReturn(Flux.just(hold));
+        when(holdRepository.settle(10L, Hold.EXPIRED)).thenReturn(Mono.just(settled(hold, Hold.EXPIRED)));
+
+        // When
+        holdService.loadActiveHolds();
+
+        // Then
+        assertSame(hold, holdIndex.get(10L));
+        verify(holdRepository, timeout(2000)).settle(10L, Hold.EXPIRED);
+        awaitRemoved(10L);
+        assertEquals(0, BigDecimal.ZERO.compareTo(holdIndex.heldAmount(1L)));
+    }
+
+    @Test
+    @DisplayName("Should retry an expiry whose update failed")
+    void testExpiry_Retried() throws InterruptedException {
+        // Given
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().minusSeconds(1));
+        when(holdRepository.findByStatus(Hold.ACTIVE)).thenReturn(Flux.just(hold));
+        when(holdRepository.settle(10L, Hold.EXPIRED))
+                .thenReturn(Mono.error(new IllegalStateException("connection lost")))
+                .thenReturn(Mono.just(settled(hold, Hold.EXPIRED)));
+
+        // When
+        holdService.loadActiveHolds();
+
+        // Then
+        verify(holdRepository, timeout(2000).times(2)).settle(10L, Hold.EXPIRED);
+        awaitRemoved(10L);
+    }
+
+    @Test
+    @DisplayName("Should let only one of a concurrent capture and release settle a hold")
+    void testCaptureReleaseRace() {
+        // Given - the capture is still writing its debit when the release arrives
+        Hold hold = hold(10L, "600.00", LocalDateTime.now().plusDays(7));
+        holdIndex.add(hold);
+        Sinks.One<Hold> captured = Sinks.one();
+        when(holdCaptureWriter.capture(hold)).thenReturn(captured.asMono());
+        when(holdRepository.findById(10L)).thenReturn(Mono.just(hold));
+
+        // When
+        StepVerifier.create(holdService.captureHold(1L, 10L))
+                .then(() -> StepVerifier.create(holdService.releaseHold(1L, 10L))
+                        .expectError(BusinessValidationException.class)
+                        .verify())
+                .then(() -> assertEquals(0, new BigDecimal("600.00").compareTo(holdIndex.heldAmount(1L))))
+                .then(() -> captured.tryEmitValue(settled(hold, Hold.CAPTURED)))
+                .expectNextMatches(response -> Hold.CAPTURED.equals(response.getStatus()))
+                .verifyComplete();
+
+        // Then
+        verify(holdRepository, never()).settle(anyLong(), anyString());
+        assertNull(holdIndex.get(10L));
+    }
+}
@@ -0,0 +1,210 @@
+package com.bank.account;
+
+import com.bank.account.application.service.LedgerReconciliationService;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.LedgerReconciliationRun;
+import com.bank.account.domain.model.LedgerRow;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.LedgerReconciliationRunRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.actuator.LedgerReconciliationEndpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LedgerReconciliationService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Ledger Reconciliation Service Unit Tests")
+class LedgerReconciliationServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private LedgerReconciliationRunRepository runRepository;
+
+    @TempDir
+    private Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LedgerReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        reconciliationService = new LedgerReconciliationService(accountRepository, movementRepository, runRepository,
+                directory, 2, 2, Duration.ofMinutes(5), 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should report a broken movement balance once and a current balance that does not match")
+    void testReconcile_Full_ReportsDrifts() throws IOException {
+        // Given
+        when(accountRepository.findAllIds()).thenReturn(Flux.just(1L, 2L, 3L));
+        stubRun(run(7L, LedgerReconciliationRun.FULL));
+        when(movementRepository.findLedgerRows(any())).thenAnswer(invocation -> {
+            Long[] ids = invocation.getArgument(0);
+            return ids[0] == 1L
+                    // Account 1 is consistent; account 2 has a wrong balance on movement 21 and on the account
+                    ? Flux.just(row(1L, "150", "100", 10L, "CREDIT", "50", "150"),
+                    row(2L, "70", "100", 20L, "DEBIT", "20", "80"),
+                    row(2L, "70", "100", 21L, "CREDIT", "10", "95"),
+                    row(2L, "70", "100", 22L, "DEBIT", "5", "90"))
+                    // Account 3 has no movements and its balance is off its opening balance
+                    : Flux.just(row(3L, "10", "0", null, null, null, null));
+        });
+
+        // When / Then
+        StepVerifier.create(reconciliationService.reconcile(false))
+                .assertNext(report -> {
+                    assertEquals(LedgerReconciliationRun.FULL, report.getMode());
+                    assertEquals(3L, report.getAccountsChecked());
+                    assertEquals(4L, report.getMovementsChecked());
+                    assertEquals(3L, report.getDriftCount());
+                    assertEquals(3, report.getDrifts().size());
+                })
+                .verifyComplete();
+
+        List<String> lines = Files.readAllLines(directory.resolve("reconciliation_7.csv"));
+        assertEquals("account_id,movement_id,type,expected,actual", lines.get(0));
+        assertEquals(List.of(
+                        "2,,CURRENT_BALANCE,90,70",
+                        "2,21,MOVEMENT_BALANCE,90,95",
+                        "3,,CURRENT_BALANCE,0,10"),
+                lines.subList(1, lines.size()).stream().sorted().toList());
+        assertEquals(3.0, meterRegistry.get("ledger.reconciliation.drifts").gauge().value());
+        assertEquals(3L, reconciliationService.getLastReport().getDriftCount());
+    }
+
+    @Test
+    @DisplayName("Should only check the accounts updated since the last finished run")
+    void testReconcile_Incremental() {
+        // Given
+        LedgerReconciliationRun last = run(6L, LedgerReconciliationRun.FULL);
+        when(runRepository.findLatestFinished()).thenReturn(Mono.just(last));
+        when(accountRepository.findIdsUpdatedSince(last.getStartedAt().minusMinutes(5))).thenReturn(Flux.just(2L));
+        stubRun(run(7L, LedgerReconciliationRun.INCREMENTAL));
+        when(movementRepository.findLedgerRows(new Long[]{2L}))
+                .thenReturn(Flux.just(row(2L, "80", "100", 20L, "DEBIT", "20", "80")));
+
+        // When / Then
+        StepVerifier.create(reconciliationService.reconcile(true))
+                .assertNext(report -> {
+                    assertEquals(LedgerReconciliationRun.INCREMENTAL, report.getMode());
+                    assertEquals(1L, report.getAccountsChecked());
+                    assertEquals(0L, report.getDriftCount());
+                })
+                .verifyComplete();
+
+        verify(accountRepository, never()).findAllIds();
+    }
+
+    @Test
+    @DisplayName("Should run a full reconciliation when no run finished yet")
+    void testReconcile_Incremental_FirstRunIsFull() {
+        // Given
+        when(runRepository.findLatestFinished()).thenReturn(Mono.empty());
+        when(accountRepository.findAllIds()).thenReturn(Flux.empty());
+        stubRun(run(1L, LedgerReconciliationRun.FULL));
+
+        // When / Then
+        StepVerifier.create(reconciliationService.reconcile(true))
+                .assertNext(report -> assertEquals(LedgerReconciliationRun.FULL, report.getMode()))
+                .verifyComplete();
+
+        verify(accountRepository, never()).findIdsUpdatedSince(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a run while another one is in progress")
+    void testReconcile_AlreadyRunning() {
+        // Given
+        Sinks.Many<Long> ids = Sinks.many().unicast().onBackpressureBuffer();
+        when(accountRepository.findAllIds()).thenReturn(ids.asFlux());
+        when(runRepository.start(LedgerReconciliationRun.FULL)).thenReturn(Mono.just(run(1L, LedgerReconciliationRun.FULL)));
+        reconciliationService.reconcile(false).subscribe();
+
+        // When / Then
+        StepVerifier.create(reconciliationService.reconcile(false))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        assertNull(reconciliationService.getLastReport());
+    }
+
+    private static LedgerReconciliationRun run(final Long runId, final String mode) {
+        return LedgerReconciliationRun.builder()
+                .runId(runId)
+                .mode(mode)
+                .startedAt(LocalDateTime.of(2026, 10, 15, 3, 0))
+                .build();
+    }
+
+    private void stubRun(final LedgerReconciliationRun run) {
+        when(runRepository.start(run.getMode())).thenReturn(Mono.just(run));
+        when(runRepository.finish(eq(run.getRunId()), anyLong(), anyLong(), anyLong(), anyString()))
+                .thenAnswer(invocation -> Mono.just(LedgerReconciliationRun.builder()
+                        .runId(run.getRunId())
+                        .mode(run.getMode())
+                        .startedAt(run.getStartedAt())
+                        .finishedAt(run.getStartedAt().plusMinutes(1))
+                        .accountsChecked(invocation.getArgument(1))
+                        .movementsChecked(invocation.getArgument(2))
+                        .driftCount(invocation.getArgument(3))
+                        .reportFile(invocation.getArgument(4))
+                        .build()));
+    }
+
+    private static LedgerRow row(final Long accountId, final String currentBalance, final String openingBalance,
+                                 final Long movementId, final String type, final String amount, final String balance) {
+        return LedgerRow.builder()
+                .accountId(accountId)
+                .currentBalance(new BigDecimal(currentBalance))
+                .openingBalance(new BigDecimal(openingBalance))
+                .movementId(movementId)
+                .movementType(type)
+                .amount(amount == null ? null : new BigDecimal(amount))
+                .balance(balance == null ? null : new BigDecimal(balance))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown reconciliation mode on the actuator endpoint")
+    void testEndpoint_UnknownMode() {
+        // Given
+        LedgerReconciliationEndpoint endpoint = new LedgerReconciliationEndpoint(reconciliationService);
+
+        // When / Then
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.run("fulll"));
+        verifyNoInteractions(accountRepository, movementRepository, runRepository);
+    }
+}
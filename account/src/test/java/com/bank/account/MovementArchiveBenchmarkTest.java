@@ -0,0 +1,70 @@
+package com.bank.account;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.util.Statistics;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs MovementArchiveLookupBenchmark with JMH and reports the lookup latency percentiles.
+ * The benchmark runs in the test JVM (no fork), so it works with the Surefire classpath; use the
+ * numbers to compare changes, not as absolute figures. Tagged benchmark: it only runs with -Pbenchmarks.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Movement Archive Benchmark")
+class MovementArchiveBenchmarkTest {
+
+    @Test
+    @DisplayName("Should read the movements of an account and report lookup latency percentiles")
+    void testLookupLatency() throws RunnerException, IOException {
+        // Given - a sanity check of what is being measured
+        MovementArchiveLookupBenchmark benchmark = new MovementArchiveLookupBenchmark();
+        benchmark.setUp();
+        try {
+            LocalDateTime start = MovementArchiveLookupBenchmark.MONTH.atDay(1).atStartOfDay();
+            assertEquals(MovementArchiveLookupBenchmark.MOVEMENTS_PER_ACCOUNT,
+                    benchmark.read(42L, start, start.plusMonths(1)).size());
+            assertFalse(benchmark.archiveOneMonth().isEmpty());
+        } finally {
+            benchmark.tearDown();
+        }
+        Options options = new OptionsBuilder()
+                .include(MovementArchiveLookupBenchmark.class.getName())
+                .forks(0)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(2))
+                .threads(1)
+                .build();
+
+        // When
+        Collection<RunResult> results = new Runner(options).run();
+
+        // Then
+        for (RunResult result : results) {
+            Statistics statistics = result.getPrimaryResult().getStatistics();
+            log.info("{}: p50 {} us, p99 {} us, p99.9 {} us",
+                    result.getParams().getBenchmark(),
+                    String.format("%.1f", statistics.getPercentile(50)),
+                    String.format("%.1f", statistics.getPercentile(99)),
+                    String.format("%.1f", statistics.getPercentile(99.9)));
+        }
+        assertEquals(3, results.size());
+    }
+}
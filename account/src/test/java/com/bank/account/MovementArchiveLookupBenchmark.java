@@ -0,0 +1,115 @@
+package com.bank.account;
+
+import com.bank.account.domain.model.Movement;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import com.bank.account.infrastructure.adapter.archive.MovementArchiveFileReader;
+import com.bank.account.infrastructure.adapter.archive.MovementArchiveFileWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH benchmark of archive lookups: one month of 10k accounts with 100 movements each (1M movements).
+ * Measures the latency of reading one day and one whole month of a random account, straight from
+ * the memory-mapped file and through the MovementArchive. Run by MovementArchiveBenchmarkTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovementArchiveLookupBenchmark {
+
+    static final int ACCOUNTS = 10_000;
+    static final int MOVEMENTS_PER_ACCOUNT = 100;
+    static final YearMonth MONTH = YearMonth.of(2024, 1);
+
+    private static final LocalDateTime START = MONTH.atDay(1).atStartOfDay();
+
+    private Path directory;
+    private MovementArchiveFileReader reader;
+    private MovementArchive archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("movement-archive-benchmark");
+        Path file = directory.resolve("movements_2024_01.mva");
+        long movementId = 0;
+        try (MovementArchiveFileWriter writer = new MovementArchiveFileWriter(file)) {
+            for (long accountId = 1; accountId <= ACCOUNTS; accountId++) {
+                for (int i = 0; i < MOVEMENTS_PER_ACCOUNT; i++) {
+                    writer.append(Movement.builder()
+                            .movementId(++movementId)
+                            .accountId(accountId)
+                            .movementDate(START.plusMinutes(i * 440L + accountId % 60))
+                            .movementType(i % 3 == 0 ? "DEBIT" : "CREDIT")
+                            .amount(BigDecimal.valueOf(1_000 + i, 2))
+                            .balance(BigDecimal.valueOf(100_000 + i * 10L, 2))
+                            .build());
+                }
+            }
+            writer.finish();
+        }
+        reader = new MovementArchiveFileReader(file);
+        archive = new MovementArchive(directory);
+        archive.setHorizon(MONTH.plusMonths(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        archive.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Movement> readerOneDay() throws IOException {
+        LocalDateTime from = START.plusDays(ThreadLocalRandom.current().nextInt(30));
+        return read(randomAccount(), from, from.plusDays(1).minusNanos(1));
+    }
+
+    @Benchmark
+    public List<Movement> readerOneMonth() throws IOException {
+        return read(randomAccount(), START, START.plusMonths(1).minusNanos(1));
+    }
+
+    @Benchmark
+    public List<Movement> archiveOneMonth() {
+        return archive.findByAccountIdAndDateRange(randomAccount(), START, START.plusMonths(1).minusNanos(1))
+                .collectList()
+                .block();
+    }
+
+    List<Movement> read(final long accountId, final LocalDateTime from, final LocalDateTime to) throws IOException {
+        List<Movement> movements = new ArrayList<>();
+        for (MovementArchiveFileReader.Block block : reader.blocks(accountId, from, to)) {
+            movements.addAll(reader.read(block, accountId, from, to));
+        }
+        return movements;
+    }
+
+    private static long randomAccount() {
+        return ThreadLocalRandom.current().nextLong(1, ACCOUNTS + 1);
+    }
+}
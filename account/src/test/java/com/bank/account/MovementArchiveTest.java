@@ -0,0 +1,120 @@
+package com.bank.account;
+
+import com.bank.account.domain.model.Movement;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for MovementArchive and its file format
+ */
+@DisplayName("Movement Archive Unit Tests")
+class MovementArchiveTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+    private static final LocalDateTime START = MONTH.atDay(1).atStartOfDay();
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Three accounts with one movement every ten minutes of the month, sorted by account and date.
+     */
+    private static Flux<Movement> month() {
+        int perAccount = 31 * 24 * 6;
+        return Flux.range(0, 3 * perAccount)
+                .map(i -> Movement.builder()
+                        .movementId(1_000_000L + i)
+                        .accountId(10L + i / perAccount)
+                        .movementDate(START.plusMinutes(10L * (i % perAccount)).plusNanos(123_000))
+                        .movementType(i % 3 == 0 ? "DEBIT" : "CREDIT")
+                        .amount(new BigDecimal("12.50").add(BigDecimal.valueOf(i % 100)))
+                        .balance(BigDecimal.valueOf(i, 2).negate())
+                        .createdAt(START.plusMinutes(10L * (i % perAccount)).plusSeconds(1))
+                        .build());
+    }
+
+    @Test
+    @DisplayName("Should read back exactly the movements of an account within a range, in order")
+    void testWriteAndRead_RoundTrip() throws IOException {
+        // Given
+        MovementArchive archive = new MovementArchive(directory);
+        LocalDateTime from = START.plusDays(10).plusHours(3);
+        LocalDateTime to = START.plusDays(12);
+        List<Movement> expected = month()
+                .filter(movement -> movement.getAccountId() == 11L
+                        && !movement.getMovementDate().isBefore(from) && !movement.getMovementDate().isAfter(to))
+                .collectList().block();
+        List<Movement> wholeMonth = month()
+                .filter(movement -> movement.getAccountId() == 11L)
+                .collectList().block();
+
+        // When
+        long rows = archive.write(MONTH, month()).block();
+        archive.setHorizon(MONTH.plusMonths(1));
+
+        // Then
+        assertEquals(3 * 31 * 24 * 6, rows);
+        assertTrue(archive.overlaps(from, to));
+        StepVerifier.create(archive.findByAccountIdAndDateRange(11L, from, to).collectList())
+                .expectNext(expected)
+                .verifyComplete();
+        // the account spans several blocks, shared with its neighbours
+        StepVerifier.create(archive.findByAccountIdAndDateRange(11L, START, START.plusMonths(1)).collectList())
+                .expectNext(wholeMonth)
+                .verifyComplete();
+        StepVerifier.create(archive.findByAccountIdAndDateRange(12L, START.minusDays(1), START.minusNanos(1)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should not read a month at or after the horizon, and find its file again when reopened")
+    void testHorizon_HidesUnarchivedMonths() throws IOException {
+        // Given
+        MovementArchive archive = new MovementArchive(directory);
+        archive.write(MONTH, month()).block();
+
+        // When / Then - the partition of the month may still be in the database
+        assertFalse(archive.overlaps(START, START.plusDays(1)));
+        StepVerifier.create(archive.findByAccountIdAndDateRange(10L, START, START.plusDays(1)))
+                .verifyComplete();
+
+        MovementArchive reopened = new MovementArchive(directory);
+        reopened.setHorizon(MONTH.plusMonths(1));
+        // Movements fall 123µs after each 10 minutes, so the one of minute 30 is past the range
+        StepVerifier.create(reopened.findByAccountIdAndDateRange(10L, START, START.plusMinutes(30)).count())
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject movements out of order and leave no file behind")
+    void testWrite_OutOfOrder() throws IOException {
+        // Given
+        MovementArchive archive = new MovementArchive(directory);
+
+        // When / Then
+        StepVerifier.create(archive.write(MONTH, month().sort((a, b) -> b.getMovementId().compareTo(a.getMovementId()))))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Running-balance repair after a movement is updated or deleted, against a real PostgreSQL database
+ */
+@Slf4j
+@DisplayName("Movement Balance Repair Tests")
+class MovementBalanceRepairTest extends AbstractPostgresTest {
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Account createAccount(final String accountNumber) {
+        return accountRepository.save(Account.builder()
+                .accountNumber(accountNumber)
+                .accountType("Ahorro")
+                .initialBalance(BigDecimal.ZERO)
+                .currentBalance(BigDecimal.ZERO)
+                .status(true)
+                .customerId(1L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    private Long createMovement(final Long accountId, final String type, final String amount) {
+        return movementService.createMovement(MovementRequestDTO.builder()
+                .accountId(accountId)
+                .movementType(type)
+                .amount(new BigDecimal(amount))
+                .build()).block().getMovementId();
+    }
+
+    private List<BigDecimal> balances(final Long accountId) {
+        return movementRepository.findByAccountId(accountId)
+                .sort(Comparator.comparing(Movement::getMovementId))
+                .map(Movement::getBalance)
+                .collectList()
+                .block();
+    }
+
+    private static List<BigDecimal> amounts(final String... values) {
+        return Arrays.stream(values).map(BigDecimal::new).toList();
+    }
+
+    @Test
+    @DisplayName("Should recompute the balance of the movement and of every later one after an update")
+    void testUpdateMovement_RepairsLaterBalances() {
+        // Given - 100, 80, 280
+        Account account = createAccount("950001");
+        Long first = createMovement(account.getAccountId(), "CREDIT", "100.00");
+        createMovement(account.getAccountId(), "DEBIT", "20.00");
+        createMovement(account.getAccountId(), "CREDIT", "200.00");
+
+        // When
+        movementService.updateMovement(first, MovementRequestDTO.builder()
+                .accountId(account.getAccountId())
+                .movementType("CREDIT")
+                .amount(new BigDecimal("150.00"))
+                .build()).block();
+
+        // Then
+        assertEquals(amounts("150.00", "130.00", "330.00"), balances(account.getAccountId()));
+        assertEquals(0, new BigDecimal("330.00").compareTo(
+                accountRepository.findById(account.getAccountId()).block().getCurrentBalance()));
+    }
+
+    @Test
+    @DisplayName("Should recompute the balance of every later movement after a delete")
+    void testDeleteMovement_RepairsLaterBalances() {
+        // Given - 100, 80, 280
+        Account account = createAccount("950002");
+        createMovement(account.getAccountId(), "CREDIT", "100.00");
+        Long debit = createMovement(account.getAccountId(), "DEBIT", "20.00");
+        createMovement(account.getAccountId(), "CREDIT", "200.00");
+
+        // When
+        movementService.deleteMovement(debit).block();
+
+        // Then
+        assertEquals(amounts("100.00", "300.00"), balances(account.getAccountId()));
+    }
+
+    @Test
+    @DisplayName("Should reject an update that would make an intermediate balance negative, and change nothing")
+    void testUpdateMovement_NegativeIntermediateBalance() {
+        // Given - 100, 20, 220: lowering the first credit to 50 keeps the final balance positive
+        Account account = createAccount("950003");
+        Long first = createMovement(account.getAccountId(), "CREDIT", "100.00");
+        createMovement(account.getAccountId(), "DEBIT", "80.00");
+        createMovement(account.getAccountId(), "CREDIT", "200.00");
+
+        // When / Then
+        StepVerifier.create(movementService.updateMovement(first, MovementRequestDTO.builder()
+                        .accountId(account.getAccountId())
+                        .movementType("CREDIT")
+                        .amount(new BigDecimal("50.00"))
+                        .build()))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        assertEquals(amounts("100.00", "20.00", "220.00"), balances(account.getAccountId()));
+        assertEquals(0, new BigDecimal("220.00").compareTo(
+                accountRepository.findById(account.getAccountId()).block().getCurrentBalance()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                movementRepository.findById(first).block().getAmount()));
+    }
+
+    @Test
+    @DisplayName("Should repair 100k later movements in one statement")
+    void testUpdateMovement_ManyLaterMovements() {
+        // Given
+        Account account = createAccount("950004");
+        Long first = createMovement(account.getAccountId(), "CREDIT", "1000.00");
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT NOW(), 'CREDIT', 1, 1000 + i, :accountId FROM generate_series(1, 100000) i")
+                .bind("accountId", account.getAccountId())
+                .then().block();
+        databaseClient.sql("UPDATE accounts SET current_balance = 101000 WHERE account_id = :accountId")
+                .bind("accountId", account.getAccountId())
+                .then().block();
+
+        // When
+        long start = System.nanoTime();
+        movementService.updateMovement(first, MovementRequestDTO.builder()
+                .accountId(account.getAccountId())
+                .movementType("CREDIT")
+                .amount(new BigDecimal("500.00"))
+                .build()).block(Duration.ofMinutes(1));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        log.info("Repaired 100001 running balances in {} ms", elapsed.toMillis());
+        long broken = databaseClient.sql("SELECT COUNT(*) AS broken FROM (" +
+                        "SELECT balance, SUM(amount) OVER (ORDER BY movement_id) AS expected " +
+                        "FROM movements WHERE account_id = :accountId) r WHERE balance <> expected")
+                .bind("accountId", account.getAccountId())
+                .map(row -> row.get("broken", Long.class))
+                .one()
+                .block();
+        assertEquals(0, broken);
+        assertEquals(0, new BigDecimal("100500.00").compareTo(
+                accountRepository.findById(account.getAccountId()).block().getCurrentBalance()));
+    }
+}
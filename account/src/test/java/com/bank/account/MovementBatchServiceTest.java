@@ -0,0 +1,225 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.HoldIndex;
+import com.bank.account.application.service.MovementBatchService;
+import com.bank.account.application.service.MovementBatchWriter;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MovementBatchService and MovementBatchWriter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movement Batch Service Unit Tests")
+class MovementBatchServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final MovementMapper movementMapper = Mappers.getMapper(MovementMapper.class);
+    private final AtomicLong movementIds = new AtomicLong();
+
+    private Account account1;
+    private Account account2;
+
+    @BeforeEach
+    void setUp() {
+        account1 = Account.builder()
+                .accountId(1L)
+                .accountNumber("478758")
+                .accountType("Ahorro")
+                .currentBalance(new BigDecimal("100"))
+                .build();
+        account2 = Account.builder()
+                .accountId(2L)
+                .accountNumber("225487")
+                .currentBalance(new BigDecimal("0"))
+                .build();
+    }
+
+    private MovementBatchService batchService(final int chunkSize) {
+        return batchService(chunkSize, new DailyDebitLimiter(null, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, Duration.ofMinutes(30), 1000, false, new SimpleMeterRegistry()));
+    }
+
+    private MovementBatchService batchService(final int chunkSize, final DailyDebitLimiter debitLimiter) {
+        AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        MovementBatchWriter writer = new MovementBatchWriter(movementRepository, accountRepository, movementMapper,
+                accountCache, new HoldIndex(), debitLimiter);
+        return new MovementBatchService(writer, VALIDATOR, chunkSize, 100);
+    }
+
+    private MovementRequestDTO request(final Long accountId, final String type, final String amount) {
+        return MovementRequestDTO.builder()
+                .accountId(accountId)
+                .movementType(type)
+                .amount(amount == null ? null : new BigDecimal(amount))
+                .build();
+    }
+
+    private void stubInsertAll() {
+        when(movementRepository.insertAll(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime[] dates = invocation.getArgument(0);
+            String[] types = invocation.getArgument(1);
+            BigDecimal[] amounts = invocation.getArgument(2);
+            BigDecimal[] balances = invocation.getArgument(3);
+            Long[] accountIds = invocation.getArgument(4);
+            return Flux.fromStream(IntStream.range(0, dates.length).mapToObj(i -> Movement.builder()
+                    .movementId(movementIds.incrementAndGet())
+                    .movementDate(dates[i])
+                    .movementType(types[i])
+                    .amount(amounts[i])
+                    .balance(balances[i])
+                    .accountId(accountIds[i])
+                    .build()));
+        });
+        when(accountRepository.updateBalances(any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should apply items in order per account and report a result per item")
+    void testCreateMovements_MixedResults() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(account1, account2));
+        stubInsertAll();
+
+        List<MovementRequestDTO> requests = List.of(
+                request(1L, "DEBIT", "60"),
+                request(2L, "CREDIT", "10"),
+                request(1L, "DEBIT", "60"),
+                request(1L, "CREDIT", null),
+                request(1L, "DEBIT", "40"));
+
+        // When / Then
+        StepVerifier.create(batchService(500).createMovements(requests))
+                .expectNextMatches(response -> response.getTotal() == 5
+                        && response.getSucceeded() == 3
+                        && response.getFailed() == 2
+                        && response.getResults().get(0).getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && response.getResults().get(0).getMovement().getBalance().compareTo(new BigDecimal("40")) == 0
+                        && response.getResults().get(0).getMovement().getAccountNumber().equals("478758")
+                        && response.getResults().get(1).getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && response.getResults().get(2).getStatus().equals(MovementBatchItemResultDTO.INSUFFICIENT_BALANCE)
+                        && response.getResults().get(3).getStatus().equals(MovementBatchItemResultDTO.VALIDATION_ERROR)
+                        && response.getResults().get(4).getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && response.getResults().get(4).getMovement().getBalance().signum() == 0
+                        && response.getResults().get(4).getIndex() == 4)
+                .verifyComplete();
+
+        // One lock, one multi-row insert and one balance update for the whole chunk
+        verify(accountRepository, times(1)).findAllByIdForUpdate(any());
+        verify(movementRepository, times(1)).insertAll(any(), any(), any(), any(), any());
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<BigDecimal[]> balances = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(accountRepository, times(1)).updateBalances(ids.capture(), balances.capture());
+        List<Long> updatedIds = Arrays.asList(ids.getValue());
+        assertEquals(0, balances.getValue()[updatedIds.indexOf(1L)].signum());
+        assertEquals(0, balances.getValue()[updatedIds.indexOf(2L)].compareTo(BigDecimal.TEN));
+        verify(movementRepository, never()).save(any(Movement.class));
+    }
+
+    @Test
+    @DisplayName("Should skip debits over the daily limit of the account")
+    void testCreateMovements_DailyLimitExceeded() {
+        // Given - savings accounts may debit 50 a day
+        DailyDebitLimiter debitLimiter = new DailyDebitLimiter(movementRepository, new BigDecimal("50.00"),
+                BigDecimal.ZERO, BigDecimal.ZERO, Duration.ofMinutes(30), 1000, false, new SimpleMeterRegistry());
+        when(movementRepository.sumDebitsByBucket(any(), any(), anyLong())).thenReturn(Flux.empty());
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(account1));
+        stubInsertAll();
+
+        List<MovementRequestDTO> requests = List.of(
+                request(1L, "DEBIT", "30"),
+                request(1L, "DEBIT", "30"),
+                request(1L, "DEBIT", "20"));
+
+        // When / Then
+        StepVerifier.create(batchService(500, debitLimiter).createMovements(requests))
+                .expectNextMatches(response -> response.getSucceeded() == 2
+                        && response.getResults().get(1).getStatus().equals(MovementBatchItemResultDTO.DAILY_LIMIT_EXCEEDED)
+                        && response.getResults().get(2).getMovement().getBalance().compareTo(new BigDecimal("50")) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should write one transaction per chunk")
+    void testCreateMovements_Chunked() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(account1));
+        stubInsertAll();
+        List<MovementRequestDTO> requests = IntStream.range(0, 5)
+                .mapToObj(i -> request(1L, "CREDIT", "1"))
+                .toList();
+
+        // When / Then
+        StepVerifier.create(batchService(2).createMovements(requests))
+                .expectNextMatches(response -> response.getSucceeded() == 5)
+                .verifyComplete();
+
+        verify(movementRepository, times(3)).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, times(3)).updateBalances(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report unknown accounts without writing anything")
+    void testCreateMovements_AccountNotFound() {
+        // Given
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.empty());
+
+        // When / Then
+        StepVerifier.create(batchService(500).createMovements(List.of(request(99L, "CREDIT", "10"))))
+                .expectNextMatches(response -> response.getFailed() == 1
+                        && response.getResults().get(0).getStatus().equals(MovementBatchItemResultDTO.ACCOUNT_NOT_FOUND))
+                .verifyComplete();
+
+        verify(movementRepository, never()).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, never()).updateBalances(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void testCreateMovements_Empty() {
+        StepVerifier.create(batchService(500).createMovements(List.of()))
+                .expectError(BusinessValidationException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,76 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Concurrency tests for the atomic balance update path, against a real PostgreSQL database
+ */
+@DisplayName("Movement Concurrency Tests")
+class MovementConcurrencyTest extends AbstractPostgresTest {
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+
+    @Test
+    @DisplayName("Should apply exactly the affordable debits when hundreds run in parallel on one account")
+    void testParallelDebitsOnSingleAccount() {
+        // Given - 2000 available, 500 debits of 10 requested
+        Account account = accountRepository.save(Account.builder()
+                .accountNumber("900001")
+                .accountType("Ahorro")
+                .initialBalance(new BigDecimal("2000.00"))
+                .currentBalance(new BigDecimal("2000.00"))
+                .status(true)
+                .customerId(1L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build()).block();
+
+        MovementRequestDTO debit = MovementRequestDTO.builder()
+                .accountId(account.getAccountId())
+                .movementType("DEBIT")
+                .amount(new BigDecimal("10.00"))
+                .build();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        Flux.range(0, 500)
+                .flatMap(i -> movementService.createMovement(debit)
+                        .doOnNext(response -> succeeded.incrementAndGet())
+                        .onErrorResume(InsufficientBalanceException.class, error -> {
+                            rejected.incrementAndGet();
+                            return Mono.empty();
+                        }), 64)
+                .blockLast(Duration.ofMinutes(1));
+
+        // Then
+        assertEquals(200, succeeded.get());
+        assertEquals(300, rejected.get());
+        assertEquals(0, accountRepository.findById(account.getAccountId()).block()
+                .getCurrentBalance().signum());
+        assertEquals(200L, movementRepository.findByAccountId(account.getAccountId()).count().block());
+    }
+}
@@ -0,0 +1,136 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementCsvWriter;
+import com.bank.account.domain.model.Movement;
+import io.r2dbc.spi.Readable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MovementCsvWriter
+ */
+@DisplayName("Movement CSV Writer Unit Tests")
+class MovementCsvWriterTest {
+
+    private static final String HEADER =
+            "movement_id,account_id,account_number,movement_date,movement_type,amount,balance\n";
+
+    private Readable row(final long movementId, final String accountNumber, final String amount) {
+        Readable row = mock(Readable.class);
+        when(row.get("movement_id", Long.class)).thenReturn(movementId);
+        when(row.get("account_id", Long.class)).thenReturn(7L);
+        when(row.get("account_number", String.class)).thenReturn(accountNumber);
+        when(row.get("movement_date", LocalDateTime.class)).thenReturn(LocalDateTime.of(2024, 2, 10, 8, 30, 15));
+        when(row.get("movement_type", String.class)).thenReturn("DEBIT");
+        when(row.get("amount", BigDecimal.class)).thenReturn(new BigDecimal(amount));
+        when(row.get("balance", BigDecimal.class)).thenReturn(new BigDecimal("1E+3"));
+        return row;
+    }
+
+    private static byte[] drain(final DataBuffer buffer, final ByteArrayOutputStream out) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        out.writeBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Should write a header and one plain line per row, quoting only fields that need it")
+    void testWrite_EncodesRows() {
+        // Given
+        MovementCsvWriter writer = new MovementCsvWriter(DefaultDataBufferFactory.sharedInstance, 65536, false);
+
+        // When
+        assertFalse(writer.write(row(1L, "478758", "575.50")));
+        assertFalse(writer.write(row(2L, "47,\"87\"", "10")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        drain(writer.finish(), out);
+
+        // Then
+        assertEquals(HEADER
+                        + "1,7,478758,2024-02-10T08:30:15,DEBIT,575.50,1000\n"
+                        + "2,7,\"47,\"\"87\"\"\",2024-02-10T08:30:15,DEBIT,10,1000\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertEquals(2, writer.getRowsWritten());
+    }
+
+    @Test
+    @DisplayName("Should write an archived movement with the number of its account")
+    void testWriteArchived_EncodesMovement() {
+        // Given
+        MovementCsvWriter writer = new MovementCsvWriter(DefaultDataBufferFactory.sharedInstance, 65536, false);
+        Movement movement = Movement.builder()
+                .movementId(3L)
+                .accountId(7L)
+                .movementDate(LocalDateTime.of(2022, 5, 1, 0, 0))
+                .movementType("CREDIT")
+                .amount(new BigDecimal("600"))
+                .balance(new BigDecimal("700.00"))
+                .build();
+
+        // When
+        assertFalse(writer.writeArchived(movement, "478758"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        drain(writer.finish(), out);
+
+        // Then
+        assertEquals(HEADER + "3,7,478758,2022-05-01T00:00,CREDIT,600,700.00\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should hand out a chunk once it reaches the chunk size")
+    void testWrite_HandsOutFullChunks() {
+        // Given
+        MovementCsvWriter writer = new MovementCsvWriter(DefaultDataBufferFactory.sharedInstance, 128, false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int chunks = 0;
+
+        // When
+        for (long id = 1; id <= 10; id++) {
+            if (writer.write(row(id, "478758", "1"))) {
+                byte[] chunk = drain(writer.takeChunk(), out);
+                assertTrue(chunk.length >= 128);
+                chunks++;
+            }
+        }
+        drain(writer.finish(), out);
+
+        // Then
+        assertTrue(chunks >= 3);
+        assertEquals(11, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    @DisplayName("Should gzip the output when asked to")
+    void testWrite_Gzip() throws IOException {
+        // Given
+        MovementCsvWriter writer = new MovementCsvWriter(DefaultDataBufferFactory.sharedInstance, 65536, true);
+
+        // When
+        writer.write(row(1L, "478758", "575.50"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        drain(writer.finish(), out);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(HEADER + "1,7,478758,2024-02-10T08:30:15,DEBIT,575.50,1000\n",
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
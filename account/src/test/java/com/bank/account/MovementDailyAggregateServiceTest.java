@@ -0,0 +1,93 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementDailyAggregateService;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MovementDailyAggregateService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movement Daily Aggregate Service Unit Tests")
+class MovementDailyAggregateServiceTest {
+
+    @Mock
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Mock
+    private AccountRepository accountRepository;
+
+    private MovementDailyAggregateService aggregateService;
+
+    @BeforeEach
+    void setUp() {
+        aggregateService = new MovementDailyAggregateService(aggregateRepository, accountRepository, 3, 2);
+    }
+
+    @Test
+    @DisplayName("Should rebuild consecutive chunks of account IDs and add up the rows written")
+    void testRebuildAll_Chunks() {
+        // Given
+        when(accountRepository.findAllIds()).thenReturn(Flux.just(1L, 2L, 5L, 8L, 9L, 12L, 20L));
+        when(aggregateRepository.rebuild(anyLong(), anyLong())).thenReturn(Mono.just(10L));
+
+        // When / Then
+        StepVerifier.create(aggregateService.rebuildAll())
+                .expectNext(30L)
+                .verifyComplete();
+
+        verify(aggregateRepository).rebuild(1L, 5L);
+        verify(aggregateRepository).rebuild(8L, 12L);
+        verify(aggregateRepository).rebuild(20L, 20L);
+    }
+
+    @Test
+    @DisplayName("Should rebuild at most the configured number of chunks at a time")
+    void testRebuildAll_BoundedConcurrency() {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(accountRepository.findAllIds()).thenReturn(Flux.range(1, 30).map(Integer::longValue));
+        when(aggregateRepository.rebuild(anyLong(), anyLong())).thenAnswer(invocation -> Mono.delay(Duration.ofMillis(20))
+                .doOnSubscribe(subscription -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                // Before the value is emitted: doFinally would run after flatMap already started the next chunk
+                .doOnTerminate(running::decrementAndGet)
+                .thenReturn(1L));
+
+        // When / Then
+        StepVerifier.create(aggregateService.rebuildAll())
+                .expectNext(10L)
+                .verifyComplete();
+
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no accounts")
+    void testRebuildAll_NoAccounts() {
+        // Given
+        when(accountRepository.findAllIds()).thenReturn(Flux.empty());
+
+        // When / Then
+        StepVerifier.create(aggregateService.rebuildAll())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verifyNoInteractions(aggregateRepository);
+    }
+}
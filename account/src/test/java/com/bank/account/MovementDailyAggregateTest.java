@@ -0,0 +1,157 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementDailyAggregateService;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.infrastructure.adapter.web.dto.AccountSummaryDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Daily movement aggregates against a real PostgreSQL database
+ */
+@Slf4j
+@DisplayName("Movement Daily Aggregate Tests")
+class MovementDailyAggregateTest extends AbstractPostgresTest {
+
+    @Autowired
+    private MovementDailyAggregateService aggregateService;
+    @Autowired
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private List<String> fullScan(final Long accountId) {
+        return databaseClient.sql("SELECT d.day, d.movement_count, d.total_credit, d.total_debit, " +
+                        "a.initial_balance + SUM(d.total_credit - d.total_debit) OVER (ORDER BY d.day) AS closing_balance " +
+                        "FROM (SELECT movement_date::DATE AS day, COUNT(*) AS movement_count, " +
+                        "COALESCE(SUM(amount) FILTER (WHERE movement_type = 'CREDIT'), 0) AS total_credit, " +
+                        "COALESCE(SUM(amount) FILTER (WHERE movement_type = 'DEBIT'), 0) AS total_debit " +
+                        "FROM movements WHERE account_id = :accountId GROUP BY movement_date::DATE) d " +
+                        "CROSS JOIN accounts a WHERE a.account_id = :accountId ORDER BY d.day")
+                .bind("accountId", accountId)
+                .map(row -> row.get("day", LocalDate.class) + " " + row.get("movement_count", Long.class) + " "
+                        + row.get("total_credit", BigDecimal.class).stripTrailingZeros().toPlainString() + " "
+                        + row.get("total_debit", BigDecimal.class).stripTrailingZeros().toPlainString() + " "
+                        + row.get("closing_balance", BigDecimal.class).stripTrailingZeros().toPlainString())
+                .all().collectList().block();
+    }
+
+    private List<String> aggregates(final Long accountId) {
+        return aggregateRepository.findByAccountIdOrderByDay(accountId)
+                .filter(day -> day.getMovementCount() > 0)
+                .map(day -> day.getDay() + " " + day.getMovementCount() + " "
+                        + day.getTotalCredit().stripTrailingZeros().toPlainString() + " "
+                        + day.getTotalDebit().stripTrailingZeros().toPlainString() + " "
+                        + day.getClosingBalance().stripTrailingZeros().toPlainString())
+                .collectList().block();
+    }
+
+    private List<String> versions(final Long accountId) {
+        return databaseClient.sql("SELECT day, xmin::TEXT AS version FROM movement_daily_aggregates " +
+                        "WHERE account_id = :accountId ORDER BY day")
+                .bind("accountId", accountId)
+                .map(row -> row.get("day", LocalDate.class) + " " + row.get("version", String.class))
+                .all().collectList().block();
+    }
+
+    @Test
+    @DisplayName("Should follow inserts, updates and deletes, and match a rebuild from scratch")
+    void testDailyAggregates_MatchFullScan() {
+        // Given - a multi-row insert of ninety days, four movements a day, out of order
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('970001', 'Ahorro', 1000, 1000, 97), ('970002', 'Corriente', 50, 50, 97)")
+                .then().block();
+        Long accountId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '970001'")
+                .map(row -> row.get("account_id", Long.class)).one().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-03-31' - i * INTERVAL '6 hours', " +
+                        "CASE WHEN i % 4 = 0 THEN 'DEBIT' ELSE 'CREDIT' END, 5 + i % 7, 0, :accountId " +
+                        "FROM generate_series(0, 359) i")
+                .bind("accountId", accountId)
+                .then().block();
+        assertEquals(fullScan(accountId), aggregates(accountId));
+
+        // When - single movements are created, changed and removed
+        movementService.createMovement(MovementRequestDTO.builder()
+                .accountId(accountId).movementType("DEBIT").amount(new BigDecimal("30")).build()).block();
+        List<Long> movementIds = databaseClient.sql("SELECT movement_id FROM movements WHERE account_id = :accountId " +
+                        "ORDER BY movement_date LIMIT 2")
+                .bind("accountId", accountId)
+                .map(row -> row.get("movement_id", Long.class)).all().collectList().block();
+        movementService.updateMovement(movementIds.get(0), MovementRequestDTO.builder()
+                .accountId(accountId).movementType("CREDIT").amount(new BigDecimal("250")).build()).block();
+        movementService.deleteMovement(movementIds.get(1)).block();
+
+        // Then
+        List<String> expected = fullScan(accountId);
+        assertEquals(expected, aggregates(accountId));
+
+        // When - everything is recomputed in small parallel chunks
+        databaseClient.sql("UPDATE movement_daily_aggregates SET closing_balance = 0").then().block();
+        long rows = aggregateService.rebuildAll().block();
+
+        // Then
+        assertTrue(rows >= expected.size(), "rows " + rows);
+        assertEquals(expected, aggregates(accountId));
+
+        // Then - the summary of February only reads February's aggregates
+        List<AccountSummaryDTO> summaries = aggregateRepository.findAccountSummaries(97L,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)).collectList().block();
+        assertEquals(2, summaries.size());
+        AccountSummaryDTO february = summaries.get(0);
+        assertEquals(116L, february.getMovementCount());
+        assertEquals(0, february.getOpeningBalance().add(february.getTotalCredit()).subtract(february.getTotalDebit())
+                .compareTo(february.getClosingBalance()));
+        AccountSummaryDTO idle = summaries.get(1);
+        assertEquals(0L, idle.getMovementCount());
+        assertEquals(0, new BigDecimal("50").compareTo(idle.getClosingBalance()));
+    }
+
+    @Test
+    @DisplayName("Should not rewrite aggregates on balance-only updates and should drop days left empty")
+    void testDailyAggregates_BalanceOnlyUpdateAndEmptiedDay() {
+        // Given - three days of two movements each
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('970003', 'Ahorro', 100, 100, 98)")
+                .then().block();
+        Long accountId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '970003'")
+                .map(row -> row.get("account_id", Long.class)).one().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-03-01' + i * INTERVAL '12 hours', 'CREDIT', 10, 0, :accountId " +
+                        "FROM generate_series(0, 5) i")
+                .bind("accountId", accountId)
+                .then().block();
+        List<String> versions = versions(accountId);
+
+        // When - running balances are rewritten, as a balance repair does
+        databaseClient.sql("UPDATE movements SET balance = balance + 1 WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .then().block();
+
+        // Then - no aggregate row was written
+        assertEquals(versions, versions(accountId));
+
+        // When - every movement of the middle day is deleted
+        databaseClient.sql("DELETE FROM movements WHERE account_id = :accountId AND movement_date::DATE = DATE '2024-03-02'")
+                .bind("accountId", accountId)
+                .then().block();
+
+        // Then
+        assertEquals(fullScan(accountId), aggregates(accountId));
+        assertEquals(2, versions(accountId).size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementExportService;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.application.service.PageCursor;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows per second of exporting 1M movements as CSV, compared with serializing the JSON listing,
+ * against a real PostgreSQL database.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Movement Export Benchmark")
+class MovementExportBenchmarkTest extends AbstractPostgresTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int MOVEMENTS_PER_ACCOUNT = 1_000;
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private MovementArchiveRepository movementArchive;
+
+    @Test
+    @DisplayName("Should report rows per second of the CSV export and of the JSON listing, and CSV heap growth")
+    void testExportOneMillionMovements() {
+        // Given
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "SELECT '97' || LPAD(i::text, 6, '0'), 'Ahorro', 0, 1000, 1 FROM generate_series(1, " + ACCOUNTS + ") i")
+                .then().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT NOW(), 'CREDIT', 1, i, a.account_id FROM accounts a " +
+                        "CROSS JOIN generate_series(1, " + MOVEMENTS_PER_ACCOUNT + ") i " +
+                        "WHERE a.account_number LIKE '97%'")
+                .then().block();
+        long total = databaseClient.sql("SELECT COUNT(*) AS total FROM movements")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block();
+        MovementExportService exportService = new MovementExportService(databaseClient, movementArchive, 65536, 2000);
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+
+        // When - the JSON listing, one page serialized at a time
+        long start = System.nanoTime();
+        long jsonBytes = movementService.getMovementsPage(null, PageCursor.MAX_LIMIT)
+                .expand(page -> page.getNextCursor() == null ? Mono.empty()
+                        : movementService.getMovementsPage(page.getNextCursor(), PageCursor.MAX_LIMIT))
+                .map(page -> (long) jsonMapper.writeValueAsBytes(page).length)
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(30));
+        Duration json = Duration.ofNanos(System.nanoTime() - start);
+
+        // When - the CSV export
+        System.gc();
+        long heapBefore = usedHeap();
+        long[] peakHeap = {heapBefore};
+        start = System.nanoTime();
+        long csvLines = exportService.exportCsv(null, null, null, false, DefaultDataBufferFactory.sharedInstance)
+                .map(buffer -> {
+                    long lines = 0;
+                    for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+                        if (buffer.getByte(i) == '\n') {
+                            lines++;
+                        }
+                    }
+                    DataBufferUtils.release(buffer);
+                    peakHeap[0] = Math.max(peakHeap[0], usedHeap());
+                    return lines;
+                })
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(30));
+        Duration csv = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        log.info("JSON listing: {} movements, {} bytes, {} rows/s", total, jsonBytes, rowsPerSecond(total, json));
+        log.info("CSV export: {} movements, {} rows/s ({}x), heap growth {} MB",
+                total, rowsPerSecond(total, csv),
+                String.format("%.1f", (double) json.toNanos() / Math.max(csv.toNanos(), 1)),
+                (peakHeap[0] - heapBefore) / (1024 * 1024));
+        assertEquals(total + 1, csvLines);
+    }
+
+    private static long rowsPerSecond(final long rows, final Duration elapsed) {
+        return rows * 1_000_000_000L / Math.max(elapsed.toNanos(), 1);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
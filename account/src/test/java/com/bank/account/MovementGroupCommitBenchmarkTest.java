@@ -0,0 +1,99 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementBatchWriter;
+import com.bank.account.application.service.MovementGroupCommitter;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput comparison of one transaction per movement against group commit,
+ * against a real PostgreSQL database. Reports movements per second for both paths.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Movement Group Commit Benchmark")
+class MovementGroupCommitBenchmarkTest extends AbstractPostgresTest {
+
+    private static final int ACCOUNTS = 50;
+    private static final int MOVEMENTS = 5000;
+    private static final int CONCURRENCY = 256;
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private MovementBatchWriter movementBatchWriter;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("Should report the throughput of both write paths under the same load")
+    void testGroupCommitThroughput() {
+        // Given
+        List<Account> singleAccounts = createAccounts("91");
+        List<Account> groupAccounts = createAccounts("92");
+        MovementGroupCommitter groupCommitter = new MovementGroupCommitter(movementBatchWriter, true,
+                256, Duration.ofMillis(2), MOVEMENTS, new SimpleMeterRegistry());
+
+        // When
+        double singleTps = run(singleAccounts, movementService::createMovement);
+        double groupTps = run(groupAccounts, groupCommitter::submit);
+        groupCommitter.shutdown();
+
+        // Then
+        log.info("Single transaction per movement: {} movements/s", String.format("%.0f", singleTps));
+        log.info("Group commit: {} movements/s ({}x)", String.format("%.0f", groupTps),
+                String.format("%.1f", groupTps / singleTps));
+        for (Account account : groupAccounts) {
+            assertEquals(0, accountRepository.findById(account.getAccountId()).block()
+                    .getCurrentBalance().compareTo(new BigDecimal(MOVEMENTS / ACCOUNTS)));
+        }
+    }
+
+    private List<Account> createAccounts(final String prefix) {
+        return Flux.range(0, ACCOUNTS)
+                .concatMap(i -> accountRepository.save(Account.builder()
+                        .accountNumber(prefix + String.format("%04d", i))
+                        .accountType("Ahorro")
+                        .initialBalance(BigDecimal.ZERO)
+                        .currentBalance(BigDecimal.ZERO)
+                        .status(true)
+                        .customerId(1L)
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build()))
+                .collectList()
+                .block();
+    }
+
+    private double run(final List<Account> accounts,
+                       final Function<MovementRequestDTO, Mono<MovementResponseDTO>> createMovement) {
+        long start = System.nanoTime();
+        Flux.range(0, MOVEMENTS)
+                .flatMap(i -> createMovement.apply(MovementRequestDTO.builder()
+                        .accountId(accounts.get(i % ACCOUNTS).getAccountId())
+                        .movementType("CREDIT")
+                        .amount(BigDecimal.ONE)
+                        .build()), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(5));
+        return MOVEMENTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
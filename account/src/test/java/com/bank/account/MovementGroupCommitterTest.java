@@ -0,0 +1,156 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementBatchWriter;
+import com.bank.account.application.service.MovementGroupCommitter;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MovementGroupCommitter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movement Group Committer Unit Tests")
+class MovementGroupCommitterTest {
+
+    @Mock
+    private MovementBatchWriter movementBatchWriter;
+
+    private MovementGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+    }
+
+    private MovementGroupCommitter committer(final int maxSize, final Duration window) {
+        committer = new MovementGroupCommitter(movementBatchWriter, true, maxSize, window, 10000,
+                new SimpleMeterRegistry());
+        return committer;
+    }
+
+    private MovementRequestDTO request(final long accountId, final String type, final String amount) {
+        return MovementRequestDTO.builder()
+                .accountId(accountId)
+                .movementType(type)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private MovementBatchItemResultDTO created(final long movementId) {
+        return MovementBatchItemResultDTO.builder()
+                .status(MovementBatchItemResultDTO.CREATED)
+                .movement(MovementResponseDTO.builder().movementId(movementId).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should commit concurrent movements of many accounts as one group")
+    void testSubmit_GroupsConcurrentMovements() {
+        // Given
+        AtomicInteger movementIds = new AtomicInteger();
+        when(movementBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<MovementRequestDTO> requests = invocation.getArgument(0);
+            return Mono.just(requests.stream().map(request -> created(movementIds.incrementAndGet())).toList());
+        });
+        MovementGroupCommitter groupCommitter = committer(256, Duration.ofMillis(200));
+
+        // When
+        List<MovementResponseDTO> responses = Flux.range(0, 50)
+                .flatMap(i -> groupCommitter.submit(request(i % 5, "CREDIT", "10")), 50)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(50, responses.size());
+        verify(movementBatchWriter, times(1)).writeChunk(anyList());
+    }
+
+    @Test
+    @DisplayName("Should cut a group as soon as it is full")
+    void testSubmit_SplitsFullGroups() {
+        // Given
+        when(movementBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<MovementRequestDTO> requests = invocation.getArgument(0);
+            return Mono.just(requests.stream().map(request -> created(1L)).toList());
+        });
+        MovementGroupCommitter groupCommitter = committer(10, Duration.ofSeconds(10));
+
+        // When - a window far longer than the test, so only the size can close the groups
+        Flux.range(0, 30)
+                .flatMap(i -> groupCommitter.submit(request(1L, "CREDIT", "1")), 30)
+                .blockLast(Duration.ofSeconds(5));
+
+        // Then
+        verify(movementBatchWriter, times(3)).writeChunk(anyList());
+    }
+
+    @Test
+    @DisplayName("Should complete each caller with its own result")
+    void testSubmit_PerCallerResults() {
+        // Given
+        when(movementBatchWriter.writeChunk(anyList())).thenAnswer(invocation -> {
+            List<MovementRequestDTO> requests = invocation.getArgument(0);
+            return Mono.just(requests.stream()
+                    .map(request -> request.getMovementType().equals("DEBIT")
+                            ? MovementBatchItemResultDTO.builder()
+                                    .status(MovementBatchItemResultDTO.INSUFFICIENT_BALANCE)
+                                    .build()
+                            : created(1L))
+                    .toList());
+        });
+        MovementGroupCommitter groupCommitter = committer(256, Duration.ofMillis(50));
+
+        // When
+        Mono<MovementResponseDTO> credit = groupCommitter.submit(request(1L, "CREDIT", "10"));
+        Mono<MovementResponseDTO> debit = groupCommitter.submit(request(1L, "DEBIT", "99"));
+
+        // Then
+        StepVerifier.create(credit)
+                .expectNextMatches(response -> response.getMovementId() == 1L)
+                .verifyComplete();
+        StepVerifier.create(debit)
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a group whose transaction fails, and keep running")
+    void testSubmit_GroupFailure() {
+        // Given
+        when(movementBatchWriter.writeChunk(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("connection lost")))
+                .thenAnswer(invocation -> Mono.just(List.of(created(2L))));
+        MovementGroupCommitter groupCommitter = committer(256, Duration.ofMillis(10));
+
+        // When / Then
+        StepVerifier.create(groupCommitter.submit(request(1L, "CREDIT", "10")))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(groupCommitter.submit(request(1L, "CREDIT", "10")))
+                .expectNextMatches(response -> response.getMovementId() == 2L)
+                .verifyComplete();
+    }
+}
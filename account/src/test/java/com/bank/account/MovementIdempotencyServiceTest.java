@@ -0,0 +1,186 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementIdempotencyService;
+import com.bank.account.application.service.MovementIdempotencyWriter;
+import com.bank.account.application.service.MovementSequencer;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.exception.IdempotencyKeyReusedException;
+import com.bank.account.domain.model.MovementIdempotency;
+import com.bank.account.domain.repository.MovementIdempotencyRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MovementIdempotencyService and MovementIdempotencyWriter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movement Idempotency Service Unit Tests")
+class MovementIdempotencyServiceTest {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @Mock
+    private MovementIdempotencyRepository movementIdempotencyRepository;
+    @Mock
+    private MovementService movementService;
+
+    private MovementSequencer sequencer;
+    private MovementIdempotencyService idempotencyService;
+    private MovementRequestDTO request;
+    private MovementResponseDTO response;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new MovementSequencer(4, 100, new SimpleMeterRegistry());
+        MovementIdempotencyWriter writer = new MovementIdempotencyWriter(
+                movementIdempotencyRepository, movementService, JSON_MAPPER);
+        idempotencyService = new MovementIdempotencyService(writer, movementIdempotencyRepository, sequencer, 1000,
+                Duration.ofHours(1), 100, new SimpleMeterRegistry());
+
+        request = MovementRequestDTO.builder()
+                .accountId(1L)
+                .movementType("DEBIT")
+                .amount(new BigDecimal("575.00"))
+                .build();
+        response = MovementResponseDTO.builder()
+                .movementId(7L)
+                .movementType("DEBIT")
+                .amount(new BigDecimal("575.00"))
+                .balance(new BigDecimal("1425.00"))
+                .accountId(1L)
+                .accountNumber("478758")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should create the movement once and answer retries from the cache")
+    void testCreateMovement_RetryServedFromCache() {
+        // Given
+        when(movementIdempotencyRepository.claim(eq("key-1"), anyString(), any())).thenReturn(Mono.just("key-1"));
+        when(movementService.createMovement(request)).thenReturn(Mono.just(response));
+        when(movementIdempotencyRepository.complete(eq("key-1"), eq(7L), anyString())).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(idempotencyService.createMovement("key-1", request))
+                .expectNextMatches(result -> result.getMovementId() == 7L)
+                .verifyComplete();
+        StepVerifier.create(idempotencyService.createMovement("key-1", request))
+                .expectNextMatches(result -> result.getMovementId() == 7L)
+                .verifyComplete();
+
+        // The retry never reaches the database
+        verify(movementIdempotencyRepository, times(1)).claim(anyString(), anyString(), any());
+        verify(movementService, times(1)).createMovement(any(MovementRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void testCreateMovement_KeyReusedWithDifferentRequest() {
+        // Given
+        when(movementIdempotencyRepository.claim(eq("key-1"), anyString(), any())).thenReturn(Mono.just("key-1"));
+        when(movementService.createMovement(request)).thenReturn(Mono.just(response));
+        when(movementIdempotencyRepository.complete(eq("key-1"), eq(7L), anyString())).thenReturn(Mono.empty());
+        idempotencyService.createMovement("key-1", request).block();
+
+        MovementRequestDTO otherRequest = MovementRequestDTO.builder()
+                .accountId(1L)
+                .movementType("DEBIT")
+                .amount(new BigDecimal("100"))
+                .build();
+
+        // When / Then
+        StepVerifier.create(idempotencyService.createMovement("key-1", otherRequest))
+                .expectError(IdempotencyKeyReusedException.class)
+                .verify();
+        verify(movementService, times(1)).createMovement(any(MovementRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response when another instance already used the key")
+    void testCreateMovement_ReplaysStoredResponse() {
+        // Given - the key is taken in the database but not in this instance's cache
+        when(movementIdempotencyRepository.claim(eq("key-2"), anyString(), any())).thenReturn(Mono.empty());
+        when(movementIdempotencyRepository.findById("key-2")).thenReturn(Mono.just(MovementIdempotency.builder()
+                .idempotencyKey("key-2")
+                .requestFingerprint("1:DEBIT:575")
+                .movementId(7L)
+                .responseBody(JSON_MAPPER.writeValueAsString(response))
+                .build()));
+
+        // When / Then
+        StepVerifier.create(idempotencyService.createMovement("key-2", request))
+                .expectNextMatches(result -> result.getMovementId() == 7L
+                        && result.getBalance().compareTo(new BigDecimal("1425")) == 0
+                        && result.getAccountNumber().equals("478758"))
+                .verifyComplete();
+
+        verify(movementService, never()).createMovement(any(MovementRequestDTO.class));
+        verify(movementIdempotencyRepository, never()).complete(anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should not remember failed movements, so the retry runs again")
+    void testCreateMovement_FailureNotCached() {
+        // Given
+        when(movementIdempotencyRepository.claim(eq("key-3"), anyString(), any())).thenReturn(Mono.just("key-3"));
+        when(movementService.createMovement(request))
+                .thenReturn(Mono.error(new IllegalStateException("boom")))
+                .thenReturn(Mono.just(response));
+        when(movementIdempotencyRepository.complete(eq("key-3"), eq(7L), anyString())).thenReturn(Mono.empty());
+
+        // When / Then
+        StepVerifier.create(idempotencyService.createMovement("key-3", request))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(idempotencyService.createMovement("key-3", request))
+                .expectNextMatches(result -> result.getMovementId() == 7L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should purge expired records in batches until a batch comes back short")
+    void testPurgeExpired_Batches() {
+        // Given
+        when(movementIdempotencyRepository.deleteCreatedBefore(any(), eq(100)))
+                .thenReturn(Mono.just(100L))
+                .thenReturn(Mono.just(100L))
+                .thenReturn(Mono.just(42L));
+
+        // When / Then
+        StepVerifier.create(idempotencyService.purgeExpired())
+                .expectNext(242L)
+                .verifyComplete();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(movementIdempotencyRepository, times(3)).deleteCreatedBefore(cutoff.capture(), eq(100));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusMinutes(59)));
+    }
+}
@@ -0,0 +1,135 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementBatchService;
+import com.bank.account.application.service.MovementImportService;
+import com.bank.account.application.service.MovementSequencer;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MovementImportService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Movement Import Service Unit Tests")
+class MovementImportServiceTest {
+
+    @Mock
+    private MovementService movementService;
+
+    private MovementSequencer sequencer;
+    private MovementImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new MovementSequencer(4, 1000, new SimpleMeterRegistry());
+        MovementBatchService batchService = new MovementBatchService(null,
+                Validation.buildDefaultValidatorFactory().getValidator(), 500, 10000);
+        importService = new MovementImportService(movementService, sequencer, batchService,
+                JsonMapper.builder().build(), 8, 65536);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    private DataBuffer buffer(final String content) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should parse records split across buffers and report a result per record in order")
+    void testImportMovements_RecordsSplitAcrossBuffers() {
+        // Given
+        when(movementService.createMovement(argThat(request -> request != null && "CREDIT".equals(request.getMovementType()))))
+                .thenReturn(Mono.just(MovementResponseDTO.builder().movementId(10L).build()));
+        when(movementService.createMovement(argThat(request -> request != null && "DEBIT".equals(request.getMovementType()))))
+                .thenReturn(Mono.error(new InsufficientBalanceException()));
+
+        String ndjson = "{\"account_id\":1,\"movement_type\":\"CREDIT\",\"amount\":10}\n"
+                + "{not json}\n"
+                + "\n"
+                + "{\"account_id\":1,\"movement_type\":\"DEBIT\",\"amount\":5}\n"
+                + "{\"account_id\":1,\"movement_type\":\"CREDIT\",\"amount\":0}\n";
+        Flux<DataBuffer> body = Flux.range(0, (ndjson.length() + 6) / 7)
+                .map(i -> buffer(ndjson.substring(i * 7, Math.min(ndjson.length(), (i + 1) * 7))));
+
+        // When / Then
+        StepVerifier.create(importService.importMovements(body))
+                .expectNextMatches(result -> result.getIndex() == 0
+                        && result.getStatus().equals(MovementBatchItemResultDTO.CREATED)
+                        && result.getMovement().getMovementId() == 10L)
+                .expectNextMatches(result -> result.getIndex() == 1
+                        && result.getStatus().equals(MovementBatchItemResultDTO.VALIDATION_ERROR))
+                .expectNextMatches(result -> result.getIndex() == 2
+                        && result.getStatus().equals(MovementBatchItemResultDTO.INSUFFICIENT_BALANCE))
+                .expectNextMatches(result -> result.getIndex() == 3
+                        && result.getStatus().equals(MovementBatchItemResultDTO.VALIDATION_ERROR))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report a line over the daily debit limit with its own status")
+    void testImportMovements_DailyLimitExceeded() {
+        // Given
+        when(movementService.createMovement(any(MovementRequestDTO.class)))
+                .thenReturn(Mono.error(new DailyDebitLimitExceededException()));
+
+        // When / Then
+        StepVerifier.create(importService.importMovements(
+                        Flux.just(buffer("{\"account_id\":1,\"movement_type\":\"DEBIT\",\"amount\":5000}\n"))))
+                .expectNextMatches(result -> result.getIndex() == 0
+                        && result.getStatus().equals(MovementBatchItemResultDTO.DAILY_LIMIT_EXCEEDED))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should only pull as much of the upload as the bounded concurrency allows")
+    void testImportMovements_Backpressure() {
+        // Given - movements that never complete, as if the database were stalled
+        when(movementService.createMovement(any(MovementRequestDTO.class))).thenReturn(Mono.never());
+        // hide() keeps the body non-fuseable, like a network request body
+        AtomicInteger linesRead = new AtomicInteger();
+        Flux<DataBuffer> body = Flux.range(0, 1_000_000)
+                .doOnNext(i -> linesRead.incrementAndGet())
+                .map(i -> buffer("{\"account_id\":" + i + ",\"movement_type\":\"CREDIT\",\"amount\":1}\n"))
+                .hide();
+
+        // When
+        Disposable subscription = importService.importMovements(body).subscribe();
+        Mono.delay(Duration.ofMillis(200)).block();
+        subscription.dispose();
+
+        // Then - far less than the whole upload was read
+        assertTrue(linesRead.get() < 1000, "read " + linesRead.get() + " lines");
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.application.service.PageCursor;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Query count and latency of listing 1M movements with the paged join projection,
+ * compared with looking the account up once per movement, against a real PostgreSQL database.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Movement Listing Benchmark")
+class MovementListingBenchmarkTest extends AbstractPostgresTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int MOVEMENTS_PER_ACCOUNT = 1_000;
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementMapper movementMapper;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("Should report query count and latency of both listing strategies on 1M movements")
+    void testListingOneMillionMovements() {
+        // Given
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "SELECT '93' || LPAD(i::text, 6, '0'), 'Ahorro', 0, 1000, 1 FROM generate_series(1, " + ACCOUNTS + ") i")
+                .then().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT NOW(), 'CREDIT', 1, i, a.account_id FROM accounts a " +
+                        "CROSS JOIN generate_series(1, " + MOVEMENTS_PER_ACCOUNT + ") i " +
+                        "WHERE a.account_number LIKE '93%'")
+                .then().block();
+        long total = movementRepository.count().block();
+
+        // When - one account lookup per movement, as the listings used to do
+        AtomicLong lookups = new AtomicLong();
+        long start = System.nanoTime();
+        long perRowCount = movementRepository.findAll()
+                .flatMap(movement -> accountRepository.findById(movement.getAccountId())
+                        .doOnSubscribe(subscription -> lookups.incrementAndGet())
+                        .map(account -> {
+                            MovementResponseDTO response = movementMapper.toResponseDTO(movement);
+                            response.setAccountNumber(account.getAccountNumber());
+                            return response;
+                        }))
+                .count()
+                .block(Duration.ofMinutes(30));
+        Duration perRow = Duration.ofNanos(System.nanoTime() - start);
+
+        // When - the join projection, page by page
+        AtomicLong pages = new AtomicLong();
+        start = System.nanoTime();
+        long joinedCount = allPages(pages)
+                .doOnNext(response -> assertNotNull(response.getAccountNumber()))
+                .count()
+                .block(Duration.ofMinutes(30));
+        Duration joined = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        log.info("Per-row lookup: {} movements, {} queries, {} ms", perRowCount, 1 + lookups.get(), perRow.toMillis());
+        log.info("Join projection: {} movements, {} queries, {} ms", joinedCount, pages.get(), joined.toMillis());
+        assertEquals(total, perRowCount);
+        assertEquals(total, joinedCount);
+    }
+
+    /**
+     * Walks every page of the movements listing, the way a client reads them all.
+     */
+    private Flux<MovementResponseDTO> allPages(final AtomicLong pages) {
+        return movementService.getMovementsPage(null, PageCursor.MAX_LIMIT)
+                .expand(page -> page.getNextCursor() == null ? Mono.empty()
+                        : movementService.getMovementsPage(page.getNextCursor(), PageCursor.MAX_LIMIT))
+                .doOnNext(page -> pages.incrementAndGet())
+                .flatMapIterable(PageResponseDTO::getItems);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementService;
+import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset pagination of movements against a real PostgreSQL database
+ */
+@Slf4j
+@DisplayName("Movement Pagination Tests")
+class MovementPaginationTest extends AbstractPostgresTest {
+
+    private static final int MOVEMENTS = 200_000;
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("Should walk every movement exactly once, with the last page as cheap as the first")
+    void testWalkAllPages() {
+        // Given - many movements share a timestamp, so the ID must break the ties
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('940001', 'Ahorro', 0, 0, 1)")
+                .then().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-01-01' + (i / 10) * INTERVAL '1 second', 'CREDIT', 1, i, a.account_id " +
+                        "FROM accounts a CROSS JOIN generate_series(1, " + MOVEMENTS + ") i " +
+                        "WHERE a.account_number = '940001'")
+                .then().block();
+        long total = databaseClient.sql("SELECT COUNT(*) AS total FROM movements")
+                .map(row -> row.get("total", Long.class))
+                .one().block();
+
+        // When
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        long firstPageNanos = 0;
+        long lastPageNanos = 0;
+        int pages = 0;
+        do {
+            long start = System.nanoTime();
+            PageResponseDTO<MovementResponseDTO> page = movementService.getMovementsPage(cursor, PAGE_SIZE).block();
+            long elapsed = System.nanoTime() - start;
+            if (pages++ == 0) {
+                firstPageNanos = elapsed;
+            }
+            lastPageNanos = elapsed;
+            page.getItems().forEach(movement -> assertTrue(seen.add(movement.getMovementId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        log.info("{} pages, first page {} us, last page {} us", pages, firstPageNanos / 1000, lastPageNanos / 1000);
+        assertEquals(total, seen.size());
+    }
+}
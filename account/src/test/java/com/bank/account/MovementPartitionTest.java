@@ -0,0 +1,165 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountBalanceSnapshotService;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.MovementExportService;
+import com.bank.account.application.service.MovementPartitionArchiver;
+import com.bank.account.application.service.MovementPartitionService;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Monthly partitions and their archival against a real PostgreSQL database
+ */
+@DisplayName("Movement Partition Tests")
+class MovementPartitionTest extends AbstractPostgresTest {
+
+    private static final long CUSTOMER_ID = 94L;
+
+    @Autowired
+    private MovementPartitionArchiver partitionArchiver;
+    @Autowired
+    private AccountBalanceSnapshotService snapshotService;
+    @Autowired
+    private MovementArchive movementArchive;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private MovementExportService movementExportService;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Autowired
+    private MovementMapper movementMapper;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @DynamicPropertySource
+    static void archiveProperties(final DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("account-movement-archive");
+        registry.add("app.movements.archive.directory", directory::toString);
+    }
+
+    private long count(final String sql) {
+        return databaseClient.sql(sql)
+                .map(row -> row.get("total", Long.class))
+                .one().block();
+    }
+
+    @Test
+    @DisplayName("Should move an old month to the archive and keep statements and balances unchanged")
+    void testArchivePartitions_KeepsStatementsAndBalances() {
+        // Given - January and February 2024, one movement every six hours
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('940001', 'Ahorro', 100, 100, " + CUSTOMER_ID + ")")
+                .then().block();
+        Long accountId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '940001'")
+                .map(row -> row.get("account_id", Long.class)).one().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-01-01' + i * INTERVAL '6 hours', " +
+                        "CASE WHEN i % 2 = 0 THEN 'CREDIT' ELSE 'DEBIT' END, CASE WHEN i % 2 = 0 THEN 10 ELSE 3 END, " +
+                        "0, :accountId FROM generate_series(0, 239) i")
+                .bind("accountId", accountId)
+                .then().block();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 20, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 10, 0, 0);
+        long january = count("SELECT COUNT(*) AS total FROM movements_2024_01");
+        long inRange = count("SELECT COUNT(*) AS total FROM movements " +
+                "WHERE movement_date BETWEEN '2024-01-20 10:00' AND '2024-02-10'");
+        BigDecimal monthEnd = accountService.getBalanceAsOf(accountId, LocalDateTime.of(2024, 2, 1, 0, 0))
+                .block().getBalance();
+        BigDecimal opening = accountService.getBalanceAsOf(accountId, start).block().getBalance();
+        int afterMonths = (int) ChronoUnit.MONTHS.between(YearMonth.of(2024, 2), YearMonth.now());
+        MovementPartitionService partitionService = new MovementPartitionService(databaseClient, partitionArchiver,
+                snapshotService, movementArchive, 3, afterMonths);
+
+        // When
+        long archived = partitionService.archivePartitions().block();
+        long rerun = partitionService.archivePartitions().block();
+
+        // Then
+        assertEquals(january, archived);
+        assertEquals(0, rerun);
+        assertEquals(YearMonth.of(2024, 2), movementArchive.getHorizon());
+        assertEquals(0, count("SELECT COUNT(*) AS total FROM pg_class WHERE relname = 'movements_2024_01'"));
+        assertEquals(0, monthEnd.compareTo(accountService.getBalanceAsOf(accountId,
+                LocalDateTime.of(2024, 2, 1, 0, 0)).block().getBalance()));
+        assertEquals(inRange, movementService.getMovementsByCustomerAndDateRange(CUSTOMER_ID, start, end)
+                .count().block());
+
+        AccountStatementDTO statement = reportService().generateAccountStatement(CUSTOMER_ID, start, end)
+                .single().block();
+        assertEquals(inRange, statement.getMovements().size());
+        assertEquals(0, opening.compareTo(statement.getOpeningBalance()));
+        assertTrue(statement.getMovements().get(0).getMovementDate().isBefore(LocalDateTime.of(2024, 2, 1, 0, 0)));
+
+        String csv = exportCsv(accountId, start, end);
+        assertEquals(inRange + 1, csv.lines().count());
+        assertTrue(csv.lines().skip(1).findFirst().orElseThrow().contains(",940001,2024-01-20T12:00,"));
+        assertEquals(january + count("SELECT COUNT(*) AS total FROM movements") + 1,
+                exportCsv(accountId, null, null).lines().count());
+    }
+
+    private String exportCsv(final Long accountId, final LocalDateTime start, final LocalDateTime end) {
+        return movementExportService.exportCsv(accountId, start, end, false, DefaultDataBufferFactory.sharedInstance)
+                .map(buffer -> {
+                    String chunk = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return chunk;
+                })
+                .reduce("", String::concat)
+                .block();
+    }
+
+    private ReportService reportService() {
+        CustomerClient customerClient = mock(CustomerClient.class);
+        when(customerClient.getCustomer(CUSTOMER_ID))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(CUSTOMER_ID).name("Archive").status(true).build()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(new AccountCache(10, Duration.ofMinutes(5), meterRegistry),
+                0, 0, Duration.ofMinutes(5), meterRegistry);
+        return new ReportService(movementRepository, accountRepository, aggregateRepository, customerClient,
+                movementMapper, reportCache, movementArchive, Duration.ofSeconds(2), 100, 65536, 8, 20,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.bank.account;
+
+import com.bank.account.application.service.MovementSequencer;
+import com.bank.account.domain.exception.MovementQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for MovementSequencer
+ */
+@DisplayName("Movement Sequencer Unit Tests")
+class MovementSequencerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MovementSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sequencer = new MovementSequencer(4, 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequencer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run operations on the same account one at a time and in order")
+    void testSameAccount_RunsSerially() {
+        // Given
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Integer> completionOrder = new CopyOnWriteArrayList<>();
+
+        // When
+        Flux.range(0, 50)
+                .flatMap(i -> sequencer.submit(1L, () -> Mono.fromRunnable(() ->
+                                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                                .then(Mono.delay(Duration.ofMillis(1)))
+                                .doOnNext(tick -> {
+                                    completionOrder.add(i);
+                                    inFlight.decrementAndGet();
+                                })
+                                .thenReturn(i)), 50)
+                .blockLast(Duration.ofSeconds(10));
+
+        // Then
+        assertEquals(1, maxInFlight.get());
+        assertEquals(Flux.range(0, 50).collectList().block(), completionOrder);
+    }
+
+    @Test
+    @DisplayName("Should run operations on different lanes in parallel")
+    void testDifferentAccounts_RunInParallel() {
+        // Given - accounts 1 and 2 hash onto different lanes
+        Sinks.One<String> gate = Sinks.one();
+
+        // When - the first operation waits on a gate that only the second opens
+        Mono<String> blocked = sequencer.submit(1L, gate::asMono);
+        Mono<String> opener = sequencer.submit(2L, () -> Mono.fromRunnable(() -> gate.tryEmitValue("open"))
+                .thenReturn("done"));
+
+        // Then
+        StepVerifier.create(Mono.zip(blocked, opener))
+                .expectNextMatches(results -> results.getT1().equals("open") && results.getT2().equals("done"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject operations when the lane is full")
+    void testLaneFull_RejectsWithBackpressure() throws InterruptedException {
+        // Given - one running operation that never completes, then a full queue behind it
+        Sinks.One<Integer> never = Sinks.one();
+        CountDownLatch started = new CountDownLatch(1);
+        sequencer.submit(1L, () -> {
+            started.countDown();
+            return never.asMono();
+        }).subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            sequencer.submit(1L, () -> Mono.just(1)).subscribe();
+        }
+
+        // When
+        Mono<Integer> rejected = sequencer.submit(1L, () -> Mono.just(1));
+
+        // Then
+        StepVerifier.create(rejected)
+                .expectError(MovementQueueFullException.class)
+                .verify();
+        assertEquals(100, sequencer.pendingCount());
+        assertEquals(1.0, meterRegistry.get("movement.sequencer.rejected").counter().count());
+        assertTrue(meterRegistry.get("movement.sequencer.wait").timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should propagate operation errors and keep the lane running")
+    void testOperationError_DoesNotBlockLane() {
+        // When
+        Mono<Integer> failing = sequencer.submit(1L, () -> Mono.error(new IllegalStateException("boom")));
+        Mono<Integer> next = sequencer.submit(1L, () -> Mono.just(42));
+
+        // Then
+        StepVerifier.create(failing)
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(next)
+                .expectNext(42)
+                .verifyComplete();
+    }
+}
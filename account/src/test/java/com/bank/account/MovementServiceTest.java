@@ -1,29 +1,47 @@
 package com.bank.account;
 
 import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
 import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.HoldIndex;
 import com.bank.account.application.service.MovementService;
+import com.bank.account.domain.exception.DailyDebitLimitExceededException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
 import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Hold;
 import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountBalanceSnapshotRepository;
 import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementArchiveRepository;
 import com.bank.account.domain.repository.MovementRepository;
 import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
 import com.bank.account.infrastructure.adapter.web.dto.MovementResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.PageResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +60,17 @@ class MovementServiceTest {
     private MovementMapper movementMapper;
     @Mock
     private AccountService accountService;
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+    @Mock
+    private MovementArchiveRepository movementArchiveRepository;
+    @Spy
+    private AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    @Spy
+    private DailyDebitLimiter debitLimiter = new DailyDebitLimiter(null, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, Duration.ofMinutes(30), 1000, false, new SimpleMeterRegistry());
+    @Spy
+    private HoldIndex holdIndex = new HoldIndex();
     @InjectMocks
     private MovementService movementService;
 
@@ -97,8 +126,8 @@ class MovementServiceTest {
         // Given
         when(accountService.getAccountEntity(anyLong())).thenReturn(Mono.just(testAccount));
         when(movementMapper.toEntity(any(MovementRequestDTO.class))).thenReturn(testMovement);
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(testMovement));
-        when(accountRepository.save(any(Account.class))).thenReturn(Mono.just(testAccount));
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(testMovement));
         when(movementMapper.toResponseDTO(any(Movement.class))).thenReturn(testResponse);
 
         // When
@@ -113,8 +142,10 @@ class MovementServiceTest {
                 )
                 .verifyComplete();
 
-        verify(movementRepository, times(1)).save(any(Movement.class));
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(movementRepository, times(1)).insertWithBalanceDelta(
+                eq(1L), eq(new BigDecimal("-575")), eq(BigDecimal.ZERO), eq("DEBIT"), any(), any(), any());
+        verify(movementRepository, never()).save(any(Movement.class));
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
@@ -130,8 +161,8 @@ class MovementServiceTest {
 
         when(accountService.getAccountEntity(anyLong())).thenReturn(Mono.just(testAccount));
         when(movementMapper.toEntity(any(MovementRequestDTO.class))).thenReturn(testMovement);
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(testMovement));
-        when(accountRepository.save(any(Account.class))).thenReturn(Mono.just(testAccount));
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(testMovement));
         when(movementMapper.toResponseDTO(any(Movement.class))).thenReturn(testResponse);
 
         // When
@@ -142,8 +173,122 @@ class MovementServiceTest {
                 .expectNextCount(1)
                 .verifyComplete();
 
-        verify(movementRepository, times(1)).save(any(Movement.class));
-        verify(accountRepository, times(1)).save(any(Account.class));
+        verify(movementRepository, times(1)).insertWithBalanceDelta(
+                eq(1L), eq(new BigDecimal("600")), eq(BigDecimal.ZERO), eq("CREDIT"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a DEBIT that would spend funds reserved by active holds")
+    void testCreateDebitMovement_HeldFundsNotAvailable() {
+        // Given
+        holdIndex.add(Hold.builder()
+                .holdId(10L)
+                .accountId(1L)
+                .amount(new BigDecimal("1500"))
+                .status(Hold.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        when(accountService.getAccountEntity(anyLong())).thenReturn(Mono.just(testAccount));
+        when(movementMapper.toEntity(any(MovementRequestDTO.class))).thenReturn(testMovement);
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<MovementResponseDTO> result = movementService.createMovement(testRequest);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        verify(movementRepository, times(1)).insertWithBalanceDelta(
+                eq(1L), eq(new BigDecimal("-575")), eq(new BigDecimal("1500")), eq("DEBIT"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should let a capture debit spend the funds of its own hold but not those of other holds")
+    void testCreateHoldCapture_OtherHoldsNotAvailable() {
+        // Given - the captured hold is still indexed until the capture commits
+        Hold captured = Hold.builder()
+                .holdId(10L)
+                .accountId(1L)
+                .amount(new BigDecimal("575"))
+                .status(Hold.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build();
+        holdIndex.add(captured);
+        holdIndex.add(Hold.builder()
+                .holdId(11L)
+                .accountId(1L)
+                .amount(new BigDecimal("1000"))
+                .status(Hold.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        when(accountService.getAccountEntity(1L)).thenReturn(Mono.just(testAccount));
+        when(movementMapper.toEntity(any(MovementRequestDTO.class))).thenReturn(testMovement);
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(testMovement));
+        when(movementMapper.toResponseDTO(any(Movement.class))).thenReturn(testResponse);
+
+        // When / Then
+        StepVerifier.create(movementService.createHoldCapture(captured))
+                .expectNext(testResponse)
+                .verifyComplete();
+
+        verify(movementRepository, times(1)).insertWithBalanceDelta(
+                eq(1L), eq(new BigDecimal("-575")), eq(new BigDecimal("1000")), eq("DEBIT"), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count a credit turned into a debit towards the daily limit")
+    void testUpdateMovement_DailyLimitExceeded() {
+        // Given - a credit of 100 becomes a debit of 50: 150 leave the account
+        testMovement.setMovementType("CREDIT");
+        testMovement.setAmount(new BigDecimal("100"));
+        testRequest.setAmount(new BigDecimal("50"));
+        when(movementRepository.findById(1L)).thenReturn(Mono.just(testMovement));
+        when(accountService.getAccountEntity(1L)).thenReturn(Mono.just(testAccount));
+        doReturn(Mono.error(new DailyDebitLimitExceededException())).when(debitLimiter).reserve(any(), any());
+
+        // When
+        Mono<MovementResponseDTO> result = movementService.updateMovement(1L, testRequest);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(DailyDebitLimitExceededException.class)
+                .verify();
+
+        verify(debitLimiter, times(1)).reserve(testAccount, new BigDecimal("150"));
+        verify(accountRepository, never()).applyBalanceDelta(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not delete a credit whose funds are reserved by active holds")
+    void testDeleteMovement_HeldFundsNotAvailable() {
+        // Given
+        holdIndex.add(Hold.builder()
+                .holdId(11L)
+                .accountId(1L)
+                .amount(new BigDecimal("1500"))
+                .status(Hold.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        testMovement.setMovementType("CREDIT");
+        testMovement.setAmount(new BigDecimal("600"));
+        when(movementRepository.findById(1L)).thenReturn(Mono.just(testMovement));
+        when(accountRepository.applyBalanceDelta(anyLong(), any(), any())).thenReturn(Mono.empty());
+        when(snapshotRepository.shiftBalancesAfter(anyLong(), any(), any())).thenReturn(Mono.empty());
+
+        // When
+        Mono<Void> result = movementService.deleteMovement(1L);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        verify(accountRepository, times(1)).applyBalanceDelta(1L, new BigDecimal("-600"), new BigDecimal("1500"));
+        verify(movementRepository, never()).deleteById(anyLong());
     }
 
     @Test
@@ -183,6 +328,26 @@ class MovementServiceTest {
         verify(movementRepository, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Should resume the next movements page after the date and ID of the last movement")
+    void testGetMovementsPage_CursorResumesAfterLastRow() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2024, 2, 10, 10, 0, 0, 123_456_000);
+        MovementResponseDTO newest = MovementResponseDTO.builder().movementId(9L).movementDate(date).build();
+        MovementResponseDTO older = MovementResponseDTO.builder().movementId(8L).movementDate(date).build();
+        when(movementRepository.findFirstPage(2)).thenReturn(Flux.just(newest, older));
+
+        // When
+        PageResponseDTO<MovementResponseDTO> firstPage = movementService.getMovementsPage(null, 1).block();
+        when(movementRepository.findPageAfter(date, 9L, 2)).thenReturn(Flux.just(older));
+        PageResponseDTO<MovementResponseDTO> lastPage = movementService.getMovementsPage(firstPage.getNextCursor(), 1).block();
+
+        // Then
+        assertEquals(List.of(newest), firstPage.getItems());
+        assertEquals(List.of(older), lastPage.getItems());
+        assertNull(lastPage.getNextCursor());
+    }
+
     @Test
     @DisplayName("Should handle concurrent debit movements correctly")
     void testConcurrentDebitMovements() {
@@ -197,8 +362,9 @@ class MovementServiceTest {
 
         when(accountService.getAccountEntity(anyLong())).thenReturn(Mono.just(accountWithLowBalance));
         when(movementMapper.toEntity(any(MovementRequestDTO.class))).thenReturn(testMovement);
-        when(movementRepository.save(any(Movement.class))).thenReturn(Mono.just(testMovement));
-        when(accountRepository.save(any(Account.class))).thenReturn(Mono.just(accountWithLowBalance));
+        when(movementRepository.insertWithBalanceDelta(anyLong(), any(), any(), anyString(), any(), any(), any()))
+                .thenReturn(Mono.just(testMovement))
+                .thenReturn(Mono.empty());
         when(movementMapper.toResponseDTO(any(Movement.class))).thenReturn(testResponse);
 
         // When - First movement should succeed
@@ -208,5 +374,13 @@ class MovementServiceTest {
         StepVerifier.create(result1)
                 .expectNextCount(1)
                 .verifyComplete();
+
+        // When - Second movement finds the balance already consumed
+        Mono<MovementResponseDTO> result2 = movementService.createMovement(testRequest);
+
+        // Then
+        StepVerifier.create(result2)
+                .expectError(InsufficientBalanceException.class)
+                .verify();
     }
 }
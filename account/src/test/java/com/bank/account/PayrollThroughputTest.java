@@ -0,0 +1,92 @@
+package com.bank.account;
+
+import com.bank.account.application.service.BulkTransferService;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferItemDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.BulkTransferResponseDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementBatchItemResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Credits per second of a 10k employee payroll run, against a real PostgreSQL database.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Payroll Throughput Test")
+class PayrollThroughputTest extends AbstractPostgresTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final BigDecimal SALARY = new BigDecimal("1500.00");
+    private static final BigDecimal COMPANY_BALANCE = new BigDecimal("20000000.00");
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    @DisplayName("Should pay 10k employees in one run and report credits per second")
+    void testPayrollRun() {
+        // Given
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "VALUES ('96000000', 'Corriente', " + COMPANY_BALANCE + ", " + COMPANY_BALANCE + ", 1)")
+                .then().block();
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "SELECT '95' || LPAD(i::text, 6, '0'), 'Ahorro', 0, 0, 1 FROM generate_series(1, " + EMPLOYEES + ") i")
+                .then().block();
+        Long companyId = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number = '96000000'")
+                .map(row -> row.get("account_id", Long.class))
+                .one()
+                .block();
+        List<Long> employeeIds = databaseClient.sql("SELECT account_id FROM accounts WHERE account_number LIKE '95%'")
+                .map(row -> row.get("account_id", Long.class))
+                .all()
+                .collectList()
+                .block();
+        BulkTransferRequestDTO request = BulkTransferRequestDTO.builder()
+                .sourceAccountId(companyId)
+                .items(employeeIds.stream()
+                        .map(employeeId -> BulkTransferItemDTO.builder()
+                                .destinationAccountId(employeeId)
+                                .amount(SALARY)
+                                .build())
+                        .toList())
+                .build();
+
+        // When
+        long start = System.nanoTime();
+        BulkTransferResponseDTO response = bulkTransferService.transfer(request).block(Duration.ofMinutes(5));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        log.info("Payroll of {} employees: {} ms, {} credits/s", EMPLOYEES, elapsed.toMillis(),
+                String.format("%.0f", EMPLOYEES / (elapsed.toNanos() / 1_000_000_000.0)));
+        BigDecimal payroll = SALARY.multiply(BigDecimal.valueOf(EMPLOYEES));
+        assertEquals(EMPLOYEES, response.getSucceeded());
+        assertTrue(response.getResults().stream()
+                .allMatch(result -> MovementBatchItemResultDTO.CREATED.equals(result.getStatus())));
+        assertEquals(0, payroll.compareTo(response.getTransferredAmount()));
+        assertEquals(0, COMPANY_BALANCE.subtract(payroll)
+                .compareTo(accountRepository.findById(companyId).block().getCurrentBalance()));
+        BigDecimal paid = databaseClient.sql("SELECT SUM(current_balance) AS paid FROM accounts WHERE account_number LIKE '95%'")
+                .map(row -> row.get("paid", BigDecimal.class))
+                .one()
+                .block();
+        assertEquals(0, payroll.compareTo(paid));
+    }
+}
@@ -0,0 +1,101 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.AccountMapperImpl;
+import com.bank.account.application.mapper.MovementMapperImpl;
+import com.bank.account.application.service.AccountBalanceSnapshotService;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.BulkTransferService;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.HoldIndex;
+import com.bank.account.application.service.MovementBatchWriter;
+import com.bank.account.application.service.MovementDailyAggregateService;
+import com.bank.account.application.service.MovementPartitionArchiver;
+import com.bank.account.application.service.MovementPartitionService;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.application.service.TransferWriter;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Minimal Spring context for database-backed tests.
+ * Wires the real repositories, mappers and services against the Testcontainers PostgreSQL instance,
+ * without messaging or web infrastructure.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableR2dbcRepositories(basePackageClasses = AccountRepository.class)
+@Import({
+        AccountMapperImpl.class,
+        MovementMapperImpl.class,
+        AccountService.class,
+        MovementService.class,
+        MovementBatchWriter.class,
+        HoldIndex.class,
+        TransferWriter.class,
+        BulkTransferService.class,
+        MovementDailyAggregateService.class,
+        AccountBalanceSnapshotService.class,
+        MovementArchive.class,
+        MovementPartitionArchiver.class,
+        MovementPartitionService.class
+})
+class PostgresTestConfig extends AbstractR2dbcConfiguration {
+
+    @Value("${test.r2dbc.url}")
+    private String r2dbcUrl;
+
+    @Override
+    @Bean
+    public ConnectionFactory connectionFactory() {
+        return ConnectionFactories.get(r2dbcUrl);
+    }
+
+    @Bean
+    public ReactiveTransactionManager transactionManager(final ConnectionFactory connectionFactory) {
+        return new R2dbcTransactionManager(connectionFactory);
+    }
+
+    @Bean
+    public AccountCache accountCache() {
+        return new AccountCache(10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Daily debit limits are off: tests debit far more than a day's limit.
+     */
+    @Bean
+    public DailyDebitLimiter dailyDebitLimiter(final MovementRepository movementRepository) {
+        return new DailyDebitLimiter(movementRepository, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                Duration.ofMinutes(30), 10_000, false, new SimpleMeterRegistry());
+    }
+
+    @Bean
+    public Validator validator() {
+        return Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Bean
+    public CustomerClient customerClient() {
+        return new CustomerClient("http://localhost:8081", 5000);
+    }
+}
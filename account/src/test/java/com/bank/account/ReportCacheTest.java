@@ -0,0 +1,144 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.domain.model.Account;
+import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementDetailDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for ReportCache
+ */
+@DisplayName("Report Cache Unit Tests")
+class ReportCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCache accountCache;
+    private ReportCache reportCache;
+    private AtomicInteger generations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(1000, Duration.ofMinutes(5), meterRegistry);
+        reportCache = new ReportCache(accountCache, 64 * 1024, 16 * 1024, Duration.ofMinutes(5), meterRegistry);
+        generations = new AtomicInteger();
+    }
+
+    private Flux<AccountStatementDTO> generate(final Long customerId, final Long accountId, final int movements) {
+        generations.incrementAndGet();
+        reportCache.registerAccount(accountId, customerId);
+        return Flux.just(AccountStatementDTO.builder()
+                .accountNumber("478758")
+                .movements(Collections.nCopies(movements, MovementDetailDTO.builder().build()))
+                .build());
+    }
+
+    private void statements(final Long customerId, final Long accountId, final int movements) {
+        StepVerifier.create(reportCache.statements(customerId, START, END,
+                        () -> generate(customerId, accountId, movements)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should drop only the reports of the customer whose account changed")
+    void testInvalidation_OnlyOwningCustomer() {
+        // Given
+        statements(1L, 10L, 1);
+        statements(2L, 20L, 1);
+
+        // When
+        accountCache.updateBalanceAfterCommit(10L, new BigDecimal("1425")).block();
+        statements(1L, 10L, 1);
+        statements(2L, 20L, 1);
+
+        // Then
+        assertEquals(3, generations.get());
+    }
+
+    @Test
+    @DisplayName("Should learn the owner of a new account from the account cache")
+    void testInvalidation_NewAccount() {
+        // Given
+        statements(1L, 10L, 1);
+
+        // When
+        accountCache.putAfterCommit(Account.builder()
+                .accountId(11L).accountNumber("585545").customerId(1L).build()).block();
+        statements(1L, 10L, 1);
+
+        // Then
+        assertEquals(2, generations.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache a report when an account of the customer changes while it is generated")
+    void testStatements_WriteDuringGeneration() {
+        // Given - the customer is known from an earlier report
+        statements(1L, 10L, 1);
+        accountCache.updateBalanceAfterCommit(10L, new BigDecimal("1425")).block();
+
+        // When
+        StepVerifier.create(reportCache.statements(1L, START, END, () -> generate(1L, 10L, 1)
+                        .doOnComplete(() -> accountCache.updateBalanceAfterCommit(10L, BigDecimal.TEN).block())))
+                .expectNextCount(1)
+                .verifyComplete();
+        statements(1L, 10L, 1);
+
+        // Then
+        assertEquals(3, generations.get());
+    }
+
+    @Test
+    @DisplayName("Should stream a report larger than the entry cap without caching it")
+    void testStatements_LargerThanEntryCap() {
+        // When
+        statements(1L, 10L, 100);
+        statements(1L, 10L, 100);
+
+        // Then
+        assertEquals(2, generations.get());
+        assertEquals(0.0, meterRegistry.get("report.cache.bytes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should replay the cached bytes of an Excel file")
+    void testExcel_ReplaysBytes() {
+        // Given
+        byte[] file = "PK-xlsx-bytes".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(DataBufferUtils.join(reportCache.excel(1L, START, END, () -> {
+                                generations.incrementAndGet();
+                                return Flux.just(file).map(DefaultDataBufferFactory.sharedInstance::wrap);
+                            })))
+                    .expectNextMatches(buffer -> buffer.readableByteCount() == file.length)
+                    .verifyComplete();
+        }
+
+        // Then
+        assertEquals(1, generations.get());
+    }
+}
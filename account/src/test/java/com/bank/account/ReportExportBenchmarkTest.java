@@ -0,0 +1,132 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.model.AccountStatementRow;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streams a one million row Excel statement and checks that the heap stays bounded.
+ * Tagged benchmark: it only runs with -Pbenchmarks.
+ */
+@Slf4j
+@Tag("benchmark")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Export Benchmark")
+class ReportExportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Mock
+    private CustomerClient customerClient;
+    @Mock
+    private MovementArchiveRepository movementArchiveRepository;
+
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), meterRegistry);
+        ReportCache reportCache = new ReportCache(accountCache, 1024 * 1024, 64 * 1024, Duration.ofMinutes(5), meterRegistry);
+        reportService = new ReportService(movementRepository, accountRepository, aggregateRepository, customerClient,
+                Mappers.getMapper(MovementMapper.class), reportCache, movementArchiveRepository, Duration.ofSeconds(2),
+                100, 8192, 1, 20, meterRegistry);
+    }
+
+    private static AccountStatementRow row(final Long movementId) {
+        return AccountStatementRow.builder()
+                .accountId(1L)
+                .accountNumber("478758")
+                .accountType("Ahorro")
+                .initialBalance(new BigDecimal("100"))
+                .openingBalance(new BigDecimal("90"))
+                .currentBalance(new BigDecimal("100"))
+                .status(true)
+                .movementId(movementId)
+                .movementDate(START.plusDays(movementId))
+                .movementType("CREDIT")
+                .amount(new BigDecimal("10"))
+                .balance(new BigDecimal("10"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should export a million rows with bounded heap")
+    void testGenerateAccountStatementExcel_BoundedHeap() {
+        // Given - retained heap is sampled after a GC every 100k rows
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong maxRetained = new AtomicLong();
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementRepository.findStatementRows(eq(1L), any(), any())).thenReturn(Flux.range(0, ROWS)
+                .map(i -> row((long) i))
+                .doOnNext(row -> {
+                    if (row.getMovementId() % 100_000 == 0) {
+                        System.gc();
+                        maxRetained.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    }
+                }));
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        // When
+        long start = System.nanoTime();
+        long bytes = reportService.generateAccountStatementExcel(1L, START, END)
+                .map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return (long) size;
+                })
+                .reduce(0L, Long::sum)
+                .block(Duration.ofMinutes(5));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        long growth = maxRetained.get() - baseline;
+        log.info("Excel export of {} rows: {} ms, {} KB, heap growth {} MB", ROWS, elapsed.toMillis(),
+                bytes / 1024, growth / (1024 * 1024));
+        assertTrue(bytes > 0);
+        assertTrue(growth < 50L * 1024 * 1024, "heap grew by " + growth / (1024 * 1024) + " MB");
+    }
+}
@@ -0,0 +1,119 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency of the account statement read with the single ordered join and with one concurrent query
+ * per account, for customers holding 1, 10 and 100 accounts with 100k movements in range in total,
+ * against a real PostgreSQL database.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Report Fan-Out Benchmark")
+class ReportFanOutBenchmarkTest extends AbstractPostgresTest {
+
+    private static final int TOTAL_MOVEMENTS = 100_000;
+    private static final int WARMUP_RUNS = 2;
+    private static final int RUNS = 10;
+    private static final int POOL_SIZE = 20;
+
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Autowired
+    private MovementMapper movementMapper;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private MovementArchive movementArchive;
+
+    @ParameterizedTest(name = "{0} accounts")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("Should report the latency of the single join and of the per-account fan-out")
+    void testFanOutLatency(final int accounts) {
+        // Given - one customer per account count, movements split evenly across its accounts
+        long customerId = 880L + accounts;
+        int movementsPerAccount = TOTAL_MOVEMENTS / accounts;
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "SELECT '96' || LPAD(" + accounts + "::text, 3, '0') || LPAD(i::text, 3, '0'), 'Ahorro', 0, 0, " +
+                        customerId + " FROM generate_series(1, " + accounts + ") i")
+                .then().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute', 'CREDIT', 1, i, a.account_id " +
+                        "FROM accounts a CROSS JOIN generate_series(1, " + movementsPerAccount + ") i " +
+                        "WHERE a.customer_id = " + customerId)
+                .then().block();
+        databaseClient.sql("ANALYZE movements").then().block();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = start.plusMinutes(movementsPerAccount);
+
+        // When
+        Duration joined = medianLatency(service(1), customerId, start, end);
+        Duration fannedOut = medianLatency(service(POOL_SIZE / 2), customerId, start, end);
+
+        // Then
+        log.info("Statement of {} accounts, {} movements: single join p50 {} ms, fan-out ({} at a time) p50 {} ms",
+                accounts, TOTAL_MOVEMENTS, joined.toMillis(), POOL_SIZE / 2, fannedOut.toMillis());
+    }
+
+    private ReportService service(final int accountConcurrency) {
+        CustomerClient customerClient = mock(CustomerClient.class);
+        when(customerClient.getCustomer(anyLong()))
+                .thenReturn(Mono.just(CustomerDTO.builder().name("Benchmark").status(true).build()));
+        // Caching disabled (no entry fits), so every run streams the statement from the database
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(new AccountCache(10, Duration.ofMinutes(5), meterRegistry),
+                0, 0, Duration.ofMinutes(5), meterRegistry);
+        return new ReportService(movementRepository, accountRepository, aggregateRepository, customerClient,
+                movementMapper, reportCache, movementArchive, Duration.ofSeconds(2), 100, 65536, accountConcurrency,
+                POOL_SIZE, meterRegistry);
+    }
+
+    private Duration medianLatency(final ReportService reportService, final long customerId,
+                                   final LocalDateTime start, final LocalDateTime end) {
+        long[] nanos = new long[RUNS];
+        for (int run = -WARMUP_RUNS; run < RUNS; run++) {
+            long begin = System.nanoTime();
+            long movements = reportService.generateAccountStatement(customerId, start, end)
+                    .map(statement -> (long) statement.getMovements().size())
+                    .reduce(0L, Long::sum)
+                    .block(Duration.ofMinutes(5));
+            if (run >= 0) {
+                nanos[run] = System.nanoTime() - begin;
+            }
+            assertEquals(TOTAL_MOVEMENTS, movements);
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[RUNS / 2]);
+    }
+}
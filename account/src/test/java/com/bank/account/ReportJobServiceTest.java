@@ -0,0 +1,214 @@
+package com.bank.account;
+
+import com.bank.account.application.service.ReportJobService;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.exception.ReportJobNotFoundException;
+import com.bank.account.domain.exception.ReportJobNotReadyException;
+import com.bank.account.domain.exception.ReportJobRejectedException;
+import com.bank.account.infrastructure.adapter.web.dto.AccountStatementDTO;
+import com.bank.account.infrastructure.adapter.web.dto.MovementDetailDTO;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobDTO;
+import com.bank.account.infrastructure.adapter.web.dto.ReportJobRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportJobService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Job Service Unit Tests")
+class ReportJobServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Mock
+    private ReportService reportService;
+
+    @TempDir
+    private Path directory;
+
+    private ReportJobService service(final int workers, final int maxActivePerCustomer, final Duration ttl)
+            throws IOException {
+        return new ReportJobService(reportService, JsonMapper.builder().build(), directory,
+                workers, 10, maxActivePerCustomer, ttl, new SimpleMeterRegistry());
+    }
+
+    private ReportJobRequestDTO request(final Long customerId, final int priority) {
+        return ReportJobRequestDTO.builder()
+                .customerId(customerId)
+                .startDate(START)
+                .endDate(END)
+                .format("JSON")
+                .priority(priority)
+                .build();
+    }
+
+    private AccountStatementDTO statement(final int movements) {
+        return AccountStatementDTO.builder()
+                .accountNumber("478758")
+                .movements(Collections.nCopies(movements, MovementDetailDTO.builder().build()))
+                .build();
+    }
+
+    private ReportJobDTO awaitStatus(final ReportJobService service, final String jobId, final String status)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        ReportJobDTO job = service.getJob(jobId).block();
+        while (!status.equals(job.getStatus()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = service.getJob(jobId).block();
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+
+    @Test
+    @DisplayName("Should write the statement of a job to a file served once it completes")
+    void testSubmit_CompletesAndServesFile() throws Exception {
+        // Given
+        ReportJobService service = service(2, 3, Duration.ofHours(1));
+        when(reportService.generateAccountStatement(1L, START, END))
+                .thenReturn(Flux.just(statement(3), statement(2)));
+
+        // When
+        ReportJobDTO submitted = service.submit(request(1L, 0)).block();
+        ReportJobDTO completed = awaitStatus(service, submitted.getJobId(), "COMPLETED");
+
+        // Then
+        assertEquals(5L, completed.getRowsProcessed());
+        Path file = service.getJobFile(submitted.getJobId()).block();
+        assertEquals(Files.size(file), completed.getFileSize());
+        assertTrue(Files.readString(file).startsWith("[{"));
+    }
+
+    @Test
+    @DisplayName("Should run queued jobs by priority, then by submission order")
+    void testDispatch_PriorityOrder() throws Exception {
+        // Given - a single worker, held by the first job
+        ReportJobService service = service(1, 3, Duration.ofHours(1));
+        Sinks.Many<AccountStatementDTO> first = Sinks.many().unicast().onBackpressureBuffer();
+        List<Long> started = new CopyOnWriteArrayList<>();
+        when(reportService.generateAccountStatement(anyLong(), eq(START), eq(END))).thenAnswer(invocation -> {
+            Long customerId = invocation.getArgument(0);
+            started.add(customerId);
+            return customerId == 1L ? first.asFlux() : Flux.just(statement(1));
+        });
+        String firstJob = service.submit(request(1L, 0)).block().getJobId();
+        awaitStatus(service, firstJob, "RUNNING");
+
+        // When
+        String low = service.submit(request(2L, 1)).block().getJobId();
+        String high = service.submit(request(3L, 9)).block().getJobId();
+        String lowSecond = service.submit(request(4L, 1)).block().getJobId();
+        assertEquals("QUEUED", service.getJob(high).block().getStatus());
+        first.tryEmitComplete();
+
+        // Then
+        awaitStatus(service, lowSecond, "COMPLETED");
+        awaitStatus(service, low, "COMPLETED");
+        assertEquals(List.of(1L, 3L, 2L, 4L), started);
+    }
+
+    @Test
+    @DisplayName("Should reject a job once the customer has its maximum of active jobs")
+    void testSubmit_PerCustomerLimit() throws Exception {
+        // Given
+        ReportJobService service = service(1, 2, Duration.ofHours(1));
+        CountDownLatch generating = new CountDownLatch(1);
+        when(reportService.generateAccountStatement(any(), any(), any())).thenAnswer(invocation -> {
+            generating.countDown();
+            return Flux.never();
+        });
+        service.submit(request(1L, 0)).block();
+        service.submit(request(1L, 0)).block();
+        // The worker calls the report service asynchronously, after the job is marked RUNNING
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+
+        // When / Then
+        StepVerifier.create(service.submit(request(1L, 0)))
+                .expectError(ReportJobRejectedException.class)
+                .verify();
+        StepVerifier.create(service.submit(request(2L, 0)))
+                .expectNextMatches(job -> "QUEUED".equals(job.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should cancel a running job and free the customer slot")
+    void testCancel_RunningJob() throws Exception {
+        // Given
+        ReportJobService service = service(1, 1, Duration.ofHours(1));
+        CountDownLatch generating = new CountDownLatch(1);
+        when(reportService.generateAccountStatement(any(), any(), any())).thenAnswer(invocation -> {
+            generating.countDown();
+            return Flux.never();
+        });
+        String jobId = service.submit(request(1L, 0)).block().getJobId();
+        // RUNNING is set before the worker calls the report service: wait for the call itself
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+        awaitStatus(service, jobId, "RUNNING");
+
+        // When
+        ReportJobDTO cancelled = service.cancel(jobId).block();
+
+        // Then
+        assertEquals("CANCELLED", cancelled.getStatus());
+        StepVerifier.create(service.getJobFile(jobId))
+                .expectError(ReportJobNotReadyException.class)
+                .verify();
+        StepVerifier.create(service.submit(request(1L, 0)))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should remove expired jobs together with their files")
+    void testRemoveExpiredJobs() throws Exception {
+        // Given
+        ReportJobService service = service(1, 1, Duration.ZERO);
+        when(reportService.generateAccountStatement(1L, START, END)).thenReturn(Flux.just(statement(1)));
+        String jobId = service.submit(request(1L, 0)).block().getJobId();
+        awaitStatus(service, jobId, "COMPLETED");
+        Path file = service.getJobFile(jobId).block();
+        Thread.sleep(5);
+
+        // When
+        int removed = service.removeExpiredJobs();
+
+        // Then
+        assertEquals(1, removed);
+        assertFalse(Files.exists(file));
+        StepVerifier.create(service.getJob(jobId))
+                .expectError(ReportJobNotFoundException.class)
+                .verify();
+    }
+}
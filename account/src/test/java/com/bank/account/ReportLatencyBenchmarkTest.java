@@ -0,0 +1,111 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.archive.MovementArchive;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency of the account statement for a customer with 100k movements in range,
+ * against a real PostgreSQL database.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Report Latency Benchmark")
+class ReportLatencyBenchmarkTest extends AbstractPostgresTest {
+
+    private static final long CUSTOMER_ID = 77L;
+    private static final int ACCOUNTS = 4;
+    private static final int MOVEMENTS_PER_ACCOUNT = 25_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 30;
+    private static final Duration P99_TARGET = Duration.ofSeconds(2);
+
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Autowired
+    private MovementMapper movementMapper;
+    @Autowired
+    private DatabaseClient databaseClient;
+    @Autowired
+    private MovementArchive movementArchive;
+
+    @Test
+    @DisplayName("Should stream the statement of 100k movements within the p99 latency target")
+    void testStatementLatency() {
+        // Given - movements in range, plus as many outside it that the query must skip
+        databaseClient.sql("INSERT INTO accounts (account_number, account_type, initial_balance, current_balance, customer_id) " +
+                        "SELECT '95' || LPAD(i::text, 6, '0'), 'Ahorro', 0, 0, " + CUSTOMER_ID +
+                        " FROM generate_series(1, " + ACCOUNTS + ") i")
+                .then().block();
+        databaseClient.sql("INSERT INTO movements (movement_date, movement_type, amount, balance, account_id) " +
+                        "SELECT TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute', 'CREDIT', 1, i, a.account_id " +
+                        "FROM accounts a CROSS JOIN generate_series(1, " + 2 * MOVEMENTS_PER_ACCOUNT + ") i " +
+                        "WHERE a.customer_id = " + CUSTOMER_ID)
+                .then().block();
+        databaseClient.sql("ANALYZE movements").then().block();
+
+        CustomerClient customerClient = mock(CustomerClient.class);
+        when(customerClient.getCustomer(CUSTOMER_ID))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(CUSTOMER_ID).name("Benchmark").status(true).build()));
+        // Caching disabled (no entry fits), so every run streams the statement from the database
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReportCache reportCache = new ReportCache(new AccountCache(10, Duration.ofMinutes(5), meterRegistry),
+                0, 0, Duration.ofMinutes(5), meterRegistry);
+        ReportService reportService = new ReportService(movementRepository, accountRepository, aggregateRepository,
+                customerClient, movementMapper, reportCache, movementArchive, P99_TARGET, 100, 65536, 8, 20,
+                meterRegistry);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = start.plusMinutes(MOVEMENTS_PER_ACCOUNT);
+
+        // When
+        long[] nanos = new long[RUNS];
+        long movements = 0;
+        for (int run = -WARMUP_RUNS; run < RUNS; run++) {
+            long begin = System.nanoTime();
+            movements = reportService.generateAccountStatement(CUSTOMER_ID, start, end)
+                    .map(statement -> (long) statement.getMovements().size())
+                    .reduce(0L, Long::sum)
+                    .block(Duration.ofMinutes(5));
+            if (run >= 0) {
+                nanos[run] = System.nanoTime() - begin;
+            }
+        }
+
+        // Then
+        Arrays.sort(nanos);
+        Duration p50 = Duration.ofNanos(nanos[RUNS / 2]);
+        Duration p99 = Duration.ofNanos(nanos[(int) Math.ceil(RUNS * 0.99) - 1]);
+        log.info("Statement of {} movements over {} runs: p50 {} ms, p99 {} ms (target {} ms)",
+                movements, RUNS, p50.toMillis(), p99.toMillis(), P99_TARGET.toMillis());
+        assertEquals((long) ACCOUNTS * MOVEMENTS_PER_ACCOUNT, movements);
+        assertTrue(p99.compareTo(P99_TARGET) <= 0, "p99 " + p99.toMillis() + " ms");
+    }
+}
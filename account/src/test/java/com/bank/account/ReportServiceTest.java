@@ -0,0 +1,312 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.ReportCache;
+import com.bank.account.application.service.ReportService;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.model.AccountStatementRow;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementArchiveRepository;
+import com.bank.account.domain.repository.MovementDailyAggregateRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.client.CustomerClient;
+import com.bank.account.infrastructure.adapter.web.dto.AccountSummaryDTO;
+import com.bank.account.infrastructure.adapter.web.dto.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Report Service Unit Tests")
+class ReportServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private MovementDailyAggregateRepository aggregateRepository;
+    @Mock
+    private CustomerClient customerClient;
+    @Mock
+    private MovementArchiveRepository movementArchiveRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCache accountCache;
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accountCache = new AccountCache(1000, Duration.ofMinutes(5), meterRegistry);
+        ReportCache reportCache = new ReportCache(accountCache, 1024 * 1024, 64 * 1024, Duration.ofMinutes(5), meterRegistry);
+        reportService = new ReportService(movementRepository, accountRepository, aggregateRepository, customerClient,
+                Mappers.getMapper(MovementMapper.class), reportCache, movementArchiveRepository, Duration.ofSeconds(2),
+                100, 8192, 1, 20, meterRegistry);
+    }
+
+    private AccountStatementRow row(final Long accountId, final String accountNumber, final Long movementId,
+                                    final String amount) {
+        return AccountStatementRow.builder()
+                .accountId(accountId)
+                .accountNumber(accountNumber)
+                .accountType("Ahorro")
+                .initialBalance(new BigDecimal("100"))
+                .openingBalance(new BigDecimal("90"))
+                .currentBalance(new BigDecimal("100"))
+                .status(true)
+                .movementId(movementId)
+                .movementDate(movementId == null ? null : START.plusDays(movementId))
+                .movementType(movementId == null ? null : "CREDIT")
+                .amount(amount == null ? null : new BigDecimal(amount))
+                .balance(amount == null ? null : new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should group the ordered rows into one statement per account")
+    void testGenerateAccountStatement_GroupsByAccount() {
+        // Given
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementRepository.findStatementRows(eq(1L), any(), any())).thenReturn(Flux.just(
+                row(1L, "478758", 1L, "10"),
+                row(1L, "478758", 2L, "20"),
+                row(2L, "225487", null, null),
+                row(3L, "495878", 3L, "30")));
+
+        // When / Then
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END))
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("478758")
+                        && statement.getCustomerName().equals("Jose Lema")
+                        && statement.getOpeningBalance().compareTo(new BigDecimal("90")) == 0
+                        && statement.getMovements().size() == 2
+                        && statement.getMovements().get(1).getAmount().compareTo(new BigDecimal("20")) == 0)
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("225487")
+                        && statement.getMovements().isEmpty())
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("495878")
+                        && statement.getMovements().size() == 1)
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("report.statement.duration").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should emit the archived movements of an account before the ones still in the database")
+    void testGenerateAccountStatement_ReadsArchivedMonths() {
+        // Given
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementArchiveRepository.overlaps(START, END)).thenReturn(true);
+        when(accountRepository.findIdsByCustomerId(1L)).thenReturn(Flux.just(1L));
+        when(movementRepository.findAccountStatementRows(1L, START, END))
+                .thenReturn(Flux.just(row(1L, "478758", 5L, "50")));
+        Movement archived = Movement.builder()
+                .movementId(1L)
+                .accountId(1L)
+                .movementDate(START.plusHours(1))
+                .movementType("DEBIT")
+                .amount(new BigDecimal("15"))
+                .balance(new BigDecimal("75"))
+                .build();
+        when(movementArchiveRepository.findByAccountIdAndDateRange(1L, START, END)).thenReturn(Flux.just(archived));
+
+        // When / Then
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END))
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("478758")
+                        && statement.getOpeningBalance().compareTo(new BigDecimal("90")) == 0
+                        && statement.getMovements().size() == 2
+                        && statement.getMovements().get(0).getAmount().compareTo(new BigDecimal("15")) == 0
+                        && statement.getMovements().get(1).getAmount().compareTo(new BigDecimal("50")) == 0)
+                .verifyComplete();
+        verify(movementRepository, never()).findStatementRows(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should emit a statement as soon as the next account starts, before the query completes")
+    void testGenerateAccountStatement_EmitsWhileStreaming() {
+        // Given
+        Sinks.Many<AccountStatementRow> rows = Sinks.many().unicast().onBackpressureBuffer();
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementRepository.findStatementRows(eq(1L), any(), any())).thenReturn(rows.asFlux());
+
+        // When / Then
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END))
+                .then(() -> {
+                    rows.tryEmitNext(row(1L, "478758", 1L, "10"));
+                    rows.tryEmitNext(row(2L, "225487", 2L, "20"));
+                })
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("478758"))
+                .then(rows::tryEmitComplete)
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("225487"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should query the accounts concurrently and emit their statements in account order")
+    void testGenerateAccountStatement_FansOutPerAccount() {
+        // Given - the first account answers last
+        ReportCache reportCache = new ReportCache(accountCache, 1024 * 1024, 64 * 1024, Duration.ofMinutes(5), meterRegistry);
+        ReportService fanOut = new ReportService(movementRepository, accountRepository, aggregateRepository,
+                customerClient, Mappers.getMapper(MovementMapper.class), reportCache, movementArchiveRepository,
+                Duration.ofSeconds(2), 100, 8192, 4, 20, new SimpleMeterRegistry());
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(accountRepository.findIdsByCustomerId(1L)).thenReturn(Flux.just(1L, 2L, 3L));
+        when(movementRepository.findAccountStatementRows(1L, START, END)).thenReturn(Flux.just(
+                row(1L, "478758", 1L, "10"),
+                row(1L, "478758", 2L, "20")).delayElements(Duration.ofMillis(100)));
+        when(movementRepository.findAccountStatementRows(2L, START, END))
+                .thenReturn(Flux.just(row(2L, "225487", null, null)));
+        when(movementRepository.findAccountStatementRows(3L, START, END))
+                .thenReturn(Flux.just(row(3L, "495878", 3L, "30")));
+
+        // When / Then
+        StepVerifier.create(fanOut.generateAccountStatement(1L, START, END))
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("478758")
+                        && statement.getMovements().size() == 2)
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("225487")
+                        && statement.getMovements().isEmpty())
+                .expectNextMatches(statement -> statement.getAccountNumber().equals("495878"))
+                .verifyComplete();
+        verify(movementRepository, never()).findStatementRows(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated statement from the cache until an account of the customer changes")
+    void testGenerateAccountStatement_CachedUntilAccountChanges() {
+        // Given
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementRepository.findStatementRows(eq(1L), any(), any())).thenReturn(Flux.just(
+                row(1L, "478758", 1L, "10"),
+                row(2L, "225487", null, null)));
+
+        // When / Then
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END)).expectNextCount(2).verifyComplete();
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END)).expectNextCount(2).verifyComplete();
+        verify(movementRepository, times(1)).findStatementRows(1L, START, END);
+
+        accountCache.updateBalanceAfterCommit(2L, new BigDecimal("50")).block();
+        StepVerifier.create(reportService.generateAccountStatement(1L, START, END)).expectNextCount(2).verifyComplete();
+        verify(movementRepository, times(2)).findStatementRows(1L, START, END);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "report").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should export the statement rows to a readable xlsx file")
+    void testGenerateAccountStatementExcel_WritesRows() throws IOException {
+        // Given
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(movementRepository.findStatementRows(eq(1L), any(), any())).thenReturn(Flux.just(
+                row(1L, "478758", 1L, "10"),
+                row(2L, "225487", null, null)));
+
+        // When
+        byte[] file = DataBufferUtils.join(reportService.generateAccountStatementExcel(1L, START, END))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block(Duration.ofSeconds(30));
+
+        // Then - customer line, header line, then one line per row
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(file))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("Jose Lema", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("478758", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(10.0, sheet.getRow(2).getCell(8).getNumericCellValue());
+            assertEquals("225487", sheet.getRow(3).getCell(0).getStringCellValue());
+            assertNull(sheet.getRow(3).getCell(8));
+            assertEquals(3, sheet.getLastRowNum());
+        }
+    }
+
+    @Test
+    @DisplayName("Should add up the account totals of the daily aggregates into the customer summary")
+    void testGenerateCustomerSummary_TotalsAccounts() {
+        // Given
+        LocalDate start = START.toLocalDate();
+        LocalDate end = END.toLocalDate();
+        when(customerClient.getCustomer(1L))
+                .thenReturn(Mono.just(CustomerDTO.builder().customerId(1L).name("Jose Lema").status(true).build()));
+        when(aggregateRepository.findAccountSummaries(1L, start, end)).thenReturn(Flux.just(
+                AccountSummaryDTO.builder().accountId(1L).accountNumber("478758").movementCount(3L)
+                        .totalCredit(new BigDecimal("100")).totalDebit(new BigDecimal("40")).build(),
+                AccountSummaryDTO.builder().accountId(2L).accountNumber("225487").movementCount(0L)
+                        .totalCredit(BigDecimal.ZERO).totalDebit(BigDecimal.ZERO).build(),
+                AccountSummaryDTO.builder().accountId(3L).accountNumber("495878").movementCount(2L)
+                        .totalCredit(new BigDecimal("15.50")).totalDebit(new BigDecimal("5")).build()));
+
+        // When / Then
+        StepVerifier.create(reportService.generateCustomerSummary(1L, start, end))
+                .expectNextMatches(summary -> summary.getCustomerName().equals("Jose Lema")
+                        && summary.getMovementCount() == 5L
+                        && summary.getTotalCredit().compareTo(new BigDecimal("115.50")) == 0
+                        && summary.getTotalDebit().compareTo(new BigDecimal("45")) == 0
+                        && summary.getAccounts().size() == 3)
+                .verifyComplete();
+        verifyNoInteractions(movementRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a summary range whose start is after its end")
+    void testGenerateCustomerSummary_InvalidRange() {
+        StepVerifier.create(reportService.generateCustomerSummary(1L, END.toLocalDate(), START.toLocalDate()))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        verifyNoInteractions(aggregateRepository, customerClient);
+    }
+
+    @Test
+    @DisplayName("Should reject a range whose start is after its end")
+    void testGenerateAccountStatement_InvalidRange() {
+        StepVerifier.create(reportService.generateAccountStatement(1L, END, START))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        verifyNoInteractions(movementRepository, customerClient);
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.account;
+
+import com.bank.account.application.mapper.MovementMapper;
+import com.bank.account.application.service.AccountCache;
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.HoldIndex;
+import com.bank.account.application.service.TransferService;
+import com.bank.account.application.service.TransferWriter;
+import com.bank.account.domain.exception.AccountNotFoundException;
+import com.bank.account.domain.exception.BusinessValidationException;
+import com.bank.account.domain.exception.InsufficientBalanceException;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.model.Hold;
+import com.bank.account.domain.model.Movement;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.messaging.publisher.MovementEventPublisher;
+import com.bank.account.infrastructure.adapter.web.dto.TransferRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TransferService and TransferWriter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Transfer Service Unit Tests")
+class TransferServiceTest {
+
+    @Mock
+    private MovementRepository movementRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountService accountService;
+    @Mock
+    private MovementEventPublisher movementEventPublisher;
+
+    private final MovementMapper movementMapper = Mappers.getMapper(MovementMapper.class);
+    private final HoldIndex holdIndex = new HoldIndex();
+    private final AtomicLong movementIds = new AtomicLong();
+    private TransferService transferService;
+
+    private Account source;
+    private Account destination;
+
+    @BeforeEach
+    void setUp() {
+        AccountCache accountCache = new AccountCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        DailyDebitLimiter debitLimiter = new DailyDebitLimiter(null, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, Duration.ofMinutes(30), 1000, false, new SimpleMeterRegistry());
+        TransferWriter writer = new TransferWriter(movementRepository, accountRepository, movementMapper,
+                accountCache, holdIndex);
+        transferService = new TransferService(writer, accountService, debitLimiter, movementEventPublisher);
+
+        source = Account.builder()
+                .accountId(5L)
+                .accountNumber("478758")
+                .accountType("Ahorro")
+                .currentBalance(new BigDecimal("100"))
+                .build();
+        destination = Account.builder()
+                .accountId(2L)
+                .accountNumber("225487")
+                .accountType("Corriente")
+                .currentBalance(new BigDecimal("10"))
+                .build();
+    }
+
+    private static TransferRequestDTO request(final Long sourceId, final Long destinationId, final String amount) {
+        return TransferRequestDTO.builder()
+                .sourceAccountId(sourceId)
+                .destinationAccountId(destinationId)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    private void stubInsertAll() {
+        when(movementRepository.insertAll(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime[] dates = invocation.getArgument(0);
+            String[] types = invocation.getArgument(1);
+            BigDecimal[] amounts = invocation.getArgument(2);
+            BigDecimal[] balances = invocation.getArgument(3);
+            Long[] accountIds = invocation.getArgument(4);
+            return Flux.fromStream(IntStream.range(0, dates.length).mapToObj(i -> Movement.builder()
+                    .movementId(movementIds.incrementAndGet())
+                    .movementDate(dates[i])
+                    .movementType(types[i])
+                    .amount(amounts[i])
+                    .balance(balances[i])
+                    .accountId(accountIds[i])
+                    .build()));
+        });
+        when(accountRepository.updateBalances(any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    @DisplayName("Should lock both accounts in ascending order and write the transfer once")
+    void testTransfer_Success() {
+        // Given
+        when(accountService.getAccountEntity(5L)).thenReturn(Mono.just(source));
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(destination, source));
+        stubInsertAll();
+
+        // When / Then
+        StepVerifier.create(transferService.transfer(request(5L, 2L, "30")))
+                .expectNextMatches(transfer -> transfer.getDebit().getMovementType().equals("DEBIT")
+                        && transfer.getDebit().getBalance().compareTo(new BigDecimal("70")) == 0
+                        && transfer.getDebit().getAccountNumber().equals("478758")
+                        && transfer.getCredit().getMovementType().equals("CREDIT")
+                        && transfer.getCredit().getBalance().compareTo(new BigDecimal("40")) == 0
+                        && transfer.getCredit().getAccountId().equals(2L))
+                .verifyComplete();
+
+        ArgumentCaptor<Long[]> locked = ArgumentCaptor.forClass(Long[].class);
+        verify(accountRepository, times(1)).findAllByIdForUpdate(locked.capture());
+        assertArrayEquals(new Long[]{2L, 5L}, locked.getValue());
+        verify(movementRepository, times(1)).insertAll(any(), any(), any(), any(), any());
+        ArgumentCaptor<BigDecimal[]> balances = ArgumentCaptor.forClass(BigDecimal[].class);
+        verify(accountRepository, times(1)).updateBalances(aryEq(new Long[]{5L, 2L}), balances.capture());
+        assertArrayEquals(new BigDecimal[]{new BigDecimal("70"), new BigDecimal("40")}, balances.getValue());
+        verify(movementEventPublisher, timeout(1000).times(1)).publishTransferCompletedEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should not spend funds reserved by active holds")
+    void testTransfer_HeldFunds() {
+        // Given
+        holdIndex.add(Hold.builder()
+                .holdId(1L)
+                .accountId(5L)
+                .amount(new BigDecimal("80"))
+                .status(Hold.ACTIVE)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        when(accountService.getAccountEntity(5L)).thenReturn(Mono.just(source));
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(destination, source));
+
+        // When / Then
+        StepVerifier.create(transferService.transfer(request(5L, 2L, "30")))
+                .expectError(InsufficientBalanceException.class)
+                .verify();
+
+        verify(movementRepository, never()).insertAll(any(), any(), any(), any(), any());
+        verify(accountRepository, never()).updateBalances(any(), any());
+        verifyNoInteractions(movementEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should fail when the destination account does not exist")
+    void testTransfer_DestinationNotFound() {
+        // Given
+        when(accountService.getAccountEntity(5L)).thenReturn(Mono.just(source));
+        when(accountRepository.findAllByIdForUpdate(any())).thenReturn(Flux.just(source));
+
+        // When / Then
+        StepVerifier.create(transferService.transfer(request(5L, 99L, "30")))
+                .expectError(AccountNotFoundException.class)
+                .verify();
+
+        verify(movementRepository, never()).insertAll(any(), any(), any(), any(), any());
+        verifyNoInteractions(movementEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer to the same account")
+    void testTransfer_SameAccount() {
+        StepVerifier.create(transferService.transfer(request(5L, 5L, "30")))
+                .expectError(BusinessValidationException.class)
+                .verify();
+
+        verifyNoInteractions(accountService, accountRepository, movementRepository, movementEventPublisher);
+    }
+}
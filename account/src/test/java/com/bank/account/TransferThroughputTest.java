@@ -0,0 +1,166 @@
+package com.bank.account;
+
+import com.bank.account.application.service.AccountService;
+import com.bank.account.application.service.DailyDebitLimiter;
+import com.bank.account.application.service.MovementService;
+import com.bank.account.application.service.TransferService;
+import com.bank.account.application.service.TransferWriter;
+import com.bank.account.domain.model.Account;
+import com.bank.account.domain.repository.AccountRepository;
+import com.bank.account.domain.repository.MovementRepository;
+import com.bank.account.infrastructure.adapter.messaging.publisher.MovementEventPublisher;
+import com.bank.account.infrastructure.adapter.web.dto.MovementRequestDTO;
+import com.bank.account.infrastructure.adapter.web.dto.TransferRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Throughput and deadlock tests for transfers, against a real PostgreSQL database.
+ * Many concurrent transfers run among a small set of accounts, in both directions, so most of them
+ * contend for the same row locks.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Transfer Throughput Tests")
+class TransferThroughputTest extends AbstractPostgresTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final int TRANSFERS = 2000;
+    private static final int CONCURRENCY = 64;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransferWriter transferWriter;
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private DailyDebitLimiter debitLimiter;
+    @Autowired
+    private MovementService movementService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+
+    private TransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        transferService = new TransferService(transferWriter, accountService, debitLimiter,
+                mock(MovementEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("Should complete opposite transfers between two accounts without deadlocks")
+    void testOppositeTransfersDoNotDeadlock() {
+        // Given
+        List<Account> accounts = createAccounts("81", 2);
+        Long first = accounts.get(0).getAccountId();
+        Long second = accounts.get(1).getAccountId();
+
+        // When - half of the transfers go each way, all at once
+        Flux.range(0, 1000)
+                .flatMap(i -> transferService.transfer(TransferRequestDTO.builder()
+                        .sourceAccountId(i % 2 == 0 ? first : second)
+                        .destinationAccountId(i % 2 == 0 ? second : first)
+                        .amount(BigDecimal.ONE)
+                        .build()), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(1));
+
+        // Then
+        assertBalance(first, OPENING_BALANCE);
+        assertBalance(second, OPENING_BALANCE);
+        assertEquals(1000L, movementRepository.findByAccountId(first).count().block());
+        assertEquals(1000L, movementRepository.findByAccountId(second).count().block());
+    }
+
+    @Test
+    @DisplayName("Should report the throughput of transfers against a debit and a credit per transfer")
+    void testTransferThroughput() {
+        // Given
+        List<Account> pairAccounts = createAccounts("82", ACCOUNTS);
+        List<Account> transferAccounts = createAccounts("83", ACCOUNTS);
+
+        // When
+        double pairTps = run(pairAccounts, request -> movementService.createMovement(MovementRequestDTO.builder()
+                        .accountId(request.getSourceAccountId())
+                        .movementType("DEBIT")
+                        .amount(request.getAmount())
+                        .build())
+                .then(movementService.createMovement(MovementRequestDTO.builder()
+                        .accountId(request.getDestinationAccountId())
+                        .movementType("CREDIT")
+                        .amount(request.getAmount())
+                        .build())));
+        double transferTps = run(transferAccounts, transferService::transfer);
+
+        // Then
+        log.info("Debit and credit per transfer: {} transfers/s", String.format("%.0f", pairTps));
+        log.info("Atomic transfer: {} transfers/s ({}x)", String.format("%.0f", transferTps),
+                String.format("%.1f", transferTps / pairTps));
+        BigDecimal total = Flux.fromIterable(transferAccounts)
+                .concatMap(account -> accountRepository.findById(account.getAccountId()))
+                .map(Account::getCurrentBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .block();
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+    }
+
+    private List<Account> createAccounts(final String prefix, final int count) {
+        return Flux.range(0, count)
+                .concatMap(i -> accountRepository.save(Account.builder()
+                        .accountNumber(prefix + String.format("%04d", i))
+                        .accountType("Corriente")
+                        .initialBalance(OPENING_BALANCE)
+                        .currentBalance(OPENING_BALANCE)
+                        .status(true)
+                        .customerId(1L)
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build()))
+                .collectList()
+                .block();
+    }
+
+    private double run(final List<Account> accounts, final Function<TransferRequestDTO, Mono<?>> transfer) {
+        Random random = new Random(42);
+        List<TransferRequestDTO> requests = Flux.range(0, TRANSFERS)
+                .map(i -> {
+                    int source = random.nextInt(accounts.size());
+                    int destination = (source + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+                    return TransferRequestDTO.builder()
+                            .sourceAccountId(accounts.get(source).getAccountId())
+                            .destinationAccountId(accounts.get(destination).getAccountId())
+                            .amount(new BigDecimal("1.00"))
+                            .build();
+                })
+                .collectList()
+                .block();
+
+        long start = System.nanoTime();
+        Flux.fromIterable(requests)
+                .flatMap(transfer, CONCURRENCY)
+                .blockLast(Duration.ofMinutes(5));
+        return TRANSFERS / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private void assertBalance(final Long accountId, final BigDecimal expected) {
+        assertEquals(0, accountRepository.findById(accountId).block().getCurrentBalance().compareTo(expected));
+    }
+}
@@ -24,26 +24,435 @@ CREATE TABLE IF NOT EXISTS accounts (
 CREATE INDEX idx_accounts_account_number ON accounts(account_number);
 CREATE INDEX idx_accounts_customer_id ON accounts(customer_id);
 CREATE INDEX idx_accounts_status ON accounts(status);
+-- Incremental ledger reconciliation: accounts touched since the last run
+CREATE INDEX idx_accounts_updated_at ON accounts(updated_at);
 
 -- ============================================================================
 -- TABLE: movements
+-- Range-partitioned by month on movement_date (movements_YYYY_MM). Rows of
+-- months without a partition land in movements_default until it is created
 -- ============================================================================
 CREATE TABLE IF NOT EXISTS movements (
-    movement_id BIGSERIAL PRIMARY KEY,
+    movement_id BIGSERIAL,
     movement_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     movement_type VARCHAR(10) NOT NULL CHECK (movement_type IN ('CREDIT', 'DEBIT')),
     amount DECIMAL(15,2) NOT NULL,
     balance DECIMAL(15,2) NOT NULL,
     account_id BIGINT NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_movements PRIMARY KEY (movement_id, movement_date),
     CONSTRAINT fk_movement_account FOREIGN KEY (account_id) 
         REFERENCES accounts(account_id) ON DELETE CASCADE,
     CONSTRAINT chk_amount CHECK (amount > 0)
+) PARTITION BY RANGE (movement_date);
+
+CREATE TABLE IF NOT EXISTS movements_default PARTITION OF movements DEFAULT;
+
+-- Keyset pagination and date ranges: (movement_date, movement_id), globally and per account
+CREATE INDEX idx_movements_date_id ON movements(movement_date, movement_id);
+CREATE INDEX idx_movements_account_date_id ON movements(account_id, movement_date, movement_id);
+-- Ledger order (balances are computed in movement_id order): reconciliation and running-balance repair
+CREATE INDEX idx_movements_account_id ON movements(account_id, movement_id);
+
+-- ============================================================================
+-- TABLE: bulk_transfer_debits
+-- Debit movements of bulk transfers (payroll runs). They count against the
+-- bulk daily limit (app.movements.debit-limits.bulk), not the account type's
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS bulk_transfer_debits (
+    movement_id BIGINT PRIMARY KEY
+);
+
+-- ============================================================================
+-- TABLE: movement_archives
+-- Months whose partition was moved to an archive file on the account service
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS movement_archives (
+    archive_month DATE PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    row_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================================================
+-- FUNCTION: Start of the movements still in the database
+-- Every movement before it has been archived
+-- ============================================================================
+CREATE OR REPLACE FUNCTION movement_archive_horizon()
+RETURNS TIMESTAMP AS $$
+    SELECT COALESCE(MAX(archive_month) + INTERVAL '1 month', '-infinity'::TIMESTAMP)::TIMESTAMP
+    FROM movement_archives;
+$$ LANGUAGE sql STABLE;
+
+-- ============================================================================
+-- FUNCTION: Creates the partition of the month of p_month
+-- Rows of that month waiting in the default partition are moved into it.
+-- Returns false when the partition exists or the month was archived
+-- ============================================================================
+CREATE OR REPLACE FUNCTION create_movement_partition(p_month DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_from TIMESTAMP := date_trunc('month', p_month);
+    v_to TIMESTAMP := date_trunc('month', p_month) + INTERVAL '1 month';
+    v_name TEXT := 'movements_' || to_char(p_month, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('movement_partitions'));
+    IF to_regclass(v_name) IS NOT NULL
+            OR EXISTS (SELECT 1 FROM movement_archives WHERE archive_month = v_from::DATE) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE movements INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+    EXECUTE format('WITH moved AS (DELETE FROM movements_default '
+                   'WHERE movement_date >= $1 AND movement_date < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', v_name) USING v_from, v_to;
+    EXECUTE format('ALTER TABLE movements ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   v_name, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================================================
+-- FUNCTION: Drops the partition of an archived month
+-- Called by the archival job, in the transaction that locked the partition and
+-- wrote its archive file. Checkpoints every account at the end of the month
+-- first, so balances after the horizon never need archived movements
+-- ============================================================================
+CREATE OR REPLACE FUNCTION archive_movement_partition(p_month DATE, p_file_name TEXT, p_row_count BIGINT)
+RETURNS VOID AS $$
+DECLARE
+    v_from TIMESTAMP := date_trunc('month', p_month);
+    v_to TIMESTAMP := date_trunc('month', p_month) + INTERVAL '1 month';
+    v_name TEXT := 'movements_' || to_char(p_month, 'YYYY_MM');
+    v_rows BIGINT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('movement_partitions'));
+    EXECUTE format('SELECT COUNT(*) FROM %I', v_name) INTO v_rows;
+    IF v_rows <> p_row_count THEN
+        RAISE EXCEPTION 'Partition % holds % movements but its archive holds %', v_name, v_rows, p_row_count;
+    END IF;
+
+    INSERT INTO account_balance_snapshots (account_id, snapshot_at, balance)
+    SELECT a.account_id, v_to, account_balance_as_of(a.account_id, v_to)
+    FROM accounts a
+    ON CONFLICT (account_id, snapshot_at) DO NOTHING;
+
+    INSERT INTO movement_archives (archive_month, file_name, row_count)
+    VALUES (v_from::DATE, p_file_name, p_row_count);
+
+    EXECUTE format('ALTER TABLE movements DETACH PARTITION %I', v_name);
+    EXECUTE format('DROP TABLE %I', v_name);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions from the oldest sample data up to three months ahead; the account
+-- service keeps creating them ahead of time (app.movements.partitions.months-ahead)
+SELECT create_movement_partition(month::DATE)
+FROM generate_series(DATE '2024-01-01', date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                     INTERVAL '1 month') month;
+
+-- ============================================================================
+-- TABLE: movement_idempotency
+-- Result of every movement created with an Idempotency-Key, replayed on retries.
+-- Rows older than app.movements.idempotency.ttl are purged in batches by created_at
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS movement_idempotency (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    request_fingerprint VARCHAR(100) NOT NULL,
+    movement_id BIGINT,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_movement_idempotency_created_at ON movement_idempotency(created_at);
+
+-- ============================================================================
+-- TABLE: account_balance_snapshots
+-- Month-end balance checkpoints: balance of every movement before snapshot_at
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS account_balance_snapshots (
+    snapshot_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    balance DECIMAL(15,2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_snapshot_account FOREIGN KEY (account_id)
+        REFERENCES accounts(account_id) ON DELETE CASCADE,
+    CONSTRAINT uq_snapshot_account_at UNIQUE (account_id, snapshot_at)
+);
+
+CREATE INDEX idx_account_balance_snapshots_at ON account_balance_snapshots(snapshot_at);
+
+-- ============================================================================
+-- TABLE: holds
+-- Funds reserved on an account until they are captured as a debit, released or
+-- expired; active holds are kept in memory and reduce the available balance
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS holds (
+    hold_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    amount DECIMAL(15,2) NOT NULL CHECK (amount > 0),
+    status VARCHAR(10) NOT NULL DEFAULT 'ACTIVE'
+        CHECK (status IN ('ACTIVE', 'CAPTURED', 'RELEASED', 'EXPIRED')),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    settled_at TIMESTAMP,
+    movement_id BIGINT,
+    CONSTRAINT fk_hold_account FOREIGN KEY (account_id)
+        REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_holds_active ON holds(account_id) WHERE status = 'ACTIVE';
+
+-- ============================================================================
+-- TABLE: ledger_reconciliation_runs
+-- One row per reconciliation of movement balances; incremental runs check the
+-- accounts updated since the start of the last finished run
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS ledger_reconciliation_runs (
+    run_id BIGSERIAL PRIMARY KEY,
+    mode VARCHAR(12) NOT NULL CHECK (mode IN ('FULL', 'INCREMENTAL')),
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP,
+    accounts_checked BIGINT NOT NULL DEFAULT 0,
+    movements_checked BIGINT NOT NULL DEFAULT 0,
+    drift_count BIGINT NOT NULL DEFAULT 0,
+    report_file VARCHAR(255)
 );
 
-CREATE INDEX idx_movements_account_id ON movements(account_id);
-CREATE INDEX idx_movements_date ON movements(movement_date);
-CREATE INDEX idx_movements_type ON movements(movement_type);
+-- ============================================================================
+-- TABLE: movement_daily_aggregates
+-- Per account and day: movement count, credit and debit totals, closing balance
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS movement_daily_aggregates (
+    aggregate_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    movement_count BIGINT NOT NULL DEFAULT 0,
+    total_credit DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    total_debit DECIMAL(18,2) NOT NULL DEFAULT 0.00,
+    closing_balance DECIMAL(18,2) NOT NULL,
+    CONSTRAINT fk_daily_aggregate_account FOREIGN KEY (account_id)
+        REFERENCES accounts(account_id) ON DELETE CASCADE,
+    CONSTRAINT uq_daily_aggregate_account_day UNIQUE (account_id, day)
+);
+
+-- ============================================================================
+-- FUNCTION: Balance of an account as of a timestamp
+-- Nearest checkpoint at or before p_as_of (or the initial balance), plus the
+-- movements from the checkpoint up to, but excluding, p_as_of.
+-- Before the archive horizon the movements are gone, so the closing balance of
+-- the last day before p_as_of is used instead: exact when p_as_of is midnight,
+-- otherwise the movements of that day before p_as_of are not included
+-- ============================================================================
+CREATE OR REPLACE FUNCTION account_balance_as_of(p_account_id BIGINT, p_as_of TIMESTAMP)
+RETURNS DECIMAL(15,2) AS $$
+    SELECT CASE WHEN p_as_of >= movement_archive_horizon() THEN (
+        SELECT base.balance + COALESCE((
+                   SELECT SUM(CASE WHEN m.movement_type = 'CREDIT' THEN m.amount ELSE -m.amount END)
+                   FROM movements m
+                   WHERE m.account_id = p_account_id
+                     AND m.movement_date >= base.since
+                     AND m.movement_date < p_as_of), 0)
+        FROM (
+            (SELECT s.snapshot_at AS since, s.balance
+             FROM account_balance_snapshots s
+             WHERE s.account_id = p_account_id AND s.snapshot_at <= p_as_of
+             ORDER BY s.snapshot_at DESC
+             LIMIT 1)
+            UNION ALL
+            SELECT '-infinity'::TIMESTAMP, a.initial_balance
+            FROM accounts a
+            WHERE a.account_id = p_account_id
+            ORDER BY since DESC
+            LIMIT 1
+        ) base)
+    ELSE (
+        SELECT base.balance
+        FROM (
+            (SELECT d.closing_balance AS balance, d.day::TIMESTAMP AS since
+             FROM movement_daily_aggregates d
+             WHERE d.account_id = p_account_id AND d.day < p_as_of::DATE
+             ORDER BY d.day DESC
+             LIMIT 1)
+            UNION ALL
+            SELECT a.initial_balance, '-infinity'::TIMESTAMP
+            FROM accounts a
+            WHERE a.account_id = p_account_id
+            ORDER BY since DESC
+            LIMIT 1
+        ) base)
+    END;
+$$ LANGUAGE sql STABLE;
+
+-- ============================================================================
+-- FUNCTION: Applies a change of one account and day to the daily aggregates
+-- The closing balance of a new day comes from account_balance_as_of, every
+-- later day of the account is shifted by the net amount, and a day left without
+-- movements is removed
+-- ============================================================================
+CREATE OR REPLACE FUNCTION apply_daily_aggregate(p_account_id BIGINT, p_day DATE, p_count BIGINT,
+                                                 p_credit DECIMAL, p_debit DECIMAL)
+RETURNS VOID AS $$
+DECLARE
+    v_net DECIMAL := p_credit - p_debit;
+BEGIN
+    UPDATE movement_daily_aggregates
+    SET movement_count = movement_count + p_count,
+        total_credit = total_credit + p_credit,
+        total_debit = total_debit + p_debit,
+        closing_balance = closing_balance + v_net
+    WHERE account_id = p_account_id AND day = p_day;
+
+    IF NOT FOUND AND p_count > 0 THEN
+        INSERT INTO movement_daily_aggregates (account_id, day, movement_count, total_credit, total_debit, closing_balance)
+        VALUES (p_account_id, p_day, p_count, p_credit, p_debit,
+                account_balance_as_of(p_account_id, (p_day + 1)::TIMESTAMP))
+        ON CONFLICT (account_id, day) DO UPDATE
+        SET movement_count = movement_daily_aggregates.movement_count + EXCLUDED.movement_count,
+            total_credit = movement_daily_aggregates.total_credit + EXCLUDED.total_credit,
+            total_debit = movement_daily_aggregates.total_debit + EXCLUDED.total_debit,
+            closing_balance = movement_daily_aggregates.closing_balance + v_net;
+    END IF;
+
+    IF p_count < 0 THEN
+        DELETE FROM movement_daily_aggregates
+        WHERE account_id = p_account_id AND day = p_day AND movement_count = 0;
+    END IF;
+
+    IF v_net <> 0 THEN
+        UPDATE movement_daily_aggregates
+        SET closing_balance = closing_balance + v_net
+        WHERE account_id = p_account_id AND day > p_day;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ============================================================================
+-- TRIGGERS: Daily aggregates follow every write to movements
+-- Statement level, so a multi-row insert costs one update per account and day.
+-- An update only counts the rows whose account, day, type or amount changed,
+-- netted per account and day, so rewriting running balances touches nothing
+-- (a column list cannot be used: UPDATE OF does not allow transition tables)
+-- ============================================================================
+CREATE OR REPLACE FUNCTION maintain_movement_daily_aggregates()
+RETURNS TRIGGER AS $$
+DECLARE
+    r RECORD;
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        FOR r IN
+            SELECT v.account_id, v.day, SUM(v.movement_count) AS movement_count,
+                   COALESCE(SUM(v.amount) FILTER (WHERE v.movement_type = 'CREDIT'), 0) AS total_credit,
+                   COALESCE(SUM(v.amount) FILTER (WHERE v.movement_type = 'DEBIT'), 0) AS total_debit
+            FROM old_movements o
+            INNER JOIN new_movements n ON n.movement_id = o.movement_id
+            CROSS JOIN LATERAL (VALUES
+                (o.account_id, o.movement_date::DATE, -1, o.movement_type, -o.amount),
+                (n.account_id, n.movement_date::DATE, 1, n.movement_type, n.amount)
+            ) v(account_id, day, movement_count, movement_type, amount)
+            WHERE (o.account_id, o.movement_date::DATE, o.movement_type, o.amount)
+                  IS DISTINCT FROM (n.account_id, n.movement_date::DATE, n.movement_type, n.amount)
+            GROUP BY v.account_id, v.day
+            ORDER BY v.account_id, v.day
+        LOOP
+            IF r.movement_count <> 0 OR r.total_credit <> 0 OR r.total_debit <> 0 THEN
+                PERFORM apply_daily_aggregate(r.account_id, r.day, r.movement_count, r.total_credit, r.total_debit);
+            END IF;
+        END LOOP;
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'DELETE' THEN
+        FOR r IN
+            SELECT account_id, movement_date::DATE AS day, COUNT(*) AS movement_count,
+                   COALESCE(SUM(amount) FILTER (WHERE movement_type = 'CREDIT'), 0) AS total_credit,
+                   COALESCE(SUM(amount) FILTER (WHERE movement_type = 'DEBIT'), 0) AS total_debit
+            FROM old_movements
+            GROUP BY account_id, movement_date::DATE
+            ORDER BY account_id, day
+        LOOP
+            PERFORM apply_daily_aggregate(r.account_id, r.day, -r.movement_count, -r.total_credit, -r.total_debit);
+        END LOOP;
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        FOR r IN
+            SELECT account_id, movement_date::DATE AS day, COUNT(*) AS movement_count,
+                   COALESCE(SUM(amount) FILTER (WHERE movement_type = 'CREDIT'), 0) AS total_credit,
+                   COALESCE(SUM(amount) FILTER (WHERE movement_type = 'DEBIT'), 0) AS total_debit
+            FROM new_movements
+            GROUP BY account_id, movement_date::DATE
+            ORDER BY account_id, day
+        LOOP
+            PERFORM apply_daily_aggregate(r.account_id, r.day, r.movement_count, r.total_credit, r.total_debit);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_movements_daily_aggregates_insert
+    AFTER INSERT ON movements
+    REFERENCING NEW TABLE AS new_movements
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_movement_daily_aggregates();
+
+CREATE TRIGGER trg_movements_daily_aggregates_update
+    AFTER UPDATE ON movements
+    REFERENCING OLD TABLE AS old_movements NEW TABLE AS new_movements
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_movement_daily_aggregates();
+
+CREATE TRIGGER trg_movements_daily_aggregates_delete
+    AFTER DELETE ON movements
+    REFERENCING OLD TABLE AS old_movements
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION maintain_movement_daily_aggregates();
+
+-- ============================================================================
+-- FUNCTION: Recomputes the daily aggregates of a range of accounts from movements
+-- Locks the accounts first, so movements of the range wait for the rebuild.
+-- Days before the archive horizon have no movements left and are kept as they
+-- are; later days start from the balance at the horizon.
+-- Returns the number of aggregate rows written
+-- ============================================================================
+CREATE OR REPLACE FUNCTION rebuild_daily_aggregates(p_from_account_id BIGINT, p_to_account_id BIGINT)
+RETURNS BIGINT AS $$
+DECLARE
+    v_horizon TIMESTAMP := movement_archive_horizon();
+    v_rows BIGINT;
+BEGIN
+    PERFORM 1 FROM accounts
+    WHERE account_id BETWEEN p_from_account_id AND p_to_account_id
+    ORDER BY account_id
+    FOR UPDATE;
+
+    DELETE FROM movement_daily_aggregates
+    WHERE account_id BETWEEN p_from_account_id AND p_to_account_id
+      AND day >= v_horizon::DATE;
+
+    INSERT INTO movement_daily_aggregates (account_id, day, movement_count, total_credit, total_debit, closing_balance)
+    SELECT d.account_id, d.day, d.movement_count, d.total_credit, d.total_debit,
+           o.balance + SUM(d.total_credit - d.total_debit)
+               OVER (PARTITION BY d.account_id ORDER BY d.day)
+    FROM (
+        SELECT account_id, movement_date::DATE AS day, COUNT(*) AS movement_count,
+               COALESCE(SUM(amount) FILTER (WHERE movement_type = 'CREDIT'), 0) AS total_credit,
+               COALESCE(SUM(amount) FILTER (WHERE movement_type = 'DEBIT'), 0) AS total_debit
+        FROM movements
+        WHERE account_id BETWEEN p_from_account_id AND p_to_account_id
+          AND movement_date >= v_horizon
+        GROUP BY account_id, movement_date::DATE
+    ) d
+    INNER JOIN (
+        SELECT account_id, account_balance_as_of(account_id, v_horizon) AS balance
+        FROM accounts
+        WHERE account_id BETWEEN p_from_account_id AND p_to_account_id
+    ) o ON o.account_id = d.account_id;
+
+    GET DIAGNOSTICS v_rows = ROW_COUNT;
+    RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
 
 -- ============================================================================
 -- TRIGGERS: Auto-update timestamps